@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.cep;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.common.model.StockTick;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.time.SessionPseudoClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a stream of events flowing through sliding time and length windows: each benchmark invocation inserts
+ * a batch of events, advancing the pseudo clock between them so that the older ones keep expiring out of the windows
+ */
+@BenchmarkMode(Mode.AverageTime)
+@State(Scope.Thread)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2)
+public class SlidingWindowBenchmark {
+
+    private static final String[] SYMBOLS = { "RHT", "IBM", "ACME", "DROO" };
+
+    @Param({"1000"})
+    private int eventsNumber;
+
+    @Param({"time", "length"})
+    private String windowType;
+
+    private KieSession kieSession;
+    private SessionPseudoClock clock;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String window = windowType.equals("time") ? "window:time( 10s )" : "window:length( 100 )";
+        String drl =
+                "import " + StockTick.class.getCanonicalName() + ";\n" +
+                "declare StockTick\n" +
+                "    @role( event )\n" +
+                "    @timestamp( timestamp )\n" +
+                // also the events only belonging to length windows have to leave the working memory
+                "    @expires( 10s )\n" +
+                "end\n" +
+                "rule AveragePrice when\n" +
+                "    $s : String()\n" +
+                "    $avg : Number( doubleValue > 50 ) from accumulate(\n" +
+                "        StockTick( symbol == $s, $price : price ) over " + window + ",\n" +
+                "        average( $price ) )\n" +
+                "then end\n";
+        KieBase kieBase = BenchmarkUtil.buildKieBase(drl, EventProcessingOption.STREAM);
+        KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setOption(ClockTypeOption.PSEUDO);
+        kieSession = kieBase.newKieSession(conf, null);
+        clock = kieSession.getSessionClock();
+        for (String symbol : SYMBOLS) {
+            kieSession.insert(symbol);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        kieSession.dispose();
+    }
+
+    @Benchmark
+    public int insertEvents() {
+        int fired = 0;
+        for (int i = 0; i < eventsNumber; i++) {
+            clock.advanceTime(100, TimeUnit.MILLISECONDS);
+            long id = counter++;
+            kieSession.insert(new StockTick(SYMBOLS[(int) (id % SYMBOLS.length)], id % 100, clock.getCurrentTime()));
+            if (i % 10 == 0) {
+                fired += kieSession.fireAllRules();
+            }
+        }
+        return fired + kieSession.fireAllRules();
+    }
+}
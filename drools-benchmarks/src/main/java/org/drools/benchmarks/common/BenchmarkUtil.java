@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.benchmarks.common.model.Account;
+import org.drools.benchmarks.common.model.Person;
+import org.kie.api.KieBase;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.Results;
+import org.kie.api.conf.KieBaseOption;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.utils.KieHelper;
+
+public final class BenchmarkUtil {
+
+    public static final String[] CITIES = { "London", "Milan", "Paris", "Madrid", "Berlin", "Prague", "Brno", "Raleigh" };
+
+    private BenchmarkUtil() { }
+
+    public static KieBase buildKieBase(String drl, KieBaseOption... options) {
+        KieHelper kieHelper = new KieHelper();
+        kieHelper.addContent(drl, ResourceType.DRL);
+        Results results = kieHelper.verify();
+        if (results.hasMessages(Message.Level.ERROR)) {
+            throw new IllegalStateException("Cannot build the benchmark rules: " + results.getMessages(Message.Level.ERROR));
+        }
+        return kieHelper.build(options);
+    }
+
+    public static List<Person> createPersons(int number) {
+        List<Person> persons = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            persons.add(new Person("Person" + i, i % 100, CITIES[i % CITIES.length]));
+        }
+        return persons;
+    }
+
+    /**
+     * Creates an account for each of the first number persons with a balance depending on its position
+     */
+    public static List<Account> createAccounts(int number) {
+        List<Account> accounts = new ArrayList<>(number);
+        for (int i = 0; i < number; i++) {
+            accounts.add(new Account("Person" + i, (i * 37) % 1000));
+        }
+        return accounts;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.dmn;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.core.internal.utils.DMNRuntimeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the evaluation of a DMN model made of a decision table with unique hit policy
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 2)
+public class DMNEvaluationBenchmark {
+
+    private static final String NAMESPACE = "https://kiegroup.org/dmn/benchmarks";
+
+    @Param({"Low", "High"})
+    private String riskCategory;
+
+    private DMNRuntime dmnRuntime;
+    private DMNModel dmnModel;
+    private DMNContext dmnContext;
+
+    @Setup
+    public void setup() {
+        dmnRuntime = DMNRuntimeBuilder.fromDefaults()
+                .buildConfiguration()
+                .fromClasspathResource("loan-approval.dmn", DMNEvaluationBenchmark.class)
+                .getOrElseThrow(e -> new IllegalStateException("Cannot build the benchmark DMN model", e));
+        dmnModel = dmnRuntime.getModel(NAMESPACE, "loan-approval");
+        dmnContext = dmnRuntime.newContext();
+        dmnContext.set("Age", BigDecimal.valueOf(35));
+        dmnContext.set("RiskCategory", riskCategory);
+        dmnContext.set("isAffordable", true);
+    }
+
+    @Benchmark
+    public DMNResult evaluateAll() {
+        return dmnRuntime.evaluateAll(dmnModel, dmnContext);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.dmn;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the evaluation of precompiled FEEL expressions covering arithmetic, conditionals, filters and built-in functions
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 2)
+public class FEELEvaluationBenchmark {
+
+    @Param({
+            "salary * 12 + bonus - 100",
+            "if age >= 18 then \"adult\" else \"minor\"",
+            "sum( items[ item > 50 ] )",
+            "string length( name ) + count( items )"
+    })
+    private String expression;
+
+    private FEEL feel;
+    private CompiledExpression compiledExpression;
+    private Map<String, Object> inputVariables;
+
+    @Setup
+    public void setup() {
+        feel = FEEL.newInstance();
+        CompilerContext compilerContext = feel.newCompilerContext()
+                .addInputVariableType("salary", BuiltInType.NUMBER)
+                .addInputVariableType("bonus", BuiltInType.NUMBER)
+                .addInputVariableType("age", BuiltInType.NUMBER)
+                .addInputVariableType("name", BuiltInType.STRING)
+                .addInputVariableType("items", BuiltInType.LIST);
+        compiledExpression = feel.compile(expression, compilerContext);
+
+        List<BigDecimal> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(BigDecimal.valueOf(i));
+        }
+        inputVariables = new HashMap<>();
+        inputVariables.put("salary", BigDecimal.valueOf(2500));
+        inputVariables.put("bonus", BigDecimal.valueOf(1000));
+        inputVariables.put("age", BigDecimal.valueOf(35));
+        inputVariables.put("name", "John Doe");
+        inputVariables.put("items", items);
+    }
+
+    @Benchmark
+    public Object evaluate() {
+        return feel.evaluate(compiledExpression, inputVariables);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+import java.util.List;
+
+import org.drools.benchmarks.common.AbstractSessionBenchmark;
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.common.model.Account;
+import org.drools.benchmarks.common.model.Person;
+import org.kie.api.KieBase;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Base class of the insert, update and delete benchmarks, sharing a network made of an alpha constraint,
+ * an indexed join and a not node, so that each operation propagates through the most common node types.
+ */
+public abstract class AbstractFactOperationsBenchmark extends AbstractSessionBenchmark {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "import " + Account.class.getCanonicalName() + ";\n" +
+            "rule Adult when\n" +
+            "    $p : Person( age >= 18 )\n" +
+            "then end\n" +
+            "rule RichAdult when\n" +
+            "    $p : Person( age >= 18 )\n" +
+            "    $a : Account( owner == $p.name, balance > 500 )\n" +
+            "then end\n" +
+            "rule NoAccount when\n" +
+            "    $p : Person()\n" +
+            "    not Account( owner == $p.name )\n" +
+            "then end\n";
+
+    @Param({"1000", "10000", "100000"})
+    protected int factsNumber;
+
+    protected List<Person> persons;
+    protected List<Account> accounts;
+
+    @Override
+    protected KieBase createKieBase() {
+        return BenchmarkUtil.buildKieBase(DRL);
+    }
+
+    @Override
+    protected void populateKieSession() {
+        persons = BenchmarkUtil.createPersons(factsNumber);
+        // only half of the persons have an account
+        accounts = BenchmarkUtil.createAccounts(factsNumber / 2);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+import java.util.List;
+
+import org.drools.benchmarks.common.AbstractSessionBenchmark;
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.common.model.Account;
+import org.drools.benchmarks.common.model.Person;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Measures an accumulate incrementally maintained while the accumulated facts are inserted, modified and deleted
+ */
+public class AccumulateBenchmark extends AbstractSessionBenchmark {
+
+    @Param({"1000", "10000"})
+    private int factsNumber;
+
+    @Param({"sum", "min", "collectList"})
+    private String function;
+
+    private List<Account> accounts;
+    private FactHandle[] accountHandles;
+
+    @Override
+    protected KieBase createKieBase() {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "import " + Account.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                "    $p : Person()\n" +
+                "    accumulate( Account( $b : balance, balance > $p.age ); $r : " + function + "( $b ) )\n" +
+                "then end\n";
+        return BenchmarkUtil.buildKieBase(drl);
+    }
+
+    @Override
+    protected void populateKieSession() {
+        for (Person person : BenchmarkUtil.createPersons(10)) {
+            kieSession.insert(person);
+        }
+        accounts = BenchmarkUtil.createAccounts(factsNumber);
+        accountHandles = new FactHandle[factsNumber];
+    }
+
+    @Benchmark
+    public int insertUpdateDelete() {
+        for (int i = 0; i < accountHandles.length; i++) {
+            accountHandles[i] = kieSession.insert(accounts.get(i));
+        }
+        int fired = kieSession.fireAllRules();
+        for (int i = 0; i < accountHandles.length; i++) {
+            Account account = accounts.get(i);
+            account.setBalance(account.getBalance() + 1);
+            kieSession.update(accountHandles[i], account);
+        }
+        fired += kieSession.fireAllRules();
+        for (int i = 0; i < accountHandles.length; i += 2) {
+            kieSession.delete(accountHandles[i]);
+        }
+        return fired + kieSession.fireAllRules();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+import java.util.List;
+
+import org.drools.benchmarks.common.AbstractSessionBenchmark;
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.common.model.Person;
+import org.kie.api.KieBase;
+import org.kie.internal.conf.AlphaThresholdOption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Measures the insertion in an alpha network made of many rules constraining the same field with different literals,
+ * with the alpha node hashing enabled or disabled
+ */
+public class AlphaNetworkBenchmark extends AbstractSessionBenchmark {
+
+    @Param({"10000"})
+    private int factsNumber;
+
+    @Param({"10", "100", "1000"})
+    private int rulesNumber;
+
+    @Param({"true", "false"})
+    private boolean alphaHashing;
+
+    private List<Person> persons;
+
+    @Override
+    protected KieBase createKieBase() {
+        StringBuilder drl = new StringBuilder("import " + Person.class.getCanonicalName() + ";\n");
+        for (int i = 0; i < rulesNumber; i++) {
+            drl.append("rule R").append(i).append(" when\n")
+               .append("    Person( name == \"Person").append(i).append("\", age > 10 )\n")
+               .append("then end\n");
+        }
+        return BenchmarkUtil.buildKieBase(drl.toString(), AlphaThresholdOption.get(alphaHashing ? 3 : Integer.MAX_VALUE));
+    }
+
+    @Override
+    protected void populateKieSession() {
+        persons = BenchmarkUtil.createPersons(factsNumber);
+    }
+
+    @Benchmark
+    public int insertAndFire() {
+        for (Person person : persons) {
+            kieSession.insert(person);
+        }
+        return kieSession.fireAllRules();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+import org.drools.benchmarks.common.model.Account;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+
+public class DeleteBenchmark extends AbstractFactOperationsBenchmark {
+
+    private FactHandle[] personHandles;
+
+    @Override
+    protected void populateKieSession() {
+        super.populateKieSession();
+        personHandles = new FactHandle[persons.size()];
+        for (int i = 0; i < personHandles.length; i++) {
+            personHandles[i] = kieSession.insert(persons.get(i));
+        }
+        for (Account account : accounts) {
+            kieSession.insert(account);
+        }
+        kieSession.fireAllRules();
+    }
+
+    @Benchmark
+    public int deleteAndFire() {
+        for (FactHandle personHandle : personHandles) {
+            kieSession.delete(personHandle);
+        }
+        return kieSession.fireAllRules();
+    }
+}
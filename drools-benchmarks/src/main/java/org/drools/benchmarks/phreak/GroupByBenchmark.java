@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+import java.util.List;
+
+import org.drools.benchmarks.common.AbstractSessionBenchmark;
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.common.model.Person;
+import org.drools.core.base.accumulators.IntegerSumAccumulateFunction;
+import org.drools.model.Model;
+import org.drools.model.Rule;
+import org.drools.model.Variable;
+import org.drools.model.impl.ModelImpl;
+import org.drools.modelcompiler.builder.KieBaseBuilder;
+import org.drools.modelcompiler.dsl.pattern.D;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Measures a groupBy, only available through the executable model, summing the ages of the persons living in the same city
+ * while the persons are inserted and then move from a city to another
+ */
+public class GroupByBenchmark extends AbstractSessionBenchmark {
+
+    @Param({"1000", "10000"})
+    private int factsNumber;
+
+    private List<Person> persons;
+    private FactHandle[] personHandles;
+
+    @Override
+    protected KieBase createKieBase() {
+        Variable<Person> var_$p = D.declarationOf(Person.class);
+        Variable<Integer> var_$age = D.declarationOf(Integer.class);
+        Variable<String> var_$city = D.declarationOf(String.class);
+        Variable<Integer> var_$sumOfAges = D.declarationOf(Integer.class);
+
+        Rule rule = D.rule("SumOfAgesByCity").build(
+                D.groupBy(
+                        D.pattern(var_$p).bind(var_$age, Person::getAge, D.reactOn("age")),
+                        var_$p, var_$city, Person::getCity,
+                        D.accFunction(IntegerSumAccumulateFunction::new, var_$age).as(var_$sumOfAges)),
+                D.on(var_$city, var_$sumOfAges).execute((city, sumOfAges) -> { })
+        );
+
+        Model model = new ModelImpl().addRule(rule);
+        return KieBaseBuilder.createKieBaseFromModel(model);
+    }
+
+    @Override
+    protected void populateKieSession() {
+        persons = BenchmarkUtil.createPersons(factsNumber);
+        personHandles = new FactHandle[factsNumber];
+    }
+
+    @Benchmark
+    public int insertAndMove() {
+        for (int i = 0; i < personHandles.length; i++) {
+            personHandles[i] = kieSession.insert(persons.get(i));
+        }
+        int fired = kieSession.fireAllRules();
+        for (int i = 0; i < personHandles.length; i++) {
+            Person person = persons.get(i);
+            person.setCity(BenchmarkUtil.CITIES[(i + 1) % BenchmarkUtil.CITIES.length]);
+            kieSession.update(personHandles[i], person);
+        }
+        return fired + kieSession.fireAllRules();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+import java.util.List;
+
+import org.drools.benchmarks.common.AbstractSessionBenchmark;
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.common.model.Account;
+import org.drools.benchmarks.common.model.Person;
+import org.kie.api.KieBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Measures the propagation through a chain of joins, either hash indexed on equality or range indexed on comparison constraints
+ */
+public class JoinBenchmark extends AbstractSessionBenchmark {
+
+    @Param({"1000", "10000"})
+    private int factsNumber;
+
+    @Param({"equality", "comparison"})
+    private String joinType;
+
+    private List<Person> persons;
+    private List<Account> accounts;
+
+    @Override
+    protected KieBase createKieBase() {
+        String accountConstraint = joinType.equals("equality") ? "owner == $p.name" : "balance < $p.age";
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "import " + Account.class.getCanonicalName() + ";\n" +
+                "rule Join when\n" +
+                "    $p : Person( age > 10 )\n" +
+                "    $a : Account( " + accountConstraint + " )\n" +
+                "    Person( city == $p.city, name == $a.owner )\n" +
+                "then end\n";
+        return BenchmarkUtil.buildKieBase(drl);
+    }
+
+    @Override
+    protected void populateKieSession() {
+        persons = BenchmarkUtil.createPersons(factsNumber);
+        accounts = BenchmarkUtil.createAccounts(factsNumber);
+    }
+
+    @Benchmark
+    public int insertAndFire() {
+        for (Account account : accounts) {
+            kieSession.insert(account);
+        }
+        for (Person person : persons) {
+            kieSession.insert(person);
+        }
+        return kieSession.fireAllRules();
+    }
+}
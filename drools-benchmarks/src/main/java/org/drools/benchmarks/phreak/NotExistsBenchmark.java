@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.phreak;
+
+import java.util.List;
+
+import org.drools.benchmarks.common.AbstractSessionBenchmark;
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.common.model.Account;
+import org.drools.benchmarks.common.model.Person;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Measures the blocking and unblocking of left tuples in not and exists nodes: the persons are inserted first,
+ * then the accounts block (or unblock) them and finally their deletion reverts the matches
+ */
+public class NotExistsBenchmark extends AbstractSessionBenchmark {
+
+    @Param({"1000", "10000"})
+    private int factsNumber;
+
+    @Param({"not", "exists"})
+    private String conditionalElement;
+
+    private List<Person> persons;
+    private List<Account> accounts;
+
+    @Override
+    protected KieBase createKieBase() {
+        String drl =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "import " + Account.class.getCanonicalName() + ";\n" +
+                "rule R when\n" +
+                "    $p : Person()\n" +
+                "    " + conditionalElement + " Account( owner == $p.name )\n" +
+                "then end\n";
+        return BenchmarkUtil.buildKieBase(drl);
+    }
+
+    @Override
+    protected void populateKieSession() {
+        persons = BenchmarkUtil.createPersons(factsNumber);
+        accounts = BenchmarkUtil.createAccounts(factsNumber / 2);
+        for (Person person : persons) {
+            kieSession.insert(person);
+        }
+    }
+
+    @Benchmark
+    public int blockAndUnblock() {
+        int fired = kieSession.fireAllRules();
+        FactHandle[] accountHandles = new FactHandle[accounts.size()];
+        for (int i = 0; i < accountHandles.length; i++) {
+            accountHandles[i] = kieSession.insert(accounts.get(i));
+        }
+        fired += kieSession.fireAllRules();
+        for (FactHandle accountHandle : accountHandles) {
+            kieSession.delete(accountHandle);
+        }
+        return fired + kieSession.fireAllRules();
+    }
+}
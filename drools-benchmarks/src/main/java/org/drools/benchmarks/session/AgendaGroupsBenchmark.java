@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.session;
+
+import java.util.List;
+
+import org.drools.benchmarks.common.AbstractSessionBenchmark;
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.common.model.Person;
+import org.kie.api.KieBase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Measures fireAllRules when the activations are spread across many agenda groups that get the focus one after the other
+ */
+public class AgendaGroupsBenchmark extends AbstractSessionBenchmark {
+
+    @Param({"1000"})
+    private int factsNumber;
+
+    @Param({"10", "100"})
+    private int agendaGroupsNumber;
+
+    private List<Person> persons;
+
+    @Override
+    protected KieBase createKieBase() {
+        StringBuilder drl = new StringBuilder("import " + Person.class.getCanonicalName() + ";\n");
+        for (int i = 0; i < agendaGroupsNumber; i++) {
+            drl.append("rule R").append(i).append(" agenda-group \"G").append(i).append("\" when\n")
+               .append("    Person( age >= ").append(i % 100).append(" )\n")
+               .append("then end\n");
+        }
+        return BenchmarkUtil.buildKieBase(drl.toString());
+    }
+
+    @Override
+    protected void populateKieSession() {
+        persons = BenchmarkUtil.createPersons(factsNumber);
+        for (Person person : persons) {
+            kieSession.insert(person);
+        }
+    }
+
+    @Benchmark
+    public int fireAllGroups() {
+        // the focus is a stack, so the first group to be fired is the last one pushed
+        for (int i = agendaGroupsNumber - 1; i >= 0; i--) {
+            kieSession.getAgenda().getAgendaGroup("G" + i).setFocus();
+        }
+        return kieSession.fireAllRules();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.benchmarks.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.benchmarks.common.BenchmarkUtil;
+import org.drools.benchmarks.common.model.Account;
+import org.drools.benchmarks.common.model.Person;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.StatelessKieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of StatelessKieSession.execute, including the creation and disposal of the underlying session,
+ * as typically done by a service evaluating a small batch of facts per request
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 2)
+public class StatelessSessionBenchmark {
+
+    private static final String DRL =
+            "import " + Person.class.getCanonicalName() + ";\n" +
+            "import " + Account.class.getCanonicalName() + ";\n" +
+            "rule Discount when\n" +
+            "    $p : Person( age >= 60 )\n" +
+            "    $a : Account( owner == $p.name )\n" +
+            "then\n" +
+            "    $a.setBalance( $a.getBalance() + 10 );\n" +
+            "end\n" +
+            "rule Minor when\n" +
+            "    $p : Person( age < 18 )\n" +
+            "then end\n";
+
+    @Param({"10", "100"})
+    private int factsNumber;
+
+    private StatelessKieSession statelessKieSession;
+    private List<Object> facts;
+
+    @Setup
+    public void setup() {
+        KieBase kieBase = BenchmarkUtil.buildKieBase(DRL);
+        statelessKieSession = kieBase.newStatelessKieSession();
+        facts = new ArrayList<>();
+        facts.addAll(BenchmarkUtil.createPersons(factsNumber));
+        facts.addAll(BenchmarkUtil.createAccounts(factsNumber));
+    }
+
+    @Benchmark
+    public List<Object> execute() {
+        statelessKieSession.execute(facts);
+        return facts;
+    }
+}
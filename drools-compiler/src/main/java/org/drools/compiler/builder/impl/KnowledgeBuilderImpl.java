@@ -25,11 +25,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Stack;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
@@ -71,10 +74,20 @@ import org.drools.core.rule.Function;
 import org.drools.core.rule.ImportDeclaration;
 import org.drools.core.rule.TypeDeclaration;
 import org.drools.core.spi.ObjectType;
+import org.drools.drl.ast.descr.AccumulateDescr;
 import org.drools.drl.ast.descr.AnnotatedBaseDescr;
 import org.drools.drl.ast.descr.AttributeDescr;
+import org.drools.drl.ast.descr.BaseDescr;
+import org.drools.drl.ast.descr.CollectDescr;
+import org.drools.drl.ast.descr.ConditionalElementDescr;
+import org.drools.drl.ast.descr.EvalDescr;
+import org.drools.drl.ast.descr.ExpressionDescr;
+import org.drools.drl.ast.descr.FromDescr;
+import org.drools.drl.ast.descr.GlobalDescr;
 import org.drools.drl.ast.descr.ImportDescr;
 import org.drools.drl.ast.descr.PackageDescr;
+import org.drools.drl.ast.descr.PatternDescr;
+import org.drools.drl.ast.descr.RuleDescr;
 import org.drools.drl.extensions.DecisionTableFactory;
 import org.drools.drl.extensions.GuidedRuleTemplateFactory;
 import org.drools.drl.extensions.GuidedRuleTemplateProvider;
@@ -654,17 +667,201 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder, TypeDecla
     protected void compileKnowledgePackages(PackageDescr packageDescr, PackageRegistry pkgRegistry) {
         pkgRegistry.setDialect(getPackageDialect(packageDescr));
         PackageRegistry packageRegistry = this.pkgRegistryManager.getPackageRegistry(packageDescr.getNamespace());
-        Map<String, AttributeDescr> packageAttributes = this.pkgRegistryManager.getPackageAttributes().get(packageDescr.getNamespace());
 
         List<CompilationPhase> phases = asList(
                 new RuleValidator(packageRegistry, packageDescr, configuration), // validateUniqueRuleNames
                 new FunctionCompiler(packageDescr, pkgRegistry, assetFilter, rootClassLoader),
-                new RuleCompiler(pkgRegistry, packageDescr, kBase, parallelRulesBuildThreshold,
-                        assetFilter, packageAttributes, resource, this));
+                createRuleCompiler(packageDescr, pkgRegistry, assetFilter));
         phases.forEach(CompilationPhase::process);
         phases.forEach(p -> this.results.addAll(p.getResults()));
     }
 
+    private RuleCompiler createRuleCompiler(PackageDescr packageDescr, PackageRegistry pkgRegistry, AssetFilter assetFilter) {
+        Map<String, AttributeDescr> packageAttributes = this.pkgRegistryManager.getPackageAttributes().get(packageDescr.getNamespace());
+        return new RuleCompiler(pkgRegistry, packageDescr, kBase, parallelRulesBuildThreshold,
+                assetFilter, packageAttributes, resource, this);
+    }
+
+    /**
+     * Compiles the functions of all the given packages first and then builds the rules of the packages not depending
+     * on each other in parallel. The results are collected per package and added in the same order of a serial build.
+     */
+    private void compileKnowledgePackagesInParallel(Collection<CompositePackageDescr> packages) {
+        Map<String, List<CompilationPhase>> phasesByPackage = new HashMap<>();
+        Map<String, CompilationPhase> ruleCompilers = new HashMap<>();
+        for (CompositePackageDescr packageDescr : packages) {
+            PackageRegistry pkgRegistry = getPackageRegistry(packageDescr.getNamespace());
+            pkgRegistry.setDialect(getPackageDialect(packageDescr));
+            // functions are stored in the shared class loader, so they have to be compiled sequentially
+            List<CompilationPhase> phases = asList(
+                    new RuleValidator(pkgRegistry, packageDescr, configuration), // validateUniqueRuleNames
+                    new FunctionCompiler(packageDescr, pkgRegistry, packageDescr.getFilter(), rootClassLoader),
+                    createRuleCompiler(packageDescr, pkgRegistry, packageDescr.getFilter()));
+            phases.get(0).process();
+            phases.get(1).process();
+            phasesByPackage.put(packageDescr.getNamespace(), phases);
+            ruleCompilers.put(packageDescr.getNamespace(), phases.get(2));
+        }
+
+        for (List<CompositePackageDescr> level : sortPackagesByDependency(packages)) {
+            if (level.size() == 1) {
+                ruleCompilers.get(level.get(0).getNamespace()).process();
+                continue;
+            }
+            try {
+                ForkJoinPoolHolder.COMPILER_POOL.submit(() ->
+                        level.stream().parallel()
+                                .forEach(packageDescr -> ruleCompilers.get(packageDescr.getNamespace()).process())
+                ).get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException("Rules compilation failed or interrupted", e);
+            }
+        }
+
+        for (CompositePackageDescr packageDescr : packages) {
+            phasesByPackage.get(packageDescr.getNamespace()).forEach(p -> this.results.addAll(p.getResults()));
+        }
+    }
+
+    /**
+     * Groups the given packages in levels such that a package referring to another one of the same build, either with
+     * an import or with a fully qualified name, is in a later level than it. The packages of a level can be compiled
+     * concurrently, while the levels are in build order. Packages with circular references are placed in levels on their own.
+     */
+    public static List<List<CompositePackageDescr>> sortPackagesByDependency(Collection<CompositePackageDescr> packages) {
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        for (CompositePackageDescr packageDescr : packages) {
+            Set<String> pkgDependencies = new HashSet<>();
+            for (CompositePackageDescr other : packages) {
+                if (other != packageDescr && dependsOn(packageDescr, other.getNamespace())) {
+                    pkgDependencies.add(other.getNamespace());
+                }
+            }
+            dependencies.put(packageDescr.getNamespace(), pkgDependencies);
+        }
+
+        List<List<CompositePackageDescr>> levels = new ArrayList<>();
+        List<CompositePackageDescr> remaining = new ArrayList<>(packages);
+        Set<String> sorted = new HashSet<>();
+        while (!remaining.isEmpty()) {
+            List<CompositePackageDescr> level = new ArrayList<>();
+            for (CompositePackageDescr packageDescr : remaining) {
+                if (sorted.containsAll(dependencies.get(packageDescr.getNamespace()))) {
+                    level.add(packageDescr);
+                }
+            }
+            if (level.isEmpty()) {
+                remaining.forEach(packageDescr -> levels.add(Collections.singletonList(packageDescr)));
+                break;
+            }
+            level.forEach(packageDescr -> sorted.add(packageDescr.getNamespace()));
+            remaining.removeAll(level);
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    /**
+     * Returns true if the given package imports something from the one with the given namespace or refers by fully
+     * qualified name to anything in it from its globals, rules or queries. The check is conservative: any occurrence of
+     * the namespace in the text of a rule makes the packages not be compiled concurrently.
+     */
+    private static boolean dependsOn(PackageDescr packageDescr, String namespace) {
+        String prefix = namespace + ".";
+        for (ImportDescr importDescr : packageDescr.getImports()) {
+            if (importDescr.getTarget().startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (ImportDescr importDescr : packageDescr.getFunctionImports()) {
+            if (importDescr.getTarget().startsWith(prefix)) {
+                return true;
+            }
+        }
+        for (GlobalDescr globalDescr : packageDescr.getGlobals()) {
+            if (containsText(globalDescr.getType(), prefix)) {
+                return true;
+            }
+        }
+        for (RuleDescr ruleDescr : packageDescr.getRules()) {
+            if (containsText(ruleDescr.getConsequence(), prefix) || referencesPackage(ruleDescr.getLhs(), prefix)) {
+                return true;
+            }
+            for (Object namedConsequence : ruleDescr.getNamedConsequences().values()) {
+                if (containsText(namedConsequence, prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean referencesPackage(BaseDescr descr, String prefix) {
+        if (descr == null) {
+            return false;
+        }
+        if (descr instanceof PatternDescr) {
+            PatternDescr patternDescr = (PatternDescr) descr;
+            return containsText(patternDescr.getObjectType(), prefix) ||
+                    referencesPackage(patternDescr.getSource(), prefix) ||
+                    referencesPackage(patternDescr.getDescrs(), prefix);
+        }
+        if (descr instanceof ExpressionDescr) {
+            return containsText(((ExpressionDescr) descr).getExpression(), prefix);
+        }
+        if (descr instanceof EvalDescr) {
+            return containsText(((EvalDescr) descr).getContent(), prefix);
+        }
+        if (descr instanceof FromDescr) {
+            return containsText(((FromDescr) descr).getExpression(), prefix);
+        }
+        if (descr instanceof CollectDescr) {
+            return referencesPackage(((CollectDescr) descr).getInputPattern(), prefix);
+        }
+        if (descr instanceof AccumulateDescr) {
+            AccumulateDescr accumulateDescr = (AccumulateDescr) descr;
+            if (containsText(accumulateDescr.getInitCode(), prefix) || containsText(accumulateDescr.getActionCode(), prefix) ||
+                    containsText(accumulateDescr.getReverseCode(), prefix) || containsText(accumulateDescr.getResultCode(), prefix)) {
+                return true;
+            }
+            for (AccumulateDescr.AccumulateFunctionCallDescr function : accumulateDescr.getFunctions()) {
+                if (containsText(function.getFunction(), prefix) || (function.getParams() != null && containsText(String.join(",", function.getParams()), prefix))) {
+                    return true;
+                }
+            }
+            return referencesPackage(accumulateDescr.getInput(), prefix);
+        }
+        if (descr instanceof ConditionalElementDescr) {
+            return referencesPackage(((ConditionalElementDescr) descr).getDescrs(), prefix);
+        }
+        // entry points, windows and the other leaves keep their source in the text
+        return containsText(descr.getText(), prefix);
+    }
+
+    private static boolean referencesPackage(List<? extends BaseDescr> descrs, String prefix) {
+        for (BaseDescr descr : descrs) {
+            if (referencesPackage(descr, prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsText(Object text, String prefix) {
+        return text != null && text.toString().contains(prefix);
+    }
+
+    private boolean isParallelPackagesBuild(Collection<CompositePackageDescr> packages) {
+        if (this.kBase != null || parallelRulesBuildThreshold == -1 || packages.size() < 2) {
+            return false;
+        }
+        int rulesCount = 0;
+        for (CompositePackageDescr packageDescr : packages) {
+            rulesCount += packageDescr.getRules().size();
+        }
+        return rulesCount > parallelRulesBuildThreshold;
+    }
+
     protected void wireAllRules() {
         ConsequenceCompilationPhase compilationPhase = new ConsequenceCompilationPhase(pkgRegistryManager);
         compilationPhase.process();
@@ -1309,11 +1506,15 @@ public class KnowledgeBuilderImpl implements InternalKnowledgeBuilder, TypeDecla
     }
 
     protected void buildRules(Collection<CompositePackageDescr> packages) {
-        for (CompositePackageDescr packageDescr : packages) {
-            setAssetFilter(packageDescr.getFilter());
-            PackageRegistry pkgRegistry = getPackageRegistry(packageDescr.getNamespace());
-            compileKnowledgePackages(packageDescr, pkgRegistry);
-            setAssetFilter(null);
+        if (isParallelPackagesBuild(packages)) {
+            compileKnowledgePackagesInParallel(packages);
+        } else {
+            for (CompositePackageDescr packageDescr : packages) {
+                setAssetFilter(packageDescr.getFilter());
+                PackageRegistry pkgRegistry = getPackageRegistry(packageDescr.getNamespace());
+                compileKnowledgePackages(packageDescr, pkgRegistry);
+                setAssetFilter(null);
+            }
         }
 
         wireAllRules();
@@ -19,11 +19,11 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.drools.compiler.compiler.PackageRegistry;
 import org.drools.compiler.compiler.TypeDeclarationError;
@@ -46,7 +46,8 @@ import static org.drools.core.util.Drools.hasMvel;
 public class TypeDeclarationCache {
 
     private final TypeDeclarationContext context;
-    private final Map<String, TypeDeclaration> cacheTypes = new HashMap<>();
+    // the rules of independent packages are built concurrently and lazily register the types they use
+    private final Map<String, TypeDeclaration> cacheTypes = new ConcurrentHashMap<>();
 
     TypeDeclarationCache( TypeDeclarationContext context ) {
         this.context = context;
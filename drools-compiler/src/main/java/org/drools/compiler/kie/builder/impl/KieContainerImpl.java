@@ -42,6 +42,7 @@ import org.drools.core.impl.RuleBase;
 import org.drools.core.management.DroolsManagementAgent;
 import org.drools.core.management.DroolsManagementAgent.CBSKey;
 import org.drools.core.reteoo.RuntimeComponentFactory;
+import org.drools.core.util.ScalablePool;
 import org.drools.util.ClassUtils;
 import org.drools.kiesession.rulebase.InternalKnowledgeBase;
 import org.drools.kiesession.session.StatefulKnowledgeSessionImpl;
@@ -69,6 +70,7 @@ import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.KieContainerSessionsPool;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.KieSessionsPoolConfiguration;
 import org.kie.api.runtime.StatelessKieSession;
 import org.kie.api.time.Calendar;
 import org.kie.internal.builder.ChangeType;
@@ -523,14 +525,18 @@ public class KieContainerImpl
         return new KieContainerSessionsPoolImpl(this, initialSize);
     }
 
-    StatefulSessionPool createKieSessionsPool(String kSessionName, KieSessionConfiguration conf, Environment env, int initialSize, boolean stateless) {
+    public KieContainerSessionsPool newKieSessionsPool( KieSessionsPoolConfiguration configuration ) {
+        return new KieContainerSessionsPoolImpl(this, ScalablePool.Config.of( configuration ));
+    }
+
+    StatefulSessionPool createKieSessionsPool(String kSessionName, KieSessionConfiguration conf, Environment env, ScalablePool.Config poolConfig, boolean stateless) {
         KieSessionModel kSessionModel = kSessionName != null ? getKieSessionModel(kSessionName) : findKieSessionModel(false);
         if ( kSessionModel == null ) {
             log.error("Unknown KieSession name: " + kSessionName);
             return null;
         }
         InternalKnowledgeBase kBase = (InternalKnowledgeBase) getKieBaseFromKieSessionModel( kSessionModel );
-        return kBase == null ? null : new StatefulSessionPool(kBase, initialSize, () -> {
+        return kBase == null ? null : new StatefulSessionPool(kBase, poolConfig, () -> {
             SessionConfiguration sessConf = conf != null ? (SessionConfiguration) conf : kBase.getSessionConfiguration();
             StatefulKnowledgeSessionImpl kSession = stateless ?
                     ((StatefulKnowledgeSessionImpl) RuntimeComponentFactory.get().createStatefulSession(kBase, env, sessConf, false)).setStateless( true ) :
@@ -16,6 +16,7 @@
 
 package org.drools.compiler.kie.builder.impl;
 
+import org.drools.core.util.ScalablePool;
 import org.drools.kiesession.session.AbstractKieSessionsPool;
 import org.drools.kiesession.session.StatefulSessionPool;
 import org.drools.kiesession.session.StatelessKnowledgeSessionImpl;
@@ -33,6 +34,11 @@ public class KieContainerSessionsPoolImpl extends AbstractKieSessionsPool implem
         this.kContainer = kContainer;
     }
 
+    KieContainerSessionsPoolImpl( KieContainerImpl kContainer, ScalablePool.Config poolConfig ) {
+        super(poolConfig);
+        this.kContainer = kContainer;
+    }
+
     @Override
     public KieSession newKieSession() {
         return newKieSession( null, null );
@@ -75,7 +81,7 @@ public class KieContainerSessionsPoolImpl extends AbstractKieSessionsPool implem
 
     @Override
     protected StatefulSessionPool createStatefulSessionPool( String kSessionName, KieSessionConfiguration conf, boolean stateless ) {
-        return kContainer.createKieSessionsPool(kSessionName, conf, environment, initialSize, stateless);
+        return kContainer.createKieSessionsPool(kSessionName, conf, environment, poolConfig, stateless);
     }
 
     @Override
@@ -48,11 +48,13 @@ import org.kie.api.conf.SequentialOption;
 import org.kie.api.conf.SessionsPoolOption;
 import org.kie.api.conf.SingleValueKieBaseOption;
 import org.kie.api.runtime.rule.ConsequenceExceptionHandler;
+import org.kie.internal.conf.AlphaAdaptiveIndexingOption;
 import org.kie.internal.conf.AlphaRangeIndexThresholdOption;
 import org.kie.internal.conf.AlphaThresholdOption;
 import org.kie.internal.conf.CompositeKeyDepthOption;
 import org.kie.internal.conf.ConsequenceExceptionHandlerOption;
 import org.kie.internal.conf.ConstraintJittingThresholdOption;
+import org.kie.internal.conf.FromMemoizationOption;
 import org.kie.internal.conf.IndexLeftBetaMemoryOption;
 import org.kie.internal.conf.IndexPrecedenceOption;
 import org.kie.internal.conf.IndexRightBetaMemoryOption;
@@ -62,6 +64,7 @@ import org.kie.internal.conf.PermGenThresholdOption;
 import org.kie.internal.conf.SequentialAgendaOption;
 import org.kie.internal.conf.ShareAlphaNodesOption;
 import org.kie.internal.conf.ShareBetaNodesOption;
+import org.kie.internal.conf.VersionedUpdatesOption;
 import org.kie.internal.utils.ChainedProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,8 +98,11 @@ import static org.drools.core.util.MemoryUtil.hasPermGen;
  * drools.shareBetaNodes = &lt;true|false&gt;
  * drools.alphaNodeHashingThreshold = &lt;1...n&gt;
  * drools.alphaNodeRangeIndexThreshold = &lt;1...n&gt;
+ * drools.alphaNodeAdaptiveIndexing = &lt;true|false&gt;
  * drools.betaNodeRangeIndexEnabled = &lt;true|false&gt;
  * drools.sessionPool = &lt;1...n&gt;
+ * drools.versionedUpdates = &lt;true|false&gt;
+ * drools.fromMemoization = &lt;true|false&gt;
  * drools.compositeKeyDepth = &lt;1..3&gt;
  * drools.indexLeftBetaMemory = &lt;true/false&gt;
  * drools.indexRightBetaMemory = &lt;true/false&gt;
@@ -140,6 +146,7 @@ public class RuleBaseConfiguration
     private int             jittingThreshold;
     private int             alphaNodeHashingThreshold;
     private int             alphaNodeRangeIndexThreshold;
+    private boolean         alphaNodeAdaptiveIndexing;
     private boolean         betaNodeRangeIndexEnabled;
     private int             compositeKeyDepth;
     private boolean         indexLeftBetaMemory;
@@ -175,6 +182,10 @@ public class RuleBaseConfiguration
 
     private int sessionPoolSize;
 
+    private boolean versionedUpdates;
+
+    private boolean fromMemoization;
+
     private static class DefaultRuleBaseConfigurationHolder {
         private static final RuleBaseConfiguration defaultConf = new RuleBaseConfiguration();
     }
@@ -198,6 +209,7 @@ public class RuleBaseConfiguration
         out.writeInt(jittingThreshold);
         out.writeInt(alphaNodeHashingThreshold);
         out.writeInt(alphaNodeRangeIndexThreshold);
+        out.writeBoolean(alphaNodeAdaptiveIndexing);
         out.writeBoolean(betaNodeRangeIndexEnabled);
         out.writeInt(compositeKeyDepth);
         out.writeBoolean(indexLeftBetaMemory);
@@ -214,6 +226,8 @@ public class RuleBaseConfiguration
         out.writeBoolean(declarativeAgenda);
         out.writeInt(sessionPoolSize);
         out.writeBoolean(mutabilityEnabled);
+        out.writeBoolean(versionedUpdates);
+        out.writeBoolean(fromMemoization);
     }
 
     public void readExternal(ObjectInput in) throws IOException,
@@ -230,6 +244,7 @@ public class RuleBaseConfiguration
         jittingThreshold = in.readInt();
         alphaNodeHashingThreshold = in.readInt();
         alphaNodeRangeIndexThreshold = in.readInt();
+        alphaNodeAdaptiveIndexing = in.readBoolean();
         betaNodeRangeIndexEnabled = in.readBoolean();
         compositeKeyDepth = in.readInt();
         indexLeftBetaMemory = in.readBoolean();
@@ -246,6 +261,8 @@ public class RuleBaseConfiguration
         declarativeAgenda = in.readBoolean();
         sessionPoolSize = in.readInt();
         mutabilityEnabled = in.readBoolean();
+        versionedUpdates = in.readBoolean();
+        fromMemoization = in.readBoolean();
     }
 
     /**
@@ -311,10 +328,16 @@ public class RuleBaseConfiguration
             setAlphaNodeHashingThreshold( StringUtils.isEmpty( value ) ? 3 : Integer.parseInt(value));
         } else if ( name.equals( AlphaRangeIndexThresholdOption.PROPERTY_NAME ) ) {
             setAlphaNodeRangeIndexThreshold( StringUtils.isEmpty( value ) ? AlphaRangeIndexThresholdOption.DEFAULT_VALUE : Integer.parseInt(value));
+        } else if ( name.equals( AlphaAdaptiveIndexingOption.PROPERTY_NAME ) ) {
+            setAlphaNodeAdaptiveIndexing( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( BetaRangeIndexOption.PROPERTY_NAME ) ) {
             setBetaNodeRangeIndexEnabled( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( SessionsPoolOption.PROPERTY_NAME ) ) {
             setSessionPoolSize( StringUtils.isEmpty( value ) ? -1 : Integer.parseInt(value));
+        } else if ( name.equals( VersionedUpdatesOption.PROPERTY_NAME ) ) {
+            setVersionedUpdates( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
+        } else if ( name.equals( FromMemoizationOption.PROPERTY_NAME ) ) {
+            setFromMemoization( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( CompositeKeyDepthOption.PROPERTY_NAME ) ) {
             setCompositeKeyDepth( StringUtils.isEmpty( value ) ? 3 : Integer.parseInt(value));
         } else if ( name.equals( IndexLeftBetaMemoryOption.PROPERTY_NAME ) ) {
@@ -368,10 +391,16 @@ public class RuleBaseConfiguration
             return Integer.toString( getAlphaNodeHashingThreshold() );
         } else if ( name.equals( AlphaRangeIndexThresholdOption.PROPERTY_NAME ) ) {
             return Integer.toString( getAlphaNodeRangeIndexThreshold() );
+        } else if ( name.equals( AlphaAdaptiveIndexingOption.PROPERTY_NAME ) ) {
+            return Boolean.toString( isAlphaNodeAdaptiveIndexing() );
         } else if ( name.equals( BetaRangeIndexOption.PROPERTY_NAME ) ) {
             return Boolean.toString( isBetaNodeRangeIndexEnabled() );
         } else if ( name.equals( SessionsPoolOption.PROPERTY_NAME ) ) {
             return Integer.toString( getSessionPoolSize() );
+        } else if ( name.equals( VersionedUpdatesOption.PROPERTY_NAME ) ) {
+            return Boolean.toString( isVersionedUpdates() );
+        } else if ( name.equals( FromMemoizationOption.PROPERTY_NAME ) ) {
+            return Boolean.toString( isFromMemoization() );
         } else if ( name.equals( CompositeKeyDepthOption.PROPERTY_NAME ) ) {
             return Integer.toString( getCompositeKeyDepth() );
         } else if ( name.equals( IndexLeftBetaMemoryOption.PROPERTY_NAME ) ) {
@@ -448,10 +477,16 @@ public class RuleBaseConfiguration
 
         setAlphaNodeRangeIndexThreshold(Integer.parseInt(this.chainedProperties.getProperty(AlphaRangeIndexThresholdOption.PROPERTY_NAME, "" + AlphaRangeIndexThresholdOption.DEFAULT_VALUE)));
 
+        setAlphaNodeAdaptiveIndexing(Boolean.valueOf(this.chainedProperties.getProperty(AlphaAdaptiveIndexingOption.PROPERTY_NAME, "false")));
+
         setBetaNodeRangeIndexEnabled(Boolean.valueOf(this.chainedProperties.getProperty(BetaRangeIndexOption.PROPERTY_NAME, "false")));
 
         setSessionPoolSize(Integer.parseInt(this.chainedProperties.getProperty( SessionsPoolOption.PROPERTY_NAME, "-1")));
 
+        setVersionedUpdates(Boolean.valueOf(this.chainedProperties.getProperty(VersionedUpdatesOption.PROPERTY_NAME, "false")));
+
+        setFromMemoization(Boolean.valueOf(this.chainedProperties.getProperty(FromMemoizationOption.PROPERTY_NAME, "false")));
+
         setCompositeKeyDepth(Integer.parseInt(this.chainedProperties.getProperty(CompositeKeyDepthOption.PROPERTY_NAME, "3")));
 
         setIndexLeftBetaMemory(Boolean.valueOf(this.chainedProperties.getProperty(IndexLeftBetaMemoryOption.PROPERTY_NAME, "true")).booleanValue());
@@ -606,6 +641,15 @@ public class RuleBaseConfiguration
         this.alphaNodeRangeIndexThreshold = alphaNodeRangeIndexThreshold;
     }
 
+    public boolean isAlphaNodeAdaptiveIndexing() {
+        return this.alphaNodeAdaptiveIndexing;
+    }
+
+    public void setAlphaNodeAdaptiveIndexing(final boolean alphaNodeAdaptiveIndexing) {
+        checkCanChange();
+        this.alphaNodeAdaptiveIndexing = alphaNodeAdaptiveIndexing;
+    }
+
     public boolean isBetaNodeRangeIndexEnabled() {
         return this.betaNodeRangeIndexEnabled;
     }
@@ -624,6 +668,24 @@ public class RuleBaseConfiguration
         this.sessionPoolSize = sessionPoolSize;
     }
 
+    public boolean isVersionedUpdates() {
+        return this.versionedUpdates;
+    }
+
+    public void setVersionedUpdates(final boolean versionedUpdates) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.versionedUpdates = versionedUpdates;
+    }
+
+    public boolean isFromMemoization() {
+        return this.fromMemoization;
+    }
+
+    public void setFromMemoization(final boolean fromMemoization) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.fromMemoization = fromMemoization;
+    }
+
     public AssertBehaviour getAssertBehaviour() {
         return this.assertBehaviour;
     }
@@ -1047,10 +1109,16 @@ public class RuleBaseConfiguration
             return (T) AlphaThresholdOption.get(alphaNodeHashingThreshold);
         } else if (AlphaRangeIndexThresholdOption.class.equals(option)) {
             return (T) AlphaRangeIndexThresholdOption.get(alphaNodeRangeIndexThreshold);
+        } else if (AlphaAdaptiveIndexingOption.class.equals(option)) {
+            return (T) (this.alphaNodeAdaptiveIndexing ? AlphaAdaptiveIndexingOption.YES : AlphaAdaptiveIndexingOption.NO);
         } else if (BetaRangeIndexOption.class.equals(option)) {
             return (T) (this.betaNodeRangeIndexEnabled ? BetaRangeIndexOption.ENABLED : BetaRangeIndexOption.DISABLED);
         } else if ( SessionsPoolOption.class.equals(option)) {
             return (T) SessionsPoolOption.get(sessionPoolSize);
+        } else if (VersionedUpdatesOption.class.equals(option)) {
+            return (T) (this.versionedUpdates ? VersionedUpdatesOption.YES : VersionedUpdatesOption.NO);
+        } else if (FromMemoizationOption.class.equals(option)) {
+            return (T) (this.fromMemoization ? FromMemoizationOption.YES : FromMemoizationOption.NO);
         } else if (CompositeKeyDepthOption.class.equals(option)) {
             return (T) CompositeKeyDepthOption.get(compositeKeyDepth);
         } else if (ConsequenceExceptionHandlerOption.class.equals(option)) {
@@ -1106,10 +1174,16 @@ public class RuleBaseConfiguration
             setAlphaNodeHashingThreshold( ( (AlphaThresholdOption) option ).getThreshold());
         } else if (option instanceof AlphaRangeIndexThresholdOption) {
             setAlphaNodeRangeIndexThreshold( ( (AlphaRangeIndexThresholdOption) option ).getThreshold());
+        } else if (option instanceof AlphaAdaptiveIndexingOption) {
+            setAlphaNodeAdaptiveIndexing( ( (AlphaAdaptiveIndexingOption) option ).isAlphaAdaptiveIndexing());
         } else if (option instanceof BetaRangeIndexOption) {
             setBetaNodeRangeIndexEnabled( ( (BetaRangeIndexOption) option ).isBetaRangeIndexEnabled());
         } else if (option instanceof SessionsPoolOption ) {
             setSessionPoolSize( ( ( SessionsPoolOption ) option ).getSize());
+        } else if (option instanceof VersionedUpdatesOption) {
+            setVersionedUpdates( ( (VersionedUpdatesOption) option ).isVersionedUpdates());
+        } else if (option instanceof FromMemoizationOption) {
+            setFromMemoization( ( (FromMemoizationOption) option ).isFromMemoization());
         } else if (option instanceof CompositeKeyDepthOption) {
             setCompositeKeyDepth( ( (CompositeKeyDepthOption) option ).getDepth());
         } else if (option instanceof ConsequenceExceptionHandlerOption) {
@@ -44,6 +44,7 @@ import org.kie.api.runtime.conf.TimerJobFactoryOption;
 import org.kie.api.runtime.process.WorkItemHandler;
 import org.kie.internal.runtime.conf.ForceEagerActivationFilter;
 import org.kie.internal.runtime.conf.ForceEagerActivationOption;
+import org.kie.internal.runtime.conf.LockFreePropagationListOption;
 import org.kie.internal.utils.ChainedProperties;
 
 /**
@@ -78,6 +79,8 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
     private boolean                        threadSafe;
 
+    private boolean                        lockFreePropagationList;
+
     private boolean                        accumulateNullPropagation;
 
     private ForceEagerActivationFilter     forceEagerActivationFilter;
@@ -167,6 +170,8 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
         setThreadSafe(Boolean.valueOf( getPropertyValue( ThreadSafeOption.PROPERTY_NAME, "true" ) ));
 
+        setLockFreePropagationList(Boolean.valueOf( getPropertyValue( LockFreePropagationListOption.PROPERTY_NAME, "false" ) ));
+
         setAccumulateNullPropagation(Boolean.valueOf( getPropertyValue( AccumulateNullPropagationOption.PROPERTY_NAME, "false" ) ));
 
         setForceEagerActivationFilter(ForceEagerActivationOption.resolve( getPropertyValue( ForceEagerActivationOption.PROPERTY_NAME, "false" ) ).getFilter());
@@ -243,6 +248,15 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         return this.threadSafe;
     }
 
+    public void setLockFreePropagationList(boolean lockFreePropagationList) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.lockFreePropagationList = lockFreePropagationList;
+    }
+
+    public boolean isLockFreePropagationList() {
+        return this.lockFreePropagationList;
+    }
+
     public void setAccumulateNullPropagation(boolean accumulateNullPropagation) {
         checkCanChange(); // throws an exception if a change isn't possible;
         this.accumulateNullPropagation = accumulateNullPropagation;
@@ -21,8 +21,11 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 
+import org.drools.core.util.LongTreeMultiset;
+
 /**
- * An implementation of an accumulator capable of calculating maximum values
+ * An implementation of an accumulator capable of calculating maximum values.
+ * The accumulated values are kept sorted, so the accumulation can be reversed in O(log n) time.
  */
 public class IntegerMaxAccumulateFunction extends AbstractAccumulateFunction<IntegerMaxAccumulateFunction.MaxData> {
 
@@ -35,16 +38,16 @@ public class IntegerMaxAccumulateFunction extends AbstractAccumulateFunction<Int
     }
 
     protected static class MaxData implements Externalizable {
-        public Integer max = null;
+        public final LongTreeMultiset values = new LongTreeMultiset();
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            max = (Integer) in.readObject();
+            values.readExternal(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(max);
+            values.writeExternal(out);
         }
 
         @Override
@@ -58,36 +61,29 @@ public class IntegerMaxAccumulateFunction extends AbstractAccumulateFunction<Int
     }
 
     public void init(MaxData data) {
-        data.max = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Integer number = (Integer)value;
-            data.max = data.max == null || data.max < number ? number : data.max;
+            data.values.add( (Integer) value );
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
-    }
-
-    @Override
-    public boolean tryReverse( MaxData data, Object value ) {
         if (value != null) {
-            Integer number = (Integer)value;
-            return data.max > number;
+            data.values.remove( (Integer) value );
         }
-        return true;
     }
 
-    public Object getResult( MaxData data) {
-        return data.max;
+    public Object getResult(MaxData data) {
+        return data.values.isEmpty() ? null : (int) data.values.last();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
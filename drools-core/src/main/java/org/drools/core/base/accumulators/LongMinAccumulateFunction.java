@@ -21,8 +21,11 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 
+import org.drools.core.util.LongTreeMultiset;
+
 /**
- * An implementation of an accumulator capable of calculating maximum values
+ * An implementation of an accumulator capable of calculating minimum values.
+ * The accumulated values are kept sorted, so the accumulation can be reversed in O(log n) time.
  */
 public class LongMinAccumulateFunction extends AbstractAccumulateFunction<LongMinAccumulateFunction.MinData> {
 
@@ -35,16 +38,16 @@ public class LongMinAccumulateFunction extends AbstractAccumulateFunction<LongMi
     }
 
     protected static class MinData implements Externalizable {
-        public Long min = null;
+        public final LongTreeMultiset values = new LongTreeMultiset();
 
         public MinData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            min = (Long) in.readObject();
+            values.readExternal(in);
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(min);
+            values.writeExternal(out);
         }
 
         @Override
@@ -57,37 +60,30 @@ public class LongMinAccumulateFunction extends AbstractAccumulateFunction<LongMi
         return new MinData();
     }
 
-    public void init( MinData data) {
-        data.min = null;
+    public void init(MinData data) {
+        data.values.clear();
     }
 
-    public void accumulate( MinData data,
-                            Object value) {
+    public void accumulate(MinData data,
+                           Object value) {
         if (value != null) {
-            Long number = (Long)value;
-            data.min = data.min == null || data.min > number ? number : data.min;
+            data.values.add( (Long) value );
         }
     }
 
-    public void reverse( MinData data,
-                         Object value) {
-    }
-
-    @Override
-    public boolean tryReverse( MinData data, Object value ) {
+    public void reverse(MinData data,
+                        Object value) {
         if (value != null) {
-            Long number = (Long)value;
-            return data.min < number;
+            data.values.remove( (Long) value );
         }
-        return true;
     }
 
-    public Object getResult( MinData data) {
-        return data.min;
+    public Object getResult(MinData data) {
+        return data.values.isEmpty() ? null : data.values.first();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
@@ -20,9 +20,14 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.TreeMap;
+
+import org.drools.core.util.Bag.Counter;
 
 /**
- * An implementation of an accumulator capable of calculating maximum values
+ * An implementation of an accumulator capable of calculating maximum values.
+ * The accumulated values are kept sorted together with their number of occurrences,
+ * so the accumulation can be reversed in O(log n) time.
  */
 public class MaxAccumulateFunction extends AbstractAccumulateFunction<MaxAccumulateFunction.MaxData> {
 
@@ -35,16 +40,16 @@ public class MaxAccumulateFunction extends AbstractAccumulateFunction<MaxAccumul
     }
 
     protected static class MaxData implements Externalizable {
-        public Comparable max = null;
+        public TreeMap<Comparable, Counter> values = new TreeMap<>();
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            max = (Comparable) in.readObject();
+            values = (TreeMap<Comparable, Counter>) in.readObject();
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(max);
+            out.writeObject(values);
         }
 
         @Override
@@ -58,36 +63,37 @@ public class MaxAccumulateFunction extends AbstractAccumulateFunction<MaxAccumul
     }
 
     public void init(MaxData data) {
-        data.max = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            data.max = data.max == null || data.max.compareTo( value ) < 0 ?
-                       (Comparable) value :
-                       data.max;
+            Counter counter = data.values.get( value );
+            if (counter == null) {
+                data.values.put( (Comparable) value, new Counter() );
+            } else {
+                counter.increment();
+            }
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
-    }
-
-    @Override
-    public boolean tryReverse( MaxData data, Object value ) {
         if (value != null) {
-            return data.max.compareTo( value ) > 0;
+            Counter counter = data.values.get( value );
+            if (counter != null && counter.decrement()) {
+                data.values.remove( value );
+            }
         }
-        return true;
     }
 
     public Object getResult(MaxData data) {
-        return data.max;
+        return data.values.isEmpty() ? null : data.values.lastKey();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
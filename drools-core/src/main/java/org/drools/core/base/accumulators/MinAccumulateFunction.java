@@ -20,9 +20,14 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.TreeMap;
+
+import org.drools.core.util.Bag.Counter;
 
 /**
- * An implementation of an accumulator capable of calculating minimun values
+ * An implementation of an accumulator capable of calculating minimum values.
+ * The accumulated values are kept sorted together with their number of occurrences,
+ * so the accumulation can be reversed in O(log n) time.
  */
 public class MinAccumulateFunction extends AbstractAccumulateFunction<MinAccumulateFunction.MinData> {
 
@@ -35,16 +40,16 @@ public class MinAccumulateFunction extends AbstractAccumulateFunction<MinAccumul
     }
 
     protected static class MinData implements Externalizable {
-        public Comparable min = null;
-        
+        public TreeMap<Comparable, Counter> values = new TreeMap<>();
+
         public MinData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            min = (Comparable) in.readObject();
+            values = (TreeMap<Comparable, Counter>) in.readObject();
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(min);
+            out.writeObject(values);
         }
 
         @Override
@@ -58,36 +63,37 @@ public class MinAccumulateFunction extends AbstractAccumulateFunction<MinAccumul
     }
 
     public void init(MinData data) {
-        data.min = null;
+        data.values.clear();
     }
 
     public void accumulate(MinData data,
                            Object value) {
         if (value != null) {
-            data.min = data.min == null || data.min.compareTo( value ) > 0 ?
-                       (Comparable) value :
-                       data.min;
-        }
-    }
-
-    @Override
-    public boolean tryReverse( MinData data, Object value ) {
-        if (value != null) {
-            return data.min.compareTo( value ) < 0;
+            Counter counter = data.values.get( value );
+            if (counter == null) {
+                data.values.put( (Comparable) value, new Counter() );
+            } else {
+                counter.increment();
+            }
         }
-        return true;
     }
 
     public void reverse(MinData data,
                         Object value) {
+        if (value != null) {
+            Counter counter = data.values.get( value );
+            if (counter != null && counter.decrement()) {
+                data.values.remove( value );
+            }
+        }
     }
 
     public Object getResult(MinData data) {
-        return data.min;
+        return data.values.isEmpty() ? null : data.values.firstKey();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
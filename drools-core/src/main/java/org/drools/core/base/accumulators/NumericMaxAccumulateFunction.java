@@ -20,9 +20,16 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.TreeMap;
+
+import org.drools.core.util.Bag.Counter;
 
 /**
- * An implementation of an accumulator capable of calculating maximum values
+ * An implementation of an accumulator capable of calculating maximum values.
+ * The accumulated values are kept sorted together with their number of occurrences,
+ * so the accumulation can be reversed in O(log n) time.
  */
 public class NumericMaxAccumulateFunction extends AbstractAccumulateFunction<NumericMaxAccumulateFunction.MaxData> {
 
@@ -35,16 +42,16 @@ public class NumericMaxAccumulateFunction extends AbstractAccumulateFunction<Num
     }
 
     protected static class MaxData implements Externalizable {
-        public Number max = null;
+        public TreeMap<Number, Counter> values = new TreeMap<>(DoubleValueComparator.INSTANCE);
 
         public MaxData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            max = (Number) in.readObject();
+            values = (TreeMap<Number, Counter>) in.readObject();
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(max);
+            out.writeObject(values);
         }
 
         @Override
@@ -53,41 +60,53 @@ public class NumericMaxAccumulateFunction extends AbstractAccumulateFunction<Num
         }
     }
 
+    // compares the numbers through their double value, so numbers of different types can be accumulated together
+    private static class DoubleValueComparator implements Comparator<Number>, Serializable {
+
+        private static final DoubleValueComparator INSTANCE = new DoubleValueComparator();
+
+        @Override
+        public int compare(Number n1, Number n2) {
+            return Double.compare( n1.doubleValue(), n2.doubleValue() );
+        }
+    }
+
     public MaxData createContext() {
         return new MaxData();
     }
 
     public void init(MaxData data) {
-        data.max = null;
+        data.values.clear();
     }
 
     public void accumulate(MaxData data,
                            Object value) {
         if (value != null) {
-            Number number = (Number)value;
-            data.max = data.max == null || data.max.doubleValue() < number.doubleValue() ? number : data.max;
+            Counter counter = data.values.get( value );
+            if (counter == null) {
+                data.values.put( (Number) value, new Counter() );
+            } else {
+                counter.increment();
+            }
         }
     }
 
     public void reverse(MaxData data,
                         Object value) {
-    }
-
-    @Override
-    public boolean tryReverse( MaxData data, Object value ) {
         if (value != null) {
-            Number number = (Number)value;
-            return data.max.doubleValue() > number.doubleValue();
+            Counter counter = data.values.get( value );
+            if (counter != null && counter.decrement()) {
+                data.values.remove( value );
+            }
         }
-        return true;
     }
 
     public Object getResult(MaxData data) {
-        return data.max;
+        return data.values.isEmpty() ? null : data.values.lastKey();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
@@ -20,9 +20,16 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.TreeMap;
+
+import org.drools.core.util.Bag.Counter;
 
 /**
- * An implementation of an accumulator capable of calculating maximum values
+ * An implementation of an accumulator capable of calculating minimum values.
+ * The accumulated values are kept sorted together with their number of occurrences,
+ * so the accumulation can be reversed in O(log n) time.
  */
 public class NumericMinAccumulateFunction extends AbstractAccumulateFunction<NumericMinAccumulateFunction.MinData> {
 
@@ -35,16 +42,16 @@ public class NumericMinAccumulateFunction extends AbstractAccumulateFunction<Num
     }
 
     protected static class MinData implements Externalizable {
-        public Number min = null;
+        public TreeMap<Number, Counter> values = new TreeMap<>(DoubleValueComparator.INSTANCE);
 
         public MinData() {}
 
         public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
-            min = (Double) in.readObject();
+            values = (TreeMap<Number, Counter>) in.readObject();
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
-            out.writeObject(min);
+            out.writeObject(values);
         }
 
         @Override
@@ -53,41 +60,53 @@ public class NumericMinAccumulateFunction extends AbstractAccumulateFunction<Num
         }
     }
 
+    // compares the numbers through their double value, so numbers of different types can be accumulated together
+    private static class DoubleValueComparator implements Comparator<Number>, Serializable {
+
+        private static final DoubleValueComparator INSTANCE = new DoubleValueComparator();
+
+        @Override
+        public int compare(Number n1, Number n2) {
+            return Double.compare( n1.doubleValue(), n2.doubleValue() );
+        }
+    }
+
     public MinData createContext() {
         return new MinData();
     }
 
-    public void init( MinData data) {
-        data.min = null;
+    public void init(MinData data) {
+        data.values.clear();
     }
 
-    public void accumulate( MinData data,
-                            Object value) {
+    public void accumulate(MinData data,
+                           Object value) {
         if (value != null) {
-            Number number = (Number)value;
-            data.min = data.min == null || data.min.doubleValue() > number.doubleValue() ? number : data.min;
+            Counter counter = data.values.get( value );
+            if (counter == null) {
+                data.values.put( (Number) value, new Counter() );
+            } else {
+                counter.increment();
+            }
         }
     }
 
-    @Override
-    public boolean tryReverse( MinData data, Object value ) {
+    public void reverse(MinData data,
+                        Object value) {
         if (value != null) {
-            Number number = (Number)value;
-            return data.min.doubleValue() < number.doubleValue();
+            Counter counter = data.values.get( value );
+            if (counter != null && counter.decrement()) {
+                data.values.remove( value );
+            }
         }
-        return true;
     }
 
-    public void reverse( MinData data,
-                         Object value) {
-    }
-
-    public Object getResult( MinData data) {
-        return data.min;
+    public Object getResult(MinData data) {
+        return data.values.isEmpty() ? null : data.values.firstKey();
     }
 
     public boolean supportsReverse() {
-        return false;
+        return true;
     }
 
     public Class<?> getResultType() {
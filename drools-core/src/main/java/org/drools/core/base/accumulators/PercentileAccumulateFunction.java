@@ -0,0 +1,152 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.drools.core.util.LongTreeMultiset;
+
+/**
+ * An implementation of an accumulator capable of calculating a percentile of the accumulated numbers,
+ * linearly interpolating between the two closest ranks when the percentile doesn't fall exactly on one of them.
+ * The accumulated values are kept sorted, so both the accumulation and its reversal take O(log n) time.
+ */
+public class PercentileAccumulateFunction extends AbstractAccumulateFunction<PercentileAccumulateFunction.PercentileData> {
+
+    private double percentile;
+
+    public PercentileAccumulateFunction() {
+        this( 50 );
+    }
+
+    public PercentileAccumulateFunction(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException( "The percentile must be between 0 and 100: " + percentile );
+        }
+        this.percentile = percentile;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        percentile = in.readDouble();
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeDouble( percentile );
+    }
+
+    protected static class PercentileData implements Externalizable {
+        // the doubles are stored as longs having the same ordering, see toSortableLong
+        public final LongTreeMultiset values = new LongTreeMultiset();
+
+        public PercentileData() {}
+
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            values.readExternal(in);
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            values.writeExternal(out);
+        }
+
+        @Override
+        public String toString() {
+            return "percentile";
+        }
+    }
+
+    @Override
+    public PercentileData createContext() {
+        return new PercentileData();
+    }
+
+    @Override
+    public void init(PercentileData data) {
+        data.values.clear();
+    }
+
+    @Override
+    public void accumulate(PercentileData data, Object value) {
+        if (value != null) {
+            data.values.add( toSortableLong( ((Number) value).doubleValue() ) );
+        }
+    }
+
+    @Override
+    public void reverse(PercentileData data, Object value) {
+        if (value != null) {
+            data.values.remove( toSortableLong( ((Number) value).doubleValue() ) );
+        }
+    }
+
+    @Override
+    public Double getResult(PercentileData data) {
+        int size = data.values.size();
+        if (size == 0) {
+            return null;
+        }
+        double rank = percentile / 100 * (size - 1);
+        int lowerRank = (int) rank;
+        double lower = fromSortableLong( data.values.get( lowerRank ) );
+        if (lowerRank == rank) {
+            return lower;
+        }
+        double upper = fromSortableLong( data.values.get( lowerRank + 1 ) );
+        return lower + (upper - lower) * (rank - lowerRank);
+    }
+
+    @Override
+    public boolean supportsReverse() {
+        return true;
+    }
+
+    @Override
+    public Class<?> getResultType() {
+        return Double.class;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        return super.equals( o ) && percentile == ((PercentileAccumulateFunction) o).percentile;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Double.hashCode( percentile );
+    }
+
+    /**
+     * Converts a double into a long so that the natural ordering of the longs is the same of the doubles
+     */
+    static long toSortableLong(double value) {
+        long bits = Double.doubleToLongBits( value );
+        // the negative doubles have their order reversed when their bits are read as a long
+        return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+    }
+
+    static double fromSortableLong(long value) {
+        return Double.longBitsToDouble( value < 0 ? value ^ Long.MAX_VALUE : value );
+    }
+}
@@ -42,7 +42,8 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
 
     private AtomicInteger     notExpiredPartitions;
 
-    private final transient LinkedList<JobHandle> jobs = new LinkedList<JobHandle>();
+    // most events never get a job scheduled on them, so the list is created only when the first job is added
+    private transient LinkedList<JobHandle> jobs;
 
     // ----------------------------------------------------------------------
     // Constructors
@@ -325,30 +326,27 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
         return (getStartTimestamp() < e.getStartTimestamp()) ? -1 : (getStartTimestamp() == e.getStartTimestamp() ? 0 : 1);
     }
 
-    public void addJob(JobHandle job) {
-        synchronized (jobs) {
-            jobs.add(job);
+    public synchronized void addJob(JobHandle job) {
+        if (jobs == null) {
+            jobs = new LinkedList<>();
         }
+        jobs.add(job);
     }
 
-    public void removeJob(JobHandle job) {
-        synchronized (jobs) {
-            // the job could have been already removed if the event has been just retracted
-            // and then the unscheduleAllJobs method has been invoked concurrently
-            if (jobs.contains(job)) {
-                jobs.remove(job);
-            }
+    public synchronized void removeJob(JobHandle job) {
+        // the job could have been already removed if the event has been just retracted
+        // and then the unscheduleAllJobs method has been invoked concurrently
+        if (jobs != null && jobs.contains(job)) {
+            jobs.remove(job);
         }
     }
 
-    public void unscheduleAllJobs(ReteEvaluator reteEvaluator) {
-        if (!jobs.isEmpty()) {
-            synchronized (jobs) {
-                TimerService clock = reteEvaluator.getTimerService();
-                while ( !jobs.isEmpty() ) {
-                    JobHandle job = jobs.removeFirst();
-                    clock.removeJob(job);
-                }
+    public synchronized void unscheduleAllJobs(ReteEvaluator reteEvaluator) {
+        if (jobs != null) {
+            TimerService clock = reteEvaluator.getTimerService();
+            while ( !jobs.isEmpty() ) {
+                JobHandle job = jobs.removeFirst();
+                clock.removeJob(job);
             }
         }
     }
@@ -16,11 +16,12 @@
 
 package org.drools.core.concurrent;
 
-import java.util.concurrent.BlockingQueue;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import org.drools.core.common.ActivationsManager;
 import org.drools.core.common.InternalAgendaGroup;
@@ -31,28 +32,60 @@ import org.drools.core.spi.KnowledgeHelper;
 import org.kie.api.runtime.rule.AgendaFilter;
 import org.kie.internal.concurrent.ExecutorProviderFactory;
 
+/**
+ * Evaluates the rules of the different partitions in parallel.
+ *
+ * All the items belonging to the same partition are always evaluated in sequence by a single worker,
+ * so partition affinity is preserved. The number of workers is bounded by the available processors, so when
+ * there are more active partitions than workers each worker owns several partitions: it first drains the ones
+ * it owns and then steals the whole batch of any partition not yet claimed by another worker, so a worker busy
+ * with a large partition doesn't hold back the others it owns. A single large partition is still evaluated
+ * by one worker. The thread invoking {@link #evaluateAndFire} takes part in the evaluation as the first worker.
+ */
 public class ParallelRuleEvaluator extends AbstractRuleEvaluator implements RuleEvaluator {
 
-    private static final RuleAgendaItem POISON_PILL = new RuleAgendaItem();
+    private static final int UNCLAIMED = 0;
+    private static final int CLAIMED = 1;
+
+    private static final int MAX_WORKERS_NR = Math.max( 1, Runtime.getRuntime().availableProcessors() );
 
     private final int evaluatorsNr = RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER;
 
-    private RuleEvaluatorCallable[] evaluators = new RuleEvaluatorCallable[evaluatorsNr];
-    private Future<Integer>[] results = new Future[evaluatorsNr];
+    // per partition batches of items to be evaluated in the current cycle, reused across cycles
+    private final RuleAgendaItem[][] batches = new RuleAgendaItem[evaluatorsNr][];
+    private final int[] batchSizes = new int[evaluatorsNr];
+
+    // the partitions having at least one item in the current cycle
+    private final int[] activePartitions = new int[evaluatorsNr];
+    private int activePartitionsNr;
+
+    private final AtomicIntegerArray claims = new AtomicIntegerArray(evaluatorsNr);
+
+    private final RuleEvaluatorCallable[] evaluators = new RuleEvaluatorCallable[evaluatorsNr];
+    private final Future<Integer>[] results = new Future[evaluatorsNr];
+
+    // per partition utilization statistics, each slot is only written by the worker that claimed the partition
+    private final long[] evaluatedItems = new long[evaluatorsNr];
+    private final long[] firedActivations = new long[evaluatorsNr];
+    private final long[] busyTimes = new long[evaluatorsNr];
+    private final long[] stolenBatches = new long[evaluatorsNr];
+    private long totalTime;
 
     private AgendaFilter filter;
     private int fireCount;
     private int fireLimit;
+    private int workersNr;
 
     public ParallelRuleEvaluator( ActivationsManager activationsManager ) {
         super(activationsManager);
         for (int i = 0; i < evaluatorsNr; i++) {
-            evaluators[i] = new RuleEvaluatorCallable();
+            evaluators[i] = new RuleEvaluatorCallable(i);
+            batches[i] = new RuleAgendaItem[16];
         }
     }
 
-    private static class Completion {
-        private static final CompletionService<Integer> service = ExecutorProviderFactory.getExecutorProvider().getCompletionService();
+    private static class Executor {
+        private static final ExecutorService service = ExecutorProviderFactory.getExecutorProvider().getExecutor();
     }
 
     @Override
@@ -64,69 +97,172 @@ public class ParallelRuleEvaluator extends AbstractRuleEvaluator implements Rule
         this.fireCount = fireCount;
         this.fireLimit = fireLimit;
 
-        Activation[] activations = group.getActivations();
-        for ( Activation activation : activations ) {
-            RuleAgendaItem item = (RuleAgendaItem) activation;
-            int index = item.getPartition().getParallelEvaluationSlot();
-            RuleEvaluatorCallable evaluator = evaluators[index];
-            evaluator.enqueue( item );
-            if ( !evaluator.running ) {
-                evaluator.running = true;
-                results[index] = Completion.service.submit( evaluator );
-            }
+        long start = System.nanoTime();
+        enqueueActivations( group.getActivations() );
+        if (activePartitionsNr == 0) {
+            return 0;
+        }
+
+        workersNr = Math.min( activePartitionsNr, MAX_WORKERS_NR );
+        for (int i = 1; i < workersNr; i++) {
+            results[i] = Executor.service.submit( evaluators[i] );
         }
 
         int localFireCount = 0;
-        for (int i = 0; i < evaluatorsNr; i++) {
-            if (results[i] != null) {
+        RuntimeException error = null;
+        try {
+            localFireCount = evaluators[0].call();
+        } catch (RuntimeException e) {
+            error = e;
+        } finally {
+            // all the workers have to be awaited before the batches can be reused
+            for (int i = 1; i < workersNr; i++) {
                 try {
-                    evaluators[i].enqueue( POISON_PILL );
-                    localFireCount += results[i].get();
-                } catch (Exception e) {
-                    throw new RuntimeException( e );
+                    localFireCount += awaitWorker( results[i] );
+                } catch (RuntimeException e) {
+                    if (error == null) {
+                        error = e;
+                    }
                 } finally {
                     results[i] = null;
                 }
             }
+            clearBatches();
+            totalTime += System.nanoTime() - start;
         }
 
+        if (error != null) {
+            throw error;
+        }
         return localFireCount;
     }
 
+    private static int awaitWorker( Future<Integer> result ) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return result.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException( e.getCause() );
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void enqueueActivations( Activation[] activations ) {
+        activePartitionsNr = 0;
+        for ( Activation activation : activations ) {
+            RuleAgendaItem item = (RuleAgendaItem) activation;
+            int index = item.getPartition().getParallelEvaluationSlot();
+            int size = batchSizes[index];
+            if (size == 0) {
+                claims.set( index, UNCLAIMED );
+                activePartitions[activePartitionsNr++] = index;
+            } else if (size == batches[index].length) {
+                batches[index] = Arrays.copyOf( batches[index], size << 1 );
+            }
+            batches[index][size] = item;
+            batchSizes[index] = size + 1;
+        }
+    }
+
+    private void clearBatches() {
+        for (int i = 0; i < activePartitionsNr; i++) {
+            int index = activePartitions[i];
+            Arrays.fill( batches[index], 0, batchSizes[index], null );
+            batchSizes[index] = 0;
+        }
+        activePartitionsNr = 0;
+    }
+
+    private int evaluatePartition( int index, boolean stolen ) {
+        long start = System.nanoTime();
+        RuleAgendaItem[] batch = batches[index];
+        int size = batchSizes[index];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += internalEvaluateAndFire( filter, fireCount, fireLimit, batch[i] );
+        }
+        evaluatedItems[index] += size;
+        firedActivations[index] += count;
+        busyTimes[index] += System.nanoTime() - start;
+        if (stolen) {
+            stolenBatches[index]++;
+        }
+        return count;
+    }
+
     @Override
     public KnowledgeHelper getKnowledgeHelper() {
         throw new UnsupportedOperationException();
     }
 
+    public long getEvaluatedItems( int partition ) {
+        return evaluatedItems[partition];
+    }
+
+    public long getFiredActivations( int partition ) {
+        return firedActivations[partition];
+    }
+
+    public long getBusyTime( int partition ) {
+        return busyTimes[partition];
+    }
+
+    public long getStolenBatches( int partition ) {
+        return stolenBatches[partition];
+    }
+
+    /**
+     * Returns the fraction of the total time spent in this evaluator during which the given partition has been evaluated.
+     */
+    public double getUtilization( int partition ) {
+        return totalTime == 0 ? 0.0 : (double) busyTimes[partition] / totalTime;
+    }
+
+    public void resetStatistics() {
+        Arrays.fill( evaluatedItems, 0L );
+        Arrays.fill( firedActivations, 0L );
+        Arrays.fill( busyTimes, 0L );
+        Arrays.fill( stolenBatches, 0L );
+        totalTime = 0L;
+    }
+
     public class RuleEvaluatorCallable implements Callable<Integer> {
-        private final BlockingQueue<RuleAgendaItem> queue = new LinkedBlockingQueue<>();
+
+        private final int workerId;
 
         private final KnowledgeHelper knowledgeHelper = newKnowledgeHelper();
 
-        private boolean running = false;
+        private RuleEvaluatorCallable( int workerId ) {
+            this.workerId = workerId;
+        }
 
         @Override
         public Integer call() {
             int count = 0;
-            while (true) {
-                try {
-                    RuleAgendaItem item = queue.take();
-                    if (item == POISON_PILL) {
-                        break;
-                    }
-                    count += internalEvaluateAndFire( filter, fireCount, fireLimit, item );
-                } catch (InterruptedException e) {
-                    throw new RuntimeException( e );
+            // first evaluate the partitions owned by this worker ...
+            for (int i = workerId; i < activePartitionsNr; i += workersNr) {
+                count += tryEvaluate( activePartitions[i], false );
+            }
+            // ... then steal the ones not yet claimed by the other workers
+            for (int i = 0; i < activePartitionsNr; i++) {
+                if (i % workersNr != workerId) {
+                    count += tryEvaluate( activePartitions[i], true );
                 }
             }
-            running = false;
             return count;
         }
 
-        private void enqueue(RuleAgendaItem item) {
-            if (!queue.offer( item )) {
-                throw new IllegalStateException("Cannot insert item into the queue! There is no space left in the queue.");
-            }
+        private int tryEvaluate( int index, boolean stolen ) {
+            return claims.compareAndSet( index, UNCLAIMED, CLAIMED ) ? evaluatePartition( index, stolen ) : 0;
         }
     }
 }
@@ -45,6 +45,7 @@ import org.drools.core.definitions.InternalKnowledgePackage;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.factmodel.ClassDefinition;
 import org.drools.core.management.DroolsManagementAgent;
+import org.drools.core.phreak.AddRemoveRule.PendingInsertions;
 import org.drools.core.reteoo.AsyncReceiveNode;
 import org.drools.core.reteoo.CompositePartitionAwareObjectSinkAdapter;
 import org.drools.core.reteoo.CoreComponentFactory;
@@ -1004,11 +1005,19 @@ public class KnowledgeBaseImpl implements RuleBase {
     }
 
     public void kBaseInternal_addRules(Collection<? extends Rule> rules, Collection<InternalWorkingMemory> workingMemories ) {
-        for (Rule r : rules) {
-            RuleImpl rule = (RuleImpl) r;
-            checkMultithreadedEvaluation( rule );
-            this.hasMultipleAgendaGroups |= !rule.isMainAgendaGroup();
-            this.reteooBuilder.addRule(rule, workingMemories);
+        // the nodes of the rules sharing nothing with the others are populated with the existing facts at once
+        PendingInsertions pendingInsertions = rules.size() > 1 && !workingMemories.isEmpty() ? new PendingInsertions() : null;
+        try {
+            for (Rule r : rules) {
+                RuleImpl rule = (RuleImpl) r;
+                checkMultithreadedEvaluation( rule );
+                this.hasMultipleAgendaGroups |= !rule.isMainAgendaGroup();
+                this.reteooBuilder.addRule(rule, workingMemories, pendingInsertions);
+            }
+        } finally {
+            if (pendingInsertions != null) {
+                pendingInsertions.insert( workingMemories );
+            }
         }
     }
 
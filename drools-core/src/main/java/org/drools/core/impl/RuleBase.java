@@ -128,6 +128,22 @@ public interface RuleBase {
     default void beforeIncrementalUpdate(KieBaseUpdate kieBaseUpdate) { }
     default void afterIncrementalUpdate(KieBaseUpdate kieBaseUpdate) { }
 
+    /**
+     * Runs a modification of this rule base as soon as it is safe to do so for the sessions using it, i.e. immediately
+     * when none of them is evaluating rules or otherwise once they all reached a safe point.
+     */
+    default void enqueueModification(Runnable modification) {
+        modification.run();
+    }
+
+    /**
+     * Enqueues a modification of this rule base that doesn't need to be applied immediately. Differently from
+     * {@link #enqueueModification(Runnable)} it is never run by the calling thread, even when that is in the middle
+     * of a propagation, but only when a session reaches a safe point at the end of a fireAllRules. A rule base that
+     * has no such safe points ignores it.
+     */
+    default void enqueueDeferredModification(Runnable modification) { }
+
     void addGlobal(String identifier, Class clazz);
     void removeGlobal(String identifier);
 
@@ -19,12 +19,15 @@ package org.drools.core.phreak;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import org.drools.core.common.ActivationsManager;
 import org.drools.core.common.EventFactHandle;
@@ -35,6 +38,7 @@ import org.drools.core.common.Memory;
 import org.drools.core.common.MemoryFactory;
 import org.drools.core.common.PropagationContextFactory;
 import org.drools.core.common.ReteEvaluator;
+import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.common.TupleSets;
 import org.drools.core.common.TupleSetsImpl;
 import org.drools.core.definitions.rule.impl.RuleImpl;
@@ -42,6 +46,7 @@ import org.drools.core.impl.RuleBase;
 import org.drools.core.reteoo.AbstractTerminalNode;
 import org.drools.core.reteoo.AccumulateNode.AccumulateContext;
 import org.drools.core.reteoo.AccumulateNode.AccumulateMemory;
+import org.drools.core.reteoo.AlphaNode;
 import org.drools.core.reteoo.AlphaTerminalNode;
 import org.drools.core.reteoo.BetaMemory;
 import org.drools.core.reteoo.BetaNode;
@@ -53,6 +58,7 @@ import org.drools.core.reteoo.LeftTupleNode;
 import org.drools.core.reteoo.LeftTupleSink;
 import org.drools.core.reteoo.LeftTupleSinkNode;
 import org.drools.core.reteoo.LeftTupleSource;
+import org.drools.core.reteoo.ModifyPreviousTuples;
 import org.drools.core.reteoo.NodeTypeEnums;
 import org.drools.core.reteoo.ObjectSink;
 import org.drools.core.reteoo.ObjectSource;
@@ -90,6 +96,17 @@ public class AddRemoveRule {
      * For add tuples are processed after the segments and pmems have been adjusted
      */
     public static void addRule(TerminalNode tn, Collection<InternalWorkingMemory> wms, RuleBase kBase) {
+        addRule(tn, wms, kBase, null);
+    }
+
+    /**
+     * As above, but when the rule shares no node with the other rules its new nodes, that have to be populated with
+     * the facts already in the working memories, are collected in the given PendingInsertions, so that the rules
+     * added together are populated at once. A rule sharing nodes is still populated immediately from the tuples
+     * of the shared nodes: when they belong to a rule of the same batch they are still empty and its new paths are
+     * populated together with them, by the propagation of the pending insertions.
+     */
+    public static void addRule(TerminalNode tn, Collection<InternalWorkingMemory> wms, RuleBase kBase, PendingInsertions pendingInsertions) {
         if (log.isTraceEnabled()) {
             log.trace("Adding Rule {}", tn.getRule().getName());
         }
@@ -108,12 +125,21 @@ public class AddRemoveRule {
         // Insert the facts for the new paths. This will iterate each new path from EndNode to the splitStart - but will not process the splitStart itself (as tha already exist).
         // It does not matter that the prior segments have not yet been processed for splitting, as this will only apply for branches of paths that did not exist before
 
+        boolean noSharing = NodeTypeEnums.LeftInputAdapterNode == firstSplit.getType() && firstSplit.getAssociationsSize() == 1;
+        boolean deferred = pendingInsertions != null && noSharing && hasWms;
+        if (deferred) {
+            LeftInputAdapterNode lian = (LeftInputAdapterNode) firstSplit;
+            pendingInsertions.add(new RightTupleSinkAdapter(lian), lian.getObjectSource());
+        }
+
         for (InternalWorkingMemory wm : wms) {
             wm.flushPropagations();
 
-            if (NodeTypeEnums.LeftInputAdapterNode == firstSplit.getType() && firstSplit.getAssociationsSize() == 1) {
-                // rule added with no sharing
-                insertLiaFacts(firstSplit, wm);
+            if (noSharing) {
+                if (!deferred) {
+                    // rule added with no sharing
+                    insertLiaFacts(firstSplit, wm);
+                }
             } else {
                 PathEndNodeMemories tnms = getPathEndMemories(wm, pathEndNodes);
 
@@ -135,7 +161,9 @@ public class AddRemoveRule {
             }
         }
 
-        if (hasWms) {
+        if (deferred) {
+            addPendingInsertions( pathEndNodes, pendingInsertions );
+        } else if (hasWms) {
             insertFacts( pathEndNodes, wms );
         } else {
             for (PathEndNode node : pathEndNodes.otherEndNodes) {
@@ -816,6 +844,27 @@ public class AddRemoveRule {
         }
     }
 
+    private static void addPendingInsertions(PathEndNodes endNodes, PendingInsertions pendingInsertions) {
+        Set<LeftTupleNode> visited = new HashSet<>();
+
+        for ( PathEndNode endNode : endNodes.subjectEndNodes ) {
+            LeftTupleNode[]  nodes = endNode.getPathNodes();
+            for ( int i = 0; i < nodes.length; i++ ) {
+                LeftTupleNode node = nodes[i];
+                if  ( NodeTypeEnums.isBetaNode(node) && node.getAssociationsSize() == 1 ) {
+                    if (!visited.add( node )) {
+                        continue;// this is to avoid rentering a path, and processing nodes twice. This can happen for nested subnetworks.
+                    }
+                    BetaNode bn = (BetaNode) node;
+
+                    if (!bn.isRightInputIsRiaNode()) {
+                        pendingInsertions.add(bn, bn.getRightInput());
+                    }
+                }
+            }
+        }
+    }
+
     private static void deleteRightInputData(LeftTupleSink node, InternalWorkingMemory wm) {
         if (wm.getNodeMemories().peekNodeMemory(node) != null) {
             BetaNode   bn = (BetaNode) node;
@@ -1515,4 +1564,164 @@ public class AddRemoveRule {
         List<LeftTupleNode> subjectSplits   = new ArrayList<>();
         List<PathEndNode>   otherEndNodes   = new ArrayList<>();
     }
+
+    /**
+     * The new nodes, fed by an ObjectSource, that have to be populated with the facts already in the working memories.
+     * The nodes fed through plain alpha nodes by the same ObjectTypeNode are populated with a single iteration
+     * of its facts, evaluating each alpha constraint once per fact, instead of one iteration per node.
+     */
+    public static class PendingInsertions {
+        private final List<ObjectSink> sinks = new ArrayList<>();
+        private final List<ObjectSource> sources = new ArrayList<>();
+
+        void add(ObjectSink sink, ObjectSource source) {
+            sinks.add(sink);
+            sources.add(source);
+        }
+
+        public boolean isEmpty() {
+            return sinks.isEmpty();
+        }
+
+        public void insert(Collection<InternalWorkingMemory> wms) {
+            if (sinks.isEmpty() || wms.isEmpty()) {
+                sinks.clear();
+                sources.clear();
+                return;
+            }
+
+            // the ObjectTypeNodes are visited in the order of their ids, so that the new tuples of a fact are linked in it
+            // in the same order of the nodes, as expected when the fact is modified
+            Map<ObjectTypeNode, ObjectTypeNodeInsertions> otnInsertions = new TreeMap<>(Comparator.comparingInt(ObjectTypeNode::getId));
+            List<Integer> others = new ArrayList<>();
+            for (int i = 0; i < sinks.size(); i++) {
+                List<AlphaNode> alphas = new ArrayList<>();
+                ObjectSource source = sources.get(i);
+                while (source.getClass() == AlphaNode.class) {
+                    alphas.add(0, (AlphaNode) source);
+                    source = source.getParentObjectSource();
+                }
+                if (source instanceof ObjectTypeNode) {
+                    otnInsertions.computeIfAbsent((ObjectTypeNode) source, otn -> new ObjectTypeNodeInsertions())
+                                 .add(alphas.toArray(new AlphaNode[alphas.size()]), sinks.get(i), sources.get(i));
+                } else {
+                    others.add(i);
+                }
+            }
+
+            PropagationContextFactory pctxFactory = RuntimeComponentFactory.get().getPropagationContextFactory();
+            for (InternalWorkingMemory wm : wms) {
+                for (Map.Entry<ObjectTypeNode, ObjectTypeNodeInsertions> entry : otnInsertions.entrySet()) {
+                    PropagationContext pctx = pctxFactory.createPropagationContext(wm.getNextPropagationIdCounter(), PropagationContext.Type.RULE_ADDITION, null, null, null);
+                    ObjectTypeNodeInsertions insertions = entry.getValue();
+                    if (insertions.sinks.size() == 1) {
+                        insertions.sources.get(0).updateSink(insertions.sinks.get(0), pctx, wm);
+                    } else {
+                        entry.getKey().updateSink(insertions, pctx, wm);
+                    }
+                }
+                for (int i : others) {
+                    PropagationContext pctx = pctxFactory.createPropagationContext(wm.getNextPropagationIdCounter(), PropagationContext.Type.RULE_ADDITION, null, null, null);
+                    sources.get(i).updateSink(sinks.get(i), pctx, wm);
+                }
+            }
+
+            sinks.clear();
+            sources.clear();
+        }
+    }
+
+    /**
+     * Used with the updateSink method of an ObjectTypeNode to populate all the new nodes fed by it at once
+     */
+    private static class ObjectTypeNodeInsertions implements ObjectSink {
+        private final List<AlphaNode[]> alphas = new ArrayList<>();
+        private final List<ObjectSink> sinks = new ArrayList<>();
+        private final List<ObjectSource> sources = new ArrayList<>();
+
+        // the outcome of the alpha constraints already evaluated for the current fact
+        private final Map<AlphaNode, Boolean> allowed = new IdentityHashMap<>();
+
+        void add(AlphaNode[] alphaNodes, ObjectSink sink, ObjectSource source) {
+            alphas.add(alphaNodes);
+            sinks.add(sink);
+            sources.add(source);
+        }
+
+        public void assertObject(InternalFactHandle factHandle, PropagationContext context, ReteEvaluator reteEvaluator) {
+            allowed.clear();
+            for (int i = 0; i < sinks.size(); i++) {
+                if (isAllowed(alphas.get(i), factHandle, reteEvaluator)) {
+                    sinks.get(i).assertObject(factHandle, context, reteEvaluator);
+                }
+            }
+        }
+
+        private boolean isAllowed(AlphaNode[] alphaNodes, InternalFactHandle factHandle, ReteEvaluator reteEvaluator) {
+            for (AlphaNode alphaNode : alphaNodes) {
+                Boolean result = allowed.get(alphaNode);
+                if (result == null) {
+                    result = isAllowed(alphaNode, factHandle, reteEvaluator);
+                    allowed.put(alphaNode, result);
+                }
+                if (!result) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isAllowed(AlphaNode alphaNode, InternalFactHandle factHandle, ReteEvaluator reteEvaluator) {
+            try {
+                return alphaNode.getConstraint().isAllowed(factHandle, reteEvaluator);
+            } catch (RuntimeException e) {
+                // as in AlphaNode.updateSink, a ClassCastException means that the old fact is no longer compatible
+                // with the updated constraint and then its propagation should be skipped
+                if (!(e.getCause() instanceof ClassCastException)) {
+                    throw e;
+                }
+                return false;
+            }
+        }
+
+        public void modifyObject(InternalFactHandle factHandle, ModifyPreviousTuples modifyPreviousTuples, PropagationContext context, ReteEvaluator reteEvaluator) {
+            throw new UnsupportedOperationException("ObjectTypeNodeInsertions only supports assertObject method calls");
+        }
+
+        public void byPassModifyToBetaNode(InternalFactHandle factHandle, ModifyPreviousTuples modifyPreviousTuples, PropagationContext context, ReteEvaluator reteEvaluator) {
+            throw new UnsupportedOperationException();
+        }
+
+        public int getId() {
+            return 0;
+        }
+
+        public RuleBasePartitionId getPartitionId() {
+            return sinks.get(0).getPartitionId();
+        }
+
+        public short getType() {
+            return NodeTypeEnums.ObjectTypeNode;
+        }
+
+        public int getAssociationsSize() {
+            return sinks.get(0).getAssociationsSize();
+        }
+
+        public int getAssociatedRuleSize() {
+            return sinks.get(0).getAssociatedRuleSize();
+        }
+
+        public int getAssociationsSize(Rule rule) {
+            return sinks.get(0).getAssociationsSize(rule);
+        }
+
+        public Rule[] getAssociatedRules() {
+            return sinks.get(0).getAssociatedRules();
+        }
+
+        public boolean isAssociatedWith(Rule rule) {
+            return sinks.get(0).isAssociatedWith(rule);
+        }
+    }
 }
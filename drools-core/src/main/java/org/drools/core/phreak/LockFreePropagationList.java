@@ -0,0 +1,190 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.drools.core.common.ReteEvaluator;
+
+/**
+ * A multi-producer / single-consumer PropagationList that doesn't require any lock to add an entry.
+ * The producers push the entries on an intrusive linked stack with a CAS, while the engine thread
+ * detaches the whole stack at once and reverses it in order to flush the entries in insertion order.
+ * The engine thread waiting on rest is parked and then unparked when a new entry is added.
+ */
+public class LockFreePropagationList implements PropagationList {
+
+    protected final ReteEvaluator reteEvaluator;
+
+    // the most recently added entry, linked to the previous ones in reverse order
+    private final AtomicReference<PropagationEntry> top = new AtomicReference<>();
+
+    private volatile Thread waiter;
+
+    private volatile boolean signalled = false;
+
+    private volatile boolean disposed = false;
+
+    private volatile boolean hasEntriesDeferringExpiration = false;
+
+    private volatile boolean firingUntilHalt = false;
+
+    public LockFreePropagationList(ReteEvaluator reteEvaluator) {
+        this.reteEvaluator = reteEvaluator;
+    }
+
+    @Override
+    public void addEntry(final PropagationEntry entry) {
+        if (entry.requiresImmediateFlushing()) {
+            if (entry.isCalledFromRHS()) {
+                entry.execute(reteEvaluator);
+            } else {
+                reteEvaluator.getActivationsManager().executeTask( new ExecutableEntry() {
+                    @Override
+                    public void execute() {
+                        if (entry instanceof PhreakTimerNode.TimerAction) {
+                            ( (PhreakTimerNode.TimerAction) entry ).execute( reteEvaluator, true );
+                        } else {
+                            entry.execute( reteEvaluator );
+                        }
+                    }
+
+                    @Override
+                    public void enqueue() {
+                        internalAddEntry( entry );
+                    }
+                } );
+            }
+        } else {
+            internalAddEntry( entry );
+        }
+    }
+
+    void internalAddEntry( PropagationEntry entry ) {
+        PropagationEntry previous;
+        do {
+            previous = top.get();
+            entry.setNext( previous );
+        } while ( !top.compareAndSet( previous, entry ) );
+
+        // the flag has to be set after the push, otherwise a concurrent takeAll could reset it while the entry is still in the list
+        if (entry.defersExpiration()) {
+            hasEntriesDeferringExpiration = true;
+        }
+
+        if (previous == null && firingUntilHalt) {
+            notifyWaitOnRest();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public void flush() {
+        flush( reteEvaluator, takeAll() );
+    }
+
+    @Override
+    public void flush(PropagationEntry currentHead) {
+        flush( reteEvaluator, currentHead );
+    }
+
+    private void flush( ReteEvaluator reteEvaluator, PropagationEntry currentHead ) {
+        for (PropagationEntry entry = currentHead; !disposed && entry != null; entry = entry.getNext()) {
+            entry.execute(reteEvaluator);
+        }
+    }
+
+    public boolean hasEntriesDeferringExpiration() {
+        return hasEntriesDeferringExpiration;
+    }
+
+    @Override
+    public PropagationEntry takeAll() {
+        hasEntriesDeferringExpiration = false;
+        return reverse( top.getAndSet( null ) );
+    }
+
+    private static PropagationEntry reverse( PropagationEntry entry ) {
+        PropagationEntry reversed = null;
+        while (entry != null) {
+            PropagationEntry next = entry.getNext();
+            entry.setNext( reversed );
+            reversed = entry;
+            entry = next;
+        }
+        return reversed;
+    }
+
+    @Override
+    public void reset() {
+        top.set( null );
+        disposed = false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    @Override
+    public void waitOnRest() {
+        waiter = Thread.currentThread();
+        try {
+            // the list has to be checked again after having published the waiter, so an entry added in the meanwhile cannot be missed
+            if (!signalled && top.get() == null) {
+                LockSupport.park( this );
+            }
+        } finally {
+            waiter = null;
+            signalled = false;
+        }
+    }
+
+    @Override
+    public void notifyWaitOnRest() {
+        signalled = true;
+        Thread currentWaiter = waiter;
+        if (currentWaiter != null) {
+            LockSupport.unpark( currentWaiter );
+        }
+    }
+
+    @Override
+    public Iterator<PropagationEntry> iterator() {
+        List<PropagationEntry> entries = new ArrayList<>();
+        for (PropagationEntry entry = top.get(); entry != null; entry = entry.getNext()) {
+            entries.add( entry );
+        }
+        Collections.reverse( entries );
+        return entries.iterator();
+    }
+
+    @Override
+    public void onEngineInactive() { }
+
+    public void setFiringUntilHalt( boolean firingUntilHalt ) {
+        this.firingUntilHalt = firingUntilHalt;
+    }
+}
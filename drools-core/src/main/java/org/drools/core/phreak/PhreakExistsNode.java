@@ -152,7 +152,7 @@ public void doNormalNode(ExistsNode existsNode,
             rtm.add(rightTuple);
 
             if ( ltm != null && ltm.size() > 0 ) {
-                FastIterator it = existsNode.getLeftIterator( ltm );
+                FastIterator it = existsNode.getBoundLeftIterator( ltm, rightTuple );
 
                 constraints.updateFromFactHandle( contextEntry,
                                                   reteEvaluator,
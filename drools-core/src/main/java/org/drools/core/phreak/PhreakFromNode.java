@@ -31,6 +31,7 @@ import org.drools.core.reteoo.LeftTupleSink;
 import org.drools.core.reteoo.RightTuple;
 import org.drools.core.reteoo.TupleMemory;
 import org.drools.core.rule.ContextEntry;
+import org.drools.core.rule.Declaration;
 import org.drools.core.spi.AlphaNodeFieldConstraint;
 import org.drools.core.spi.DataProvider;
 import org.drools.core.spi.PropagationContext;
@@ -88,7 +89,9 @@ public class PhreakFromNode {
 
             if (useLeftMemory) {
                 fm.getBetaMemory().getLeftTupleMemory().add(leftTuple);
-                matches = new LinkedHashMap<Object, RightTuple>();
+                matches = fromNode.isMemoized() ?
+                          new MemoizedMatches(getMemoizedInputs(fromNode, leftTuple, reteEvaluator), getMemoizedRecencies(fromNode, leftTuple)) :
+                          new LinkedHashMap<Object, RightTuple>();
                 leftTuple.setContextObject( matches );
             }
 
@@ -140,7 +143,24 @@ public class PhreakFromNode {
             PropagationContext propagationContext = leftTuple.getPropagationContext();
 
             final Map<Object, RightTuple> previousMatches = (Map<Object, RightTuple>) leftTuple.getContextObject();
-            final Map<Object, RightTuple> newMatches = new HashMap<Object, RightTuple>();
+
+            Object[] inputs = null;
+            long[] recencies = null;
+            if (fromNode.isMemoized()) {
+                inputs = getMemoizedInputs(fromNode, leftTuple, reteEvaluator);
+                recencies = getMemoizedRecencies(fromNode, leftTuple);
+                if (previousMatches instanceof MemoizedMatches && ((MemoizedMatches) previousMatches).isValid(inputs, recencies)) {
+                    // the results of the data provider cannot have changed, so only the previous matches are updated
+                    betaConstraints.updateFromTuple(context, reteEvaluator, leftTuple);
+                    doMemoizedLeftUpdate(sink, reteEvaluator, leftTuple, previousMatches, alphaConstraints, betaConstraints,
+                                         propagationContext, context, fm, trgLeftTuples, stagedLeftTuples);
+                    leftTuple.clearStaged();
+                    leftTuple = next;
+                    continue;
+                }
+            }
+
+            final Map<Object, RightTuple> newMatches = inputs != null ? new MemoizedMatches(inputs, recencies) : new HashMap<Object, RightTuple>();
             leftTuple.setContextObject( newMatches );
 
             betaConstraints.updateFromTuple(context, reteEvaluator, leftTuple);
@@ -172,6 +192,10 @@ public class PhreakFromNode {
                     fromNode.addToCreatedHandlesMap(newMatches, rightTuple);
                 } else {
                     deleteChildLeftTuple(propagationContext, trgLeftTuples, stagedLeftTuples, rightTuple.getFirstChild());
+                    if (inputs != null) {
+                        // the memoized results must be all the ones of the data provider, since they could be modified
+                        fromNode.addToCreatedHandlesMap(newMatches, rightTuple);
+                    }
                 }
             }
 
@@ -187,6 +211,56 @@ public class PhreakFromNode {
         betaConstraints.resetTuple(context);
     }
 
+    private void doMemoizedLeftUpdate(LeftTupleSink sink,
+                                      ReteEvaluator reteEvaluator,
+                                      LeftTuple leftTuple,
+                                      Map<Object, RightTuple> matches,
+                                      AlphaNodeFieldConstraint[] alphaConstraints,
+                                      BetaConstraints betaConstraints,
+                                      PropagationContext propagationContext,
+                                      ContextEntry[] context,
+                                      FromMemory fm,
+                                      TupleSets<LeftTuple> trgLeftTuples,
+                                      TupleSets<LeftTuple> stagedLeftTuples) {
+        FastIterator rightIt = LinkedList.fastIterator;
+        for (RightTuple rightTuple : matches.values()) {
+            for (RightTuple current = rightTuple; current != null; current = (RightTuple) rightIt.next(current)) {
+                // the results could have been modified in place, so they are all evaluated again
+                if ( isAllowed( current.getFactHandle(), alphaConstraints, reteEvaluator, fm ) ) {
+                    propagate( sink, leftTuple, current, betaConstraints, propagationContext, context, true, trgLeftTuples, stagedLeftTuples );
+                } else {
+                    deleteChildLeftTuple(propagationContext, trgLeftTuples, stagedLeftTuples, current.getFirstChild());
+                }
+            }
+        }
+    }
+
+    private static Object[] getMemoizedInputs(FromNode fromNode, Tuple leftTuple, ReteEvaluator reteEvaluator) {
+        Declaration[] declarations = fromNode.getMemoizedDeclarations();
+        Object[] inputs = new Object[declarations.length];
+        for (int i = 0; i < declarations.length; i++) {
+            inputs[i] = declarations[i].isGlobal() ?
+                        declarations[i].getExtractor().getValue( reteEvaluator, declarations[i].getIdentifier() ) :
+                        declarations[i].getValue( reteEvaluator, leftTuple );
+        }
+        return inputs;
+    }
+
+    /**
+     * Returns for each declaration used by the data provider the recency of its fact, which is increased by every
+     * modification of the fact, even when it is not propagated to the nodes of this rule
+     */
+    private static long[] getMemoizedRecencies(FromNode fromNode, Tuple leftTuple) {
+        Declaration[] declarations = fromNode.getMemoizedDeclarations();
+        long[] recencies = new long[declarations.length];
+        for (int i = 0; i < declarations.length; i++) {
+            if (!declarations[i].isGlobal()) {
+                recencies[i] = leftTuple.get( declarations[i].getTupleIndex() ).getRecency();
+            }
+        }
+        return recencies;
+    }
+
     public void doLeftDeletes(FromMemory fm,
                               TupleSets<LeftTuple> srcLeftTuples,
                               TupleSets<LeftTuple> trgLeftTuples,
@@ -236,6 +310,34 @@ public class PhreakFromNode {
         }
     }
 
+    /**
+     * All the results of the data provider for a left tuple of a from node memoizing them, matching or not, together
+     * with the values of the declarations used by the data provider and the recencies of their facts when they were
+     * computed
+     */
+    private static class MemoizedMatches extends LinkedHashMap<Object, RightTuple> {
+        private final Object[] inputs;
+        private final long[] recencies;
+
+        private MemoizedMatches(Object[] inputs, long[] recencies) {
+            this.inputs = inputs;
+            this.recencies = recencies;
+        }
+
+        /**
+         * The results are still valid if the declarations have the same values and none of their facts
+         * has been modified since they were computed
+         */
+        private boolean isValid(Object[] currentInputs, long[] currentRecencies) {
+            for (int i = 0; i < inputs.length; i++) {
+                if (inputs[i] != currentInputs[i] || recencies[i] != currentRecencies[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     public static boolean isAllowed( InternalFactHandle factHandle,
                                      AlphaNodeFieldConstraint[] alphaConstraints,
                                      ReteEvaluator reteEvaluator,
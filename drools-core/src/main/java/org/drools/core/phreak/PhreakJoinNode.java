@@ -27,6 +27,7 @@ import org.drools.core.reteoo.TupleMemory;
 import org.drools.core.rule.ContextEntry;
 import org.drools.core.util.AbstractHashTable;
 import org.drools.core.util.FastIterator;
+import org.drools.core.util.index.OpenAddressingTupleIndexHashTable;
 
 public class PhreakJoinNode {
     public void doNode(JoinNode joinNode,
@@ -95,7 +96,7 @@ public class PhreakJoinNode {
                 ltm.add(leftTuple);
             }
 
-            FastIterator it = joinNode.getRightIterator( rtm );
+            FastIterator it = joinNode.getBoundRightIterator( rtm, leftTuple );
 
             constraints.updateFromTuple( contextEntry,
                                          reteEvaluator,
@@ -132,6 +133,8 @@ public class PhreakJoinNode {
 
         if (srcRightTuples.getInsertSize() > 32 && rtm instanceof AbstractHashTable ) {
             ((AbstractHashTable) rtm).ensureCapacity(srcRightTuples.getInsertSize());
+        } else if (srcRightTuples.getInsertSize() > 32 && rtm instanceof OpenAddressingTupleIndexHashTable ) {
+            ((OpenAddressingTupleIndexHashTable) rtm).ensureCapacity(srcRightTuples.getInsertSize());
         }
 
         for (RightTuple rightTuple = srcRightTuples.getInsertFirst(); rightTuple != null; ) {
@@ -139,7 +142,7 @@ public class PhreakJoinNode {
             rtm.add( rightTuple );
 
             if ( ltm != null && ltm.size() > 0 ) {
-                FastIterator it = joinNode.getLeftIterator( ltm );
+                FastIterator it = joinNode.getBoundLeftIterator( ltm, rightTuple );
 
                 constraints.updateFromFactHandle( contextEntry,
                                                   reteEvaluator,
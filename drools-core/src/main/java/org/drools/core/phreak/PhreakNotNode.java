@@ -158,7 +158,7 @@ public class PhreakNotNode {
 
             rtm.add(rightTuple);
             if ( ltm != null && ltm.size() > 0 ) {
-                FastIterator it = notNode.getLeftIterator( ltm );
+                FastIterator it = notNode.getBoundLeftIterator( ltm, rightTuple );
 
                 constraints.updateFromFactHandle( contextEntry,
                                                   reteEvaluator,
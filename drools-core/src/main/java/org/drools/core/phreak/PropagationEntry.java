@@ -15,7 +15,13 @@
 
 package org.drools.core.phreak;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.function.BiConsumer;
 
 import org.drools.core.base.DroolsQuery;
 import org.drools.core.common.EventFactHandle;
@@ -266,6 +272,107 @@ public interface PropagationEntry {
         }
     }
 
+    class InsertAll extends AbstractPropagationEntry {
+
+        private final List<InternalFactHandle> handles = new ArrayList<>();
+        private final List<PropagationContext> contexts = new ArrayList<>();
+
+        // the positions of the inserted facts grouped by type, the types being in the order in which each of them has been first met
+        private final Map<ObjectTypeConf, TypeBucket> buckets = new LinkedHashMap<>();
+        private TypeBucket lastBucket;
+
+        public void add( InternalFactHandle handle, PropagationContext context, ReteEvaluator reteEvaluator, ObjectTypeConf objectTypeConf ) {
+            if ( objectTypeConf.isEvent() ) {
+                Insert.scheduleExpiration(reteEvaluator, handle, context, objectTypeConf, reteEvaluator.getTimerService().getCurrentTime());
+            }
+            if ( lastBucket == null || lastBucket.objectTypeConf != objectTypeConf ) {
+                lastBucket = buckets.computeIfAbsent( objectTypeConf, TypeBucket::new );
+            }
+            lastBucket.add( handles.size() );
+            handles.add( handle );
+            contexts.add( context );
+        }
+
+        public boolean isEmpty() {
+            return handles.isEmpty();
+        }
+
+        public void forEach( BiConsumer<InternalFactHandle, PropagationContext> consumer ) {
+            for ( int i = 0; i < handles.size(); i++ ) {
+                consumer.accept( handles.get( i ), contexts.get( i ) );
+            }
+        }
+
+        public void execute( ReteEvaluator reteEvaluator ) {
+            Map<ObjectTypeNode, List<TypeBucket>> bucketsByNode = new LinkedHashMap<>();
+            for ( TypeBucket bucket : buckets.values() ) {
+                for ( ObjectTypeNode otn : bucket.objectTypeConf.getObjectTypeNodes() ) {
+                    bucketsByNode.computeIfAbsent( otn, k -> new ArrayList<>() ).add( bucket );
+                }
+            }
+
+            // each object type node propagates all its facts before moving to the next one, receiving them in insertion order
+            for ( Map.Entry<ObjectTypeNode, List<TypeBucket>> entry : bucketsByNode.entrySet() ) {
+                ObjectTypeNode otn = entry.getKey();
+                List<TypeBucket> otnBuckets = entry.getValue();
+                if ( otnBuckets.size() == 1 ) {
+                    TypeBucket bucket = otnBuckets.get( 0 );
+                    for ( int i = 0; i < bucket.size; i++ ) {
+                        propagate( otn, bucket.positions[i], reteEvaluator );
+                    }
+                } else {
+                    // a node shared by different types, like the one of Object, merges their facts back in insertion order
+                    int[] cursors = new int[otnBuckets.size()];
+                    for ( int next = nextPosition( otnBuckets, cursors ); next >= 0; next = nextPosition( otnBuckets, cursors ) ) {
+                        propagate( otn, next, reteEvaluator );
+                    }
+                }
+            }
+        }
+
+        private void propagate( ObjectTypeNode otn, int position, ReteEvaluator reteEvaluator ) {
+            otn.propagateAssert( handles.get( position ), contexts.get( position ), reteEvaluator );
+        }
+
+        private static int nextPosition( List<TypeBucket> buckets, int[] cursors ) {
+            int min = -1;
+            int minBucket = -1;
+            for ( int i = 0; i < cursors.length; i++ ) {
+                TypeBucket bucket = buckets.get( i );
+                if ( cursors[i] < bucket.size && ( min < 0 || bucket.positions[cursors[i]] < min ) ) {
+                    min = bucket.positions[cursors[i]];
+                    minBucket = i;
+                }
+            }
+            if ( minBucket >= 0 ) {
+                cursors[minBucket]++;
+            }
+            return min;
+        }
+
+        @Override
+        public String toString() {
+            return "Insert of " + handles.size() + " facts";
+        }
+
+        private static class TypeBucket {
+            private final ObjectTypeConf objectTypeConf;
+            private int[] positions = new int[16];
+            private int size;
+
+            private TypeBucket( ObjectTypeConf objectTypeConf ) {
+                this.objectTypeConf = objectTypeConf;
+            }
+
+            private void add( int position ) {
+                if ( size == positions.length ) {
+                    positions = Arrays.copyOf( positions, size * 2 );
+                }
+                positions[size++] = position;
+            }
+        }
+    }
+
     class Update extends AbstractPropagationEntry {
         private final InternalFactHandle handle;
         private final PropagationContext context;
@@ -380,6 +380,18 @@ public abstract class BetaNode extends LeftTupleSource
         }
     }
 
+    /**
+     * Returns the iterator used to find the right tuples matching the given left tuple,
+     * that, when the memory is indexed on more than one constraint, may skip the ones that cannot match it
+     */
+    public FastIterator getBoundRightIterator(TupleMemory memory, LeftTuple leftTuple) {
+        if ( this.indexedUnificationJoin ) {
+            return memory.fullFastIterator();
+        } else {
+            return memory.fastIterator( leftTuple );
+        }
+    }
+
     public FastIterator getLeftIterator1(TupleMemory memory) {
         if ( this.indexedUnificationJoin ) {
             return memory.fullFastIterator();
@@ -416,6 +428,20 @@ public abstract class BetaNode extends LeftTupleSource
         }
     }
 
+    /**
+     * Returns the iterator used to find the left tuples matching the given right tuple,
+     * that, when the memory is indexed on more than one constraint, may skip the ones that cannot match it
+     */
+    public FastIterator getBoundLeftIterator(TupleMemory memory, RightTuple rightTuple) {
+        if (rightInputIsRiaNode) {
+            return FastIterator.NullFastIterator.INSTANCE;
+        } else if ( this.indexedUnificationJoin ) {
+            return memory.fullFastIterator();
+        } else {
+            return memory.fastIterator( rightTuple );
+        }
+    }
+
     public LeftTuple getFirstLeftTuple(final RightTuple rightTuple,
                                        final TupleMemory memory,
                                        final FastIterator it) {
@@ -27,6 +27,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.drools.core.base.ValueType;
 import org.drools.core.common.BaseNode;
@@ -52,6 +54,17 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
     private static final long serialVersionUID = 510L;
 
+    // when adaptive indexing is enabled 1 propagation every ADAPTIVE_SAMPLING_RATE is used to sample the selectivity of the alpha constraints
+    static final int ADAPTIVE_SAMPLING_RATE = 64;
+    // number of samples after which the selectivity of a field is considered reliable enough to (un)index it
+    static final int ADAPTIVE_SAMPLING_WINDOW = 256;
+
+    // a field is indexed when on average less than this fraction of its alpha nodes matches
+    private static final double HASH_SELECTIVITY = 0.5;
+    private static final double RANGE_INDEX_SELECTIVITY = 0.25;
+    // a range index is dropped when on average more than this fraction of its alpha nodes matches, the gap avoids flip-flopping
+    private static final double RANGE_UNINDEX_SELECTIVITY = 0.75;
+
     private List<ObjectSinkNode>        otherSinks;
     private List<AlphaNode>        hashableSinks;
     private List<AlphaNode>        rangeIndexableSinks = null;
@@ -69,6 +82,12 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
     private Map<NetworkNode, NetworkNode> sinksMap;
 
+    // the adaptive indexing state isn't serialized: the sampling restarts from scratch on a deserialized network
+    private transient Boolean adaptiveIndexing;
+    // incremented concurrently by all the sessions propagating through this adapter
+    private final transient AtomicInteger propagationsCounter = new AtomicInteger();
+    private final transient AtomicBoolean adaptiveIndexingScheduled = new AtomicBoolean();
+
     public CompositeObjectSinkAdapter() {
         this( 3, 3 );
     }
@@ -143,7 +162,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
                 //DROOLS-678 : prevent null values from being hashed as 0s
                 final FieldValue value = ((IndexableConstraint)alphaNode.getConstraint()).getField();
-                if ( fieldIndex.getCount() >= this.alphaNodeHashingThreshold && this.alphaNodeHashingThreshold != 0 && ! value.isNull() ) {
+                if ( ( fieldIndex.isHashed() || fieldIndex.getCount() >= this.alphaNodeHashingThreshold && this.alphaNodeHashingThreshold != 0 ) && ! value.isNull() ) {
                     if ( !fieldIndex.isHashed() ) {
                         hashSinks( fieldIndex );
                     }
@@ -169,7 +188,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                 final int index = internalReadAccessor.getIndex();
                 final FieldIndex fieldIndex = registerFieldIndexForRange(index, internalReadAccessor);
                 final FieldValue value = indexableConstraint.getField();
-                if (fieldIndex.getCount() >= this.alphaNodeRangeIndexThreshold && this.alphaNodeRangeIndexThreshold != 0 && !value.isNull()) {
+                if ((fieldIndex.isRangeIndexed() || fieldIndex.getCount() >= this.alphaNodeRangeIndexThreshold && this.alphaNodeRangeIndexThreshold != 0) && !value.isNull()) {
                     if (!fieldIndex.isRangeIndexed()) {
                         rangeIndexSinks(fieldIndex);
                     }
@@ -536,6 +555,9 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                                       final ReteEvaluator reteEvaluator) {
         final Object object = factHandle.getObject();
 
+        final boolean reindex = isAdaptiveIndexing( reteEvaluator ) && propagationsCounter.incrementAndGet() % ADAPTIVE_SAMPLING_RATE == 0 &&
+                                sampleSelectivity( factHandle, reteEvaluator );
+
         // Iterates the FieldIndex collection, which tells you if particularly field is hashed or not
         // if the field is hashed then it builds the hashkey to return the correct sink for the current objects slot's
         // value, one object may have multiple fields indexed.
@@ -597,6 +619,118 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                                          sink );
             }
         }
+
+        if ( reindex ) {
+            // the sinks cannot be moved while this or any other session is propagating through them,
+            // so the new indexing is deferred until a session reaches the end of a fireAllRules
+            scheduleAdaptiveIndexing( reteEvaluator );
+        }
+    }
+
+    private boolean isAdaptiveIndexing(ReteEvaluator reteEvaluator) {
+        if ( this.adaptiveIndexing == null ) {
+            if ( reteEvaluator == null ) {
+                return false;
+            }
+            this.adaptiveIndexing = reteEvaluator.getKnowledgeBase().getConfiguration().isAlphaNodeAdaptiveIndexing();
+        }
+        return this.adaptiveIndexing;
+    }
+
+    /**
+     * Evaluates the constraints of the alpha nodes sharing the same field against the propagated fact in order
+     * to estimate how selective that field is. Returns true if the indexing of any field should be changed.
+     */
+    boolean sampleSelectivity(InternalFactHandle factHandle, ReteEvaluator reteEvaluator) {
+        boolean reindex = false;
+
+        if ( this.hashedFieldIndexes != null ) {
+            for ( FieldIndex fieldIndex : this.hashedFieldIndexes ) {
+                // an equality constraint can match at most one value, so hashed fields don't need to be reconsidered
+                if ( !fieldIndex.isHashed() && fieldIndex.getCount() > 1 ) {
+                    reindex |= fieldIndex.sample( fieldIndex.getCount(), countMatches( this.hashableSinks, fieldIndex, factHandle, reteEvaluator ) ) &&
+                               fieldIndex.getSelectivity() <= HASH_SELECTIVITY;
+                }
+            }
+        }
+
+        if ( this.rangeIndexedFieldIndexes != null ) {
+            for ( FieldIndex fieldIndex : this.rangeIndexedFieldIndexes ) {
+                if ( fieldIndex.getCount() <= 1 ) {
+                    continue;
+                }
+                if ( fieldIndex.isRangeIndexed() ) {
+                    int matches = this.rangeIndexMap.get( fieldIndex ).getMatchingAlphaNodes( factHandle.getObject() ).size();
+                    reindex |= fieldIndex.sample( fieldIndex.getCount(), matches ) &&
+                               fieldIndex.getSelectivity() > RANGE_UNINDEX_SELECTIVITY;
+                } else {
+                    reindex |= fieldIndex.sample( fieldIndex.getCount(), countMatches( this.rangeIndexableSinks, fieldIndex, factHandle, reteEvaluator ) ) &&
+                               fieldIndex.getSelectivity() < RANGE_INDEX_SELECTIVITY;
+                }
+            }
+        }
+
+        return reindex;
+    }
+
+    private static int countMatches(List<AlphaNode> alphaNodes, FieldIndex fieldIndex, InternalFactHandle factHandle, ReteEvaluator reteEvaluator) {
+        int matches = 0;
+        if ( alphaNodes != null ) {
+            for ( AlphaNode alphaNode : alphaNodes ) {
+                if ( ((IndexableConstraint) alphaNode.getConstraint()).getFieldExtractor().getIndex() == fieldIndex.getIndex() &&
+                     alphaNode.getConstraint().isAllowed( factHandle, reteEvaluator ) ) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void scheduleAdaptiveIndexing(ReteEvaluator reteEvaluator) {
+        if ( this.adaptiveIndexingScheduled.compareAndSet( false, true ) ) {
+            reteEvaluator.getKnowledgeBase().enqueueDeferredModification( () -> {
+                try {
+                    applyAdaptiveIndexing();
+                } finally {
+                    this.adaptiveIndexingScheduled.set( false );
+                }
+            } );
+        }
+    }
+
+    /**
+     * Hashes, range indexes or unindexes the fields whose sampled selectivity crossed the corresponding threshold.
+     * This modifies the structure of this adapter, so it must be invoked only when no session is propagating through it.
+     */
+    void applyAdaptiveIndexing() {
+        if ( this.hashedFieldIndexes != null ) {
+            for ( FieldIndex fieldIndex : this.hashedFieldIndexes ) {
+                if ( !fieldIndex.isHashed() && fieldIndex.getCount() > 1 && fieldIndex.hasReliableSelectivity() &&
+                     fieldIndex.getSelectivity() <= HASH_SELECTIVITY ) {
+                    hashSinks( fieldIndex );
+                    fieldIndex.resetSamples();
+                }
+            }
+        }
+
+        if ( this.rangeIndexedFieldIndexes != null ) {
+            for ( FieldIndex fieldIndex : this.rangeIndexedFieldIndexes ) {
+                if ( fieldIndex.getCount() <= 1 || !fieldIndex.hasReliableSelectivity() ) {
+                    continue;
+                }
+                if ( fieldIndex.isRangeIndexed() ) {
+                    if ( fieldIndex.getSelectivity() > RANGE_UNINDEX_SELECTIVITY ) {
+                        unRangeIndexSinks( fieldIndex, this.rangeIndexMap.get( fieldIndex ) );
+                        fieldIndex.resetSamples();
+                    }
+                } else if ( fieldIndex.getSelectivity() < RANGE_INDEX_SELECTIVITY ) {
+                    rangeIndexSinks( fieldIndex );
+                    fieldIndex.resetSamples();
+                }
+            }
+        }
+
+        this.sinks = null; // dirty it, so it'll rebuild on next get
     }
 
     public void propagateModifyObject(final InternalFactHandle factHandle,
@@ -999,6 +1133,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         private boolean              hashed;
         private boolean              rangeIndexed;
 
+        // runtime statistics used by the adaptive indexing: the sessions of the same kbase sample them concurrently,
+        // so they are accessed only by the synchronized methods below, that are invoked only for 1 propagation every
+        // ADAPTIVE_SAMPLING_RATE, while the indexing flags are changed only when all the sessions are deactivated
+        private transient int        samples;
+        private transient long       evaluatedSinks;
+        private transient long       matchedSinks;
+        private transient double     selectivity = -1;
+
         public FieldIndex() {
         }
 
@@ -1060,5 +1202,40 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         public void decreaseCounter() {
             this.count--;
         }
+
+        /**
+         * Records that a fact matched the given number of the alpha nodes on this field. Returns true when this sample
+         * completes a window and then a new selectivity value is available.
+         */
+        synchronized boolean sample(int evaluated, int matched) {
+            this.evaluatedSinks += evaluated;
+            this.matchedSinks += matched;
+            if ( ++this.samples < ADAPTIVE_SAMPLING_WINDOW ) {
+                return false;
+            }
+            this.selectivity = (double) this.matchedSinks / this.evaluatedSinks;
+            this.samples = 0;
+            this.evaluatedSinks = 0;
+            this.matchedSinks = 0;
+            return true;
+        }
+
+        /**
+         * The average fraction of the alpha nodes on this field matched by a fact in the last completed sampling window
+         */
+        synchronized double getSelectivity() {
+            return this.selectivity;
+        }
+
+        synchronized boolean hasReliableSelectivity() {
+            return this.selectivity >= 0;
+        }
+
+        synchronized void resetSamples() {
+            this.samples = 0;
+            this.evaluatedSinks = 0;
+            this.matchedSinks = 0;
+            this.selectivity = -1;
+        }
     }
 }
@@ -200,6 +200,19 @@ public class EntryPointNode extends ObjectSource implements ObjectSink {
         }
     }
 
+    public void assertObjects(final PropagationEntry.InsertAll inserts,
+                              final ReteEvaluator reteEvaluator) {
+        if ( log.isTraceEnabled() ) {
+            log.trace("Insert {}", inserts.toString());
+        }
+
+        if ( partitionsEnabled || !reteEvaluator.isThreadSafe() ) {
+            inserts.execute( reteEvaluator );
+        } else {
+            reteEvaluator.addPropagation( inserts );
+        }
+    }
+
 
     public void modifyObject(final InternalFactHandle handle,
                              final PropagationContext pctx,
@@ -32,8 +32,12 @@ import org.drools.core.common.MemoryFactory;
 import org.drools.core.common.ReteEvaluator;
 import org.drools.core.common.UpdateContext;
 import org.drools.core.reteoo.builder.BuildContext;
+import org.drools.core.rule.Declaration;
+import org.drools.core.rule.EntryPointId;
 import org.drools.core.rule.From;
 import org.drools.core.rule.Pattern;
+import org.drools.core.rule.PatternSource;
+import org.drools.core.rule.WindowReference;
 import org.drools.core.spi.AlphaNodeFieldConstraint;
 import org.drools.core.spi.DataProvider;
 import org.drools.core.spi.ObjectType;
@@ -67,6 +71,9 @@ public class FromNode<T extends FromNode.FromMemory> extends LeftTupleSource
 
     protected transient ObjectTypeConf   objectTypeConf;
 
+    // the declarations used by the data provider when its results are memoized, otherwise null
+    private Declaration[]                memoizedDeclarations;
+
     public FromNode() {
     }
 
@@ -90,10 +97,51 @@ public class FromNode<T extends FromNode.FromMemory> extends LeftTupleSource
         this.from = from;
 
         initMasks(context, tupleSource);
+        initMemoization(context);
 
         hashcode = calculateHashCode();
     }
 
+    private void initMemoization(BuildContext context) {
+        if ( context == null || !context.getRuleBase().getConfiguration().isFromMemoization() || dataProvider.isReactive() ) {
+            return;
+        }
+
+        Declaration[] declarations = dataProvider.getRequiredDeclarations();
+        if ( declarations.length == 0 ) {
+            // nothing to key the results on
+            return;
+        }
+
+        for ( Declaration declaration : declarations ) {
+            if ( declaration.isGlobal() ) {
+                continue;
+            }
+            Pattern pattern = declaration.getPattern();
+            if ( pattern == null || declaration.getxPathOffset() != 0 || !isInsertedFactSource( pattern.getSource() ) ) {
+                // the object is computed by another node, so it can change without being modified
+                return;
+            }
+        }
+
+        this.memoizedDeclarations = declarations;
+    }
+
+    private static boolean isInsertedFactSource( PatternSource source ) {
+        return source == null || source instanceof EntryPointId || source instanceof WindowReference;
+    }
+
+    /**
+     * Returns true if the results of the data provider are memoized for each left tuple
+     */
+    public boolean isMemoized() {
+        return memoizedDeclarations != null;
+    }
+
+    public Declaration[] getMemoizedDeclarations() {
+        return memoizedDeclarations;
+    }
+
     private int calculateHashCode() {
         int hash = ( 23 * leftInput.hashCode() ) + ( 29 * dataProvider.hashCode() );
         if (from.getResultPattern() != null) {
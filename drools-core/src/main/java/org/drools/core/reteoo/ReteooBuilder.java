@@ -40,6 +40,7 @@ import org.drools.core.common.NetworkNode;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.RuleBase;
 import org.drools.core.phreak.AddRemoveRule;
+import org.drools.core.phreak.AddRemoveRule.PendingInsertions;
 import org.drools.core.reteoo.builder.ReteooRuleBuilder;
 import org.drools.core.rule.InvalidPatternException;
 import org.drools.core.rule.WindowDeclaration;
@@ -104,7 +105,15 @@ public class ReteooBuilder
      * @throws InvalidPatternException
      */
     public synchronized void addRule(final RuleImpl rule, Collection<InternalWorkingMemory> workingMemories) {
-        final List<TerminalNode> terminals = this.ruleBuilder.addRule( rule, this.kBase, workingMemories );
+        addRule( rule, workingMemories, null );
+    }
+
+    /**
+     * Add a <code>Rule</code> to the network, collecting the new nodes to be populated with
+     * the facts of the working memories in the given <code>PendingInsertions</code>, if any.
+     */
+    public synchronized void addRule(final RuleImpl rule, Collection<InternalWorkingMemory> workingMemories, PendingInsertions pendingInsertions) {
+        final List<TerminalNode> terminals = this.ruleBuilder.addRule( rule, this.kBase, workingMemories, pendingInsertions );
 
         TerminalNode[] nodes = terminals.toArray( new TerminalNode[terminals.size()] );
         this.rules.put( rule.getFullyQualifiedName(), nodes );
@@ -22,12 +22,15 @@ import java.util.List;
 import org.drools.core.common.InternalWorkingMemory;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.RuleBase;
+import org.drools.core.phreak.AddRemoveRule.PendingInsertions;
 import org.drools.core.rule.WindowDeclaration;
 
 public interface RuleBuilder {
 
     List<TerminalNode> addRule( RuleImpl rule, RuleBase kBase, Collection<InternalWorkingMemory> workingMemories );
 
+    List<TerminalNode> addRule( RuleImpl rule, RuleBase kBase, Collection<InternalWorkingMemory> workingMemories, PendingInsertions pendingInsertions );
+
     void addEntryPoint( String id, RuleBase kBase, Collection<InternalWorkingMemory> workingMemories );
 
     WindowNode addWindowNode( WindowDeclaration window, RuleBase kBase, Collection<InternalWorkingMemory> workingMemories );
@@ -30,6 +30,7 @@ import org.drools.core.management.GenericKieSessionMonitoringImpl;
 import org.drools.core.marshalling.SerializablePlaceholderResolverStrategy;
 import org.drools.core.spi.FactHandleFactory;
 import org.drools.core.spi.KnowledgeHelper;
+import org.drools.core.util.ScalablePool;
 import org.kie.api.internal.utils.KieService;
 import org.kie.api.marshalling.ObjectMarshallingStrategy;
 import org.kie.api.marshalling.ObjectMarshallingStrategyAcceptor;
@@ -64,6 +65,8 @@ public interface RuntimeComponentFactory extends KieService {
 
     KieSessionsPool createSessionsPool(RuleBase ruleBase, int initialSize);
 
+    KieSessionsPool createSessionsPool(RuleBase ruleBase, ScalablePool.Config poolConfig);
+
     GenericKieSessionMonitoringImpl createStatefulSessionMonitor(DroolsManagementAgent.CBSKey cbsKey);
 
     GenericKieSessionMonitoringImpl createStatelessSessionMonitor(DroolsManagementAgent.CBSKey cbsKey);
@@ -54,6 +54,16 @@ public interface TupleMemory {
     Iterator iterator();
     
     FastIterator fastIterator();
+
+    /**
+     * Iterator that may skip the tuples that cannot match the given tuple of the opposite side, it can be used only
+     * to iterate the tuples following the one returned by getFirst( tuple )
+     * @param tuple
+     * @return
+     */
+    default FastIterator fastIterator( Tuple tuple ) {
+        return fastIterator();
+    }
     
     /**
      * Iterates the entire data structure, regardless of whether TupleMemory is hashed or not.
@@ -29,6 +29,7 @@ import org.drools.core.common.NetworkNode;
 import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.RuleBase;
+import org.drools.core.phreak.AddRemoveRule.PendingInsertions;
 import org.drools.core.reteoo.LeftTupleSource;
 import org.drools.core.reteoo.ObjectSource;
 import org.drools.core.reteoo.ObjectTypeNode;
@@ -106,6 +107,8 @@ public class BuildContext {
 
     private final Collection<InternalWorkingMemory> workingMemories;
 
+    private PendingInsertions                pendingInsertions;
+
     public BuildContext(RuleBase ruleBase, Collection<InternalWorkingMemory> workingMemories) {
         this.ruleBase = ruleBase;
         this.workingMemories = workingMemories;
@@ -189,6 +192,17 @@ public class BuildContext {
         return workingMemories;
     }
 
+    /**
+     * Returns the new nodes still to be populated with the facts of the working memories
+     */
+    public PendingInsertions getPendingInsertions() {
+        return pendingInsertions;
+    }
+
+    public void setPendingInsertions(PendingInsertions pendingInsertions) {
+        this.pendingInsertions = pendingInsertions;
+    }
+
     /**
      * Returns an Id for the next node
      */
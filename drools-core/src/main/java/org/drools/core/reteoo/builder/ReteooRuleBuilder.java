@@ -28,6 +28,7 @@ import org.drools.core.common.UpdateContext;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.RuleBase;
 import org.drools.core.phreak.AddRemoveRule;
+import org.drools.core.phreak.AddRemoveRule.PendingInsertions;
 import org.drools.core.reteoo.PathEndNode;
 import org.drools.core.reteoo.RightInputAdapterNode;
 import org.drools.core.reteoo.RuleBuilder;
@@ -109,6 +110,14 @@ public class ReteooRuleBuilder implements RuleBuilder {
      * @throws InvalidPatternException
      */
     public List<TerminalNode> addRule( RuleImpl rule, RuleBase kBase, Collection<InternalWorkingMemory> workingMemories ) throws InvalidPatternException {
+        return addRule( rule, kBase, workingMemories, null );
+    }
+
+    /**
+     * As above, but the new nodes of the rule sharing no node with the other ones are populated with the existing facts
+     * only when the given PendingInsertions, if any, are inserted, so that this can be done once for many rules.
+     */
+    public List<TerminalNode> addRule( RuleImpl rule, RuleBase kBase, Collection<InternalWorkingMemory> workingMemories, PendingInsertions pendingInsertions ) throws InvalidPatternException {
 
         // the list of terminal nodes
         final List<TerminalNode> nodes = new ArrayList<>();
@@ -121,6 +130,7 @@ public class ReteooRuleBuilder implements RuleBuilder {
             // creates a clean build context for each subrule
             final BuildContext context = new BuildContext( kBase, workingMemories );
             context.setRule( rule );
+            context.setPendingInsertions( pendingInsertions );
 
             // if running in STREAM mode, calculate temporal distance for events
             if (EventProcessingOption.STREAM.equals( kBase.getConfiguration().getEventProcessingMode() )) {
@@ -190,7 +200,7 @@ public class ReteooRuleBuilder implements RuleBuilder {
 
         setPathEndNodes(context);
 
-        AddRemoveRule.addRule( terminal, context.getWorkingMemories(), context.getRuleBase() );
+        AddRemoveRule.addRule( terminal, context.getWorkingMemories(), context.getRuleBase(), context.getPendingInsertions() );
 
         // adds the terminal node to the list of nodes created/added by this sub-rule
         context.getNodes().add( baseTerminalNode );
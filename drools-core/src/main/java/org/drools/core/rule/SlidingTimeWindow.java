@@ -21,7 +21,8 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Collection;
-import java.util.PriorityQueue;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.drools.core.common.EventFactHandle;
 import org.drools.core.common.InternalFactHandle;
@@ -38,6 +39,7 @@ import org.drools.core.time.JobContext;
 import org.drools.core.time.JobHandle;
 import org.drools.core.time.TimerService;
 import org.drools.core.time.impl.PointInTimeTrigger;
+import org.drools.core.util.BucketedEventQueue;
 
 import static org.drools.core.common.PhreakPropagationContextFactory.createPropagationContextForFact;
 
@@ -170,21 +172,18 @@ public class SlidingTimeWindow
         long currentTime = clock.getCurrentTime();
         SlidingTimeWindowContext queue = (SlidingTimeWindowContext) context;
 
-        EventFactHandle handle = queue.peek();
-        while ( handle != null && isExpired( currentTime,
-                                             handle ) ) {
+        // all the expired events are taken out of the queue at once, a bucket at a time
+        for ( EventFactHandle handle : queue.pollExpired( currentTime - this.size ) ) {
             queue.setExpiringHandle( handle );
-            queue.remove();
             if( handle.isValid()) {
                 // if not expired yet, expire it
                 final PropagationContext expiresPctx = createPropagationContextForFact( reteEvaluator, handle, PropagationContext.Type.EXPIRATION );
                 ObjectTypeNode.doRetractObject(handle, expiresPctx, reteEvaluator);
             }
             queue.setExpiringHandle( null );
-            handle = queue.peek();
         }
         // update next expiration time
-        updateNextExpiration( handle,
+        updateNextExpiration( queue.peek(),
                               reteEvaluator,
                               queue,
                               nodeId );
@@ -237,12 +236,12 @@ public class SlidingTimeWindow
             Behavior.Context,
             Externalizable {
 
-        private PriorityQueue<EventFactHandle> queue;
-        private EventFactHandle                expiringHandle;
-        private JobHandle                      jobHandle;
+        private BucketedEventQueue queue;
+        private EventFactHandle    expiringHandle;
+        private JobHandle          jobHandle;
 
         public SlidingTimeWindowContext() {
-            this.queue = new PriorityQueue<>(16); // arbitrary size... can we improve it?
+            this.queue = new BucketedEventQueue();
         }
 
         @Override
@@ -256,10 +255,9 @@ public class SlidingTimeWindow
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public void readExternal(ObjectInput in) throws IOException,
                                                         ClassNotFoundException {
-            this.queue = (PriorityQueue<EventFactHandle>) in.readObject();
+            this.queue = (BucketedEventQueue) in.readObject();
             this.expiringHandle = (EventFactHandle) in.readObject();
         }
 
@@ -298,7 +296,18 @@ public class SlidingTimeWindow
         }
 
         public EventFactHandle remove() {
-            return queue.remove( );
+            EventFactHandle handle = queue.poll();
+            if ( handle == null ) {
+                throw new NoSuchElementException();
+            }
+            return handle;
+        }
+
+        /**
+         * Removes and returns, in order, all the events starting not after the given timestamp
+         */
+        public List<EventFactHandle> pollExpired(long timestamp) {
+            return queue.pollUntil( timestamp );
         }
 
         @Override
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hierarchical timing wheel, shared by all the TimingWheelTimerServices of the JVM.
+ * The time is divided in ticks of a fixed duration and the timeouts are linked in the slots of 4 wheels of 256 slots,
+ * the first wheel having a slot per tick and each following one a slot per turn of the previous wheel.
+ * Scheduling and cancelling a timeout only link and unlink it, so they take constant time, while the timeouts of
+ * the outer wheels are moved to the inner ones when the first wheel completes a turn.
+ * A single daemon thread advances the wheel and hands the expired timeouts to their timer services, which run
+ * their jobs on a shared pool of dispatcher threads.
+ */
+class TimingWheel {
+
+    private static final Logger log = LoggerFactory.getLogger( TimingWheel.class );
+
+    /**
+     * The duration of a tick in milliseconds, 10 by default
+     */
+    static final String TICK_PROPERTY = "drools.timerService.tick";
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int WHEELS = 4;
+    private static final long MAX_DELTA = ( 1L << ( WHEEL_BITS * WHEELS ) ) - 1;
+
+    private static volatile TimingWheel instance;
+
+    private final long tick;
+
+    // the sentinels of the circular lists of timeouts of each slot, the slots of a wheel are contiguous
+    private final Timeout[] slots = new Timeout[WHEELS * WHEEL_SIZE];
+
+    // the next tick to be processed, all the timeouts expiring before it have already been expired
+    private long nextTick;
+
+    private int size;
+
+    private ExecutorService dispatcher;
+
+    static TimingWheel getInstance() {
+        if ( instance == null ) {
+            synchronized ( TimingWheel.class ) {
+                if ( instance == null ) {
+                    TimingWheel wheel = new TimingWheel( Long.parseLong( System.getProperty( TICK_PROPERTY, "10" ) ) );
+                    wheel.start();
+                    instance = wheel;
+                }
+            }
+        }
+        return instance;
+    }
+
+    TimingWheel( long tick ) {
+        if ( tick <= 0 ) {
+            throw new IllegalArgumentException( "The tick of a timing wheel must be positive: " + tick );
+        }
+        this.tick = tick;
+        for ( int i = 0; i < slots.length; i++ ) {
+            slots[i] = new Timeout( null, null, 0 );
+        }
+    }
+
+    private void start() {
+        AtomicInteger threads = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool( Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread( r, "drools-timing-wheel-dispatcher-" + threads.incrementAndGet() );
+            thread.setDaemon( true );
+            return thread;
+        } );
+        Thread ticker = new Thread( this::run, "drools-timing-wheel" );
+        ticker.setDaemon( true );
+        ticker.start();
+    }
+
+    long getTick() {
+        return tick;
+    }
+
+    ExecutorService getDispatcher() {
+        return dispatcher;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Links a new timeout of the given job, expiring at the first tick not before the given time
+     */
+    Timeout schedule( TimingWheelTimerService owner, TimerJobInstance jobInstance, long time, long now ) {
+        Timeout timeout = new Timeout( owner, jobInstance, Math.floorDiv( time + tick - 1, tick ) );
+        synchronized ( this ) {
+            if ( size == 0 ) {
+                // nothing is linked, so the wheel can jump to the current time without expiring anything
+                nextTick = Math.max( nextTick, Math.floorDiv( now, tick ) );
+            }
+            link( timeout );
+            timeout.linkTo( owner.getTimeouts() );
+            if ( ++size == 1 ) {
+                notifyAll();
+            }
+        }
+        return timeout;
+    }
+
+    /**
+     * Unlinks the given timeout, returning false if it has already expired or been cancelled
+     */
+    synchronized boolean cancel( Timeout timeout ) {
+        if ( timeout == null || timeout.next == null ) {
+            return false;
+        }
+        timeout.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Unlinks all the timeouts of the given timer service
+     */
+    synchronized void cancelAll( TimingWheelTimerService owner ) {
+        Timeout timeouts = owner.getTimeouts();
+        while ( timeouts.ownerNext != timeouts ) {
+            timeouts.ownerNext.unlink();
+            size--;
+        }
+    }
+
+    /**
+     * Processes all the ticks up to the one of the given time, returning the expired timeouts
+     */
+    synchronized List<Timeout> expire( long now ) {
+        List<Timeout> expired = new ArrayList<>();
+        long timeTick = Math.floorDiv( now, tick );
+        while ( nextTick <= timeTick && size > 0 ) {
+            int index = (int) ( nextTick & WHEEL_MASK );
+            if ( index == 0 ) {
+                // the first wheel completed a turn, moves the timeouts of the next slot of the outer wheels
+                int wheel = 1;
+                while ( wheel < WHEELS && cascade( wheel ) == 0 ) {
+                    wheel++;
+                }
+            }
+            nextTick++;
+            Timeout slot = slots[index];
+            while ( slot.next != slot ) {
+                Timeout timeout = slot.next;
+                timeout.unlink();
+                size--;
+                expired.add( timeout );
+            }
+        }
+        if ( size == 0 ) {
+            nextTick = Math.max( nextTick, timeTick + 1 );
+        }
+        return expired;
+    }
+
+    private int cascade( int wheel ) {
+        int index = (int) ( ( nextTick >>> ( WHEEL_BITS * wheel ) ) & WHEEL_MASK );
+        Timeout slot = slots[wheel * WHEEL_SIZE + index];
+        Timeout timeout = slot.next;
+        slot.next = slot;
+        slot.prev = slot;
+        while ( timeout != slot ) {
+            Timeout next = timeout.next;
+            link( timeout );
+            timeout = next;
+        }
+        return index;
+    }
+
+    private void link( Timeout timeout ) {
+        long deadline = timeout.deadline;
+        long delta = deadline - nextTick;
+        int slot;
+        if ( delta < 0 ) {
+            // already expired, it goes in the slot of the next tick
+            slot = (int) ( nextTick & WHEEL_MASK );
+        } else if ( delta > MAX_DELTA ) {
+            // beyond the last wheel, it is moved again when it is cascaded
+            deadline = nextTick + MAX_DELTA;
+            slot = ( WHEELS - 1 ) * WHEEL_SIZE + (int) ( ( deadline >>> ( WHEEL_BITS * ( WHEELS - 1 ) ) ) & WHEEL_MASK );
+        } else {
+            int wheel = 0;
+            while ( delta >= 1L << ( WHEEL_BITS * ( wheel + 1 ) ) ) {
+                wheel++;
+            }
+            slot = wheel * WHEEL_SIZE + (int) ( ( deadline >>> ( WHEEL_BITS * wheel ) ) & WHEEL_MASK );
+        }
+        Timeout sentinel = slots[slot];
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    private void run() {
+        while ( true ) {
+            List<Timeout> expired;
+            try {
+                synchronized ( this ) {
+                    while ( size == 0 ) {
+                        wait();
+                    }
+                    long now = System.currentTimeMillis();
+                    long waitTime = nextTick * tick - now;
+                    if ( waitTime > 0 ) {
+                        wait( waitTime );
+                        continue;
+                    }
+                    expired = expire( now );
+                }
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            for ( Timeout timeout : expired ) {
+                try {
+                    timeout.owner.dispatch( timeout.jobInstance );
+                } catch ( RuntimeException e ) {
+                    log.warn( "Unable to dispatch timer job!", e );
+                }
+            }
+        }
+    }
+
+    /**
+     * A node of both the list of a slot of the wheel and the list of the timeouts of a timer service
+     */
+    static class Timeout {
+
+        private final TimingWheelTimerService owner;
+        private final TimerJobInstance jobInstance;
+        private final long deadline;
+
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout ownerPrev;
+        private Timeout ownerNext;
+
+        Timeout( TimingWheelTimerService owner, TimerJobInstance jobInstance, long deadline ) {
+            this.owner = owner;
+            this.jobInstance = jobInstance;
+            this.deadline = deadline;
+            if ( owner == null ) {
+                // a sentinel
+                this.prev = this;
+                this.next = this;
+                this.ownerPrev = this;
+                this.ownerNext = this;
+            }
+        }
+
+        TimerJobInstance getJobInstance() {
+            return jobInstance;
+        }
+
+        long getDeadline() {
+            return deadline;
+        }
+
+        private void linkTo( Timeout sentinel ) {
+            ownerPrev = sentinel.ownerPrev;
+            ownerNext = sentinel;
+            sentinel.ownerPrev.ownerNext = this;
+            sentinel.ownerPrev = this;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+            ownerPrev.ownerNext = ownerNext;
+            ownerNext.ownerPrev = ownerPrev;
+            ownerPrev = null;
+            ownerNext = null;
+        }
+    }
+}
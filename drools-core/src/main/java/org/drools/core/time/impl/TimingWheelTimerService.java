@@ -0,0 +1,198 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.drools.core.time.InternalSchedulerService;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.Trigger;
+import org.kie.api.time.SessionClock;
+
+/**
+ * A Scheduler implementation that, instead of owning a thread pool as the JDKTimerService does, links its jobs
+ * in a hierarchical timing wheel shared by all the sessions of the JVM, and uses the system clock as the clock.
+ * It is selected by setting the <code>drools.timerService</code> session property to the name of this class, while
+ * the duration of the ticks of the wheel is given by the <code>drools.timerService.tick</code> system property.
+ * The jobs of a session are run one at a time, as with the single thread of the default JDKTimerService.
+ */
+public class TimingWheelTimerService
+        implements
+        TimerService,
+        SessionClock,
+        InternalSchedulerService {
+
+    private final TimingWheel wheel;
+
+    private final AtomicLong idCounter = new AtomicLong( 0L );
+
+    protected TimerJobFactoryManager jobFactoryManager = DefaultTimerJobFactoryManager.instance;
+
+    // the sentinel of the list of the timeouts of this service linked in the wheel, guarded by the wheel
+    private final TimingWheel.Timeout timeouts = new TimingWheel.Timeout( null, null, 0 );
+
+    private final Queue<TimerJobInstance> expiredJobs = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    private volatile boolean shutdown;
+
+    public TimingWheelTimerService() {
+        this( TimingWheel.getInstance() );
+    }
+
+    TimingWheelTimerService( TimingWheel wheel ) {
+        this.wheel = wheel;
+    }
+
+    public void setTimerJobFactoryManager(TimerJobFactoryManager timerJobFactoryManager) {
+        this.jobFactoryManager = timerJobFactoryManager;
+    }
+
+    public TimerJobFactoryManager getTimerJobFactoryManager() {
+        return this.jobFactoryManager;
+    }
+
+    TimingWheel.Timeout getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    public long getCurrentTime() {
+        return System.currentTimeMillis();
+    }
+
+    public void reset() {
+        wheel.cancelAll( this );
+        expiredJobs.clear();
+        idCounter.set( 0L );
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        wheel.cancelAll( this );
+        expiredJobs.clear();
+    }
+
+    public JobHandle scheduleJob(Job job,
+                                 JobContext ctx,
+                                 Trigger trigger) {
+        Date date = trigger.hasNextFireTime();
+        if (date != null) {
+            TimingWheelJobHandle jobHandle = new TimingWheelJobHandle(idCounter.getAndIncrement());
+
+            TimerJobInstance jobInstance = jobFactoryManager.createTimerJobInstance(job,
+                                                                                   ctx,
+                                                                                   trigger,
+                                                                                   jobHandle,
+                                                                                   this);
+            jobHandle.setTimerJobInstance(jobInstance);
+            internalSchedule(jobInstance);
+
+            return jobHandle;
+        } else {
+            return null;
+        }
+    }
+
+    public void internalSchedule(TimerJobInstance timerJobInstance) {
+        if (shutdown) {
+            return;
+        }
+        Date date = timerJobInstance.getTrigger().hasNextFireTime();
+        TimingWheelJobHandle jobHandle = (TimingWheelJobHandle) timerJobInstance.getJobHandle();
+        jobHandle.setTimeout(wheel.schedule(this, timerJobInstance, date.getTime(), System.currentTimeMillis()));
+        jobFactoryManager.addTimerJobInstance(timerJobInstance);
+    }
+
+    public boolean removeJob(JobHandle jobHandle) {
+        jobHandle.setCancel(true);
+        TimingWheelJobHandle timingWheelJobHandle = (TimingWheelJobHandle) jobHandle;
+        jobFactoryManager.removeTimerJobInstance(timingWheelJobHandle.getTimerJobInstance());
+        return wheel.cancel(timingWheelJobHandle.getTimeout());
+    }
+
+    /**
+     * Called by the wheel when a job of this service expires. The expired jobs are queued and run by a single
+     * dispatcher thread at a time, so that the jobs of a session never run concurrently.
+     */
+    void dispatch(TimerJobInstance timerJobInstance) {
+        expiredJobs.add(timerJobInstance);
+        if (dispatching.compareAndSet(false, true)) {
+            wheel.getDispatcher().execute(this::runExpiredJobs);
+        }
+    }
+
+    private void runExpiredJobs() {
+        do {
+            TimerJobInstance timerJobInstance;
+            while ((timerJobInstance = expiredJobs.poll()) != null) {
+                if (shutdown) {
+                    continue;
+                }
+                try {
+                    ((Callable<Void>) timerJobInstance).call();
+                } catch (Exception e) {
+                    // already logged by the job instance
+                }
+            }
+            dispatching.set(false);
+            // a job could have been queued after the last poll and before releasing the dispatching flag
+        } while (!expiredJobs.isEmpty() && dispatching.compareAndSet(false, true));
+    }
+
+    public static class TimingWheelJobHandle extends DefaultJobHandle
+            implements
+            JobHandle {
+
+        private static final long serialVersionUID = 510l;
+
+        private transient volatile TimingWheel.Timeout timeout;
+
+        public TimingWheelJobHandle(long id) {
+            super(id);
+        }
+
+        TimingWheel.Timeout getTimeout() {
+            return timeout;
+        }
+
+        void setTimeout(TimingWheel.Timeout timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public long getTimeToNextJob() {
+        return 0;
+    }
+
+    public Collection<TimerJobInstance> getTimerJobInstances(long id) {
+        return jobFactoryManager.getTimerJobInstances();
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.drools.core.common.EventFactHandle;
+
+/**
+ * A queue of events sorted by their start timestamp, made of a ring of buckets of up to 64 events.
+ * Since the events mostly arrive in order, an event is usually appended to the last bucket and the events are
+ * polled from the first one, both in constant time, while an event arriving out of order is inserted in its bucket,
+ * splitting it when full. All the events up to a timestamp are polled a bucket at a time.
+ * Events with the same timestamp are kept in arrival order.
+ */
+public class BucketedEventQueue extends AbstractCollection<EventFactHandle> implements Externalizable {
+
+    static final int BUCKET_SIZE = 64;
+
+    private Bucket[] ring = new Bucket[4];
+    private int head;
+    private int bucketCount;
+    private int size;
+
+    // an emptied bucket kept to be reused by the next one appended
+    private Bucket spare;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        for ( int i = 0; i < bucketCount; i++ ) {
+            ring[( head + i ) & ( ring.length - 1 )] = null;
+        }
+        head = 0;
+        bucketCount = 0;
+        size = 0;
+    }
+
+    @Override
+    public boolean add( EventFactHandle handle ) {
+        long timestamp = handle.getStartTimestamp();
+        Bucket last = bucketCount > 0 ? bucket( bucketCount - 1 ) : null;
+        if ( last == null || timestamp >= last.lastTimestamp() ) {
+            if ( last == null || last.end == BUCKET_SIZE ) {
+                last = newBucket();
+                insertBucket( bucketCount, last );
+            }
+            last.handles[last.end++] = handle;
+        } else {
+            insertOutOfOrder( handle, timestamp );
+        }
+        size++;
+        return true;
+    }
+
+    private void insertOutOfOrder( EventFactHandle handle, long timestamp ) {
+        // the last bucket whose first event isn't after the given one, or the first bucket
+        int index = 0;
+        int low = 1, high = bucketCount - 1;
+        while ( low <= high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( bucket( mid ).firstTimestamp() <= timestamp ) {
+                index = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        Bucket bucket = bucket( index );
+        if ( bucket.size() == BUCKET_SIZE ) {
+            // moves the second half of the bucket in a new one following it
+            Bucket split = newBucket();
+            int half = BUCKET_SIZE / 2;
+            System.arraycopy( bucket.handles, bucket.start + half, split.handles, 0, BUCKET_SIZE - half );
+            split.end = BUCKET_SIZE - half;
+            Arrays.fill( bucket.handles, bucket.start + half, bucket.end, null );
+            bucket.end = bucket.start + half;
+            insertBucket( index + 1, split );
+            if ( timestamp >= split.firstTimestamp() ) {
+                bucket = split;
+            }
+        }
+        bucket.insert( handle, timestamp );
+    }
+
+    public EventFactHandle peek() {
+        return size == 0 ? null : bucket( 0 ).first();
+    }
+
+    public EventFactHandle poll() {
+        if ( size == 0 ) {
+            return null;
+        }
+        Bucket first = bucket( 0 );
+        EventFactHandle handle = first.first();
+        first.handles[first.start++] = null;
+        size--;
+        if ( first.size() == 0 ) {
+            removeBucket( 0 );
+        }
+        return handle;
+    }
+
+    /**
+     * Removes and returns all the events whose start timestamp isn't after the given one, in order,
+     * moving out the whole buckets containing only such events at once
+     */
+    public List<EventFactHandle> pollUntil( long timestamp ) {
+        List<EventFactHandle> polled = new ArrayList<>();
+        while ( bucketCount > 0 ) {
+            Bucket first = bucket( 0 );
+            if ( first.lastTimestamp() <= timestamp ) {
+                for ( int i = first.start; i < first.end; i++ ) {
+                    polled.add( first.handles[i] );
+                }
+                size -= first.size();
+                Arrays.fill( first.handles, first.start, first.end, null );
+                first.start = first.end;
+                removeBucket( 0 );
+            } else {
+                while ( first.firstTimestamp() <= timestamp ) {
+                    polled.add( first.handles[first.start] );
+                    first.handles[first.start++] = null;
+                    size--;
+                }
+                break;
+            }
+        }
+        return polled;
+    }
+
+    @Override
+    public boolean remove( Object object ) {
+        if ( !( object instanceof EventFactHandle ) || size == 0 ) {
+            return false;
+        }
+        long timestamp = ( (EventFactHandle) object ).getStartTimestamp();
+        // the first bucket that could contain an event with the given timestamp
+        int index = bucketCount;
+        int low = 0, high = bucketCount - 1;
+        while ( low <= high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( bucket( mid ).lastTimestamp() >= timestamp ) {
+                index = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        for ( ; index < bucketCount; index++ ) {
+            Bucket bucket = bucket( index );
+            for ( int i = bucket.start; i < bucket.end; i++ ) {
+                long current = bucket.handles[i].getStartTimestamp();
+                if ( current > timestamp ) {
+                    // the timestamp of the event could have been modified after it was added
+                    return removeByScan( object );
+                }
+                if ( current == timestamp && bucket.handles[i].equals( object ) ) {
+                    removeAt( index, i );
+                    return true;
+                }
+            }
+        }
+        return removeByScan( object );
+    }
+
+    private boolean removeByScan( Object object ) {
+        for ( int index = 0; index < bucketCount; index++ ) {
+            Bucket bucket = bucket( index );
+            for ( int i = bucket.start; i < bucket.end; i++ ) {
+                if ( bucket.handles[i].equals( object ) ) {
+                    removeAt( index, i );
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void removeAt( int index, int position ) {
+        Bucket bucket = bucket( index );
+        bucket.removeAt( position );
+        size--;
+        if ( bucket.size() == 0 ) {
+            removeBucket( index );
+        }
+    }
+
+    @Override
+    public Iterator<EventFactHandle> iterator() {
+        return new Iterator<EventFactHandle>() {
+            private int bucketIndex;
+            private int position = bucketCount > 0 ? bucket( 0 ).start : 0;
+
+            @Override
+            public boolean hasNext() {
+                return bucketIndex < bucketCount && position < bucket( bucketIndex ).end;
+            }
+
+            @Override
+            public EventFactHandle next() {
+                if ( !hasNext() ) {
+                    throw new NoSuchElementException();
+                }
+                Bucket bucket = bucket( bucketIndex );
+                EventFactHandle handle = bucket.handles[position++];
+                if ( position == bucket.end && ++bucketIndex < bucketCount ) {
+                    position = bucket( bucketIndex ).start;
+                }
+                return handle;
+            }
+        };
+    }
+
+    private Bucket bucket( int index ) {
+        return ring[( head + index ) & ( ring.length - 1 )];
+    }
+
+    private Bucket newBucket() {
+        Bucket bucket = spare;
+        if ( bucket != null ) {
+            spare = null;
+            bucket.start = 0;
+            bucket.end = 0;
+            return bucket;
+        }
+        return new Bucket();
+    }
+
+    private void insertBucket( int index, Bucket bucket ) {
+        if ( bucketCount == ring.length ) {
+            Bucket[] newRing = new Bucket[ring.length * 2];
+            for ( int i = 0; i < bucketCount; i++ ) {
+                newRing[i] = bucket( i );
+            }
+            ring = newRing;
+            head = 0;
+        }
+        int mask = ring.length - 1;
+        if ( index == 0 ) {
+            head = ( head - 1 ) & mask;
+        } else {
+            for ( int i = bucketCount; i > index; i-- ) {
+                ring[( head + i ) & mask] = ring[( head + i - 1 ) & mask];
+            }
+        }
+        ring[( head + index ) & mask] = bucket;
+        bucketCount++;
+    }
+
+    private void removeBucket( int index ) {
+        int mask = ring.length - 1;
+        spare = ring[( head + index ) & mask];
+        if ( index == 0 ) {
+            ring[head] = null;
+            head = ( head + 1 ) & mask;
+        } else {
+            for ( int i = index; i < bucketCount - 1; i++ ) {
+                ring[( head + i ) & mask] = ring[( head + i + 1 ) & mask];
+            }
+            ring[( head + bucketCount - 1 ) & mask] = null;
+        }
+        bucketCount--;
+    }
+
+    @Override
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        out.writeInt( size );
+        for ( EventFactHandle handle : this ) {
+            out.writeObject( handle );
+        }
+    }
+
+    @Override
+    public void readExternal( ObjectInput in ) throws IOException, ClassNotFoundException {
+        clear();
+        int count = in.readInt();
+        for ( int i = 0; i < count; i++ ) {
+            add( (EventFactHandle) in.readObject() );
+        }
+    }
+
+    private static class Bucket {
+        private final EventFactHandle[] handles = new EventFactHandle[BUCKET_SIZE];
+        private int start;
+        private int end;
+
+        private int size() {
+            return end - start;
+        }
+
+        private EventFactHandle first() {
+            return handles[start];
+        }
+
+        private long firstTimestamp() {
+            return handles[start].getStartTimestamp();
+        }
+
+        private long lastTimestamp() {
+            return handles[end - 1].getStartTimestamp();
+        }
+
+        /**
+         * Inserts the given event after the ones not after it, the bucket must not be full
+         */
+        private void insert( EventFactHandle handle, long timestamp ) {
+            int position = end;
+            while ( position > start && handles[position - 1].getStartTimestamp() > timestamp ) {
+                position--;
+            }
+            if ( end < BUCKET_SIZE ) {
+                System.arraycopy( handles, position, handles, position + 1, end - position );
+                handles[position] = handle;
+                end++;
+            } else {
+                // no room after the last event, the preceding ones are moved backwards
+                System.arraycopy( handles, start, handles, start - 1, position - start );
+                handles[position - 1] = handle;
+                start--;
+            }
+        }
+
+        private void removeAt( int position ) {
+            System.arraycopy( handles, position + 1, handles, position, end - position - 1 );
+            handles[--end] = null;
+        }
+    }
+}
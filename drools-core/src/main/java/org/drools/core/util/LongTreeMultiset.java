@@ -0,0 +1,335 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A sorted multiset of primitive long values implemented as an AVL tree. Each node counts the occurrences of its
+ * value and the total number of values in its subtree, so adding and removing a value, reading the smallest or the
+ * greatest one and reading the value at a given position of the sorted sequence all take O(log n) time.
+ * The nodes are stored in parallel arrays, so the values are never boxed.
+ */
+public class LongTreeMultiset implements Externalizable {
+
+    private static final int NIL = 0;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] counts;
+    private int[] sizes;
+    private int[] lefts;
+    private int[] rights;
+    private byte[] heights;
+
+    private int root = NIL;
+
+    // the greatest node index in use, the index 0 is reserved for NIL
+    private int lastNode;
+
+    // the removed nodes are chained through their left link
+    private int freeNodes = NIL;
+
+    private boolean removed;
+
+    public LongTreeMultiset() {
+        init( MIN_CAPACITY );
+    }
+
+    private void init( int capacity ) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        sizes = new int[capacity];
+        lefts = new int[capacity];
+        rights = new int[capacity];
+        heights = new byte[capacity];
+    }
+
+    public int size() {
+        return sizes[root];
+    }
+
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    public void clear() {
+        if ( lastNode >= MIN_CAPACITY ) {
+            init( MIN_CAPACITY );
+        }
+        root = NIL;
+        lastNode = 0;
+        freeNodes = NIL;
+    }
+
+    public void add( long value ) {
+        add( value, 1 );
+    }
+
+    public void add( long value, int occurrences ) {
+        if ( occurrences <= 0 ) {
+            throw new IllegalArgumentException( "The number of occurrences must be positive: " + occurrences );
+        }
+        root = insert( root, value, occurrences );
+    }
+
+    /**
+     * Removes one occurrence of the given value, returning false if the value isn't contained in this multiset
+     */
+    public boolean remove( long value ) {
+        removed = false;
+        root = delete( root, value );
+        return removed;
+    }
+
+    public int count( long value ) {
+        int node = root;
+        while ( node != NIL ) {
+            if ( value < keys[node] ) {
+                node = lefts[node];
+            } else if ( value > keys[node] ) {
+                node = rights[node];
+            } else {
+                return counts[node];
+            }
+        }
+        return 0;
+    }
+
+    public long first() {
+        checkNotEmpty();
+        int node = root;
+        while ( lefts[node] != NIL ) {
+            node = lefts[node];
+        }
+        return keys[node];
+    }
+
+    public long last() {
+        checkNotEmpty();
+        int node = root;
+        while ( rights[node] != NIL ) {
+            node = rights[node];
+        }
+        return keys[node];
+    }
+
+    /**
+     * Returns the value at the given position of the sorted sequence of all the values of this multiset,
+     * counting each occurrence of a value separately
+     */
+    public long get( int index ) {
+        if ( index < 0 || index >= size() ) {
+            throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + size() );
+        }
+        int node = root;
+        while ( true ) {
+            int leftSize = sizes[lefts[node]];
+            if ( index < leftSize ) {
+                node = lefts[node];
+            } else if ( index < leftSize + counts[node] ) {
+                return keys[node];
+            } else {
+                index -= leftSize + counts[node];
+                node = rights[node];
+            }
+        }
+    }
+
+    private void checkNotEmpty() {
+        if ( root == NIL ) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    private int insert( int node, long value, int occurrences ) {
+        if ( node == NIL ) {
+            return newNode( value, occurrences );
+        }
+        // the children are assigned only after the recursive call, because it could reallocate the arrays
+        if ( value < keys[node] ) {
+            int left = insert( lefts[node], value, occurrences );
+            lefts[node] = left;
+        } else if ( value > keys[node] ) {
+            int right = insert( rights[node], value, occurrences );
+            rights[node] = right;
+        } else {
+            counts[node] += occurrences;
+            sizes[node] += occurrences;
+            return node;
+        }
+        return balance( node );
+    }
+
+    private int delete( int node, long value ) {
+        if ( node == NIL ) {
+            return NIL;
+        }
+        if ( value < keys[node] ) {
+            lefts[node] = delete( lefts[node], value );
+        } else if ( value > keys[node] ) {
+            rights[node] = delete( rights[node], value );
+        } else {
+            removed = true;
+            if ( counts[node] > 1 ) {
+                counts[node]--;
+                sizes[node]--;
+                return node;
+            }
+            if ( lefts[node] == NIL || rights[node] == NIL ) {
+                int child = lefts[node] != NIL ? lefts[node] : rights[node];
+                freeNode( node );
+                return child;
+            }
+            // replaces this node with the smallest one of its right subtree
+            int successor = rights[node];
+            while ( lefts[successor] != NIL ) {
+                successor = lefts[successor];
+            }
+            keys[node] = keys[successor];
+            counts[node] = counts[successor];
+            rights[node] = deleteFirst( rights[node] );
+        }
+        return balance( node );
+    }
+
+    private int deleteFirst( int node ) {
+        if ( lefts[node] == NIL ) {
+            int right = rights[node];
+            freeNode( node );
+            return right;
+        }
+        lefts[node] = deleteFirst( lefts[node] );
+        return balance( node );
+    }
+
+    private int newNode( long value, int occurrences ) {
+        int node;
+        if ( freeNodes != NIL ) {
+            node = freeNodes;
+            freeNodes = lefts[node];
+        } else {
+            node = ++lastNode;
+            if ( node == keys.length ) {
+                grow();
+            }
+        }
+        keys[node] = value;
+        counts[node] = occurrences;
+        sizes[node] = occurrences;
+        lefts[node] = NIL;
+        rights[node] = NIL;
+        heights[node] = 1;
+        return node;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf( keys, capacity );
+        counts = Arrays.copyOf( counts, capacity );
+        sizes = Arrays.copyOf( sizes, capacity );
+        lefts = Arrays.copyOf( lefts, capacity );
+        rights = Arrays.copyOf( rights, capacity );
+        heights = Arrays.copyOf( heights, capacity );
+    }
+
+    private void freeNode( int node ) {
+        lefts[node] = freeNodes;
+        freeNodes = node;
+    }
+
+    private void update( int node ) {
+        sizes[node] = sizes[lefts[node]] + counts[node] + sizes[rights[node]];
+        heights[node] = (byte) ( Math.max( heights[lefts[node]], heights[rights[node]] ) + 1 );
+    }
+
+    private int balance( int node ) {
+        update( node );
+        int balance = heights[lefts[node]] - heights[rights[node]];
+        if ( balance > 1 ) {
+            if ( heights[lefts[lefts[node]]] < heights[rights[lefts[node]]] ) {
+                lefts[node] = rotateLeft( lefts[node] );
+            }
+            return rotateRight( node );
+        }
+        if ( balance < -1 ) {
+            if ( heights[rights[rights[node]]] < heights[lefts[rights[node]]] ) {
+                rights[node] = rotateRight( rights[node] );
+            }
+            return rotateLeft( node );
+        }
+        return node;
+    }
+
+    private int rotateRight( int node ) {
+        int left = lefts[node];
+        lefts[node] = rights[left];
+        rights[left] = node;
+        update( node );
+        update( left );
+        return left;
+    }
+
+    private int rotateLeft( int node ) {
+        int right = rights[node];
+        rights[node] = lefts[right];
+        lefts[right] = node;
+        update( node );
+        update( right );
+        return right;
+    }
+
+    public void writeExternal( ObjectOutput out ) throws IOException {
+        out.writeInt( size() );
+        writeNode( out, root );
+    }
+
+    private void writeNode( ObjectOutput out, int node ) throws IOException {
+        if ( node != NIL ) {
+            writeNode( out, lefts[node] );
+            out.writeLong( keys[node] );
+            out.writeInt( counts[node] );
+            writeNode( out, rights[node] );
+        }
+    }
+
+    public void readExternal( ObjectInput in ) throws IOException, ClassNotFoundException {
+        clear();
+        int size = in.readInt();
+        while ( size > 0 ) {
+            long value = in.readLong();
+            int occurrences = in.readInt();
+            add( value, occurrences );
+            size -= occurrences;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder( "[" );
+        for ( int i = 0; i < size(); i++ ) {
+            sb.append( i > 0 ? ", " : "" ).append( get( i ) );
+        }
+        return sb.append( "]" ).toString();
+    }
+}
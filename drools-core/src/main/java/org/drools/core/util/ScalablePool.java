@@ -16,55 +16,451 @@
 
 package org.drools.core.util;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import org.drools.core.concurrent.ExecutorProviderImpl;
+import org.kie.api.runtime.KieSessionsPoolConfiguration;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
+
+/**
+ * A pool of resources that are eagerly created up to the configured minimum size and lazily created on demand
+ * up to the configured maximum size. When the maximum size is reached the acquisition of a new resource blocks,
+ * eventually with a timeout, or fails fast depending on the {@link Config}. The resources idle for longer than
+ * the configured timeout are disposed, without going under the minimum size.
+ */
 public class ScalablePool<T> {
 
-    private final java.util.Queue<T> pool = new ConcurrentLinkedQueue<T>();
+    private static class Evictor {
+        private static final ScheduledExecutorService service = createEvictor();
+
+        private static ScheduledExecutorService createEvictor() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor( 1, new ExecutorProviderImpl.DaemonThreadFactory() );
+            executor.setRemoveOnCancelPolicy( true );
+            return executor;
+        }
+    }
+
+    private static class Resetter {
+        private static final ExecutorService service = ExecutorProviderFactory.getExecutorProvider().getExecutor();
+    }
+
+    // used as a LIFO stack, so the least recently released resources are at its tail
+    private final LinkedBlockingDeque<PooledEntry<T>> pool = new LinkedBlockingDeque<>();
     private final List<T> resources = Collections.synchronizedList( new ArrayList<>() );
+    private final AtomicInteger size = new AtomicInteger();
 
     private final Supplier<? extends T> supplier;
     private final Consumer<? super T> resetter;
     private final Consumer<? super T> disposer;
 
+    private final Config config;
+    private final EvictionTask evictionTask;
+
+    private volatile boolean shutdown;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder resetTime = new LongAdder();
+    private final LongAccumulator maxResetTime = new LongAccumulator( Math::max, 0L );
+
     public ScalablePool( int initialSize, Supplier<? extends T> supplier, Consumer<? super T> resetter, Consumer<? super T> disposer ) {
+        this( new Config( initialSize ), supplier, resetter, disposer );
+    }
+
+    public ScalablePool( Config config, Supplier<? extends T> supplier, Consumer<? super T> resetter, Consumer<? super T> disposer ) {
+        this.config = config;
         this.supplier = supplier;
         this.resetter = resetter;
         this.disposer = disposer;
 
-        for (int i = 0; i < initialSize; i++) {
-            T t = this.supplier.get();
-            pool.offer( t );
-            resources.add( t );
+        for (int i = 0; i < config.getMinSize(); i++) {
+            size.incrementAndGet();
+            pool.offerFirst( new PooledEntry<>( create() ) );
         }
+
+        this.evictionTask = config.getIdleTimeout() > 0 ? new EvictionTask( this ) : null;
     }
 
     public T get() {
-        T t = pool.poll();
-        if (t != null) {
-            return t;
+        PooledEntry<T> entry = pool.pollFirst();
+        if (entry != null) {
+            hits.increment();
+            return entry.resource;
         }
 
-        t = this.supplier.get();
+        misses.increment();
+        if (tryIncrementSize()) {
+            try {
+                return create();
+            } catch (RuntimeException e) {
+                size.decrementAndGet();
+                throw e;
+            }
+        }
+
+        return waitForResource();
+    }
+
+    private T waitForResource() {
+        long maxWait = config.getMaxWait();
+        PooledEntry<T> entry;
+        try {
+            if (maxWait < 0) {
+                entry = pool.takeFirst();
+            } else {
+                entry = maxWait == 0 ? pool.pollFirst() : pool.pollFirst( maxWait, TimeUnit.MILLISECONDS );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted while waiting for a resource of the pool", e );
+        }
+
+        if (entry == null) {
+            timeouts.increment();
+            throw new IllegalStateException( "Pool exhausted: all the " + config.getMaxSize() + " resources of this pool are in use" );
+        }
+        return entry.resource;
+    }
+
+    private boolean tryIncrementSize() {
+        while (true) {
+            int current = size.get();
+            if (current >= config.getMaxSize()) {
+                return false;
+            }
+            if (size.compareAndSet( current, current + 1 )) {
+                return true;
+            }
+        }
+    }
+
+    private T create() {
+        T t = this.supplier.get();
         resources.add( t );
+        creations.increment();
         return t;
     }
 
     public void release(T t) {
+        if (config.isAsyncReset()) {
+            // while being reset the resource is owned by the resetting task, that disposes it if the pool is shut down meanwhile
+            resources.remove( t );
+            Resetter.service.execute( () -> resetAndOffer( t ) );
+        } else {
+            resetAndOffer( t );
+        }
+    }
+
+    private void resetAndOffer(T t) {
+        long start = System.nanoTime();
         resetter.accept( t );
-        pool.offer( t );
+        long elapsed = System.nanoTime() - start;
+        resets.increment();
+        resetTime.add( elapsed );
+        maxResetTime.accumulate( elapsed );
+
+        synchronized (resources) {
+            if (!shutdown) {
+                if (config.isAsyncReset()) {
+                    resources.add( t );
+                }
+                pool.offerFirst( new PooledEntry<>( t ) );
+                return;
+            }
+        }
+        if (config.isAsyncReset()) {
+            disposer.accept( t );
+        }
+    }
+
+    void evictIdle() {
+        long now = System.nanoTime();
+        long idleTimeout = TimeUnit.MILLISECONDS.toNanos( config.getIdleTimeout() );
+        Iterator<PooledEntry<T>> i = pool.descendingIterator();
+        while (i.hasNext() && size.get() > config.getMinSize()) {
+            PooledEntry<T> entry = i.next();
+            if (now - entry.idleSince < idleTimeout) {
+                // the remaining entries have been released more recently
+                break;
+            }
+            if (pool.removeLastOccurrence( entry )) {
+                size.decrementAndGet();
+                resources.remove( entry.resource );
+                disposer.accept( entry.resource );
+                evictions.increment();
+            }
+        }
     }
 
     public void shutdown() {
-        for (T t : resources) {
-            disposer.accept( t );
+        if (evictionTask != null) {
+            evictionTask.cancel();
+        }
+        synchronized (resources) {
+            shutdown = true;
+            for (T t : resources) {
+                disposer.accept( t );
+            }
+            resources.clear();
         }
         pool.clear();
-        resources.clear();
+        size.set( 0 );
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics( size.get(), pool.size(), hits.sum(), misses.sum(), creations.sum(), evictions.sum(),
+                               timeouts.sum(), resets.sum(), resetTime.sum(), maxResetTime.get() );
+    }
+
+    /**
+     * The periodic eviction of the idle resources of a pool. It only weakly references the pool,
+     * so a pool that is never shut down can still be garbage collected, cancelling its eviction.
+     */
+    private static class EvictionTask implements Runnable {
+        private final WeakReference<ScalablePool<?>> poolRef;
+        private final ScheduledFuture<?> future;
+
+        private EvictionTask( ScalablePool<?> pool ) {
+            this.poolRef = new WeakReference<>( pool );
+            long period = pool.config.getEvictionPeriod();
+            this.future = Evictor.service.scheduleWithFixedDelay( this, period, period, TimeUnit.MILLISECONDS );
+        }
+
+        @Override
+        public void run() {
+            ScalablePool<?> pool = poolRef.get();
+            if (pool == null) {
+                cancel();
+            } else {
+                pool.evictIdle();
+            }
+        }
+
+        private void cancel() {
+            future.cancel( false );
+        }
+    }
+
+    private static class PooledEntry<T> {
+        private final T resource;
+        private final long idleSince = System.nanoTime();
+
+        private PooledEntry( T resource ) {
+            this.resource = resource;
+        }
+    }
+
+    public static class Config {
+        private final int minSize;
+        private int maxSize = Integer.MAX_VALUE;
+        private long maxWait = -1;
+        private long idleTimeout = 0;
+        private boolean asyncReset = false;
+
+        /**
+         * @param minSize the number of resources eagerly created and never evicted from the pool
+         */
+        public Config( int minSize ) {
+            if (minSize < 0) {
+                throw new IllegalArgumentException( "The minimum size of a pool cannot be negative" );
+            }
+            this.minSize = minSize;
+        }
+
+        public int getMinSize() {
+            return minSize;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * Sets the maximum number of resources, both idle and in use, that this pool can hold. Default is unbounded.
+         */
+        public Config setMaxSize( int maxSize ) {
+            if (maxSize < minSize || maxSize <= 0) {
+                throw new IllegalArgumentException( "The maximum size of a pool must be positive and not lower than its minimum size " + minSize );
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public long getMaxWait() {
+            return maxWait;
+        }
+
+        /**
+         * Sets how long to wait for a resource to be released when the pool is exhausted before failing with
+         * an {@link IllegalStateException}. A negative value (the default) waits indefinitely, 0 fails immediately.
+         */
+        public Config setMaxWait( long maxWait, TimeUnit unit ) {
+            this.maxWait = maxWait < 0 ? -1 : unit.toMillis( maxWait );
+            return this;
+        }
+
+        public long getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        /**
+         * Sets for how long a resource can stay unused in the pool before being disposed. 0 (the default) means never.
+         */
+        public Config setIdleTimeout( long idleTimeout, TimeUnit unit ) {
+            if (idleTimeout < 0) {
+                throw new IllegalArgumentException( "The idle timeout of a pool cannot be negative" );
+            }
+            this.idleTimeout = unit.toMillis( idleTimeout );
+            return this;
+        }
+
+        long getEvictionPeriod() {
+            return Math.max( 1L, idleTimeout / 2 );
+        }
+
+        public boolean isAsyncReset() {
+            return asyncReset;
+        }
+
+        /**
+         * When true the released resources are reset on a background thread before being made available again.
+         */
+        public Config setAsyncReset( boolean asyncReset ) {
+            this.asyncReset = asyncReset;
+            return this;
+        }
+
+        /**
+         * Creates the configuration of a pool from the public configuration of a pool of sessions
+         */
+        public static Config of( KieSessionsPoolConfiguration configuration ) {
+            Config config = new Config( configuration.getMinSize() )
+                    .setMaxWait( configuration.getMaxWait(), TimeUnit.MILLISECONDS )
+                    .setIdleTimeout( configuration.getIdleTimeout(), TimeUnit.MILLISECONDS )
+                    .setAsyncReset( configuration.isAsyncReset() );
+            return configuration.getMaxSize() == Integer.MAX_VALUE ? config : config.setMaxSize( configuration.getMaxSize() );
+        }
+
+        @Override
+        public String toString() {
+            return "ScalablePool.Config{minSize=" + minSize + ", maxSize=" + maxSize + ", maxWait=" + maxWait +
+                    ", idleTimeout=" + idleTimeout + ", asyncReset=" + asyncReset + "}";
+        }
+    }
+
+    public static class Statistics {
+        private final int size;
+        private final int idle;
+        private final long hits;
+        private final long misses;
+        private final long creations;
+        private final long evictions;
+        private final long timeouts;
+        private final long resets;
+        private final long totalResetTime;
+        private final long maxResetTime;
+
+        private Statistics( int size, int idle, long hits, long misses, long creations, long evictions,
+                            long timeouts, long resets, long totalResetTime, long maxResetTime ) {
+            this.size = size;
+            this.idle = idle;
+            this.hits = hits;
+            this.misses = misses;
+            this.creations = creations;
+            this.evictions = evictions;
+            this.timeouts = timeouts;
+            this.resets = resets;
+            this.totalResetTime = totalResetTime;
+            this.maxResetTime = maxResetTime;
+        }
+
+        /**
+         * The number of resources currently held by the pool, both idle and in use
+         */
+        public int getSize() {
+            return size;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        /**
+         * The number of acquisitions served with an idle resource
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * The number of acquisitions that found no idle resource and then had to create a new one or wait for a release
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getCreations() {
+            return creations;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * The number of acquisitions failed because the pool was exhausted
+         */
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public long getResets() {
+            return resets;
+        }
+
+        /**
+         * The total time, in nanoseconds, spent resetting the released resources
+         */
+        public long getTotalResetTime() {
+            return totalResetTime;
+        }
+
+        public long getAverageResetTime() {
+            return resets == 0 ? 0 : totalResetTime / resets;
+        }
+
+        public long getMaxResetTime() {
+            return maxResetTime;
+        }
+
+        @Override
+        public String toString() {
+            return "ScalablePool.Statistics{size=" + size + ", idle=" + idle + ", hits=" + hits + ", misses=" + misses +
+                    ", creations=" + creations + ", evictions=" + evictions + ", timeouts=" + timeouts +
+                    ", resets=" + resets + ", averageResetTime=" + getAverageResetTime() + "ns, maxResetTime=" + maxResetTime + "ns}";
+        }
     }
 }
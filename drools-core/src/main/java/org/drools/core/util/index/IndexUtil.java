@@ -346,11 +346,11 @@ public class IndexUtil {
             }
 
             if (indexSpec.constraintType == ConstraintType.EQUAL) {
-                return new TupleIndexHashTable( indexSpec.indexes, false );
+                return createEqualityMemory( indexSpec.indexes, false );
             }
 
             if (indexSpec.constraintType.isComparison()) {
-                return new TupleIndexRBTree( indexSpec.constraintType, indexSpec.indexes[0], false );
+                return createComparisonMemory( indexSpec, false );
             }
 
             return new TupleList();
@@ -365,16 +365,44 @@ public class IndexUtil {
             }
 
             if (indexSpec.constraintType == ConstraintType.EQUAL) {
-                return new TupleIndexHashTable( indexSpec.indexes, true );
+                return createEqualityMemory( indexSpec.indexes, true );
             }
 
             if (indexSpec.constraintType.isComparison()) {
-                return new TupleIndexRBTree( indexSpec.constraintType, indexSpec.indexes[0], true );
+                return createComparisonMemory( indexSpec, true );
             }
 
             return new TupleList();
         }
 
+        /**
+         * A single field index on an integral or String field uses a specialized table that doesn't require
+         * to box the indexed value and to allocate a hash entry for each lookup.
+         */
+        private static TupleMemory createEqualityMemory(FieldIndex[] indexes, boolean left) {
+            if (indexes.length == 1) {
+                if (LongTupleIndexHashTable.isSupported( indexes[0] )) {
+                    return new LongTupleIndexHashTable( indexes[0], left );
+                }
+                if (StringTupleIndexHashTable.isSupported( indexes[0] )) {
+                    return new StringTupleIndexHashTable( indexes[0], left );
+                }
+            }
+            return new TupleIndexHashTable( indexes, left );
+        }
+
+        /**
+         * When the node has a second comparison constraint, the memory is also indexed on it, so a lookup can
+         * skip the tuples that can't satisfy it without scanning the whole range of the first constraint.
+         */
+        private static TupleMemory createComparisonMemory(IndexSpec indexSpec, boolean left) {
+            if (indexSpec.indexes.length > 1) {
+                return new TupleIndexCompositeRangeTree( indexSpec.constraintType, indexSpec.indexes[0],
+                                                         indexSpec.secondaryConstraintType, indexSpec.indexes[1], left );
+            }
+            return new TupleIndexRBTree( indexSpec.constraintType, indexSpec.indexes[0], left );
+        }
+
         public static ContextEntry[] createContext(BetaNodeFieldConstraint... constraints) {
             ContextEntry[] entries = new ContextEntry[constraints.length];
             for (int i = 0; i < constraints.length; i++) {
@@ -385,6 +413,7 @@ public class IndexUtil {
 
         private static class IndexSpec {
             private ConstraintType constraintType = ConstraintType.UNKNOWN;
+            private ConstraintType secondaryConstraintType = ConstraintType.UNKNOWN;
             private FieldIndex[] indexes;
 
             private IndexSpec(short nodeType, BetaNodeFieldConstraint[] constraints, RuleBaseConfiguration config) {
@@ -412,7 +441,18 @@ public class IndexUtil {
 
                 } else if (constraintType.isComparison()) {
                     // look for a dual constraint to create a range index
-                    indexes = new FieldIndex[]{ ((IndexableConstraint)constraints[firstIndexableConstraint]).getFieldIndex() };
+                    FieldIndex fieldIndex = ((IndexableConstraint)constraints[firstIndexableConstraint]).getFieldIndex();
+                    indexes = new FieldIndex[]{ fieldIndex };
+
+                    // look for another comparison constraint to eventually add it to the index as a secondary key
+                    for (int i = 0; i < constraints.length && keyDepth > 1; i++) {
+                        ConstraintType type = ConstraintType.getType(constraints[i]);
+                        if ( i != firstIndexableConstraint && type.isComparison() && type.isIndexableForNode(nodeType, (IndexableConstraint) constraints[i], config) ) {
+                            secondaryConstraintType = type;
+                            indexes = new FieldIndex[]{ fieldIndex, ((IndexableConstraint)constraints[i]).getFieldIndex() };
+                            break;
+                        }
+                    }
                 }
             }
 
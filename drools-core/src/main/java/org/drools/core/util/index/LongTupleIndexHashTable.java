@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.drools.core.util.index;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.rule.Declaration;
+import org.drools.core.spi.Tuple;
+import org.drools.core.spi.TupleValueExtractor;
+import org.drools.core.util.AbstractHashTable.FieldIndex;
+
+/**
+ * An equality indexed tuple memory for a single field of an integral type (byte, short, int or long and their
+ * wrappers) keyed by the primitive long value of that field. When the field is of a primitive type its value is
+ * read without boxing.
+ */
+public class LongTupleIndexHashTable extends OpenAddressingTupleIndexHashTable<long[]> {
+
+    private final boolean primitiveRight;
+
+    // not null only if the left value can be read as a primitive
+    private final Declaration primitiveLeft;
+
+    public LongTupleIndexHashTable( FieldIndex fieldIndex, boolean left ) {
+        super( fieldIndex, left );
+        this.primitiveRight = isPrimitive( fieldIndex.getRightExtractor().getValueType() );
+        TupleValueExtractor leftExtractor = fieldIndex.getLeftExtractor();
+        this.primitiveLeft = leftExtractor instanceof Declaration && isPrimitive( leftExtractor.getValueType() ) ? (Declaration) leftExtractor : null;
+    }
+
+    public static boolean isSupported( FieldIndex fieldIndex ) {
+        return fieldIndex.getRightExtractor().getValueType().isIntegerNumber() && fieldIndex.getLeftExtractor().getValueType().isIntegerNumber();
+    }
+
+    private static boolean isPrimitive( ValueType valueType ) {
+        return valueType.getClassType().isPrimitive();
+    }
+
+    private static int hash( long key ) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) ( h ^ ( h >>> 32 ) );
+    }
+
+    @Override
+    protected long[] newKeys( int capacity ) {
+        return new long[capacity];
+    }
+
+    @Override
+    protected Bucket get( Tuple tuple, boolean isLeftTuple ) {
+        if ( isLeftTuple ? primitiveLeft != null : primitiveRight ) {
+            return get( primitiveKeyOf( tuple, isLeftTuple ) );
+        }
+        Object value = valueOf( tuple, isLeftTuple );
+        return value == null ? getNullKeyBucket() : get( ( (Number) value ).longValue() );
+    }
+
+    @Override
+    protected Bucket getOrCreate( Tuple tuple ) {
+        if ( left ? primitiveLeft != null : primitiveRight ) {
+            return getOrCreate( primitiveKeyOf( tuple, left ) );
+        }
+        Object value = valueOf( tuple, left );
+        return value == null ? getOrCreateNullKeyBucket() : getOrCreate( ( (Number) value ).longValue() );
+    }
+
+    private long primitiveKeyOf( Tuple tuple, boolean isLeftTuple ) {
+        return isLeftTuple ?
+                primitiveLeft.getLongValue( null, tuple.get( primitiveLeft ).getObject() ) :
+                getRightExtractor().getLongValue( null, tuple.getFactHandle().getObject() );
+    }
+
+    private Bucket get( long key ) {
+        for ( int i = hash( key ) & mask; buckets[i] != null; i = ( i + 1 ) & mask ) {
+            if ( keys[i] == key ) {
+                return buckets[i];
+            }
+        }
+        return null;
+    }
+
+    private Bucket getOrCreate( long key ) {
+        int i = hash( key ) & mask;
+        for ( ; buckets[i] != null; i = ( i + 1 ) & mask ) {
+            if ( keys[i] == key ) {
+                return buckets[i];
+            }
+        }
+        Bucket bucket = createBucket( i );
+        keys[i] = key;
+        ensureCapacity();
+        return bucket;
+    }
+
+    @Override
+    protected int homeSlotOf( int slot ) {
+        return hash( keys[slot] ) & mask;
+    }
+
+    @Override
+    protected void moveKey( int from, int to ) {
+        keys[to] = keys[from];
+    }
+
+    @Override
+    protected void clearKey( int slot ) {
+        keys[slot] = 0L;
+    }
+
+    @Override
+    protected void rehash( Bucket bucket, long[] oldKeys, int oldSlot ) {
+        long key = oldKeys[oldSlot];
+        int i = hash( key ) & mask;
+        while ( buckets[i] != null ) {
+            i = ( i + 1 ) & mask;
+        }
+        buckets[i] = bucket;
+        keys[i] = key;
+        bucket.slot = i;
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.drools.core.util.index;
+
+import org.drools.core.reteoo.TupleMemory;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.spi.Tuple;
+import org.drools.core.util.AbstractHashTable.FieldIndex;
+import org.drools.core.util.Entry;
+import org.drools.core.util.FastIterator;
+import org.drools.core.util.Iterator;
+import org.drools.core.util.LinkedList;
+
+/**
+ * Base class of the equality indexed tuple memories specialized on the type of a single indexed field.
+ * Differently from the {@link TupleIndexHashTable} the buckets are stored in an open addressing (linear probing) table
+ * while their keys are kept in a parallel array of type K, so a lookup doesn't need to allocate a hash entry
+ * and, for primitive keys, to box the indexed value. The tuples having a null key are kept in a separate bucket.
+ */
+public abstract class OpenAddressingTupleIndexHashTable<K> implements TupleMemory {
+
+    protected static final int MIN_CAPACITY = 16;
+
+    // the upper bound of the capacity pre-allocated by ensureCapacity, beyond it the table only grows when it gets full
+    static final int MAX_CAPACITY = 1 << 20;
+
+    static final int NULL_KEY_SLOT = -1;
+
+    protected final FieldIndex fieldIndex;
+
+    protected final boolean left;
+
+    protected Bucket[] buckets;
+
+    protected K keys;
+
+    protected int mask;
+
+    // the number of not empty buckets, excluding the null key one
+    protected int bucketsSize;
+
+    private Bucket nullKeyBucket;
+
+    private int factSize;
+
+    private FullFastIterator fullFastIterator;
+
+    protected OpenAddressingTupleIndexHashTable( FieldIndex fieldIndex, boolean left ) {
+        this.fieldIndex = fieldIndex;
+        this.left = left;
+        init( MIN_CAPACITY );
+    }
+
+    private void init( int capacity ) {
+        this.buckets = new Bucket[capacity];
+        this.mask = capacity - 1;
+        this.keys = newKeys( capacity );
+    }
+
+    /**
+     * Allocates the array holding the keys of the buckets for the given capacity
+     */
+    protected abstract K newKeys( int capacity );
+
+    /**
+     * Returns the bucket containing the tuples whose key is the one of the given tuple, or null if there isn't any
+     */
+    protected abstract Bucket get( Tuple tuple, boolean isLeftTuple );
+
+    protected abstract Bucket getOrCreate( Tuple tuple );
+
+    /**
+     * Returns the slot where the key currently stored at the given slot would be placed if there were no collisions
+     */
+    protected abstract int homeSlotOf( int slot );
+
+    protected abstract void moveKey( int from, int to );
+
+    protected abstract void clearKey( int slot );
+
+    /**
+     * Stores into the current table, during a resize, the bucket that was at the given slot of the old table
+     */
+    protected abstract void rehash( Bucket bucket, K oldKeys, int oldSlot );
+
+    protected Object valueOf( Tuple tuple, boolean isLeftTuple ) {
+        return isLeftTuple ?
+                fieldIndex.getLeftExtractor().getValue( tuple ) :
+                getRightExtractor().getValue( null, tuple.getFactHandle().getObject() );
+    }
+
+    protected InternalReadAccessor getRightExtractor() {
+        return (InternalReadAccessor) fieldIndex.getRightExtractor();
+    }
+
+    protected Bucket getNullKeyBucket() {
+        return nullKeyBucket;
+    }
+
+    protected Bucket getOrCreateNullKeyBucket() {
+        if ( nullKeyBucket == null ) {
+            nullKeyBucket = new Bucket( NULL_KEY_SLOT );
+        }
+        return nullKeyBucket;
+    }
+
+    /**
+     * Stores a new bucket in the given free slot, the subclass is in charge of storing its key
+     */
+    protected Bucket createBucket( int slot ) {
+        Bucket bucket = new Bucket( slot );
+        buckets[slot] = bucket;
+        bucketsSize++;
+        return bucket;
+    }
+
+    /**
+     * Returns true if a bucket has been added to a table that is now too full, in that case the new bucket may have been moved
+     */
+    protected boolean ensureCapacity() {
+        // linear probing degrades quickly with clustering, so the load factor is kept at 0.5
+        if ( bucketsSize * 2 <= buckets.length ) {
+            return false;
+        }
+        resize( buckets.length * 2 );
+        return true;
+    }
+
+    /**
+     * Pre-sizes the table before a bulk insertion, so that it doesn't have to be resized more than once while the
+     * given number of tuples is added. In the worst case all of them have a different key and need their own bucket.
+     */
+    public void ensureCapacity( int itemsToBeAdded ) {
+        int newBucketsSize = bucketsSize + itemsToBeAdded;
+        if ( newBucketsSize * 2 <= buckets.length ) {
+            return;
+        }
+        int newCapacity = buckets.length * 2;
+        while ( newCapacity < newBucketsSize * 2 && newCapacity < MAX_CAPACITY ) {
+            newCapacity *= 2;
+        }
+        resize( newCapacity );
+    }
+
+    private void resize( int newCapacity ) {
+        Bucket[] oldBuckets = this.buckets;
+        K oldKeys = this.keys;
+        init( newCapacity );
+        for ( int i = 0; i < oldBuckets.length; i++ ) {
+            if ( oldBuckets[i] != null ) {
+                rehash( oldBuckets[i], oldKeys, i );
+            }
+        }
+    }
+
+    private void removeBucket( Bucket bucket ) {
+        if ( bucket.slot == NULL_KEY_SLOT ) {
+            nullKeyBucket = null;
+            return;
+        }
+
+        // backward shift deletion: moves back the following buckets of the same cluster that can't be reached anymore
+        int free = bucket.slot;
+        for ( int i = ( free + 1 ) & mask; buckets[i] != null; i = ( i + 1 ) & mask ) {
+            int home = homeSlotOf( i );
+            if ( i > free ? ( home <= free || home > i ) : ( home <= free && home > i ) ) {
+                Bucket moved = buckets[i];
+                buckets[free] = moved;
+                moved.slot = free;
+                moveKey( i, free );
+                free = i;
+            }
+        }
+        buckets[free] = null;
+        clearKey( free );
+        bucketsSize--;
+    }
+
+    @Override
+    public Tuple getFirst( Tuple tuple ) {
+        Bucket bucket = get( tuple, !left );
+        return bucket != null ? bucket.getFirst() : null;
+    }
+
+    @Override
+    public void add( Tuple tuple ) {
+        getOrCreate( tuple ).add( tuple );
+        factSize++;
+    }
+
+    @Override
+    public void remove( Tuple tuple ) {
+        Bucket memory = (Bucket) tuple.getMemory();
+        memory.remove( tuple );
+        factSize--;
+        if ( memory.getFirst() == null ) {
+            removeBucket( memory );
+        }
+        tuple.clear();
+    }
+
+    @Override
+    public void removeAdd( Tuple tuple ) {
+        Bucket memory = (Bucket) tuple.getMemory();
+        memory.remove( tuple );
+
+        Bucket bucket = getOrCreate( tuple );
+        if ( bucket != memory && memory.getFirst() == null ) {
+            removeBucket( memory );
+        }
+        bucket.add( tuple );
+    }
+
+    @Override
+    public boolean contains( Tuple tuple ) {
+        return get( tuple, left ) != null;
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return factSize;
+    }
+
+    @Override
+    public IndexType getIndexType() {
+        return IndexType.EQUAL;
+    }
+
+    public FieldIndex getFieldIndex() {
+        return fieldIndex;
+    }
+
+    @Override
+    public FastIterator fastIterator() {
+        return LinkedList.fastIterator;
+    }
+
+    @Override
+    public FastIterator fullFastIterator() {
+        if ( fullFastIterator == null ) {
+            fullFastIterator = new FullFastIterator( this );
+        }
+        return fullFastIterator;
+    }
+
+    @Override
+    public FastIterator fullFastIterator( Tuple tuple ) {
+        // the iterator is stateless, it always resumes from the bucket of the given tuple
+        return fullFastIterator();
+    }
+
+    @Override
+    public Iterator<Tuple> iterator() {
+        return new FullIterator( this );
+    }
+
+    @Override
+    public Tuple[] toArray() {
+        Tuple[] result = new Tuple[factSize];
+        int i = 0;
+        FastIterator it = fullFastIterator();
+        for ( Tuple tuple = (Tuple) it.next( null ); tuple != null; tuple = (Tuple) it.next( tuple ) ) {
+            result[i++] = tuple;
+        }
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        init( MIN_CAPACITY );
+        bucketsSize = 0;
+        nullKeyBucket = null;
+        factSize = 0;
+    }
+
+    Tuple firstTupleFrom( int slot ) {
+        for ( int i = slot; i < buckets.length; i++ ) {
+            if ( buckets[i] != null ) {
+                return buckets[i].getFirst();
+            }
+        }
+        return nullKeyBucket != null ? nullKeyBucket.getFirst() : null;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        Iterator<Tuple> it = iterator();
+        for ( Tuple tuple = it.next(); tuple != null; tuple = it.next() ) {
+            builder.append( tuple ).append( "\n" );
+        }
+        return builder.toString();
+    }
+
+    public static class Bucket extends TupleList {
+
+        // the position of this bucket in the table, updated when it is moved by a deletion or a resize
+        int slot;
+
+        Bucket( int slot ) {
+            this.slot = slot;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+    }
+
+    public static class FullFastIterator implements FastIterator {
+
+        private final OpenAddressingTupleIndexHashTable table;
+
+        FullFastIterator( OpenAddressingTupleIndexHashTable table ) {
+            this.table = table;
+        }
+
+        @Override
+        public Entry next( Entry object ) {
+            if ( object == null ) {
+                return table.firstTupleFrom( 0 );
+            }
+            Tuple tuple = (Tuple) object;
+            Tuple next = tuple.getNext();
+            if ( next != null ) {
+                return next;
+            }
+            int slot = ( (Bucket) tuple.getMemory() ).slot;
+            // the null key bucket is always the last one
+            return slot == NULL_KEY_SLOT ? null : table.firstTupleFrom( slot + 1 );
+        }
+
+        @Override
+        public boolean isFullIterator() {
+            return true;
+        }
+    }
+
+    private static class FullIterator implements Iterator<Tuple> {
+
+        private final FullFastIterator fastIterator;
+        private Tuple current;
+        private boolean started;
+
+        private FullIterator( OpenAddressingTupleIndexHashTable table ) {
+            this.fastIterator = new FullFastIterator( table );
+        }
+
+        @Override
+        public Tuple next() {
+            if ( !started ) {
+                started = true;
+                current = (Tuple) fastIterator.next( null );
+            } else if ( current != null ) {
+                current = (Tuple) fastIterator.next( current );
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.drools.core.util.index;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.spi.Tuple;
+import org.drools.core.util.AbstractHashTable.FieldIndex;
+
+/**
+ * An equality indexed tuple memory for a single field of type String.
+ */
+public class StringTupleIndexHashTable extends OpenAddressingTupleIndexHashTable<String[]> {
+
+    public StringTupleIndexHashTable( FieldIndex fieldIndex, boolean left ) {
+        super( fieldIndex, left );
+    }
+
+    public static boolean isSupported( FieldIndex fieldIndex ) {
+        return fieldIndex.getRightExtractor().getValueType() == ValueType.STRING_TYPE && fieldIndex.getLeftExtractor().getValueType() == ValueType.STRING_TYPE;
+    }
+
+    private static int hash( String key ) {
+        int h = key.hashCode();
+        return h ^ ( h >>> 16 );
+    }
+
+    @Override
+    protected String[] newKeys( int capacity ) {
+        return new String[capacity];
+    }
+
+    @Override
+    protected Bucket get( Tuple tuple, boolean isLeftTuple ) {
+        String key = (String) valueOf( tuple, isLeftTuple );
+        if ( key == null ) {
+            return getNullKeyBucket();
+        }
+        for ( int i = hash( key ) & mask; buckets[i] != null; i = ( i + 1 ) & mask ) {
+            if ( key.equals( keys[i] ) ) {
+                return buckets[i];
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected Bucket getOrCreate( Tuple tuple ) {
+        String key = (String) valueOf( tuple, left );
+        if ( key == null ) {
+            return getOrCreateNullKeyBucket();
+        }
+        int i = hash( key ) & mask;
+        for ( ; buckets[i] != null; i = ( i + 1 ) & mask ) {
+            if ( key.equals( keys[i] ) ) {
+                return buckets[i];
+            }
+        }
+        Bucket bucket = createBucket( i );
+        keys[i] = key;
+        ensureCapacity();
+        return bucket;
+    }
+
+    @Override
+    protected int homeSlotOf( int slot ) {
+        return hash( keys[slot] ) & mask;
+    }
+
+    @Override
+    protected void moveKey( int from, int to ) {
+        keys[to] = keys[from];
+    }
+
+    @Override
+    protected void clearKey( int slot ) {
+        keys[slot] = null;
+    }
+
+    @Override
+    protected void rehash( Bucket bucket, String[] oldKeys, int oldSlot ) {
+        String key = oldKeys[oldSlot];
+        int i = hash( key ) & mask;
+        while ( buckets[i] != null ) {
+            i = ( i + 1 ) & mask;
+        }
+        buckets[i] = bucket;
+        keys[i] = key;
+        bucket.slot = i;
+    }
+}
@@ -0,0 +1,666 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.drools.core.util.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.core.base.CoercionUtil;
+import org.drools.core.reteoo.TupleMemory;
+import org.drools.core.spi.Tuple;
+import org.drools.core.util.AbstractHashTable.FieldIndex;
+import org.drools.core.util.Entry;
+import org.drools.core.util.FastIterator;
+import org.drools.core.util.Iterator;
+import org.drools.core.util.index.IndexUtil.ConstraintType;
+
+/**
+ * A tuple memory indexed on two comparison constraints of the same beta node, e.g. <code>x &gt; $x, y &lt; $y</code>.
+ * The tuples are grouped by the value of the primary indexed field in a balanced (AVL) tree, that is walked in the
+ * direction of the primary constraint exactly as the {@link TupleIndexRBTree} does. Each node of the tree is also
+ * augmented with the minimum and maximum value that the secondary indexed field has in its subtree, so an iterator
+ * created for a given probe tuple through {@link #fastIterator(Tuple)} can skip the whole subtrees that can't satisfy
+ * the secondary constraint.
+ *
+ * The secondary constraint is only used to prune the search and is still evaluated by the beta node for each returned tuple.
+ */
+public class TupleIndexCompositeRangeTree implements TupleMemory {
+
+    private final FieldIndex index;
+    private final FieldIndex secondaryIndex;
+
+    // the constraints from the point of view of the tuples stored in this memory: storedValue op probeValue
+    private final ConstraintType storedConstraintType;
+    private final ConstraintType storedSecondaryConstraintType;
+
+    private final boolean left;
+    private final boolean ascending;
+
+    private Node root;
+
+    // the tuples whose primary indexed value is null can't match any comparison, so they are never returned by a lookup
+    private Node nullKeyNode;
+
+    private int size;
+
+    // the iterators are reused for all the lookups, as the ones of the other tuple memories
+    private transient RangeFastIterator rangeFastIterator;
+    private transient RangeFastIterator boundFastIterator;
+    private transient FullFastIterator fullFastIterator;
+
+    public TupleIndexCompositeRangeTree( ConstraintType constraintType, FieldIndex index,
+                                         ConstraintType secondaryConstraintType, FieldIndex secondaryIndex, boolean left ) {
+        this.index = index;
+        this.secondaryIndex = secondaryIndex;
+        this.left = left;
+        this.storedConstraintType = left ? constraintType.inverse() : constraintType;
+        this.storedSecondaryConstraintType = left ? secondaryConstraintType.inverse() : secondaryConstraintType;
+        this.ascending = storedConstraintType.isAscending();
+    }
+
+    public FieldIndex getIndex() {
+        return index;
+    }
+
+    public FieldIndex getSecondaryIndex() {
+        return secondaryIndex;
+    }
+
+    @Override
+    public void add( Tuple tuple ) {
+        Comparable key = (Comparable) index.indexedValueOf( tuple, left );
+        Comparable secondaryValue = (Comparable) secondaryIndex.indexedValueOf( tuple, left );
+        if ( key == null ) {
+            if ( nullKeyNode == null ) {
+                nullKeyNode = new Node( null );
+            }
+            nullKeyNode.add( tuple );
+        } else {
+            key = coerceType( key );
+            Node node = lookup( key );
+            if ( node == null ) {
+                node = new Node( key );
+                root = insert( root, node );
+                root.parent = null;
+            }
+            node.add( tuple );
+            if ( node.addSecondaryValue( secondaryValue ) ) {
+                refreshAncestors( node );
+            }
+        }
+        size++;
+    }
+
+    @Override
+    public void remove( Tuple tuple ) {
+        Node node = (Node) tuple.getMemory();
+        node.remove( tuple );
+        if ( node == nullKeyNode ) {
+            if ( node.getFirst() == null ) {
+                nullKeyNode = null;
+            }
+        } else if ( node.getFirst() == null ) {
+            root = delete( root, node.key );
+            if ( root != null ) {
+                root.parent = null;
+            }
+        } else if ( node.removeSecondaryValue( (Comparable) secondaryIndex.indexedValueOf( tuple, left ), secondaryIndex, left ) ) {
+            refreshAncestors( node );
+        }
+        size--;
+    }
+
+    @Override
+    public void removeAdd( Tuple tuple ) {
+        remove( tuple );
+        add( tuple );
+    }
+
+    @Override
+    public boolean contains( Tuple tuple ) {
+        Comparable key = (Comparable) index.indexedValueOf( tuple, left );
+        return key == null ? nullKeyNode != null : lookup( coerceType( key ) ) != null;
+    }
+
+    @Override
+    public Tuple getFirst( Tuple tuple ) {
+        Comparable key = (Comparable) index.indexedValueOf( tuple, !left );
+        if ( key == null ) {
+            return null;
+        }
+        Node node = findNext( root, coerceType( key ), storedConstraintType == ConstraintType.GREATER_OR_EQUAL || storedConstraintType == ConstraintType.LESS_OR_EQUAL, boundOf( tuple ) );
+        return node == null ? null : node.getFirst();
+    }
+
+    @Override
+    public boolean isIndexed() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public IndexType getIndexType() {
+        return IndexType.COMPARISON;
+    }
+
+    @Override
+    public FastIterator fastIterator() {
+        if ( rangeFastIterator == null ) {
+            rangeFastIterator = new RangeFastIterator();
+        }
+        return rangeFastIterator;
+    }
+
+    @Override
+    public FastIterator fastIterator( Tuple tuple ) {
+        if ( boundFastIterator == null ) {
+            boundFastIterator = new RangeFastIterator();
+        }
+        boundFastIterator.bound = boundOf( tuple );
+        return boundFastIterator;
+    }
+
+    @Override
+    public FastIterator fullFastIterator() {
+        if ( fullFastIterator == null ) {
+            fullFastIterator = new FullFastIterator();
+        }
+        return fullFastIterator;
+    }
+
+    @Override
+    public FastIterator fullFastIterator( Tuple tuple ) {
+        return fullFastIterator();
+    }
+
+    @Override
+    public Iterator<Tuple> iterator() {
+        FastIterator it = fullFastIterator();
+        return new FastIterator.IteratorAdapter( it, (Tuple) it.next( null ) );
+    }
+
+    @Override
+    public Tuple[] toArray() {
+        List<Tuple> result = new ArrayList<>( size );
+        FastIterator it = fullFastIterator();
+        for ( Tuple tuple = (Tuple) it.next( null ); tuple != null; tuple = (Tuple) it.next( tuple ) ) {
+            result.add( tuple );
+        }
+        return result.toArray( new Tuple[result.size()] );
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        nullKeyNode = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the value of the secondary indexed field of the given probe tuple that the stored tuples are compared with,
+     * or null if there is no bound on it
+     */
+    private Comparable boundOf( Tuple probe ) {
+        return (Comparable) secondaryIndex.indexedValueOf( probe, !left );
+    }
+
+    private Comparable coerceType( Comparable key ) {
+        // same coercion of the TupleIndexRBTree, only Numbers are dynamically coerced
+        if ( index.requiresCoercion() && root != null && !key.getClass().equals( root.key.getClass() ) ) {
+            if ( root.key instanceof Number && key instanceof Number ) {
+                key = (Comparable) CoercionUtil.coerceToNumber( (Number) key, root.key.getClass() );
+            } else {
+                throw new RuntimeException( "Not possible to coerce [" + key + "] from class " + key.getClass() + " to class " + root.key.getClass() );
+            }
+        }
+        return key;
+    }
+
+    private Node lookup( Comparable key ) {
+        Node node = root;
+        while ( node != null ) {
+            int cmp = key.compareTo( node.key );
+            if ( cmp == 0 ) {
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the first node, in the direction of the primary constraint, whose key follows the given one
+     * (or the first one at all if the key is null) and that may contain a tuple satisfying the given bound
+     */
+    private Node findNext( Node node, Comparable key, boolean allowEqual, Comparable bound ) {
+        if ( node == null || !mayMatch( bound, node.subtreeMin, node.subtreeMax, node.subtreeUnbounded ) ) {
+            return null;
+        }
+        int cmp = key == null ? 1 : ascending ? node.key.compareTo( key ) : key.compareTo( node.key );
+        if ( cmp < 0 || ( cmp == 0 && !allowEqual ) ) {
+            return findNext( forward( node ), key, allowEqual, bound );
+        }
+        Node found = findNext( backward( node ), key, allowEqual, bound );
+        if ( found != null ) {
+            return found;
+        }
+        if ( mayMatch( bound, node.min, node.max, node.unbounded ) ) {
+            return node;
+        }
+        return findNext( forward( node ), key, allowEqual, bound );
+    }
+
+    /**
+     * Returns the first node following the given one, in the direction of the primary constraint, that may contain
+     * a tuple satisfying the given bound. The tree is walked up through the parents of the node, only entering
+     * the subtrees that follow it and that may satisfy the bound, instead of starting again from the root.
+     */
+    private Node findNext( Node node, Comparable bound ) {
+        Node found = findNext( forward( node ), null, true, bound );
+        if ( found != null ) {
+            return found;
+        }
+        for ( Node parent = node.parent; parent != null; node = parent, parent = parent.parent ) {
+            if ( backward( parent ) == node ) {
+                // coming back from the subtree preceding the parent, so the parent and its following subtree are next
+                if ( mayMatch( bound, parent.min, parent.max, parent.unbounded ) ) {
+                    return parent;
+                }
+                found = findNext( forward( parent ), null, true, bound );
+                if ( found != null ) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Node forward( Node node ) {
+        return ascending ? node.right : node.left;
+    }
+
+    private Node backward( Node node ) {
+        return ascending ? node.left : node.right;
+    }
+
+    private boolean mayMatch( Comparable bound, Comparable min, Comparable max, boolean unbounded ) {
+        if ( bound == null || unbounded ) {
+            return true;
+        }
+        if ( min == null ) {
+            // no values at all
+            return false;
+        }
+        Integer cmp;
+        switch ( storedSecondaryConstraintType ) {
+            case GREATER_THAN:
+                cmp = compare( max, bound );
+                return cmp == null || cmp > 0;
+            case GREATER_OR_EQUAL:
+                cmp = compare( max, bound );
+                return cmp == null || cmp >= 0;
+            case LESS_THAN:
+                cmp = compare( min, bound );
+                return cmp == null || cmp < 0;
+            case LESS_OR_EQUAL:
+                cmp = compare( min, bound );
+                return cmp == null || cmp <= 0;
+            default:
+                return true;
+        }
+    }
+
+    private static Node first( Node node ) {
+        if ( node != null ) {
+            while ( node.left != null ) {
+                node = node.left;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns the node with the following key in ascending order, walking the tree up through the parents if needed
+     */
+    private static Node successor( Node node ) {
+        if ( node.right != null ) {
+            return first( node.right );
+        }
+        Node parent = node.parent;
+        while ( parent != null && parent.right == node ) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    private static Node insert( Node node, Node newNode ) {
+        if ( node == null ) {
+            return newNode;
+        }
+        if ( newNode.key.compareTo( node.key ) < 0 ) {
+            node.setLeft( insert( node.left, newNode ) );
+        } else {
+            node.setRight( insert( node.right, newNode ) );
+        }
+        return balance( node );
+    }
+
+    private static Node delete( Node node, Comparable key ) {
+        if ( node == null ) {
+            return null;
+        }
+        int cmp = key.compareTo( node.key );
+        if ( cmp < 0 ) {
+            node.setLeft( delete( node.left, key ) );
+        } else if ( cmp > 0 ) {
+            node.setRight( delete( node.right, key ) );
+        } else {
+            if ( node.left == null ) {
+                return node.right;
+            }
+            if ( node.right == null ) {
+                return node.left;
+            }
+            // the tuples point to their node, so the successor node is moved in place of the deleted one instead of copying it
+            Node successor = first( node.right );
+            successor.setRight( deleteFirst( node.right ) );
+            successor.setLeft( node.left );
+            node = successor;
+        }
+        return balance( node );
+    }
+
+    private static Node deleteFirst( Node node ) {
+        if ( node.left == null ) {
+            return node.right;
+        }
+        node.setLeft( deleteFirst( node.left ) );
+        return balance( node );
+    }
+
+    /**
+     * Recomputes the augmented values of the given node and of all its ancestors
+     */
+    private static void refreshAncestors( Node node ) {
+        for ( ; node != null; node = node.parent ) {
+            node.update();
+        }
+    }
+
+    private static int height( Node node ) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static Node balance( Node node ) {
+        int diff = height( node.left ) - height( node.right );
+        if ( diff > 1 ) {
+            if ( height( node.left.left ) < height( node.left.right ) ) {
+                node.setLeft( rotateLeft( node.left ) );
+            }
+            return rotateRight( node );
+        }
+        if ( diff < -1 ) {
+            if ( height( node.right.right ) < height( node.right.left ) ) {
+                node.setRight( rotateRight( node.right ) );
+            }
+            return rotateLeft( node );
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node rotateLeft( Node node ) {
+        Node pivot = node.right;
+        node.setRight( pivot.left );
+        pivot.setLeft( node );
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateRight( Node node ) {
+        Node pivot = node.left;
+        node.setLeft( pivot.right );
+        pivot.setRight( node );
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    /**
+     * Compares two values of the secondary indexed field, returning null if they can't be compared
+     */
+    static Integer compare( Comparable value1, Comparable value2 ) {
+        if ( value1.getClass() == value2.getClass() ) {
+            return value1.compareTo( value2 );
+        }
+        if ( isIntegral( value1 ) && isIntegral( value2 ) ) {
+            return Long.compare( ( (Number) value1 ).longValue(), ( (Number) value2 ).longValue() );
+        }
+        return null;
+    }
+
+    private static boolean isIntegral( Object value ) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    public static class Node extends TupleList<Object> {
+        private final Comparable key;
+
+        private Node parent;
+        private Node left;
+        private Node right;
+        private int height = 1;
+
+        // the range of the secondary indexed values of the tuples of this node,
+        // unbounded if any of them is null or they can't be compared with each other
+        private Comparable min;
+        private Comparable max;
+        private boolean unbounded;
+
+        // the same range for the whole subtree rooted in this node
+        private Comparable subtreeMin;
+        private Comparable subtreeMax;
+        private boolean subtreeUnbounded;
+
+        private Node( Comparable key ) {
+            this.key = key;
+        }
+
+        public Comparable getKey() {
+            return key;
+        }
+
+        private void setLeft( Node node ) {
+            left = node;
+            if ( node != null ) {
+                node.parent = this;
+            }
+        }
+
+        private void setRight( Node node ) {
+            right = node;
+            if ( node != null ) {
+                node.parent = this;
+            }
+        }
+
+        /**
+         * Widens the range of this node to include the given value, returning true if it changed
+         */
+        private boolean addSecondaryValue( Comparable value ) {
+            if ( unbounded ) {
+                return false;
+            }
+            if ( value == null ) {
+                unbounded = true;
+                return true;
+            }
+            if ( min == null ) {
+                min = value;
+                max = value;
+                return true;
+            }
+            Integer cmpMin = compare( value, min );
+            Integer cmpMax = compare( value, max );
+            if ( cmpMin == null || cmpMax == null ) {
+                unbounded = true;
+                return true;
+            }
+            if ( cmpMin < 0 ) {
+                min = value;
+                return true;
+            }
+            if ( cmpMax > 0 ) {
+                max = value;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Narrows the range of this node after the removal of a tuple with the given value, returning true if it changed.
+         * The remaining tuples are rescanned only when the removed value could be one of the extremes of the range.
+         * The value of a modified fact may differ from the one it had when its tuple was added, but then the range
+         * can only be wider than needed, that makes the pruning less effective without affecting the results.
+         */
+        private boolean removeSecondaryValue( Comparable value, FieldIndex secondaryIndex, boolean left ) {
+            if ( !unbounded && value != null ) {
+                Integer cmpMin = compare( value, min );
+                Integer cmpMax = compare( value, max );
+                if ( cmpMin != null && cmpMax != null && cmpMin > 0 && cmpMax < 0 ) {
+                    return false;
+                }
+            }
+            Comparable oldMin = min;
+            Comparable oldMax = max;
+            boolean oldUnbounded = unbounded;
+            min = null;
+            max = null;
+            unbounded = false;
+            for ( Tuple tuple = getFirst(); tuple != null; tuple = tuple.getNext() ) {
+                addSecondaryValue( (Comparable) secondaryIndex.indexedValueOf( tuple, left ) );
+            }
+            return unbounded != oldUnbounded || min != oldMin || max != oldMax;
+        }
+
+        private void update() {
+            height = 1 + Math.max( height( left ), height( right ) );
+            subtreeMin = min;
+            subtreeMax = max;
+            subtreeUnbounded = unbounded;
+            merge( left );
+            merge( right );
+        }
+
+        private void merge( Node child ) {
+            if ( child == null || subtreeUnbounded ) {
+                return;
+            }
+            if ( child.subtreeUnbounded ) {
+                subtreeUnbounded = true;
+                return;
+            }
+            if ( child.subtreeMin == null ) {
+                return;
+            }
+            if ( subtreeMin == null ) {
+                subtreeMin = child.subtreeMin;
+                subtreeMax = child.subtreeMax;
+                return;
+            }
+            Integer cmpMin = compare( child.subtreeMin, subtreeMin );
+            Integer cmpMax = compare( child.subtreeMax, subtreeMax );
+            if ( cmpMin == null || cmpMax == null ) {
+                subtreeUnbounded = true;
+                return;
+            }
+            if ( cmpMin < 0 ) {
+                subtreeMin = child.subtreeMin;
+            }
+            if ( cmpMax > 0 ) {
+                subtreeMax = child.subtreeMax;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Node[" + key + "]";
+        }
+    }
+
+    private class RangeFastIterator implements FastIterator {
+        // the value of the probe tuple the secondary indexed field is compared with, null for no bound
+        private Comparable bound;
+
+        @Override
+        public Entry next( Entry object ) {
+            if ( object == null ) {
+                Node node = findNext( root, null, true, bound );
+                return node == null ? null : node.getFirst();
+            }
+            Tuple tuple = (Tuple) object;
+            Tuple next = tuple.getNext();
+            if ( next != null ) {
+                return next;
+            }
+            Node node = (Node) tuple.getMemory();
+            if ( node == nullKeyNode ) {
+                return null;
+            }
+            node = findNext( node, bound );
+            return node == null ? null : node.getFirst();
+        }
+
+        @Override
+        public boolean isFullIterator() {
+            return false;
+        }
+    }
+
+    private class FullFastIterator implements FastIterator {
+
+        @Override
+        public Entry next( Entry object ) {
+            if ( object == null ) {
+                Node node = first( root );
+                return node != null ? node.getFirst() : nullKeyNode != null ? nullKeyNode.getFirst() : null;
+            }
+            Tuple tuple = (Tuple) object;
+            Tuple next = tuple.getNext();
+            if ( next != null ) {
+                return next;
+            }
+            Node node = (Node) tuple.getMemory();
+            if ( node == nullKeyNode ) {
+                return null;
+            }
+            node = successor( node );
+            return node != null ? node.getFirst() : nullKeyNode != null ? nullKeyNode.getFirst() : null;
+        }
+
+        @Override
+        public boolean isFullIterator() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.base.accumulators;
+
+import org.drools.core.base.accumulators.PercentileAccumulateFunction.PercentileData;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PercentileAccumulateFunctionTest {
+
+    @Test
+    public void testMedian() {
+        MedianAccumulateFunction median = new MedianAccumulateFunction();
+        PercentileData data = median.createContext();
+        median.init( data );
+        assertNull( median.getResult( data ) );
+
+        median.accumulate( data, 3 );
+        median.accumulate( data, -1.5 );
+        median.accumulate( data, 10L );
+        assertEquals( 3.0, median.getResult( data ), 0 );
+
+        median.accumulate( data, 4 );
+        assertEquals( 3.5, median.getResult( data ), 0 );
+
+        median.reverse( data, 10L );
+        median.reverse( data, 3 );
+        assertEquals( 1.25, median.getResult( data ), 0 );
+    }
+
+    @Test
+    public void testPercentile() {
+        PercentileAccumulateFunction percentile = new PercentileAccumulateFunction( 90 );
+        PercentileData data = percentile.createContext();
+        percentile.init( data );
+        for ( int i = 100; i > 0; i-- ) {
+            percentile.accumulate( data, (double) i );
+        }
+        // rank 0.9 * 99 = 89.1 lies between the 90th and the 91st values
+        assertEquals( 90.1, percentile.getResult( data ), 0.0000001 );
+
+        for ( int i = 50; i <= 100; i++ ) {
+            percentile.reverse( data, (double) i );
+        }
+        assertEquals( 44.2, percentile.getResult( data ), 0.0000001 );
+    }
+
+    @Test
+    public void testSortableLongConversion() {
+        double[] values = { Double.NEGATIVE_INFINITY, -1e10, -2.5, -1.0, -Double.MIN_VALUE, -0.0, 0.0, Double.MIN_VALUE, 1.0, 2.5, 1e10, Double.POSITIVE_INFINITY };
+        for ( int i = 0; i < values.length; i++ ) {
+            long sortable = PercentileAccumulateFunction.toSortableLong( values[i] );
+            assertEquals( Double.doubleToLongBits( values[i] ), Double.doubleToLongBits( PercentileAccumulateFunction.fromSortableLong( sortable ) ) );
+            if ( i > 0 ) {
+                assertEquals( -1, Long.signum( PercentileAccumulateFunction.toSortableLong( values[i-1] ) - sortable ) );
+            }
+        }
+    }
+}
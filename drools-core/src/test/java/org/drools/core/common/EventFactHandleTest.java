@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.common;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.impl.DefaultJobHandle;
+import org.drools.core.time.impl.TimerJobInstance;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class EventFactHandleTest {
+
+    private final TimerService timerService = mock(TimerService.class);
+    private final ReteEvaluator reteEvaluator = mock(ReteEvaluator.class);
+
+    private static JobHandle jobHandle(long id) {
+        // job handles are equal when they refer to the same job
+        TimerJobInstance timerJobInstance = mock(TimerJobInstance.class);
+        when(timerJobInstance.getJob()).thenReturn(mock(Job.class));
+        DefaultJobHandle jobHandle = new DefaultJobHandle(id);
+        jobHandle.setTimerJobInstance(timerJobInstance);
+        return jobHandle;
+    }
+
+    @Test
+    public void testUnscheduleWithoutJobs() {
+        EventFactHandle handle = new EventFactHandle(1, "event", 1, 0, 0, mock(WorkingMemoryEntryPoint.class));
+
+        // the jobs list is created lazily, so neither of these has anything to do
+        handle.removeJob(jobHandle(1));
+        handle.unscheduleAllJobs(reteEvaluator);
+
+        verify(reteEvaluator, never()).getTimerService();
+    }
+
+    @Test
+    public void testUnscheduleAllJobs() {
+        when(reteEvaluator.getTimerService()).thenReturn(timerService);
+        EventFactHandle handle = new EventFactHandle(1, "event", 1, 0, 0, mock(WorkingMemoryEntryPoint.class));
+
+        JobHandle job1 = jobHandle(1);
+        JobHandle job2 = jobHandle(2);
+        JobHandle job3 = jobHandle(3);
+        handle.addJob(job1);
+        handle.addJob(job2);
+        handle.addJob(job3);
+        handle.removeJob(job2);
+
+        handle.unscheduleAllJobs(reteEvaluator);
+        verify(timerService).removeJob(job1);
+        verify(timerService).removeJob(job3);
+
+        // all the jobs have been already removed
+        handle.unscheduleAllJobs(reteEvaluator);
+        verifyNoMoreInteractions(timerService);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import org.drools.core.ClockType;
+import org.drools.core.SessionConfiguration;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+import org.drools.core.time.TimerServiceFactory;
+import org.drools.core.time.Trigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.DelayedTrigger;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJob;
+import org.drools.core.time.impl.JDKTimerServiceTest.HelloWorldJobContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TimingWheelTimerServiceTest {
+
+    private static TimerService newTimerService() {
+        Properties properties = new Properties();
+        properties.setProperty( "drools.timerService", TimingWheelTimerService.class.getName() );
+        SessionConfiguration config = SessionConfiguration.newInstance( properties );
+        config.setClockType( ClockType.REALTIME_CLOCK );
+        TimerService timeService = TimerServiceFactory.getTimerService( config );
+        assertTrue( timeService instanceof TimingWheelTimerService );
+        return timeService;
+    }
+
+    @Test
+    public void testSingleExecutionJob() throws Exception {
+        TimerService timeService = newTimerService();
+        Trigger trigger = new DelayedTrigger( 100 );
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        timeService.scheduleJob( new HelloWorldJob(), ctx, trigger );
+        Thread.sleep( 500 );
+        timeService.shutdown();
+        assertEquals( 1, ctx.getList().size() );
+    }
+
+    @Test
+    public void testRepeatedExecutionJob() throws Exception {
+        TimerService timeService = newTimerService();
+        Trigger trigger = new DelayedTrigger( new long[] { 100, 100, 100 } );
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        timeService.scheduleJob( new HelloWorldJob(), ctx, trigger );
+        Thread.sleep( 500 );
+        timeService.shutdown();
+        assertEquals( 3, ctx.getList().size() );
+    }
+
+    @Test
+    public void testRepeatedExecutionJobWithRemove() throws Exception {
+        TimerService timeService = newTimerService();
+        Trigger trigger = new DelayedTrigger( new long[] { 100, 100, 100, 100, 100, 100, 100, 100 } );
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        ctx.setLimit( 3 );
+        JobHandle jobHandle = timeService.scheduleJob( new HelloWorldJob(), ctx, trigger );
+        ctx.setJobHandle( jobHandle );
+        Thread.sleep( 1000 );
+        timeService.shutdown();
+        assertEquals( 5, ctx.getList().size() );
+    }
+
+    @Test
+    public void testRemoveJob() throws Exception {
+        TimerService timeService = newTimerService();
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        JobHandle jobHandle = timeService.scheduleJob( new HelloWorldJob(), ctx, new DelayedTrigger( 100 ) );
+        assertTrue( timeService.removeJob( jobHandle ) );
+        assertFalse( timeService.removeJob( jobHandle ) );
+        Thread.sleep( 300 );
+        timeService.shutdown();
+        assertEquals( 0, ctx.getList().size() );
+    }
+
+    @Test
+    public void testShutdownCancelsJobs() throws Exception {
+        TimerService timeService = newTimerService();
+        HelloWorldJobContext ctx = new HelloWorldJobContext( "hello world", timeService );
+        timeService.scheduleJob( new HelloWorldJob(), ctx, new DelayedTrigger( 100 ) );
+        timeService.scheduleJob( new HelloWorldJob(), ctx, new DelayedTrigger( 200 ) );
+        timeService.shutdown();
+        Thread.sleep( 400 );
+        assertEquals( 0, ctx.getList().size() );
+    }
+
+    @Test
+    public void testWheelExpiresTimeoutsAtTheirTick() {
+        TimingWheel wheel = new TimingWheel( 10 );
+        TimingWheelTimerService timerService = new TimingWheelTimerService( wheel );
+        long now = 1_000_000L;
+
+        // the timeouts of the first two go in the first wheel, then one timeout per wheel
+        long[] delays = { 10, 30, 2_570, 2_560_000, 200_000_000 };
+        List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        for ( long delay : delays ) {
+            timeouts.add( wheel.schedule( timerService, null, now + delay, now ) );
+        }
+        assertEquals( delays.length, wheel.size() );
+
+        for ( int i = 0; i < delays.length; i++ ) {
+            long time = now + delays[i];
+            assertEquals( 0, wheel.expire( time - 10 ).size() );
+            List<TimingWheel.Timeout> expired = wheel.expire( time );
+            assertEquals( 1, expired.size() );
+            assertSame( timeouts.get( i ), expired.get( 0 ) );
+        }
+        assertEquals( 0, wheel.size() );
+    }
+
+    @Test
+    public void testWheelCancel() {
+        TimingWheel wheel = new TimingWheel( 10 );
+        TimingWheelTimerService first = new TimingWheelTimerService( wheel );
+        TimingWheelTimerService second = new TimingWheelTimerService( wheel );
+        long now = 1_000_000L;
+
+        TimingWheel.Timeout cancelled = wheel.schedule( first, null, now + 100, now );
+        wheel.schedule( first, null, now + 100_000, now );
+        wheel.schedule( second, null, now + 100_000, now );
+        TimingWheel.Timeout expiring = wheel.schedule( second, null, now + 100, now );
+
+        assertTrue( wheel.cancel( cancelled ) );
+        assertFalse( wheel.cancel( cancelled ) );
+        wheel.cancelAll( first );
+        assertEquals( 2, wheel.size() );
+
+        List<TimingWheel.Timeout> expired = wheel.expire( now + 100 );
+        assertEquals( 1, expired.size() );
+        assertSame( expiring, expired.get( 0 ) );
+        assertFalse( wheel.cancel( expiring ) );
+
+        assertEquals( 1, wheel.expire( now + 100_000 ).size() );
+        assertEquals( 0, wheel.size() );
+    }
+
+    @Test
+    public void testWheelExpiresPastTimeoutsAtTheNextTick() {
+        TimingWheel wheel = new TimingWheel( 10 );
+        TimingWheelTimerService timerService = new TimingWheelTimerService( wheel );
+        long now = new Date().getTime();
+
+        TimingWheel.Timeout timeout = wheel.schedule( timerService, null, now - 1000, now );
+        List<TimingWheel.Timeout> expired = wheel.expire( now + 10 );
+        assertEquals( 1, expired.size() );
+        assertSame( timeout, expired.get( 0 ) );
+    }
+}
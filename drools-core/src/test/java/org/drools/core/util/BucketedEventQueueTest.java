@@ -0,0 +1,131 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.drools.core.common.EventFactHandle;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BucketedEventQueueTest {
+
+    private static EventFactHandle event( long id, long timestamp ) {
+        return new EventFactHandle( id, 0, "e" + id, id, timestamp, 0, null, null ) { };
+    }
+
+    @Test
+    public void testInOrderEvents() {
+        BucketedEventQueue queue = new BucketedEventQueue();
+        assertNull( queue.peek() );
+        assertNull( queue.poll() );
+
+        List<EventFactHandle> events = new ArrayList<>();
+        for ( int i = 0; i < 200; i++ ) {
+            EventFactHandle event = event( i, i / 2 );
+            events.add( event );
+            queue.add( event );
+        }
+        assertEquals( events, new ArrayList<>( queue ) );
+
+        assertSame( events.get( 0 ), queue.poll() );
+        assertSame( events.get( 1 ), queue.peek() );
+
+        // all the events starting up to 70 are in the first buckets
+        assertEquals( events.subList( 1, 142 ), queue.pollUntil( 70 ) );
+        assertEquals( events.subList( 142, 200 ), new ArrayList<>( queue ) );
+        assertEquals( 0, queue.pollUntil( 70 ).size() );
+        assertEquals( events.subList( 142, 200 ), queue.pollUntil( 1000 ) );
+        assertTrue( queue.isEmpty() );
+    }
+
+    @Test
+    public void testOutOfOrderEventsAndRemovals() {
+        Random random = new Random( 0 );
+        BucketedEventQueue queue = new BucketedEventQueue();
+        List<EventFactHandle> expected = new ArrayList<>();
+        long time = 0;
+
+        for ( int i = 0; i < 5000; i++ ) {
+            int operation = random.nextInt( 10 );
+            if ( operation < 6 || expected.isEmpty() ) {
+                // mostly in order, sometimes late
+                time += random.nextInt( 3 );
+                long timestamp = random.nextInt( 5 ) == 0 ? time - random.nextInt( 200 ) : time;
+                EventFactHandle event = event( i, timestamp );
+                queue.add( event );
+                expected.add( event );
+                // a stable sort keeps the events with the same timestamp in arrival order
+                expected.sort( Comparator.comparingLong( EventFactHandle::getStartTimestamp ) );
+            } else if ( operation < 8 ) {
+                EventFactHandle event = expected.remove( random.nextInt( expected.size() ) );
+                assertTrue( queue.remove( event ) );
+                assertFalse( queue.remove( event ) );
+            } else if ( operation < 9 ) {
+                assertSame( expected.remove( 0 ), queue.poll() );
+            } else {
+                long timestamp = expected.get( 0 ).getStartTimestamp() + random.nextInt( 20 );
+                List<EventFactHandle> polled = new ArrayList<>();
+                while ( !expected.isEmpty() && expected.get( 0 ).getStartTimestamp() <= timestamp ) {
+                    polled.add( expected.remove( 0 ) );
+                }
+                assertEquals( polled, queue.pollUntil( timestamp ) );
+            }
+            assertEquals( expected.size(), queue.size() );
+            assertEquals( expected.isEmpty() ? null : expected.get( 0 ), queue.peek() );
+        }
+        assertEquals( expected, new ArrayList<>( queue ) );
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        BucketedEventQueue queue = new BucketedEventQueue();
+        for ( int i = 0; i < 100; i++ ) {
+            queue.add( event( i, 100 - i ) );
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( bytes )) {
+            out.writeObject( queue );
+        }
+        BucketedEventQueue deserialized;
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) )) {
+            deserialized = (BucketedEventQueue) in.readObject();
+        }
+
+        assertEquals( queue.size(), deserialized.size() );
+        List<Long> timestamps = new ArrayList<>();
+        for ( EventFactHandle event : deserialized ) {
+            timestamps.add( event.getStartTimestamp() );
+        }
+        for ( int i = 0; i < 100; i++ ) {
+            assertEquals( i + 1, (long) timestamps.get( i ) );
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongTreeMultisetTest {
+
+    @Test
+    public void testAddAndRemoveDuplicates() {
+        LongTreeMultiset multiset = new LongTreeMultiset();
+        assertTrue( multiset.isEmpty() );
+
+        multiset.add( 5 );
+        multiset.add( -3 );
+        multiset.add( 5 );
+        multiset.add( 10 );
+
+        assertEquals( 4, multiset.size() );
+        assertEquals( 2, multiset.count( 5 ) );
+        assertEquals( -3, multiset.first() );
+        assertEquals( 10, multiset.last() );
+        assertEquals( "[-3, 5, 5, 10]", multiset.toString() );
+
+        assertTrue( multiset.remove( 5 ) );
+        assertEquals( 1, multiset.count( 5 ) );
+        assertFalse( multiset.remove( 7 ) );
+        assertTrue( multiset.remove( 10 ) );
+        assertEquals( 5, multiset.last() );
+        assertTrue( multiset.remove( 5 ) );
+        assertTrue( multiset.remove( -3 ) );
+        assertTrue( multiset.isEmpty() );
+        assertEquals( 0, multiset.size() );
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testLastOfEmpty() {
+        new LongTreeMultiset().last();
+    }
+
+    @Test
+    public void testRandomOperationsAgainstSortedList() {
+        Random random = new Random( 0 );
+        LongTreeMultiset multiset = new LongTreeMultiset();
+        List<Long> expected = new ArrayList<>();
+
+        for ( int i = 0; i < 20000; i++ ) {
+            long value = random.nextInt( 500 ) - 250;
+            if ( random.nextInt( 3 ) == 0 ) {
+                assertEquals( expected.remove( value ), multiset.remove( value ) );
+            } else {
+                multiset.add( value );
+                expected.add( value );
+            }
+
+            if ( i % 100 == 0 ) {
+                Collections.sort( expected );
+                assertEquals( expected.size(), multiset.size() );
+                for ( int j = 0; j < expected.size(); j++ ) {
+                    assertEquals( expected.get( j ).longValue(), multiset.get( j ) );
+                }
+                if ( !expected.isEmpty() ) {
+                    assertEquals( expected.get( 0 ).longValue(), multiset.first() );
+                    assertEquals( expected.get( expected.size() - 1 ).longValue(), multiset.last() );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        LongTreeMultiset multiset = new LongTreeMultiset();
+        for ( long i = 0; i < 100; i++ ) {
+            multiset.add( i % 7, 2 );
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( bytes )) {
+            multiset.writeExternal( out );
+        }
+        LongTreeMultiset read = new LongTreeMultiset();
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) )) {
+            read.readExternal( in );
+        }
+
+        assertEquals( 200, read.size() );
+        assertEquals( multiset.toString(), read.toString() );
+    }
+}
@@ -16,10 +16,17 @@
 
 package org.drools.core.util;
 
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
+import org.kie.api.runtime.KieSessionsPoolConfiguration;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ScalablePoolTest {
 
@@ -108,6 +115,185 @@ public class ScalablePoolTest {
         check( monitor, 5, 2, 5 );
     }
 
+    @Test
+    public void testBoundedPoolFailFast() {
+        Monitor monitor = new Monitor();
+        ScalablePool.Config config = new ScalablePool.Config( 1 ).setMaxSize( 2 ).setMaxWait( 0, TimeUnit.MILLISECONDS );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( config, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        PooledResource resource1 = pool.get();
+        PooledResource resource2 = pool.get();
+        check( monitor, 2, 0, 0 );
+
+        try {
+            pool.get();
+            fail( "The pool should be exhausted" );
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        check( monitor, 2, 0, 0 );
+
+        pool.release( resource2 );
+        assertSame( resource2, pool.get() );
+
+        ScalablePool.Statistics statistics = pool.getStatistics();
+        assertEquals( 2, statistics.getSize() );
+        assertEquals( 2, statistics.getHits() );
+        assertEquals( 2, statistics.getMisses() );
+        assertEquals( 2, statistics.getCreations() );
+        assertEquals( 1, statistics.getTimeouts() );
+        assertEquals( 1, statistics.getResets() );
+
+        pool.shutdown();
+        check( monitor, 2, 1, 2 );
+    }
+
+    @Test(timeout = 10000)
+    public void testBoundedPoolBlocking() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePool.Config config = new ScalablePool.Config( 0 ).setMaxSize( 1 );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( config, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        PooledResource resource = pool.get();
+        PooledResource[] acquired = new PooledResource[1];
+        Thread waiter = new Thread( () -> acquired[0] = pool.get() );
+        waiter.start();
+
+        Thread.sleep( 50 );
+        pool.release( resource );
+        waiter.join();
+
+        assertSame( resource, acquired[0] );
+        check( monitor, 1, 1, 0 );
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testNoEvictionBeforeIdleTimeout() {
+        Monitor monitor = new Monitor();
+        ScalablePool.Config config = new ScalablePool.Config( 1 ).setIdleTimeout( 1, TimeUnit.HOURS );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( config, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        PooledResource resource1 = pool.get();
+        PooledResource resource2 = pool.get();
+        PooledResource resource3 = pool.get();
+        check( monitor, 3, 0, 0 );
+
+        pool.release( resource1 );
+        pool.release( resource2 );
+        pool.release( resource3 );
+
+        // nothing has been idle long enough
+        pool.evictIdle();
+        check( monitor, 3, 3, 0 );
+
+        pool.shutdown();
+        check( monitor, 3, 3, 3 );
+    }
+
+    @Test
+    public void testIdleEvictionKeepsMinSize() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePool.Config config = new ScalablePool.Config( 1 ).setIdleTimeout( 10, TimeUnit.MILLISECONDS );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( config, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        PooledResource resource1 = pool.get();
+        PooledResource resource2 = pool.get();
+        PooledResource resource3 = pool.get();
+        pool.release( resource1 );
+        pool.release( resource2 );
+        pool.release( resource3 );
+        check( monitor, 3, 3, 0 );
+
+        Thread.sleep( 50 );
+        pool.evictIdle();
+
+        // the 2 least recently used resources are disposed while the minimum size is preserved
+        check( monitor, 3, 3, 2 );
+        assertEquals( 1, pool.getStatistics().getSize() );
+        assertEquals( 2, pool.getStatistics().getEvictions() );
+        assertSame( resource3, pool.get() );
+
+        pool.shutdown();
+        check( monitor, 3, 3, 3 );
+    }
+
+    @Test(timeout = 10000)
+    public void testAsyncResetCompletingAfterShutdown() throws Exception {
+        Monitor monitor = new Monitor();
+        CountDownLatch resetStarted = new CountDownLatch( 1 );
+        CountDownLatch shutdownDone = new CountDownLatch( 1 );
+        CountDownLatch disposed = new CountDownLatch( 2 );
+        ScalablePool.Config config = new ScalablePool.Config( 1 ).setAsyncReset( true );
+        ScalablePool<PooledResource> pool = new ScalablePool<>( config, () -> new PooledResource( monitor ),
+                resource -> {
+                    resetStarted.countDown();
+                    await( shutdownDone );
+                    resource.reset();
+                },
+                resource -> {
+                    resource.dispose();
+                    disposed.countDown();
+                } );
+
+        PooledResource resource1 = pool.get();
+        PooledResource resource2 = pool.get();
+        pool.release( resource1 );
+        resetStarted.await();
+
+        // only the resource in use is disposed, the one being reset is disposed once its reset completes
+        pool.shutdown();
+        check( monitor, 2, 0, 1 );
+        shutdownDone.countDown();
+
+        disposed.await();
+        check( monitor, 2, 1, 2 );
+        assertEquals( 0, pool.getStatistics().getIdle() );
+    }
+
+    @Test(timeout = 10000)
+    public void testPoolWithIdleEvictionIsGarbageCollected() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePool.Config config = new ScalablePool.Config( 1 ).setIdleTimeout( 1, TimeUnit.HOURS );
+        WeakReference<ScalablePool<PooledResource>> poolRef = new WeakReference<>(
+                new ScalablePool<>( config, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose ) );
+
+        // the shared evictor must not keep alive a pool that has never been shut down
+        while (poolRef.get() != null) {
+            System.gc();
+            Thread.sleep( 10 );
+        }
+    }
+
+    @Test
+    public void testConfigFromKieSessionsPoolConfiguration() {
+        KieSessionsPoolConfiguration configuration = new KieSessionsPoolConfiguration( 2 )
+                .setMaxSize( 5 )
+                .setMaxWait( 1, TimeUnit.SECONDS )
+                .setIdleTimeout( 1, TimeUnit.MINUTES )
+                .setAsyncReset( true );
+        ScalablePool.Config config = ScalablePool.Config.of( configuration );
+        assertEquals( 2, config.getMinSize() );
+        assertEquals( 5, config.getMaxSize() );
+        assertEquals( 1000, config.getMaxWait() );
+        assertEquals( 60000, config.getIdleTimeout() );
+        assertTrue( config.isAsyncReset() );
+
+        config = ScalablePool.Config.of( new KieSessionsPoolConfiguration( 0 ) );
+        assertEquals( Integer.MAX_VALUE, config.getMaxSize() );
+        assertEquals( -1, config.getMaxWait() );
+        assertEquals( 0, config.getIdleTimeout() );
+    }
+
+    private static void await( CountDownLatch latch ) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException( e );
+        }
+    }
+
     private void check( Monitor monitor, int expectedNew, int expectedReset, int expectedDispose ) {
         assertEquals(expectedNew, monitor.newCounter);
         assertEquals(expectedReset, monitor.resetCounter);
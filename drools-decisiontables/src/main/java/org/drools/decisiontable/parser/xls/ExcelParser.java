@@ -19,13 +19,22 @@ package org.drools.decisiontable.parser.xls;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.openxml4j.util.ZipSecureFile;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
@@ -38,6 +47,11 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
 import org.drools.util.DateUtils;
 import org.drools.decisiontable.parser.DecisionTableParser;
 import org.drools.decisiontable.parser.DefaultRuleSheetListener;
@@ -45,6 +59,12 @@ import org.drools.template.parser.DataListener;
 import org.drools.template.parser.DecisionTableParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
 import static java.lang.String.format;
 
@@ -70,6 +90,13 @@ public class ExcelParser
         }
     }
 
+    /**
+     * When true the xlsx files are read row by row through the SAX event API instead of loading the whole workbook,
+     * so that large spreadsheets can be parsed in constant memory. The values of the formula cells are then the ones
+     * cached in the file, as they can't be evaluated without the workbook.
+     */
+    public static final String STREAMING_PROPERTY = "drools.excelParser.streaming";
+
     public static final String DEFAULT_RULESHEET_NAME = "Decision Tables";
     private Map<String, List<DataListener>> _listeners = new HashMap<>();
     private boolean _useFirstSheet;
@@ -101,6 +128,13 @@ public class ExcelParser
 
     public void parseFile( InputStream inStream ) {
         try {
+            if ( isStreaming() ) {
+                inStream = FileMagic.prepareToCheckMagic( inStream );
+                if ( FileMagic.valueOf( inStream ) == FileMagic.OOXML ) {
+                    parseOOXMLStream( inStream );
+                    return;
+                }
+            }
             parseWorkbook( WorkbookFactory.create( inStream ) );
         } catch ( IOException e ) {
             throw new DecisionTableParseException( "Failed to open Excel stream, " + "please check that the content is xls97 format.",
@@ -110,6 +144,10 @@ public class ExcelParser
 
     public void parseFile( File file ) {
         try {
+            if ( isStreaming() && FileMagic.valueOf( file ) == FileMagic.OOXML ) {
+                parseOOXMLFile( file );
+                return;
+            }
             parseWorkbook( WorkbookFactory.create( file, (String)null, true ) );
         } catch ( IOException e ) {
             throw new DecisionTableParseException( "Failed to open Excel stream, " + "please check that the content is xls97 format.",
@@ -117,6 +155,109 @@ public class ExcelParser
         }
     }
 
+    private static boolean isStreaming() {
+        return Boolean.parseBoolean( System.getProperty( STREAMING_PROPERTY ) );
+    }
+
+    private void parseOOXMLStream( InputStream inStream ) throws IOException {
+        // an OPCPackage opened from a stream is entirely unzipped in memory, while a file is read one entry at a time
+        File file = TempFile.createTempFile( "decision-table", ".xlsx" );
+        try {
+            Files.copy( inStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            parseOOXMLFile( file );
+        } finally {
+            Files.deleteIfExists( file.toPath() );
+        }
+    }
+
+    /**
+     * Parses a xlsx file row by row, without loading the workbook in memory
+     */
+    public void parseOOXMLFile( File file ) {
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open( file, PackageAccess.READ );
+            XSSFReader reader = new XSSFReader( pkg );
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable( pkg, false );
+            StylesTable styles = reader.getStylesTable();
+            boolean date1904 = isDate1904( reader );
+
+            Map<String, PackagePart> sheets = new HashMap<>();
+            String firstSheetName = null;
+            XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while ( sheetIterator.hasNext() ) {
+                sheetIterator.next().close();
+                if ( firstSheetName == null ) {
+                    firstSheetName = sheetIterator.getSheetName();
+                }
+                sheets.put( sheetIterator.getSheetName(), sheetIterator.getSheetPart() );
+            }
+
+            if ( _useFirstSheet ) {
+                processSheet( sheets.get( firstSheetName ), sharedStrings, styles, date1904, _listeners.get( DEFAULT_RULESHEET_NAME ) );
+            } else {
+                for ( String sheetName : _listeners.keySet() ) {
+                    PackagePart sheet = sheets.get( sheetName );
+                    if ( sheet == null ) {
+                        throw new IllegalStateException( "Could not find the sheetName (" + sheetName
+                                                                 + ") in the workbook sheetNames." );
+                    }
+                    processSheet( sheet, sharedStrings, styles, date1904, _listeners.get( sheetName ) );
+                }
+            }
+        } catch ( IOException | OpenXML4JException | SAXException | ParserConfigurationException e ) {
+            throw new DecisionTableParseException( "Failed to open Excel stream, " + "please check that the content is xlsx format.",
+                                                   e );
+        } finally {
+            if ( pkg != null ) {
+                pkg.revert();
+            }
+        }
+    }
+
+    private void processSheet( PackagePart sheet,
+                               ReadOnlySharedStringsTable sharedStrings,
+                               StylesTable styles,
+                               boolean date1904,
+                               List<? extends DataListener> listeners ) throws IOException, SAXException, ParserConfigurationException {
+        // the merged regions follow the rows in the xml of the sheet, so they need to be read before
+        List<CellRangeAddress> mergedRanges = new ArrayList<>();
+        parseXml( sheet.getInputStream(), new DefaultHandler() {
+            @Override
+            public void startElement( String uri, String localName, String qName, Attributes attributes ) {
+                if ( localName.equals( "mergeCell" ) ) {
+                    mergedRanges.add( CellRangeAddress.valueOf( attributes.getValue( "ref" ) ) );
+                }
+            }
+        } );
+
+        parseXml( sheet.getInputStream(), new StreamingSheetHandler( this, listeners, mergedRanges, sharedStrings, styles, date1904,
+                                                    isNumericDisabled( listeners ), doesIgnoreNumericFormat( listeners ) ) );
+        finishSheet( listeners );
+    }
+
+    private boolean isDate1904( XSSFReader reader ) throws IOException, OpenXML4JException, SAXException, ParserConfigurationException {
+        boolean[] date1904 = new boolean[1];
+        parseXml( reader.getWorkbookData(), new DefaultHandler() {
+            @Override
+            public void startElement( String uri, String localName, String qName, Attributes attributes ) {
+                if ( localName.equals( "workbookPr" ) ) {
+                    String value = attributes.getValue( "date1904" );
+                    date1904[0] = "1".equals( value ) || "true".equalsIgnoreCase( value );
+                }
+            }
+        } );
+        return date1904[0];
+    }
+
+    private static void parseXml( InputStream xml, ContentHandler handler ) throws IOException, SAXException, ParserConfigurationException {
+        try ( InputStream inStream = xml ) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler( handler );
+            xmlReader.parse( new InputSource( inStream ) );
+        }
+    }
+
     public void parseWorkbook( Workbook workbook ) {
         try {
             try {
@@ -311,7 +452,7 @@ public class ExcelParser
         }
     }
 
-    private void newRow( List<? extends DataListener> listeners,
+    void newRow( List<? extends DataListener> listeners,
                          int row,
                          int cols ) {
         for ( DataListener listener : listeners ) {
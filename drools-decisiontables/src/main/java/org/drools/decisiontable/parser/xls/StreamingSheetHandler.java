@@ -0,0 +1,327 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.decisiontable.parser.xls;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.drools.template.parser.DataListener;
+import org.drools.util.DateUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * SAX handler of the xml of a worksheet of a xlsx file, pushing the cells of each row into the listeners as soon
+ * as the row has been read, with the same values that the <code>ExcelParser</code> reads from a <code>Workbook</code>.
+ * Only the current row and the top left values of the merged regions spanning it are kept in memory.
+ * Formula cells aren't evaluated: their value is the one cached in the file by the application that saved it.
+ */
+class StreamingSheetHandler extends DefaultHandler {
+
+    private final ExcelParser parser;
+    private final List<? extends DataListener> listeners;
+    private final SharedStrings sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final boolean numericDisabled;
+    private final boolean ignoreNumericFormat;
+
+    private final DataFormatter formatter = new DataFormatter( Locale.ENGLISH );
+
+    // the merged regions sorted by their first row, the ones spanning the current row are the active ones
+    private final List<MergedRegion> mergedRegions;
+    private int nextMergedRegion;
+    private final List<MergedRegion> activeMergedRegions = new ArrayList<>();
+
+    private final List<PendingCell> rowCells = new ArrayList<>();
+    private int nextRow;
+    private int rowIndex;
+    private int lastCellNum;
+
+    private int cellColumn;
+    private String cellType;
+    private String cellStyle;
+    private boolean cellFormula;
+    private String cellValue;
+
+    // the number format of the current cell, resolved from its style only when needed
+    private int formatIndex;
+    private String formatString;
+
+    private final StringBuilder text = new StringBuilder();
+    private boolean readingText;
+    private boolean inInlineString;
+    private boolean inPhoneticRun;
+
+    StreamingSheetHandler( ExcelParser parser,
+                           List<? extends DataListener> listeners,
+                           List<CellRangeAddress> mergedRanges,
+                           SharedStrings sharedStrings,
+                           StylesTable styles,
+                           boolean date1904,
+                           boolean numericDisabled,
+                           boolean ignoreNumericFormat ) {
+        this.parser = parser;
+        this.listeners = listeners;
+        this.sharedStrings = sharedStrings;
+        this.styles = styles;
+        this.date1904 = date1904;
+        this.numericDisabled = numericDisabled;
+        this.ignoreNumericFormat = ignoreNumericFormat;
+        this.mergedRegions = new ArrayList<>( mergedRanges.size() );
+        for ( CellRangeAddress range : mergedRanges ) {
+            this.mergedRegions.add( new MergedRegion( range ) );
+        }
+        this.mergedRegions.sort( Comparator.comparingInt( r -> r.range.getFirstRow() ) );
+    }
+
+    @Override
+    public void startElement( String uri, String localName, String qName, Attributes attributes ) {
+        switch ( localName ) {
+            case "row":
+                String rowRef = attributes.getValue( "r" );
+                rowIndex = rowRef != null ? Integer.parseInt( rowRef ) - 1 : nextRow;
+                for ( int i = nextRow; i < rowIndex; i++ ) {
+                    parser.newRow( listeners, i, 0 );
+                }
+                lastCellNum = -1;
+                updateActiveMergedRegions();
+                break;
+            case "c":
+                String cellRef = attributes.getValue( "r" );
+                cellColumn = cellRef != null ? new CellReference( cellRef ).getCol() : Math.max( lastCellNum, 0 );
+                cellType = attributes.getValue( "t" );
+                cellStyle = attributes.getValue( "s" );
+                cellFormula = false;
+                cellValue = null;
+                formatString = null;
+                break;
+            case "f":
+                cellFormula = true;
+                break;
+            case "is":
+                inInlineString = true;
+                text.setLength( 0 );
+                break;
+            case "rPh":
+                inPhoneticRun = true;
+                break;
+            case "v":
+                text.setLength( 0 );
+                readingText = true;
+                break;
+            case "t":
+                readingText = inInlineString && !inPhoneticRun;
+                break;
+        }
+    }
+
+    @Override
+    public void endElement( String uri, String localName, String qName ) {
+        switch ( localName ) {
+            case "v":
+                cellValue = text.toString();
+                readingText = false;
+                break;
+            case "t":
+                readingText = false;
+                break;
+            case "rPh":
+                inPhoneticRun = false;
+                break;
+            case "is":
+                cellValue = text.toString();
+                inInlineString = false;
+                break;
+            case "c":
+                endCell();
+                break;
+            case "row":
+                endRow();
+                break;
+        }
+    }
+
+    @Override
+    public void characters( char[] ch, int start, int length ) {
+        if ( readingText ) {
+            text.append( ch, start, length );
+        }
+    }
+
+    private void updateActiveMergedRegions() {
+        activeMergedRegions.removeIf( r -> r.range.getLastRow() < rowIndex );
+        while ( nextMergedRegion < mergedRegions.size() && mergedRegions.get( nextMergedRegion ).range.getFirstRow() <= rowIndex ) {
+            MergedRegion region = mergedRegions.get( nextMergedRegion++ );
+            if ( region.range.getLastRow() >= rowIndex ) {
+                activeMergedRegions.add( region );
+            }
+        }
+    }
+
+    private void endCell() {
+        lastCellNum = Math.max( lastCellNum, cellColumn + 1 );
+
+        MergedRegion merged = getRegionIfMerged( cellColumn );
+        if ( merged == null ) {
+            rowCells.add( new PendingCell( cellColumn, getCellValue(), DataListener.NON_MERGED ) );
+            return;
+        }
+        // as in the ExcelParser every cell of a merged region takes the value of its top left cell
+        if ( merged.range.getFirstRow() == rowIndex && merged.range.getFirstColumn() == cellColumn ) {
+            merged.value = getCellValue();
+        }
+        rowCells.add( new PendingCell( cellColumn, merged.value != null ? merged.value : "", merged.range.getFirstColumn() ) );
+    }
+
+    private void endRow() {
+        parser.newRow( listeners, rowIndex, lastCellNum );
+        for ( PendingCell cell : rowCells ) {
+            parser.newCell( listeners, rowIndex, cell.column, cell.value, cell.mergedColStart );
+        }
+        rowCells.clear();
+        nextRow = rowIndex + 1;
+    }
+
+    private MergedRegion getRegionIfMerged( int column ) {
+        for ( MergedRegion region : activeMergedRegions ) {
+            if ( region.range.isInRange( rowIndex, column ) ) {
+                return region;
+            }
+        }
+        return null;
+    }
+
+    private String getCellValue() {
+        if ( cellFormula ) {
+            return getFormulaValue();
+        }
+        if ( cellType == null || cellType.equals( "n" ) ) {
+            return cellValue == null || cellValue.isEmpty() ? "" : getNumericValue( Double.parseDouble( cellValue ) );
+        }
+        switch ( cellType ) {
+            case "b":
+                return isTrue( cellValue ) ? "true" : "false";
+            case "s":
+                return sharedStrings.getItemAt( Integer.parseInt( cellValue ) ).getString();
+            case "inlineStr":
+                return cellValue == null ? "" : new XSSFRichTextString( cellValue ).getString();
+            default:
+                return cellValue == null ? "" : cellValue;
+        }
+    }
+
+    private String getNumericValue( double value ) {
+        double num = 0;
+        if ( numericDisabled ) {
+            // don't get a double value. rely on DataFormatter
+        } else if ( isDateFormatted( value ) ) {
+            return "\"" + DateUtils.format( DateUtil.getJavaDate( value, date1904 ) ) + "\"";
+        } else {
+            num = value;
+            if ( ignoreNumericFormat && !getFormatString().equalsIgnoreCase( "General" ) ) {
+                // If it's not GENERAL format (e.g. Percent, Currency), we don't rely on formatter
+                return String.valueOf( num );
+            }
+        }
+        if ( num - Math.round( num ) != 0 ) {
+            return String.valueOf( num );
+        }
+        // e.g. format '42.0' to '42' for int
+        return formatNumber( value );
+    }
+
+    private String getFormulaValue() {
+        if ( cellValue == null ) {
+            return "";
+        }
+        if ( cellType == null || cellType.equals( "n" ) ) {
+            return cellValue.isEmpty() ? "" : formatNumber( Double.parseDouble( cellValue ) );
+        }
+        return cellType.equals( "b" ) ? ( isTrue( cellValue ) ? "true" : "false" ) : cellValue;
+    }
+
+    private String formatNumber( double value ) {
+        resolveFormat();
+        return formatter.formatRawCellContents( value, formatIndex, formatString, date1904 );
+    }
+
+    private boolean isDateFormatted( double value ) {
+        resolveFormat();
+        return DateUtil.isValidExcelDate( value ) && DateUtil.isADateFormat( formatIndex, formatString );
+    }
+
+    private String getFormatString() {
+        resolveFormat();
+        return formatString;
+    }
+
+    private void resolveFormat() {
+        if ( formatString != null ) {
+            return;
+        }
+        XSSFCellStyle style = null;
+        if ( styles != null ) {
+            if ( cellStyle != null ) {
+                style = styles.getStyleAt( Integer.parseInt( cellStyle ) );
+            } else if ( styles.getNumCellStyles() > 0 ) {
+                style = styles.getStyleAt( 0 );
+            }
+        }
+        formatIndex = style != null ? style.getDataFormat() : 0;
+        formatString = style != null ? style.getDataFormatString() : null;
+        if ( formatString == null ) {
+            formatString = BuiltinFormats.getBuiltinFormat( 0 );
+        }
+    }
+
+    private static boolean isTrue( String value ) {
+        return "1".equals( value ) || "true".equalsIgnoreCase( value );
+    }
+
+    private static class MergedRegion {
+        private final CellRangeAddress range;
+        private String value;
+
+        private MergedRegion( CellRangeAddress range ) {
+            this.range = range;
+        }
+    }
+
+    private static class PendingCell {
+        private final int column;
+        private final String value;
+        private final int mergedColStart;
+
+        private PendingCell( int column, String value, int mergedColStart ) {
+            this.column = column;
+            this.value = value;
+            this.mergedColStart = mergedColStart;
+        }
+    }
+}
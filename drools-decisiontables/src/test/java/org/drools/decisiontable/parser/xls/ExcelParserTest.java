@@ -18,16 +18,29 @@ package org.drools.decisiontable.parser.xls;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.drools.decisiontable.InputType;
+import org.drools.decisiontable.SpreadsheetCompiler;
 import org.drools.template.parser.DataListener;
+import org.junit.After;
 import org.junit.Test;
 
 /**
@@ -70,4 +83,123 @@ public class ExcelParserTest {
         assertEquals(FIRST_CELL_CONTENT, sheet.getRow(rangeIfMerged.getFirstRow()).getCell(rangeIfMerged.getFirstColumn()).getStringCellValue());
     }
 
+    @After
+    public void tearDown() {
+        System.clearProperty( ExcelParser.STREAMING_PROPERTY );
+        System.clearProperty( "drools.excelParser.minInflateRatio" );
+    }
+
+    @Test
+    public void testStreamingParserFiresSameEvents() throws Exception {
+        File file = File.createTempFile( "streaming", ".xlsx" );
+        try {
+            try (Workbook workbook = new XSSFWorkbook()) {
+                Sheet sheet = workbook.createSheet( "Tables" );
+                CellStyle dateStyle = workbook.createCellStyle();
+                dateStyle.setDataFormat( workbook.createDataFormat().getFormat( "m/d/yy" ) );
+                CellStyle percentStyle = workbook.createCellStyle();
+                percentStyle.setDataFormat( workbook.createDataFormat().getFormat( "0%" ) );
+
+                Row row = sheet.createRow( 0 );
+                row.createCell( 0 ).setCellValue( "RuleTable Pricing" );
+                row.createCell( 3 ).setCellValue( true );
+                row.createCell( 4 );
+
+                // the rows 1 and 2 are missing
+                row = sheet.createRow( 3 );
+                row.createCell( 0 ).setCellValue( 42 );
+                row.createCell( 1 ).setCellValue( 4.25 );
+                Calendar date = Calendar.getInstance();
+                date.clear();
+                date.set( 2022, Calendar.MARCH, 15 );
+                Cell dateCell = row.createCell( 2 );
+                dateCell.setCellValue( date.getTime() );
+                dateCell.setCellStyle( dateStyle );
+                Cell percentCell = row.createCell( 3 );
+                percentCell.setCellValue( 0.5 );
+                percentCell.setCellStyle( percentStyle );
+                row.createCell( 4 ).setCellFormula( "A4*2" );
+                row.createCell( 5 ).setCellFormula( "\"a\"&\"b\"" );
+                row.createCell( 6 ).setCellFormula( "A4>40" );
+
+                row = sheet.createRow( 4 );
+                row.createCell( 1 ).setCellValue( "merged" );
+                row.createCell( 2 );
+                row = sheet.createRow( 5 );
+                row.createCell( 1 );
+                row.createCell( 2 );
+                row.createCell( 3 ).setCellValue( "after" );
+                sheet.addMergedRegion( new CellRangeAddress( 4, 5, 1, 2 ) );
+
+                workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+                try (OutputStream out = new FileOutputStream( file )) {
+                    workbook.write( out );
+                }
+            }
+
+            List<String> expected = new ArrayList<>();
+            new ExcelParser( new RecordingListener( expected ) ).parseFile( file );
+
+            System.setProperty( ExcelParser.STREAMING_PROPERTY, "true" );
+            List<String> streamed = new ArrayList<>();
+            new ExcelParser( new RecordingListener( streamed ) ).parseFile( file );
+            assertEquals( expected, streamed );
+
+            streamed.clear();
+            try (InputStream in = new FileInputStream( file )) {
+                new ExcelParser( new RecordingListener( streamed ) ).parseFile( in );
+            }
+            assertEquals( expected, streamed );
+
+            assertTrue( expected.contains( "cell 4,2 merged 1" ) );
+            assertTrue( expected.contains( "cell 5,1 merged 1" ) );
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testStreamingParserCompilesSameDrl() {
+        // Sample2.drl.xlsx is highly compressed
+        System.setProperty( "drools.excelParser.minInflateRatio", "0.001" );
+        for ( String resource : new String[]{ "/data/Sample2.drl.xlsx", "/org/drools/decisiontable/testrule.drl.xlsx" } ) {
+            String expected = new SpreadsheetCompiler().compile( resource, InputType.XLS );
+
+            System.setProperty( ExcelParser.STREAMING_PROPERTY, "true" );
+            try {
+                assertEquals( expected, new SpreadsheetCompiler().compile( resource, InputType.XLS ) );
+            } finally {
+                System.clearProperty( ExcelParser.STREAMING_PROPERTY );
+            }
+        }
+    }
+
+    private static class RecordingListener implements DataListener {
+
+        private final List<String> events;
+
+        private RecordingListener( List<String> events ) {
+            this.events = events;
+        }
+
+        @Override
+        public void startSheet( String name ) {
+            events.add( "start " + name );
+        }
+
+        @Override
+        public void finishSheet() {
+            events.add( "finish" );
+        }
+
+        @Override
+        public void newRow( int rowNumber, int columns ) {
+            events.add( "row " + rowNumber + " of " + columns );
+        }
+
+        @Override
+        public void newCell( int row, int column, String value, int mergedColStart ) {
+            events.add( "cell " + row + "," + column + " " + value + " " + mergedColStart );
+        }
+    }
 }
@@ -46,6 +46,7 @@ import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.event.AgendaEventSupport;
 import org.drools.core.impl.RuleBase;
 import org.drools.core.phreak.ExecutableEntry;
+import org.drools.core.phreak.LockFreePropagationList;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
@@ -227,8 +228,12 @@ public class DefaultAgenda implements Externalizable, InternalAgenda {
             return new ThreadUnsafePropagationList( workingMemory );
         }
 
-        return workingMemory.getSessionConfiguration().hasForceEagerActivationFilter() ?
-               new SynchronizedBypassPropagationList( workingMemory ) :
+        if (workingMemory.getSessionConfiguration().hasForceEagerActivationFilter()) {
+            return new SynchronizedBypassPropagationList( workingMemory );
+        }
+
+        return workingMemory.getSessionConfiguration().isLockFreePropagationList() ?
+               new LockFreePropagationList( workingMemory ) :
                new SynchronizedPropagationList( workingMemory );
     }
 
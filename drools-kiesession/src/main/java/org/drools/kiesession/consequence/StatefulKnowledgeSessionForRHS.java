@@ -6,6 +6,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.Lock;
 
@@ -274,6 +275,10 @@ public class StatefulKnowledgeSessionForRHS
         return delegate.insert(object);
     }
 
+    public List<FactHandle> insertAll(Collection<?> objects) {
+        return delegate.insertAll(objects);
+    }
+
     public void submit(AtomicAction action) {
         delegate.submit(action);
     }
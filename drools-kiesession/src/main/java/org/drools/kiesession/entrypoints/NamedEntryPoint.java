@@ -45,6 +45,7 @@ import org.drools.core.common.TruthMaintenanceSystemFactory;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.facttemplates.Fact;
 import org.drools.core.impl.RuleBase;
+import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.reteoo.EntryPointNode;
 import org.drools.core.reteoo.ObjectTypeConf;
 import org.drools.core.reteoo.ObjectTypeNode;
@@ -234,6 +235,67 @@ public class NamedEntryPoint implements InternalWorkingMemoryEntryPoint, Propert
 
     }
 
+    @Override
+    public List<FactHandle> insertAll(Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<>( objects.size() );
+        if ( this.reteEvaluator.isSequential() ) {
+            for ( Object object : objects ) {
+                handles.add( insert( object ) );
+            }
+            return handles;
+        }
+
+        try {
+            this.reteEvaluator.startOperation();
+            try {
+                lock();
+                this.ruleBase.executeQueuedActions();
+
+                // all the facts of the batch are propagated by a single entry, one object type node at a time
+                PropagationEntry.InsertAll inserts = new PropagationEntry.InsertAll();
+                for ( Object object : objects ) {
+                    if ( object == null ) {
+                        handles.add( null );
+                        continue;
+                    }
+
+                    ObjectTypeConf typeConf = getObjectTypeConfigurationRegistry().getOrCreateObjectTypeConf( this.entryPoint, object );
+                    if ( typeConf.isTMSEnabled() || typeConf.isDynamic() ) {
+                        // these facts need the full single insert, so the facts collected so far are propagated first to preserve the insertion order
+                        inserts = flushInserts( inserts );
+                        handles.add( insert( object ) );
+                        continue;
+                    }
+
+                    InternalFactHandle handle = this.objectStore.getHandleForObject( object );
+                    if ( handle == null ) {
+                        handle = createHandle( object, typeConf );
+                        PropagationContext pctx = this.pctxFactory.createPropagationContext(this.reteEvaluator.getNextPropagationIdCounter(),
+                                PropagationContext.Type.INSERTION, null, null, handle, entryPoint);
+                        this.objectStore.addHandle( handle, object );
+                        inserts.add( handle, pctx, this.reteEvaluator, typeConf );
+                    }
+                    handles.add( handle );
+                }
+                flushInserts( inserts );
+            } finally {
+                unlock();
+            }
+        } finally {
+            this.reteEvaluator.endOperation();
+        }
+        return handles;
+    }
+
+    private PropagationEntry.InsertAll flushInserts(PropagationEntry.InsertAll inserts) {
+        if ( inserts.isEmpty() ) {
+            return inserts;
+        }
+        this.entryPointNode.assertObjects( inserts, this.reteEvaluator );
+        inserts.forEach( (handle, pctx) -> this.reteEvaluator.getRuleRuntimeEventSupport().fireObjectInserted(pctx, handle, handle.getObject(), this.reteEvaluator) );
+        return new PropagationEntry.InsertAll();
+    }
+
     public void insert(InternalFactHandle handle,
                        Object object,
                        RuleImpl rule,
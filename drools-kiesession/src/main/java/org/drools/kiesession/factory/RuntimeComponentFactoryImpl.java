@@ -35,6 +35,7 @@ import org.drools.core.reteoo.ReteooFactHandleFactory;
 import org.drools.core.reteoo.RuntimeComponentFactory;
 import org.drools.core.spi.FactHandleFactory;
 import org.drools.core.spi.KnowledgeHelper;
+import org.drools.core.util.ScalablePool;
 import org.drools.kiesession.agenda.DefaultAgendaFactory;
 import org.drools.kiesession.entrypoints.NamedEntryPointFactory;
 import org.drools.kiesession.management.KieSessionMonitoringImpl;
@@ -115,6 +116,10 @@ public class RuntimeComponentFactoryImpl implements Serializable, RuntimeCompone
         return new KieSessionsPoolImpl((InternalKnowledgeBase) ruleBase, initialSize);
     }
 
+    public KieSessionsPool createSessionsPool(RuleBase ruleBase, ScalablePool.Config poolConfig) {
+        return new KieSessionsPoolImpl((InternalKnowledgeBase) ruleBase, poolConfig);
+    }
+
     public KieSessionMonitoringImpl createStatefulSessionMonitor(DroolsManagementAgent.CBSKey cbsKey) {
         return new KieSessionMonitoringImpl( cbsKey.getKcontainerId(), cbsKey.getKbaseId(), cbsKey.getKsessionName() );
     }
@@ -46,6 +46,13 @@ public interface InternalKnowledgeBase extends RuleBase, KieBase {
     void enqueueModification(Runnable modification);
     boolean flushModifications();
 
+    /**
+     * Called by the given session when it reaches a safe point
+     */
+    default boolean flushModifications(InternalWorkingMemory session) {
+        return flushModifications();
+    }
+
     int nextWorkingMemoryCounter();
 
     void addStatefulSession(InternalWorkingMemory wm);
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -30,6 +31,8 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.SessionConfiguration;
@@ -58,6 +61,7 @@ import org.drools.core.rule.InvalidPatternException;
 import org.drools.core.rule.TypeDeclaration;
 import org.drools.core.ruleunit.RuleUnitDescriptionRegistry;
 import org.drools.core.spi.FactHandleFactory;
+import org.drools.core.util.ScalablePool;
 import org.kie.api.KieBaseConfiguration;
 import org.kie.api.builder.ReleaseId;
 import org.kie.api.definition.KiePackage;
@@ -71,6 +75,7 @@ import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.KieSessionsPoolConfiguration;
 import org.kie.api.runtime.StatelessKieSession;
 
 public class SessionsAwareKnowledgeBase implements InternalKnowledgeBase {
@@ -86,10 +91,17 @@ public class SessionsAwareKnowledgeBase implements InternalKnowledgeBase {
     private InternalKieContainer kieContainer;
 
     private final Queue<Runnable> kbaseModificationsQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> deferredModificationsQueue = new ConcurrentLinkedQueue<>();
 
     private final AtomicInteger sessionDeactivationsCounter = new AtomicInteger();
     private final AtomicBoolean flushingUpdates = new AtomicBoolean( false );
 
+    // with versioned updates, the version increased every time the pending modifications are applied
+    private final AtomicLong version = new AtomicLong();
+
+    // with versioned updates, the sessions stopped at a safe point until the pending modifications are applied
+    private final Set<InternalWorkingMemory> parkedSessions = new HashSet<>();
+
     private final AtomicBoolean mbeanRegistered = new AtomicBoolean(false);
 
     private final KieBaseEventSupport eventSupport = new KieBaseEventSupport(this);
@@ -150,6 +162,11 @@ public class SessionsAwareKnowledgeBase implements InternalKnowledgeBase {
         return RuntimeComponentFactory.get().createSessionsPool(this, initialSize);
     }
 
+    @Override
+    public KieSessionsPool newKieSessionsPool( KieSessionsPoolConfiguration configuration ) {
+        return RuntimeComponentFactory.get().createSessionsPool(this, ScalablePool.Config.of( configuration ));
+    }
+
     @Override
     public KieSession newKieSession() {
         return newKieSession(null, EnvironmentFactory.newEnvironment());
@@ -196,6 +213,10 @@ public class SessionsAwareKnowledgeBase implements InternalKnowledgeBase {
         if (kieContainer != null) {
             kieContainer.disposeSession( (KieSession) statefulSession );
         }
+        if ( getConfiguration().isVersionedUpdates() ) {
+            // the pending modifications could have been waiting only for the disposed session
+            tryApplyModifications( null );
+        }
     }
 
     @Override
@@ -280,6 +301,10 @@ public class SessionsAwareKnowledgeBase implements InternalKnowledgeBase {
 
     @Override
     public void enqueueModification(Runnable modification) {
+        if ( getConfiguration().isVersionedUpdates() ) {
+            enqueueVersionedModification( modification );
+            return;
+        }
         if ( tryLockAndDeactivate() ) {
             try {
                 modification.run();
@@ -291,21 +316,45 @@ public class SessionsAwareKnowledgeBase implements InternalKnowledgeBase {
         }
     }
 
+    @Override
+    public void enqueueDeferredModification(Runnable modification) {
+        if ( getConfiguration().isVersionedUpdates() ) {
+            // applied together with the other pending modifications by the last session reaching a safe point
+            kbaseModificationsQueue.offer(modification);
+        } else {
+            // applied by the first session calling flushModifications at the end of its fireAllRules when this
+            // doesn't require to wait for the other sessions, otherwise it is left in the queue for the next one
+            deferredModificationsQueue.offer(modification);
+        }
+    }
+
     public boolean flushModifications() {
+        return flushModifications( null );
+    }
+
+    @Override
+    public boolean flushModifications(InternalWorkingMemory session) {
+        if ( getConfiguration().isVersionedUpdates() ) {
+            return tryApplyModifications( session );
+        }
+
         if (!flushingUpdates.compareAndSet( false, true )) {
             return false;
         }
 
         if (kbaseModificationsQueue.isEmpty()) {
-            flushingUpdates.set( false );
-            return false;
+            try {
+                return flushDeferredModifications();
+            } finally {
+                flushingUpdates.set( false );
+            }
         }
 
         try {
             lockAndDeactivate();
-            while (!kbaseModificationsQueue.isEmpty()) {
-                kbaseModificationsQueue.poll().run();
-            }
+            runModifications( kbaseModificationsQueue );
+            // the sessions are already deactivated, so also the deferred modifications can be applied
+            runModifications( deferredModificationsQueue );
         } finally {
             flushingUpdates.set( false );
             unlockAndActivate();
@@ -313,6 +362,109 @@ public class SessionsAwareKnowledgeBase implements InternalKnowledgeBase {
         return true;
     }
 
+    private boolean flushDeferredModifications() {
+        if (deferredModificationsQueue.isEmpty() || !tryLockAndDeactivateWithoutWaiting()) {
+            return false;
+        }
+        try {
+            runModifications( deferredModificationsQueue );
+        } finally {
+            unlockAndActivate();
+        }
+        return true;
+    }
+
+    private static void runModifications(Queue<Runnable> modifications) {
+        while (!modifications.isEmpty()) {
+            modifications.poll().run();
+        }
+    }
+
+    /**
+     * The version of this kbase, increased every time a batch of modifications is applied with versioned updates
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    private void enqueueVersionedModification(Runnable modification) {
+        if ( delegate.kBaseInternal_getLock().isWriteLockedByCurrentThread() ) {
+            // enqueued while applying the pending modifications, so it is part of the same version
+            modification.run();
+            return;
+        }
+        kbaseModificationsQueue.offer( modification );
+        tryApplyModifications( null );
+    }
+
+    /**
+     * Applies the pending modifications if all the sessions are idle or stopped at a safe point. Otherwise the
+     * given session, that reached a safe point, is stopped there and the modifications are applied by the last
+     * session reaching its own one, so that no thread has to wait for the sessions that are still firing.
+     * A thread may still wait for the readers of this kbase, like a session being created, but only when other
+     * sessions are already stopped: otherwise the modifications are applied again when the reader releases the lock.
+     */
+    private boolean tryApplyModifications(InternalWorkingMemory session) {
+        synchronized (parkedSessions) {
+            ReentrantReadWriteLock lock = delegate.kBaseInternal_getLock();
+            if (kbaseModificationsQueue.isEmpty() || lock.isWriteLockedByCurrentThread()) {
+                return false;
+            }
+            if ( !delegate.kBaseInternal_tryWriteLock() ) {
+                if ( parkedSessions.isEmpty() || lock.getReadHoldCount() > 0 ) {
+                    // retried by readUnlock, the given session is not stopped meanwhile
+                    return false;
+                }
+                // the stopped sessions would have no one else applying the modifications
+                delegate.kBaseInternal_writeLock();
+            }
+            try {
+                // a session is stopped only under the write lock, so that the modifications are surely applied
+                // either now or by the last session reaching its safe point
+                if ( session != null && !parkedSessions.contains( session ) && session.tryDeactivate() ) {
+                    parkedSessions.add( session );
+                }
+                if ( !tryParkIdleSessions() ) {
+                    return false;
+                }
+                try {
+                    while (!kbaseModificationsQueue.isEmpty()) {
+                        kbaseModificationsQueue.poll().run();
+                    }
+                    version.incrementAndGet();
+                } finally {
+                    for ( InternalWorkingMemory wm : parkedSessions ) {
+                        wm.activate();
+                    }
+                    parkedSessions.clear();
+                }
+                return true;
+            } finally {
+                delegate.kBaseInternal_writeUnlock();
+            }
+        }
+    }
+
+    private boolean tryParkIdleSessions() {
+        parkedSessions.retainAll( statefulSessions );
+        List<InternalWorkingMemory> deactivatedWMs = new ArrayList<>();
+        for ( InternalWorkingMemory wm : getWorkingMemories() ) {
+            if ( parkedSessions.contains( wm ) ) {
+                continue;
+            }
+            if (wm.tryDeactivate()) {
+                deactivatedWMs.add(wm);
+            } else {
+                for (InternalWorkingMemory deactivatedWM : deactivatedWMs) {
+                    deactivatedWM.activate();
+                }
+                return false;
+            }
+        }
+        parkedSessions.addAll( deactivatedWMs );
+        return true;
+    }
+
     private void lockAndDeactivate() {
         lock();
         deactivateAllSessions();
@@ -373,7 +525,21 @@ public class SessionsAwareKnowledgeBase implements InternalKnowledgeBase {
             delegate.kBaseInternal_writeLock();
             return true;
         }
+        return tryLockAndDeactivateSessions();
+    }
 
+    /**
+     * As tryLockAndDeactivate, but also gives up when the sessions are already deactivated by another thread
+     * instead of waiting for it to release the lock
+     */
+    private boolean tryLockAndDeactivateWithoutWaiting() {
+        if ( !sessionDeactivationsCounter.compareAndSet( 0, 1 ) ) {
+            return false;
+        }
+        return tryLockAndDeactivateSessions();
+    }
+
+    private boolean tryLockAndDeactivateSessions() {
         boolean locked = delegate.kBaseInternal_tryWriteLock();
         if ( locked && !tryDeactivateAllSessions() ) {
             delegate.kBaseInternal_writeUnlock();
@@ -617,6 +783,10 @@ public class SessionsAwareKnowledgeBase implements InternalKnowledgeBase {
     @Override
     public void readUnlock() {
         delegate.readUnlock();
+        if ( getConfiguration().isVersionedUpdates() && !kbaseModificationsQueue.isEmpty() ) {
+            // the pending modifications could have failed to take the write lock because of this reader
+            tryApplyModifications( null );
+        }
     }
 
     @Override
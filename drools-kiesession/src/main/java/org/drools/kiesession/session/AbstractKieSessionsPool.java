@@ -16,10 +16,12 @@
 
 package org.drools.kiesession.session;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.drools.core.impl.EnvironmentFactory;
+import org.drools.core.util.ScalablePool;
 import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.KieSessionsPool;
@@ -30,12 +32,28 @@ public abstract class AbstractKieSessionsPool implements KieSessionsPool {
 
     protected final int initialSize;
 
+    protected final ScalablePool.Config poolConfig;
+
     private final Map<String, StatefulSessionPool> pools = new ConcurrentHashMap<>();
 
     protected final Environment environment = EnvironmentFactory.newEnvironment();
 
     protected AbstractKieSessionsPool( int initialSize ) {
-        this.initialSize = initialSize;
+        this( new ScalablePool.Config( initialSize ) );
+    }
+
+    protected AbstractKieSessionsPool( ScalablePool.Config poolConfig ) {
+        this.initialSize = poolConfig.getMinSize();
+        this.poolConfig = poolConfig;
+    }
+
+    /**
+     * Returns the usage statistics of each of the pools of sessions, indexed by the key of the pool.
+     */
+    public Map<String, ScalablePool.Statistics> getStatistics() {
+        Map<String, ScalablePool.Statistics> statistics = new HashMap<>();
+        pools.forEach( (key, pool) -> statistics.put( key, pool.getStatistics() ) );
+        return statistics;
     }
 
     @Override
@@ -19,6 +19,7 @@ package org.drools.kiesession.session;
 import org.drools.core.SessionConfiguration;
 import org.drools.kiesession.rulebase.InternalKnowledgeBase;
 import org.drools.core.reteoo.RuntimeComponentFactory;
+import org.drools.core.util.ScalablePool;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.StatelessKieSession;
@@ -32,6 +33,11 @@ public class KieSessionsPoolImpl extends AbstractKieSessionsPool {
         this.kBase = kBase;
     }
 
+    public KieSessionsPoolImpl(InternalKnowledgeBase kBase, ScalablePool.Config poolConfig) {
+        super(poolConfig);
+        this.kBase = kBase;
+    }
+
     @Override
     public KieSession newKieSession() {
         return newKieSession( kBase.getSessionConfiguration() );
@@ -60,7 +66,7 @@ public class KieSessionsPoolImpl extends AbstractKieSessionsPool {
 
     @Override
     protected StatefulSessionPool createStatefulSessionPool( String kSessionName, KieSessionConfiguration conf, boolean stateless ) {
-        return new StatefulSessionPool(kBase, initialSize, () ->
+        return new StatefulSessionPool(kBase, poolConfig, () ->
                 stateless ?
                     ((StatefulKnowledgeSessionImpl ) RuntimeComponentFactory.get().createStatefulSession(kBase, environment, ( SessionConfiguration ) conf, true )).setStateless( true ) :
                     (StatefulKnowledgeSessionImpl ) kBase.newKieSession(conf, environment, true));
@@ -576,7 +576,7 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
             return runner.execute( command, context );
         } finally {
             endBatchExecution();
-            if (kBase.flushModifications() && !stateless) {
+            if (kBase.flushModifications(this) && !stateless) {
                 fireAllRules();
             }
         }
@@ -1090,7 +1090,7 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         try {
             fireCount = this.agenda.fireAllRules( agendaFilter, fireLimit );
         } finally {
-            if (kBase.flushModifications() && !stateless) {
+            if (kBase.flushModifications(this) && !stateless) {
                 fireCount += internalFireAllRules(agendaFilter, fireLimit);
             }
         }
@@ -1220,6 +1220,12 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
                        null );
     }
 
+    @Override
+    public List<FactHandle> insertAll(Collection<?> objects) {
+        checkAlive();
+        return this.entryPointsManager.getDefaultEntryPoint().insertAll( objects );
+    }
+
     public void submit(AtomicAction action) {
         agenda.addPropagation( new PropagationEntry.AbstractPropagationEntry() {
             @Override
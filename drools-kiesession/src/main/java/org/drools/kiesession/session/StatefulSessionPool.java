@@ -27,8 +27,12 @@ public class StatefulSessionPool {
     private final ScalablePool<StatefulKnowledgeSessionImpl> pool;
 
     public StatefulSessionPool( InternalKnowledgeBase kbase, int initialSize, Supplier<StatefulKnowledgeSessionImpl> supplier ) {
+        this( kbase, new ScalablePool.Config( initialSize ), supplier );
+    }
+
+    public StatefulSessionPool( InternalKnowledgeBase kbase, ScalablePool.Config poolConfig, Supplier<StatefulKnowledgeSessionImpl> supplier ) {
         this.kbase = kbase;
-        this.pool = new ScalablePool<>(initialSize, supplier, s -> s.reset(), s -> s.fromPool(null).dispose());
+        this.pool = new ScalablePool<>(poolConfig, supplier, s -> s.reset(), s -> s.fromPool(null).dispose());
     }
 
     public InternalKnowledgeBase getKieBase() {
@@ -43,6 +47,10 @@ public class StatefulSessionPool {
         pool.release( session );
     }
 
+    public ScalablePool.Statistics getStatistics() {
+        return pool.getStatistics();
+    }
+
     public void shutdown() {
         pool.shutdown();
     }
@@ -2962,7 +2962,45 @@ public class AccumulateTest extends BaseModelTest {
         ksession.fireAllRules();
         assertEquals(1, result.size());
         assertEquals(36, result.get(0).intValue());
-        assertEquals(2, accFunction.getAccumulateCount());
+        // the max function is now fully reversible, so only the modified value gets accumulated again
+        assertEquals(1, accFunction.getAccumulateCount());
+    }
+
+    @Test
+    public void testReversibleMaxAndMedian() {
+        String str =
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.List result;\n" +
+                "rule R when\n" +
+                "  accumulate ( Person($age : age), $max : max( $age ), $median : median( $age ) )" +
+                "then\n" +
+                "  result.add($max);\n" +
+                "  result.add($median);\n" +
+                "end";
+
+        KieSession ksession = getKieSession( str );
+
+        List<Number> result = new ArrayList<>();
+        ksession.setGlobal("result", result);
+
+        FactHandle marioFH = ksession.insert( new Person( "Mario", 46 ) );
+        ksession.insert( new Person( "Mark", 42 ) );
+        ksession.insert( new Person( "Luca", 36 ) );
+        FactHandle edsonFH = ksession.insert( new Person( "Edson", 35 ) );
+
+        ksession.fireAllRules();
+        assertThat(result).containsExactly(46, 39.0);
+        result.clear();
+
+        ksession.delete( marioFH );
+        ksession.fireAllRules();
+        assertThat(result).containsExactly(42, 36.0);
+        result.clear();
+
+        ksession.delete( edsonFH );
+        ksession.insert( new Person( "Matteo", 42 ) );
+        ksession.fireAllRules();
+        assertThat(result).containsExactly(42, 42.0);
     }
 
     public static class CountingIntegerMaxAccumulateFunction extends IntegerMaxAccumulateFunction {
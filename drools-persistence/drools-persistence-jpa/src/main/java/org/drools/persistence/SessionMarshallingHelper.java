@@ -38,6 +38,9 @@ public class SessionMarshallingHelper {
     private InternalMarshaller            marshaller;
     private Environment                   env;
 
+    // the size of the last written or loaded snapshot, used to size the buffer of the next one
+    private int                           snapshotSize = 32;
+
     /**
      * Exist Info, so load session from here
      */
@@ -73,7 +76,9 @@ public class SessionMarshallingHelper {
     }
 
     public byte[] getSnapshot() {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        // a session usually doesn't change much between two snapshots, so sizing the buffer on the last one
+        // avoids copying the whole snapshot again and again while the buffer grows
+        ByteArrayOutputStream baos = new ByteArrayOutputStream( (int) Math.min( snapshotSize + snapshotSize / 8L, Integer.MAX_VALUE - 8 ) );
         try {
             marshaller.marshall( baos,
                                  ksession );
@@ -82,13 +87,16 @@ public class SessionMarshallingHelper {
                                         e );
         }
 
-        return baos.toByteArray();
+        byte[] snapshot = baos.toByteArray();
+        snapshotSize = snapshot.length;
+        return snapshot;
     }
 
     public KieSession loadSnapshot( byte[] bytes,
                                     KieSession ksession,
                                     KieSessionInitializer initializer ) {
         this.ksession = ksession;
+        this.snapshotSize = bytes.length;
         ByteArrayInputStream bais = new ByteArrayInputStream( bytes );
         try {
             this.marshaller.setInitializer( initializer );
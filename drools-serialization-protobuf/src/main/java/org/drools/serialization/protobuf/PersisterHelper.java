@@ -19,6 +19,8 @@ package org.drools.serialization.protobuf;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectOutput;
+import java.io.OutputStream;
 import java.security.InvalidKeyException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -166,11 +168,30 @@ public class PersisterHelper extends MarshallingHelper {
             }
         }
 
-        byte[] buff = payload.toByteArray();
+        // the payload is serialized only once and written straight to the stream, without any intermediate copy
+        ByteString buff = payload.toByteString();
         sign( _header, buff );
-        _header.setPayload( ByteString.copyFrom( buff ) );
+        _header.setPayload( buff );
 
-        context.write( _header.build().toByteArray() );
+        _header.build().writeTo( asOutputStream( context ) );
+    }
+
+    /**
+     * Exposes the marshalling context as an OutputStream, so that a message can be written into it without
+     * first copying it into a byte[]
+     */
+    private static OutputStream asOutputStream( ObjectOutput output ) {
+        return new OutputStream() {
+            @Override
+            public void write( int b ) throws IOException {
+                output.write( b );
+            }
+
+            @Override
+            public void write( byte[] b, int off, int len ) throws IOException {
+                output.write( b, off, len );
+            }
+        };
     }
 
     private static void writeRuntimeDefinedClasses( TraitFactory traitFactory, MarshallerWriteContext context, ProtobufMessages.Header.Builder _header) {
@@ -215,13 +236,13 @@ public class PersisterHelper extends MarshallingHelper {
     }
 
     private static void sign(ProtobufMessages.Header.Builder _header,
-                             byte[] buff ) {
+                             ByteString buff ) {
         KeyStoreHelper helper = KeyStoreHelper.get();
         if (helper.isSigned()) {
             try {
                 _header.setSignature( ProtobufMessages.Signature.newBuilder()
                                       .setKeyAlias( helper.getPvtKeyAlias() )
-                                      .setSignature( ByteString.copyFrom( helper.signDataWithPrivateKey( buff ) ) )
+                                      .setSignature( ByteString.copyFrom( helper.signDataWithPrivateKey( buff.toByteArray() ) ) )
                                       .build() );
             } catch (Exception e) {
                 throw new RuntimeException( "Error signing session: " + e.getMessage(),
@@ -233,10 +254,8 @@ public class PersisterHelper extends MarshallingHelper {
     private static ProtobufMessages.Header loadStrategiesCheckSignature( MarshallerReaderContext context, ProtobufMessages.Header _header) throws ClassNotFoundException, IOException {
         loadStrategiesIndex( context, _header );
 
-        byte[] sessionbuff = _header.getPayload().toByteArray();
-
         // should we check version as well here?
-        checkSignature( _header, sessionbuff );
+        checkSignature( _header, _header.getPayload() );
         
         return _header;
     }
@@ -303,7 +322,7 @@ public class PersisterHelper extends MarshallingHelper {
     }
 
     private static void checkSignature(Header _header,
-                                       byte[] sessionbuff) {
+                                       ByteString sessionbuff) {
         KeyStoreHelper helper = KeyStoreHelper.get();
         boolean signed = _header.hasSignature();
         if ( helper.isSigned() != signed ) {
@@ -318,7 +337,7 @@ public class PersisterHelper extends MarshallingHelper {
             }
             try {
                 if ( !helper.checkDataWithPublicKey( _header.getSignature().getKeyAlias(),
-                                                     sessionbuff,
+                                                     sessionbuff.toByteArray(),
                                                      _header.getSignature().getSignature().toByteArray() ) ) {
                     throw new RuntimeException( "Signature does not match serialized package. This is a security violation. Deserialisation aborted." );
                 }
@@ -485,20 +485,30 @@ public class ProtobufInputMarshaller {
                                            handle.getObject() );
                 }
 
-                // add handle to object type node
+                // add handle to object type node, the propagations are flushed only once all the handles are read
                 assertHandleIntoOTN( context,
                                      wm,
                                      handle,
-                                     pctxs );
+                                     pctxs,
+                                     false );
             }
         }
 
+        wm.flushPropagations();
     }
 
     private static void assertHandleIntoOTN( ProtobufMarshallerReaderContext context,
                                              InternalWorkingMemory wm,
                                              InternalFactHandle handle,
                                              List<PropagationContext> pctxs) {
+        assertHandleIntoOTN( context, wm, handle, pctxs, true );
+    }
+
+    private static void assertHandleIntoOTN( ProtobufMarshallerReaderContext context,
+                                             InternalWorkingMemory wm,
+                                             InternalFactHandle handle,
+                                             List<PropagationContext> pctxs,
+                                             boolean flush ) {
         Object object = handle.getObject();
         WorkingMemoryEntryPoint ep = handle.getEntryPoint(wm);
         ObjectTypeConf typeConf = ep.getObjectTypeConfigurationRegistry().getOrCreateObjectTypeConf( ep.getEntryPoint(), object );
@@ -514,7 +524,9 @@ public class ProtobufInputMarshaller {
                                              typeConf,
                                              wm );
 
-        wm.flushPropagations();
+        if ( flush ) {
+            wm.flushPropagations();
+        }
     }
 
     private static void cleanReaderContexts(List<PropagationContext> pctxs) {
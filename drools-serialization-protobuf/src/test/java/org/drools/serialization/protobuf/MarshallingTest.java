@@ -921,6 +921,51 @@ public class MarshallingTest extends CommonTestMethodBase {
         }
     }
 
+    /*
+     *  The payload of a session snapshot is written straight into the marshalling stream,
+     *  both when it is signed and when it isn't
+     */
+    @Test
+    public void testSessionRoundTrip() throws Exception {
+        assertSessionRoundTrip();
+        try {
+            setPrivateKeyProperties();
+            setPublicKeyProperties();
+            assertSessionRoundTrip();
+        } finally {
+            unsetPrivateKeyProperties();
+            unsetPublicKeyProperties();
+        }
+    }
+
+    private void assertSessionRoundTrip() throws Exception {
+        String rule = "package org.drools.test\n" +
+                      "import " + Cheese.class.getCanonicalName() + "\n" +
+                      "global java.util.List list\n" +
+                      "rule R when\n" +
+                      "    $c : Cheese( price >= 10 )\n" +
+                      "then\n" +
+                      "    list.add( $c.getType() );\n" +
+                      "end\n";
+
+        KieBase kBase = loadKnowledgeBaseFromString( rule );
+        KieSession ksession = kBase.newKieSession();
+        ksession.setGlobal( "list", new ArrayList<String>() );
+        // a payload larger than the buffer used by protobuf to write it into the stream
+        for ( int i = 0; i < 1000; i++ ) {
+            ksession.insert( new Cheese( "cheese" + i, i ) );
+        }
+
+        ksession = getSerialisedStatefulKnowledgeSession( ksession, true );
+        List<String> list = new ArrayList<>();
+        ksession.setGlobal( "list", list );
+        assertEquals( 1000, ksession.getFactCount() );
+        assertEquals( 990, ksession.fireAllRules() );
+        assertTrue( list.contains( "cheese999" ) );
+        assertFalse( list.contains( "cheese9" ) );
+        ksession.dispose();
+    }
+
     private void setPublicKeyProperties() {
         // Set the client properties to de-serialise the signed packages
         URL clientKeyStoreURL = getClass().getResource( "droolsClient.keystore" );
@@ -14,8 +14,10 @@
 
 package org.drools.serialization.protobuf;
 
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,6 +43,7 @@ import org.kie.api.KieBase;
 import org.kie.api.definition.KiePackage;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.EntryPoint;
 import org.kie.api.runtime.rule.FactHandle;
 import org.kie.internal.builder.KnowledgeBuilder;
 import org.kie.internal.builder.KnowledgeBuilderFactory;
@@ -285,6 +288,79 @@ public class TruthMaintenanceTest extends CommonTestMethodBase {
         }
     }
 
+    @Test(timeout=10000)
+    public void testLogicalAndStatedFactsInSeveralEntryPoints() throws Exception {
+        String drl =
+                "package org.drools.compiler.test\n" +
+                "import " + Cheese.class.getCanonicalName() + "\n" +
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "global java.util.List list\n" +
+                "rule Logical when\n" +
+                "    $c : Cheese( price > 10 ) from entry-point cheeses\n" +
+                "then\n" +
+                "    insertLogical( new Person( $c.getType() ) );\n" +
+                "end\n" +
+                "rule Join when\n" +
+                "    $p : Person()\n" +
+                "    Cheese( type == $p.name ) from entry-point cheeses\n" +
+                "    String( this == $p.name ) from entry-point names\n" +
+                "then\n" +
+                "    list.add( $p.getName() );\n" +
+                "end\n";
+
+        KieBase kbase = loadKnowledgeBaseFromString( drl );
+        KieSession ksession = createKnowledgeSession( kbase );
+        try {
+            List<String> list = new ArrayList<>();
+            ksession.setGlobal( "list", list );
+
+            ksession.getEntryPoint( "cheeses" ).insert( new Cheese( "a", 5 ) );
+            ksession.getEntryPoint( "cheeses" ).insert( new Cheese( "b", 20 ) );
+            ksession.getEntryPoint( "cheeses" ).insert( new Cheese( "c", 30 ) );
+            ksession.getEntryPoint( "cheeses" ).insert( new Cheese( "d", 1 ) );
+            ksession.insert( new Person( "d" ) );
+            for ( String name : new String[] { "a", "b", "c", "d" } ) {
+                ksession.getEntryPoint( "names" ).insert( name );
+            }
+            assertEquals( 5, ksession.fireAllRules() );
+            assertEquals( 3, list.size() );
+
+            // stated facts inserted in all the entry points but not evaluated yet
+            ksession.insert( new Person( "e" ) );
+            ksession.getEntryPoint( "cheeses" ).insert( new Cheese( "e", 1 ) );
+            ksession.getEntryPoint( "names" ).insert( "e" );
+
+            ksession = getSerialisedStatefulKnowledgeSession( ksession, true );
+            list = new ArrayList<>();
+            ksession.setGlobal( "list", list );
+
+            // 2 justified and 2 stated persons, the memories of the 3 entry points restored with the handles
+            assertEquals( 4, ksession.getObjects( new ClassObjectFilter( Person.class ) ).size() );
+            assertEquals( 5, ksession.getEntryPoint( "cheeses" ).getFactCount() );
+            assertEquals( 5, ksession.getEntryPoint( "names" ).getFactCount() );
+
+            // the Logical activations may fire again, but they only justify the existing persons
+            ksession.fireAllRules();
+            assertEquals( Collections.singletonList( "e" ), list );
+            assertEquals( 4, ksession.getObjects( new ClassObjectFilter( Person.class ) ).size() );
+
+            // a new justification joins the restored facts of the other entry points
+            EntryPoint cheeses = ksession.getEntryPoint( "cheeses" );
+            FactHandle cheeseA = null;
+            for ( FactHandle fh : cheeses.getFactHandles() ) {
+                if ( "a".equals( ( (Cheese) cheeses.getObject( fh ) ).getType() ) ) {
+                    cheeseA = fh;
+                }
+            }
+            cheeses.update( cheeseA, new Cheese( "a", 50 ) );
+            assertEquals( 2, ksession.fireAllRules() );
+            assertEquals( Arrays.asList( "e", "a" ), list );
+            assertEquals( 5, ksession.getObjects( new ClassObjectFilter( Person.class ) ).size() );
+        } finally {
+            ksession.dispose();
+        }
+    }
+
     @Test(timeout=10000)
     public void testLogicalInsertionsBacking() throws Exception {
         final KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
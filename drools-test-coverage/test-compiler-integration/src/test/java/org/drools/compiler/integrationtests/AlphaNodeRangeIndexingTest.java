@@ -20,6 +20,11 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.drools.ancompiler.CompiledNetwork;
 import org.drools.core.reteoo.CompositeObjectSinkAdapter;
@@ -48,12 +53,16 @@ import org.kie.api.builder.KieModule;
 import org.kie.api.builder.ReleaseId;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ThreadSafeOption;
+import org.kie.internal.conf.AlphaAdaptiveIndexingOption;
 import org.kie.internal.conf.AlphaRangeIndexThresholdOption;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeFalse;
 
 @RunWith(Parameterized.class)
 public class AlphaNodeRangeIndexingTest {
@@ -1172,4 +1181,156 @@ public class AlphaNodeRangeIndexingTest {
         fired = ksession.fireAllRules();
         assertEquals(2, fired);
     }
+
+    private static final String SELECTIVE_DRL =
+            "package org.drools.compiler.test\n" +
+                                            "import " + Person.class.getCanonicalName() + "\n" +
+                                            "rule test1\n when\n" +
+                                            "   Person( age > 20 )\n" +
+                                            "then\n end\n" +
+                                            "rule test2\n when\n" +
+                                            "   Person( age > 30 )\n" +
+                                            "then\n end\n" +
+                                            "rule test3\n when\n" +
+                                            "   Person( age > 40 )\n" +
+                                            "then\n end\n" +
+                                            "rule test4\n when\n" +
+                                            "   Person( age > 50 )\n" +
+                                            "then\n end\n";
+
+    // 1 propagation every 64 is sampled and the selectivity is evaluated on a window of 256 samples
+    private static final int ADAPTIVE_INDEXING_FACTS = 64 * 256;
+
+    private KieBase createKieBaseWithAdaptiveIndexing(String drl, int rangeIndexThresholdValue) {
+        final KieModule kieModule = KieUtil.getKieModuleFromDrls("indexing-test", kieBaseTestConfiguration, drl);
+        final KieContainer kieContainer = KieServices.get().newKieContainer(kieModule.getReleaseId());
+        final KieBaseConfiguration kieBaseConfiguration = kieBaseTestConfiguration.getKieBaseConfiguration();
+        kieBaseConfiguration.setOption(AlphaRangeIndexThresholdOption.get(rangeIndexThresholdValue));
+        kieBaseConfiguration.setOption(AlphaAdaptiveIndexingOption.YES);
+        return kieContainer.newKieBase(kieBaseConfiguration);
+    }
+
+    @Test
+    public void testAdaptiveRangeIndexingOfSelectiveConstraints() {
+        // the compiled alpha network doesn't propagate through the CompositeObjectSinkAdapter
+        assumeFalse(kieBaseTestConfiguration.useAlphaNetworkCompiler());
+
+        final KieBase kbase = createKieBaseWithAdaptiveIndexing(SELECTIVE_DRL, AlphaRangeIndexThresholdOption.DEFAULT_VALUE);
+        final KieSession ksession = kbase.newKieSession();
+
+        assertSinks(kbase, Person.class, 4, 4, 4, 0); // below the static threshold: no range index
+
+        for (int i = 0; i < ADAPTIVE_INDEXING_FACTS; i++) {
+            ksession.insert(new Person("Child" + i, 10));
+        }
+        assertEquals(0, ksession.fireAllRules());
+
+        assertSinks(kbase, Person.class, 4, 4, 0, 4); // no constraint matches the sampled facts: range indexed
+
+        ksession.insert(new Person("Paul", 35));
+        assertEquals(2, ksession.fireAllRules());
+        ksession.dispose();
+    }
+
+    @Test
+    public void testAdaptiveRangeUnindexingOfUnselectiveConstraints() {
+        assumeFalse(kieBaseTestConfiguration.useAlphaNetworkCompiler());
+
+        final KieBase kbase = createKieBaseWithAdaptiveIndexing(SELECTIVE_DRL, 3);
+        final KieSession ksession = kbase.newKieSession();
+
+        assertSinks(kbase, Person.class, 4, 4, 0, 4);
+
+        for (int i = 0; i < ADAPTIVE_INDEXING_FACTS; i++) {
+            ksession.insert(new Person("Old" + i, 90));
+        }
+        assertEquals(4 * ADAPTIVE_INDEXING_FACTS, ksession.fireAllRules());
+
+        assertSinks(kbase, Person.class, 4, 4, 4, 0); // all the constraints match the sampled facts: range index dropped
+
+        ksession.insert(new Person("Paul", 35));
+        assertEquals(2, ksession.fireAllRules());
+        ksession.dispose();
+    }
+
+    @Test
+    public void testAdaptiveIndexingDuringFireAllRulesOfThreadUnsafeSession() {
+        assumeFalse(kieBaseTestConfiguration.useAlphaNetworkCompiler());
+
+        // the facts are inserted by a consequence, so the re-indexing is triggered while the session is firing
+        final String drl = SELECTIVE_DRL +
+                           "rule generate\n when\n" +
+                           "   Integer( $n : intValue )\n" +
+                           "then\n" +
+                           "   for (int i = 0; i < $n; i++) { insert(new Person(\"Old\" + i, 90)); }\n" +
+                           "end\n";
+
+        final KieBase kbase = createKieBaseWithAdaptiveIndexing(drl, 3);
+        final KieSessionConfiguration conf = KieServices.get().newKieSessionConfiguration();
+        conf.setOption(ThreadSafeOption.NO);
+        final KieSession ksession = kbase.newKieSession(conf, null);
+
+        assertSinks(kbase, Person.class, 4, 4, 0, 4);
+
+        ksession.insert(ADAPTIVE_INDEXING_FACTS);
+        assertEquals(1 + 4 * ADAPTIVE_INDEXING_FACTS, ksession.fireAllRules());
+
+        assertSinks(kbase, Person.class, 4, 4, 4, 0); // re-indexed once the fireAllRules completed
+
+        ksession.insert(new Person("Paul", 35));
+        assertEquals(2, ksession.fireAllRules());
+        ksession.dispose();
+    }
+
+    @Test(timeout = 60000L)
+    public void testAdaptiveIndexingDoesNotWaitForAnotherFiringSession() throws Exception {
+        assumeFalse(kieBaseTestConfiguration.useAlphaNetworkCompiler());
+
+        final String drl = SELECTIVE_DRL.replace("rule test1", "global " + CountDownLatch.class.getCanonicalName() + " started\n" +
+                                                               "global " + CountDownLatch.class.getCanonicalName() + " release\n" +
+                                                               "rule test1") +
+                           "rule wait\n when\n" +
+                           "   String()\n" +
+                           "then\n" +
+                           "   started.countDown();\n" +
+                           "   release.await();\n" +
+                           "end\n";
+
+        final KieBase kbase = createKieBaseWithAdaptiveIndexing(drl, 3);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final KieSession firingSession = kbase.newKieSession();
+        firingSession.setGlobal("started", started);
+        firingSession.setGlobal("release", release);
+        firingSession.insert("wait");
+
+        final KieSession ksession = kbase.newKieSession();
+        ksession.setGlobal("started", new CountDownLatch(0));
+        ksession.setGlobal("release", new CountDownLatch(0));
+
+        assertSinks(kbase, Person.class, 4, 4, 0, 4);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<Integer> firing = executor.submit(() -> firingSession.fireAllRules());
+            started.await();
+
+            for (int i = 0; i < ADAPTIVE_INDEXING_FACTS; i++) {
+                ksession.insert(new Person("Old" + i, 90));
+            }
+            // the re-indexing cannot be applied while the other session is firing, but this doesn't wait for it
+            assertEquals(4 * ADAPTIVE_INDEXING_FACTS, (int) executor.submit(() -> ksession.fireAllRules()).get(30, TimeUnit.SECONDS));
+            assertSinks(kbase, Person.class, 4, 4, 0, 4);
+
+            release.countDown();
+            assertEquals(1, (int) firing.get(30, TimeUnit.SECONDS));
+            assertSinks(kbase, Person.class, 4, 4, 4, 0); // re-indexed at the end of the fireAllRules of the other session
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            firingSession.dispose();
+            ksession.dispose();
+        }
+    }
 }
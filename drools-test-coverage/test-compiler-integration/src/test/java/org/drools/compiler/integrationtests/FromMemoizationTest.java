@@ -0,0 +1,297 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.testcoverage.common.model.Person;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.conf.FromMemoizationOption;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class FromMemoizationTest {
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public FromMemoizationTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    @Test
+    public void testFromResultsAreReusedWhenTheirInputsDoNotChange() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "import " + Basket.class.getCanonicalName() + "\n" +
+                "global java.util.List list\n" +
+                "rule R when\n" +
+                "  $p : Person( $name : name ) @watch( age )\n" +
+                "  $b : Basket( owner == $name ) @watch( items, discount )\n" +
+                "  $i : String( length > 1 ) from $b.items\n" +
+                "then\n" +
+                "  list.add( $i );\n" +
+                "end\n";
+
+        final KieBase kieBase;
+        System.setProperty(FromMemoizationOption.PROPERTY_NAME, "true");
+        try {
+            kieBase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("from-memoization-test", kieBaseTestConfiguration, drl);
+        } finally {
+            System.clearProperty(FromMemoizationOption.PROPERTY_NAME);
+        }
+
+        final KieSession kieSession = kieBase.newKieSession();
+        try {
+            final List<String> list = new ArrayList<>();
+            kieSession.setGlobal("list", list);
+
+            final Person person = new Person("Mark", 37);
+            final Basket basket = new Basket("Mark");
+            basket.getItems().add("ab");
+            basket.getItems().add("c");
+            basket.getItems().add("de");
+            final FactHandle personHandle = kieSession.insert(person);
+            final FactHandle basketHandle = kieSession.insert(basket);
+
+            assertEquals(2, kieSession.fireAllRules());
+            final int reads = basket.getItemsReads();
+
+            // the from doesn't use the person, so its results are reused
+            person.setAge(38);
+            kieSession.update(personHandle, person, "age");
+            assertEquals(2, kieSession.fireAllRules());
+            assertEquals(reads, basket.getItemsReads());
+
+            // any modification of the basket evaluates the from again
+            basket.setDiscount(10);
+            kieSession.update(basketHandle, basket, "discount");
+            assertEquals(2, kieSession.fireAllRules());
+            assertTrue(basket.getItemsReads() > reads);
+
+            // a modification of the items evaluates the from again
+            basket.getItems().add("fg");
+            kieSession.update(basketHandle, basket, "items");
+            list.clear();
+            assertEquals(3, kieSession.fireAllRules());
+            assertEquals(3, list.size());
+
+            // as does a different value of one of its declarations
+            final Basket otherBasket = new Basket("Mark");
+            otherBasket.getItems().add("hi");
+            kieSession.update(basketHandle, otherBasket, "items");
+            list.clear();
+            assertEquals(1, kieSession.fireAllRules());
+            assertEquals("hi", list.get(0));
+        } finally {
+            kieSession.dispose();
+        }
+    }
+
+    @Test
+    public void testFromResultsAreNotReusedAfterAModificationNotPropagatedToTheRule() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "import " + Basket.class.getCanonicalName() + "\n" +
+                "global java.util.List list\n" +
+                "rule R when\n" +
+                "  $p : Person( $name : name ) @watch( age )\n" +
+                "  $b : Basket( owner == $name )\n" +
+                "  $i : String( length > 1 ) from $b.items\n" +
+                "then\n" +
+                "  list.add( $i );\n" +
+                "end\n";
+
+        final KieBase kieBase;
+        System.setProperty(FromMemoizationOption.PROPERTY_NAME, "true");
+        try {
+            kieBase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("from-memoization-test", kieBaseTestConfiguration, drl);
+        } finally {
+            System.clearProperty(FromMemoizationOption.PROPERTY_NAME);
+        }
+
+        final KieSession kieSession = kieBase.newKieSession();
+        try {
+            final List<String> list = new ArrayList<>();
+            kieSession.setGlobal("list", list);
+
+            final Person person = new Person("Mark", 37);
+            final Basket basket = new Basket("Mark");
+            basket.getItems().add("ab");
+            basket.getItems().add("c");
+            final FactHandle personHandle = kieSession.insert(person);
+            final FactHandle basketHandle = kieSession.insert(basket);
+
+            assertEquals(1, kieSession.fireAllRules());
+            assertEquals(asList("ab"), list);
+
+            // the items are not listened by the basket pattern, so the modification doesn't reach the rule
+            basket.getItems().add("de");
+            kieSession.update(basketHandle, basket, "items");
+            assertEquals(0, kieSession.fireAllRules());
+
+            // but the from is evaluated again when the tuple is updated through the person, as without memoization
+            person.setAge(38);
+            kieSession.update(personHandle, person, "age");
+            list.clear();
+            assertEquals(2, kieSession.fireAllRules());
+            assertEquals(2, list.size());
+            assertTrue(list.containsAll(asList("ab", "de")));
+        } finally {
+            kieSession.dispose();
+        }
+    }
+
+    @Test
+    public void testMemoizedResultsModifiedInPlaceAreEvaluatedAgain() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "import " + Team.class.getCanonicalName() + "\n" +
+                "global java.util.List list\n" +
+                "rule R when\n" +
+                "  $p : Person( $name : name ) @watch( age )\n" +
+                "  $t : Team( owner == $name )\n" +
+                "  $m : Person( age > 18 ) from $t.members\n" +
+                "then\n" +
+                "  list.add( $m.getName() );\n" +
+                "end\n";
+
+        final KieBase kieBase;
+        System.setProperty(FromMemoizationOption.PROPERTY_NAME, "true");
+        try {
+            kieBase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("from-memoization-test", kieBaseTestConfiguration, drl);
+        } finally {
+            System.clearProperty(FromMemoizationOption.PROPERTY_NAME);
+        }
+
+        final KieSession kieSession = kieBase.newKieSession();
+        try {
+            final List<String> list = new ArrayList<>();
+            kieSession.setGlobal("list", list);
+
+            final Person owner = new Person("Mark", 37);
+            final Person adult = new Person("Edson", 20);
+            final Person child = new Person("Mario", 10);
+            final Team team = new Team("Mark");
+            team.getMembers().add(adult);
+            team.getMembers().add(child);
+            final FactHandle ownerHandle = kieSession.insert(owner);
+            kieSession.insert(team);
+
+            assertEquals(1, kieSession.fireAllRules());
+            assertEquals(asList("Edson"), list);
+            final int reads = team.getMembersReads();
+
+            // the members are not facts, so modifying them doesn't evaluate the from again
+            adult.setAge(5);
+            child.setAge(30);
+
+            // but updating the tuple through another fact checks the reused results against the constraints again
+            owner.setAge(38);
+            kieSession.update(ownerHandle, owner, "age");
+            list.clear();
+            assertEquals(1, kieSession.fireAllRules());
+            assertEquals(asList("Mario"), list);
+            assertEquals(reads, team.getMembersReads());
+
+            adult.setAge(40);
+            owner.setAge(39);
+            kieSession.update(ownerHandle, owner, "age");
+            list.clear();
+            assertEquals(2, kieSession.fireAllRules());
+            assertEquals(2, list.size());
+            assertTrue(list.containsAll(asList("Edson", "Mario")));
+            assertEquals(reads, team.getMembersReads());
+        } finally {
+            kieSession.dispose();
+        }
+    }
+
+    public static class Team {
+
+        private final String owner;
+        private final List<Person> members = new ArrayList<>();
+        private int membersReads;
+
+        public Team(final String owner) {
+            this.owner = owner;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public List<Person> getMembers() {
+            membersReads++;
+            return members;
+        }
+
+        public int getMembersReads() {
+            return membersReads;
+        }
+    }
+
+    public static class Basket {
+
+        private final String owner;
+        private final List<String> items = new ArrayList<>();
+        private int discount;
+        private int itemsReads;
+
+        public Basket(final String owner) {
+            this.owner = owner;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public List<String> getItems() {
+            itemsReads++;
+            return items;
+        }
+
+        public int getDiscount() {
+            return discount;
+        }
+
+        public void setDiscount(final int discount) {
+            this.discount = discount;
+        }
+
+        public int getItemsReads() {
+            return itemsReads;
+        }
+    }
+}
@@ -40,8 +40,8 @@ import org.drools.core.reteoo.NotNode;
 import org.drools.core.reteoo.ObjectTypeNode;
 import org.drools.core.reteoo.ReteDumper;
 import org.drools.core.reteoo.RightTuple;
+import org.drools.core.reteoo.TupleMemory;
 import org.drools.core.util.FastIterator;
-import org.drools.core.util.index.TupleIndexHashTable;
 import org.drools.core.util.index.TupleList;
 import org.drools.kiesession.session.StatefulKnowledgeSessionImpl;
 import org.drools.testcoverage.common.model.Cheese;
@@ -205,14 +205,14 @@ public class IndexingTest {
             SingleBetaConstraints c = (SingleBetaConstraints) j2.getRawConstraints();
             assertTrue(c.isIndexed());
             BetaMemory bm = (BetaMemory) wm.getNodeMemory(j2);
-            assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexHashTable);
-            assertTrue(bm.getRightTupleMemory() instanceof TupleIndexHashTable);
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getLeftTupleMemory().getIndexType());
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getRightTupleMemory().getIndexType());
 
             c = (SingleBetaConstraints) j3.getRawConstraints();
             assertTrue(c.isIndexed());
             bm = (BetaMemory) wm.getNodeMemory(j3);
-            assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexHashTable);
-            assertTrue(bm.getRightTupleMemory() instanceof TupleIndexHashTable);
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getLeftTupleMemory().getIndexType());
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getRightTupleMemory().getIndexType());
 
             c = (SingleBetaConstraints) j4.getRawConstraints();
             assertFalse(c.isIndexed());
@@ -223,14 +223,14 @@ public class IndexingTest {
             c = (SingleBetaConstraints) j5.getRawConstraints();
             assertTrue(c.isIndexed());
             bm = (BetaMemory) wm.getNodeMemory(j5);
-            assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexHashTable);
-            assertTrue(bm.getRightTupleMemory() instanceof TupleIndexHashTable);
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getLeftTupleMemory().getIndexType());
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getRightTupleMemory().getIndexType());
 
             c = (SingleBetaConstraints) j6.getRawConstraints();
             assertTrue(c.isIndexed());
             bm = (BetaMemory) wm.getNodeMemory(j6);
-            assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexHashTable);
-            assertTrue(bm.getRightTupleMemory() instanceof TupleIndexHashTable);
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getLeftTupleMemory().getIndexType());
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getRightTupleMemory().getIndexType());
 
             c = (SingleBetaConstraints) j7.getRawConstraints();
             assertFalse(c.isIndexed());
@@ -276,8 +276,8 @@ public class IndexingTest {
             final TripleNonIndexSkipBetaConstraints c = (TripleNonIndexSkipBetaConstraints) j.getRawConstraints();
             assertTrue(c.isIndexed());
             final BetaMemory bm = (BetaMemory) wm.getNodeMemory(j);
-            assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexHashTable);
-            assertTrue(bm.getRightTupleMemory() instanceof TupleIndexHashTable);
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getLeftTupleMemory().getIndexType());
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getRightTupleMemory().getIndexType());
         } finally {
             wm.dispose();
         }
@@ -314,8 +314,8 @@ public class IndexingTest {
             final DoubleNonIndexSkipBetaConstraints c = (DoubleNonIndexSkipBetaConstraints) n.getRawConstraints();
             assertTrue(c.isIndexed());
             final BetaMemory bm = (BetaMemory) wm.getNodeMemory(n);
-            assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexHashTable);
-            assertTrue(bm.getRightTupleMemory() instanceof TupleIndexHashTable);
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getLeftTupleMemory().getIndexType());
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getRightTupleMemory().getIndexType());
 
             final Map<String, Integer> map = new HashMap<>();
             map.put("inserted", 0);
@@ -447,8 +447,8 @@ public class IndexingTest {
             final DoubleNonIndexSkipBetaConstraints c = (DoubleNonIndexSkipBetaConstraints) n.getRawConstraints();
             assertTrue(c.isIndexed());
             final BetaMemory bm = (BetaMemory) wm.getNodeMemory(n);
-            assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexHashTable);
-            assertTrue(bm.getRightTupleMemory() instanceof TupleIndexHashTable);
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getLeftTupleMemory().getIndexType());
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getRightTupleMemory().getIndexType());
 
             wm.openLiveQuery("peeps", new Object[]{Variable.v, 99}, new ViewChangedEventListener() {
                 @Override
@@ -872,8 +872,8 @@ public class IndexingTest {
             SingleBetaConstraints c = (SingleBetaConstraints) j2.getRawConstraints();
             assertTrue(c.isIndexed());
             BetaMemory bm = (BetaMemory) wm.getNodeMemory(j2);
-            assertTrue(bm.getLeftTupleMemory() instanceof TupleIndexHashTable);
-            assertTrue(bm.getRightTupleMemory() instanceof TupleIndexHashTable);
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getLeftTupleMemory().getIndexType());
+            assertEquals(TupleMemory.IndexType.EQUAL, bm.getRightTupleMemory().getIndexType());
         } finally {
             wm.dispose();
         }
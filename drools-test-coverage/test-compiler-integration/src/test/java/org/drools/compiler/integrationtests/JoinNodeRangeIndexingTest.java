@@ -23,14 +23,18 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import org.drools.ancompiler.CompiledNetwork;
 import org.drools.core.common.BetaConstraints;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.reteoo.BetaMemory;
 import org.drools.core.reteoo.JoinNode;
 import org.drools.core.reteoo.ObjectSink;
 import org.drools.core.reteoo.ObjectSinkPropagator;
 import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.util.index.TupleIndexCompositeRangeTree;
 import org.drools.testcoverage.common.model.Cheese;
 import org.drools.testcoverage.common.model.Person;
 import org.drools.testcoverage.common.model.Pet;
@@ -47,6 +51,7 @@ import org.kie.api.KieBase;
 import org.kie.api.builder.KieModule;
 import org.kie.api.conf.BetaRangeIndexOption;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -531,4 +536,137 @@ public class JoinNodeRangeIndexingTest {
             ksession.dispose();
         }
     }
+
+    @Test
+    public void testCompositeRangeIndexForJoin() {
+        final String drl = "import " + Interval.class.getCanonicalName() + ";\n" +
+                           "rule R1\n" +
+                           "when\n" +
+                           "   $outer : Interval()\n" +
+                           "   $inner : Interval( start > $outer.start, end < $outer.end )\n" +
+                           "then\n" +
+                           "   insertLogical( $outer.getId() + \" contains \" + $inner.getId() );\n" +
+                           "end\n" +
+                           "rule R2\n" +
+                           "when\n" +
+                           "   $outer : Interval()\n" +
+                           "   not Interval( start > $outer.start, end < $outer.end )\n" +
+                           "then\n" +
+                           "   insertLogical( $outer.getId() + \" is empty\" );\n" +
+                           "end\n";
+
+        final KieBase kbase = getKieBaseWithRangeIndexOption(drl);
+
+        assertIndexedTrue(kbase, Interval.class);
+
+        final KieSession ksession = kbase.newKieSession();
+        try {
+            JoinNode join = getJoinNode(kbase, Interval.class);
+            BetaMemory bm = (BetaMemory) ((InternalWorkingMemory) ksession).getNodeMemory(join);
+            assertThat(bm.getLeftTupleMemory()).isInstanceOf(TupleIndexCompositeRangeTree.class);
+            assertThat(bm.getRightTupleMemory()).isInstanceOf(TupleIndexCompositeRangeTree.class);
+
+            final Random random = new Random(0);
+            final List<Interval> intervals = new ArrayList<>();
+            final Map<Interval, FactHandle> handles = new HashMap<>();
+            for (int i = 0; i < 300; i++) {
+                final Interval interval = new Interval("I" + i, random.nextInt(1000), random.nextInt(1000));
+                intervals.add(interval);
+                handles.put(interval, ksession.insert(interval));
+            }
+            ksession.fireAllRules();
+            assertThat(getStrings(ksession)).isEqualTo(expectedContainments(intervals));
+
+            for (int i = 0; i < 100; i++) {
+                final Interval interval = intervals.get(random.nextInt(intervals.size()));
+                interval.setStart(random.nextInt(1000));
+                interval.setEnd(random.nextInt(1000));
+                ksession.update(handles.get(interval), interval);
+            }
+            for (int i = 0; i < 50; i++) {
+                final Interval interval = intervals.remove(random.nextInt(intervals.size()));
+                ksession.delete(handles.remove(interval));
+            }
+            for (int i = 300; i < 350; i++) {
+                final Interval interval = new Interval("I" + i, random.nextInt(1000), random.nextInt(1000));
+                intervals.add(interval);
+                handles.put(interval, ksession.insert(interval));
+            }
+            ksession.fireAllRules();
+            assertThat(getStrings(ksession)).isEqualTo(expectedContainments(intervals));
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    private JoinNode getJoinNode(KieBase kbase, Class<?> factClass) {
+        ObjectSinkPropagator objectSinkPropagator = KieUtil.getObjectTypeNode(kbase, factClass).getObjectSinkPropagator();
+        if (this.kieBaseTestConfiguration.useAlphaNetworkCompiler()) {
+            objectSinkPropagator = ((CompiledNetwork) objectSinkPropagator).getOriginalSinkPropagator();
+        }
+        for (ObjectSink sink : objectSinkPropagator.getSinks()) {
+            if (sink instanceof JoinNode) {
+                return (JoinNode) sink;
+            }
+        }
+        throw new IllegalStateException("No JoinNode for " + factClass);
+    }
+
+    private Set<String> getStrings(KieSession ksession) {
+        final Set<String> strings = new HashSet<>();
+        for (Object obj : ksession.getObjects(String.class::isInstance)) {
+            strings.add((String) obj);
+        }
+        return strings;
+    }
+
+    private Set<String> expectedContainments(List<Interval> intervals) {
+        final Set<String> expected = new HashSet<>();
+        for (Interval outer : intervals) {
+            boolean empty = true;
+            for (Interval inner : intervals) {
+                if (inner.getStart() > outer.getStart() && inner.getEnd() < outer.getEnd()) {
+                    expected.add(outer.getId() + " contains " + inner.getId());
+                    empty = false;
+                }
+            }
+            if (empty) {
+                expected.add(outer.getId() + " is empty");
+            }
+        }
+        return expected;
+    }
+
+    public static class Interval {
+
+        private final String id;
+        private int start;
+        private int end;
+
+        public Interval(String id, int start, int end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public void setStart(int start) {
+            this.start = start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public void setEnd(int end) {
+            this.end = end;
+        }
+    }
 }
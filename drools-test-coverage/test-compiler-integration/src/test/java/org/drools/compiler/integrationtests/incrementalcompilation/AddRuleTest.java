@@ -18,10 +18,12 @@ package org.drools.compiler.integrationtests.incrementalcompilation;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
 import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.drools.testcoverage.common.model.Cheese;
 import org.drools.testcoverage.common.model.Person;
 import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
 import org.drools.testcoverage.common.util.KieUtil;
@@ -34,8 +36,10 @@ import org.kie.api.builder.ReleaseId;
 import org.kie.api.definition.KiePackage;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 
 @RunWith(Parameterized.class)
@@ -173,6 +177,207 @@ public class AddRuleTest {
         assertEquals("x", list.get(1));
     }
 
+    @Test
+    public void testAddManyRulesSharingPatternsToSessionWithFacts() {
+        final KieServices kieServices = KieServices.get();
+        final ReleaseId releaseId = kieServices.newReleaseId("org.kie", "test-add-many-rules-sharing-patterns", "1.0");
+        KieUtil.getKieModuleFromDrls(releaseId, kieBaseTestConfiguration, "global java.util.List list;\n");
+        final KieContainer kieContainer = kieServices.newKieContainer(releaseId);
+
+        final InternalKnowledgeBase kbase = (InternalKnowledgeBase) kieContainer.getKieBase();
+        final KieSession session = kbase.newKieSession();
+
+        final List<String> list = new ArrayList<>();
+        session.setGlobal("list", list);
+
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Person person = new Person("p" + i, i);
+            persons.add(person);
+            session.insert(person);
+            session.insert("p" + i);
+        }
+        session.fireAllRules();
+
+        // all the rules share the first alpha constraint and are populated with the existing facts together
+        final StringBuilder drl = new StringBuilder("import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n");
+        for (int i = 0; i < 10; i++) {
+            drl.append("rule R").append(i).append(" when\n" +
+                    "   $p : Person( age >= 5, age != ").append(i).append(" )\n" +
+                    "   String( this == $p.name )\n" +
+                    "then\n" +
+                    "   list.add( drools.getRule().getName() + \":\" + $p.getName() );\n" +
+                    "end\n");
+        }
+        kbase.addPackages(TestUtil.createKnowledgeBuilder(null, drl.toString()).getKnowledgePackages());
+
+        assertEquals(45, session.fireAllRules());
+        assertEquals(45, list.size());
+
+        // the tuples created for the existing facts must still be found when they are modified
+        list.clear();
+        session.update(session.getFactHandle(persons.get(9)), persons.get(9));
+        assertEquals(9, session.fireAllRules());
+        assertEquals(9, list.size());
+
+        persons.get(7).setAge(2);
+        session.update(session.getFactHandle(persons.get(7)), persons.get(7));
+        assertEquals(0, session.fireAllRules());
+        session.dispose();
+    }
+
+    @Test
+    public void testAddBatchOfRulesSharingNodesWithExistingRules() {
+        final String existingRules =
+                rule("E1", "$p : Person( age > 2 )\n String( this == $p.name )\n") +
+                rule("E2", "$p : Person( age > 2 )\n Cheese( type == $p.name )\n");
+        final String addedRules =
+                // splitting the paths of the existing rules after their joins
+                rule("A1", "$p : Person( age > 2 )\n String( this == $p.name )\n Cheese( type == $p.name, price > 10 )\n") +
+                rule("A2", "$p : Person( age > 2 )\n String( this == $p.name )\n not Cheese( type == $p.name )\n") +
+                // sharing only the left input adapter of the existing rules
+                rule("A3", "$p : Person( age > 2 )\n exists Cheese( type == $p.name, price < 80 )\n") +
+                rule("A4", "$p : Person( age > 2 )\n accumulate( Cheese( type == $p.name, $price : price ); $sum : sum( $price ); $sum > 20 )\n") +
+                // sharing nothing
+                rule("A5", "$p : Person( age < 8 )\n String( this == $p.name )\n");
+        assertBatchAdditionAsBuiltFromScratch("test-add-batch-sharing-existing", existingRules, addedRules);
+    }
+
+    @Test
+    public void testAddBatchOfRulesSharingNodesWithEachOther() {
+        final String existingRules =
+                rule("E1", "$p : Person( age > 2 )\n String( this == $p.name )\n");
+        final String addedRules =
+                // sharing nothing with the existing rule, but sharing their nodes with each other
+                rule("A1", "$p : Person( age < 8 )\n String( this == $p.name )\n") +
+                rule("A2", "$p : Person( age < 8 )\n String( this == $p.name )\n Cheese( type == $p.name )\n") +
+                rule("A3", "$p : Person( age < 8 )\n String( this == $p.name )\n not Cheese( type == $p.name, price > 30 )\n") +
+                rule("A4", "$p : Person( age < 8 )\n exists Cheese( type == $p.name )\n") +
+                rule("A5", "$p : Person( age < 8 )\n String( this == $p.name )\n" +
+                           " accumulate( Cheese( type == $p.name, $price : price ); $count : count( $price ); $count > 0 )\n") +
+                rule("A6", "$p : Person( age != 5 )\n Cheese( type == $p.name )\n") +
+                rule("A7", "$p : Person( age != 5 )\n Cheese( type == $p.name )\n String( this == $p.name )\n");
+        assertBatchAdditionAsBuiltFromScratch("test-add-batch-sharing-each-other", existingRules, addedRules);
+    }
+
+    @Test
+    public void testAddBatchOfRulesWithSubnetworks() {
+        final String existingRules =
+                rule("E1", "$p : Person( age > 2 )\n not( String( this == $p.name ) and Cheese( type == $p.name ) )\n");
+        final String addedRules =
+                // sharing the subnetwork of the existing rule
+                rule("A1", "$p : Person( age > 2 )\n not( String( this == $p.name ) and Cheese( type == $p.name ) )\n String( this == $p.name )\n") +
+                rule("A2", "$p : Person( age > 2 )\n exists( String( this == $p.name ) and Cheese( type == $p.name ) )\n") +
+                // subnetworks sharing their nodes with each other
+                rule("A3", "$p : Person( age < 8 )\n not( String( this == $p.name ) and Cheese( type == $p.name, price > 30 ) )\n") +
+                rule("A4", "$p : Person( age < 8 )\n exists( String( this == $p.name ) and Cheese( type == $p.name, price > 30 ) )\n") +
+                rule("A5", "$p : Person( age < 8 )\n accumulate( String( this == $p.name ) and Cheese( type == $p.name, $price : price );\n" +
+                           "   $sum : sum( $price ); $sum > 0 )\n") +
+                rule("A6", "$p : Person( age < 8 )\n accumulate( String( this == $p.name ) and Cheese( type == $p.name, $price : price );\n" +
+                           "   $sum : sum( $price ); $sum > 0 )\n Cheese( type == $p.name )\n");
+        assertBatchAdditionAsBuiltFromScratch("test-add-batch-subnetworks", existingRules, addedRules);
+    }
+
+    private static String rule(final String name, final String lhs) {
+        return "rule " + name + " when\n" +
+                lhs +
+                "then\n" +
+                "   list.add( drools.getRule().getName() + \":\" + $p.getName() );\n" +
+                "end\n";
+    }
+
+    /**
+     * Adds the given rules together to a session with facts and checks that they match them, also after some
+     * modifications, as in a session of a kbase built with all the rules from the beginning
+     */
+    private void assertBatchAdditionAsBuiltFromScratch(final String name, final String existingRules, final String addedRules) {
+        final String header = "import " + Person.class.getCanonicalName() + ";\n" +
+                "import " + Cheese.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n";
+
+        final KieServices kieServices = KieServices.get();
+        final ReleaseId releaseId = kieServices.newReleaseId("org.kie", name, "1.0");
+        KieUtil.getKieModuleFromDrls(releaseId, kieBaseTestConfiguration, "global java.util.List list;\n");
+
+        final InternalKnowledgeBase kbase = (InternalKnowledgeBase) kieServices.newKieContainer(releaseId).getKieBase();
+        kbase.addPackages(TestUtil.createKnowledgeBuilder(null, header + existingRules).getKnowledgePackages());
+        final KieSession session = kbase.newKieSession();
+        final List<String> list = new ArrayList<>();
+        session.setGlobal("list", list);
+        final SessionFacts facts = new SessionFacts(session);
+        session.fireAllRules();
+
+        final InternalKnowledgeBase expectedKbase = (InternalKnowledgeBase) kieServices.newKieContainer(releaseId).getKieBase();
+        expectedKbase.addPackages(TestUtil.createKnowledgeBuilder(null, header + existingRules + addedRules).getKnowledgePackages());
+        final KieSession expectedSession = expectedKbase.newKieSession();
+        final List<String> expectedList = new ArrayList<>();
+        expectedSession.setGlobal("list", expectedList);
+        final SessionFacts expectedFacts = new SessionFacts(expectedSession);
+
+        try {
+            list.clear();
+            kbase.addPackages(TestUtil.createKnowledgeBuilder(null, header + addedRules).getKnowledgePackages());
+            session.fireAllRules();
+            expectedSession.fireAllRules();
+            expectedList.removeIf(match -> !match.startsWith("A"));
+            assertFalse(expectedList.isEmpty());
+            assertEquals(sorted(expectedList), sorted(list));
+
+            list.clear();
+            expectedList.clear();
+            facts.modify();
+            expectedFacts.modify();
+            session.fireAllRules();
+            expectedSession.fireAllRules();
+            assertEquals(sorted(expectedList), sorted(list));
+        } finally {
+            session.dispose();
+            expectedSession.dispose();
+        }
+    }
+
+    private static List<String> sorted(final List<String> list) {
+        final List<String> sorted = new ArrayList<>(list);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static class SessionFacts {
+
+        private final KieSession session;
+        private final Person[] persons = new Person[10];
+        private final FactHandle[] personHandles = new FactHandle[10];
+        private final FactHandle[] nameHandles = new FactHandle[10];
+        private final FactHandle[] cheeseHandles = new FactHandle[10];
+
+        private SessionFacts(final KieSession session) {
+            this.session = session;
+            for (int i = 0; i < 10; i++) {
+                persons[i] = new Person("p" + i, i);
+                personHandles[i] = session.insert(persons[i]);
+                if (i % 2 == 0) {
+                    nameHandles[i] = session.insert("p" + i);
+                }
+                if (i % 3 != 0) {
+                    cheeseHandles[i] = session.insert(new Cheese("p" + i, i * 10));
+                }
+            }
+        }
+
+        private void modify() {
+            for (int i = 0; i < 10; i += 4) {
+                persons[i].setAge(persons[i].getAge() + 5);
+                session.update(personHandles[i], persons[i]);
+            }
+            session.delete(nameHandles[2]);
+            session.delete(cheeseHandles[4]);
+            session.insert("p5");
+            session.insert(new Cheese("p3", 35));
+            session.insert(new Cheese("p6", 5));
+        }
+    }
+
     public static class RuleTime {
         public Date getTime() {
             return new Date();
@@ -31,6 +31,7 @@ import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.drools.compiler.kie.builder.impl.DrlProject;
 import org.drools.core.ClassObjectFilter;
@@ -43,6 +44,7 @@ import org.drools.core.reteoo.ObjectTypeNode;
 import org.drools.core.reteoo.Rete;
 import org.drools.core.reteoo.RuleTerminalNode;
 import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.drools.kiesession.rulebase.SessionsAwareKnowledgeBase;
 import org.drools.testcoverage.common.model.Address;
 import org.drools.testcoverage.common.model.Message;
 import org.drools.testcoverage.common.model.Person;
@@ -88,6 +90,7 @@ import org.kie.api.runtime.rule.FactHandle;
 import org.kie.internal.builder.IncrementalResults;
 import org.kie.internal.builder.InternalKieBuilder;
 import org.kie.internal.command.CommandFactory;
+import org.kie.internal.conf.VersionedUpdatesOption;
 
 import static java.util.Arrays.asList;
 import static org.drools.core.util.DroolsTestUtil.rulestoMap;
@@ -3069,6 +3072,214 @@ public class IncrementalCompilationTest {
                 "end\n";
     }
 
+    @Test(timeout = 30000L)
+    public void testVersionedUpdateDoesNotWaitForFiringSessions() throws Exception {
+        System.setProperty(VersionedUpdatesOption.PROPERTY_NAME, "true");
+        try {
+            final KieServices ks = KieServices.Factory.get();
+
+            final ReleaseId releaseId1 = ks.newReleaseId("org.kie", "test-versioned-update", "1.0");
+            KieUtil.getKieModuleFromDrls(releaseId1, kieBaseTestConfiguration, getTestRuleForVersionedUpdate(1));
+            final ReleaseId releaseId2 = ks.newReleaseId("org.kie", "test-versioned-update", "1.1");
+            KieUtil.getKieModuleFromDrls(releaseId2, kieBaseTestConfiguration, getTestRuleForVersionedUpdate(2));
+
+            final KieContainer kc = ks.newKieContainer(releaseId1);
+            final SessionsAwareKnowledgeBase kbase = (SessionsAwareKnowledgeBase) kc.getKieBase();
+            final long version = kbase.getVersion();
+
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+
+            final KieSession firing = kc.newKieSession();
+            final List<String> firingList = new ArrayList<>();
+            firing.setGlobal("list", firingList);
+            firing.setGlobal("started", started);
+            firing.setGlobal("release", release);
+            firing.insert("block");
+
+            final KieSession other = kc.newKieSession();
+            final List<String> otherList = new ArrayList<>();
+            other.setGlobal("list", otherList);
+            other.setGlobal("started", new CountDownLatch(0));
+            other.setGlobal("release", new CountDownLatch(0));
+            other.insert("other");
+
+            final Thread thread = new Thread(firing::fireAllRules);
+            thread.start();
+            started.await();
+
+            // the update is pending until the firing session reaches its safe point
+            kc.updateToVersion(releaseId2);
+            assertEquals(version, kbase.getVersion());
+
+            // the other session doesn't wait for the firing one, it is stopped at its safe point instead
+            assertEquals(1, other.fireAllRules());
+            assertEquals(asList("1 - other"), otherList);
+            assertEquals(version, kbase.getVersion());
+
+            // the firing session is the last one reaching its safe point, so it applies the update
+            release.countDown();
+            thread.join();
+            assertEquals(version + 1, kbase.getVersion());
+            assertEquals(asList("1 - block", "2 - block"), firingList);
+
+            assertEquals(1, other.fireAllRules());
+            assertEquals(asList("1 - other", "2 - other"), otherList);
+
+            firing.dispose();
+            other.dispose();
+        } finally {
+            System.clearProperty(VersionedUpdatesOption.PROPERTY_NAME);
+        }
+    }
+
+    @Test(timeout = 30000L)
+    public void testVersionedUpdateRacingWithSessionCreation() throws Exception {
+        System.setProperty(VersionedUpdatesOption.PROPERTY_NAME, "true");
+        try {
+            final KieServices ks = KieServices.Factory.get();
+
+            final ReleaseId releaseId1 = ks.newReleaseId("org.kie", "test-versioned-update-creation", "1.0");
+            KieUtil.getKieModuleFromDrls(releaseId1, kieBaseTestConfiguration, getTestRuleForVersionedUpdate(1));
+            final ReleaseId releaseId2 = ks.newReleaseId("org.kie", "test-versioned-update-creation", "1.1");
+            KieUtil.getKieModuleFromDrls(releaseId2, kieBaseTestConfiguration, getTestRuleForVersionedUpdate(2));
+
+            final KieContainer kc = ks.newKieContainer(releaseId1);
+            final SessionsAwareKnowledgeBase kbase = (SessionsAwareKnowledgeBase) kc.getKieBase();
+            final long version = kbase.getVersion();
+
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+
+            final KieSession firing = kc.newKieSession();
+            final List<String> firingList = new ArrayList<>();
+            firing.setGlobal("list", firingList);
+            firing.setGlobal("started", started);
+            firing.setGlobal("release", release);
+            firing.insert("block");
+
+            final Thread thread = new Thread(firing::fireAllRules);
+            thread.start();
+            started.await();
+
+            kc.updateToVersion(releaseId2);
+            assertEquals(version, kbase.getVersion());
+
+            // a session being created holds the read lock when the firing session reaches its safe point
+            kbase.readLock();
+            try {
+                release.countDown();
+                thread.join();
+                assertEquals(version, kbase.getVersion());
+                assertEquals(asList("1 - block"), firingList);
+            } finally {
+                kbase.readUnlock();
+            }
+
+            // the update is applied as soon as the lock is released, without leaving the firing session stopped
+            assertEquals(version + 1, kbase.getVersion());
+            assertEquals(1, firing.fireAllRules());
+            assertEquals(asList("1 - block", "2 - block"), firingList);
+
+            firing.dispose();
+        } finally {
+            System.clearProperty(VersionedUpdatesOption.PROPERTY_NAME);
+        }
+    }
+
+    @Test(timeout = 30000L)
+    public void testVersionedUpdateRacingWithSessionCreationWhileSessionsAreStopped() throws Exception {
+        System.setProperty(VersionedUpdatesOption.PROPERTY_NAME, "true");
+        try {
+            final KieServices ks = KieServices.Factory.get();
+
+            final ReleaseId releaseId1 = ks.newReleaseId("org.kie", "test-versioned-update-stopped", "1.0");
+            KieUtil.getKieModuleFromDrls(releaseId1, kieBaseTestConfiguration, getTestRuleForVersionedUpdate(1));
+            final ReleaseId releaseId2 = ks.newReleaseId("org.kie", "test-versioned-update-stopped", "1.1");
+            KieUtil.getKieModuleFromDrls(releaseId2, kieBaseTestConfiguration, getTestRuleForVersionedUpdate(2));
+
+            final KieContainer kc = ks.newKieContainer(releaseId1);
+            final SessionsAwareKnowledgeBase kbase = (SessionsAwareKnowledgeBase) kc.getKieBase();
+            final ReentrantReadWriteLock lock = kbase.getDelegate().kBaseInternal_getLock();
+            final long version = kbase.getVersion();
+
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+
+            final KieSession firing = kc.newKieSession();
+            final List<String> firingList = new ArrayList<>();
+            firing.setGlobal("list", firingList);
+            firing.setGlobal("started", started);
+            firing.setGlobal("release", release);
+            firing.insert("block");
+
+            final KieSession other = kc.newKieSession();
+            final List<String> otherList = new ArrayList<>();
+            other.setGlobal("list", otherList);
+            other.setGlobal("started", new CountDownLatch(0));
+            other.setGlobal("release", new CountDownLatch(0));
+            other.insert("other");
+
+            final Thread thread = new Thread(firing::fireAllRules);
+            thread.start();
+            started.await();
+
+            kc.updateToVersion(releaseId2);
+
+            // the other session is stopped at its safe point
+            assertEquals(1, other.fireAllRules());
+            assertEquals(version, kbase.getVersion());
+
+            // a session being created holds the read lock when the firing session reaches its safe point,
+            // so the firing session waits for it to apply the update for the stopped one
+            kbase.readLock();
+            try {
+                release.countDown();
+                while (!lock.hasQueuedThread(thread)) {
+                    Thread.sleep(10);
+                }
+                assertEquals(version, kbase.getVersion());
+            } finally {
+                kbase.readUnlock();
+            }
+
+            thread.join();
+            assertEquals(version + 1, kbase.getVersion());
+            assertEquals(asList("1 - block", "2 - block"), firingList);
+
+            assertEquals(1, other.fireAllRules());
+            assertEquals(asList("1 - other", "2 - other"), otherList);
+
+            firing.dispose();
+            other.dispose();
+        } finally {
+            System.clearProperty(VersionedUpdatesOption.PROPERTY_NAME);
+        }
+    }
+
+    private String getTestRuleForVersionedUpdate(final int i) {
+        return "package org.drools.compiler\n" +
+                "import " + IncrementalCompilationTest.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "global java.util.concurrent.CountDownLatch started;\n" +
+                "global java.util.concurrent.CountDownLatch release;\n" +
+                "rule R when\n" +
+                "   $s : String()\n" +
+                "then\n" +
+                "    list.add(\"" + i + " - \" + $s);\n" +
+                "    IncrementalCompilationTest.await(started, release);\n" +
+                "end\n";
+    }
+
+    public static void await(final CountDownLatch started, final CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await();
+        } catch (final InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static class DebugList<T> extends ArrayList<T> {
 
         CountDownLatch done;
@@ -27,16 +27,17 @@ import org.drools.drl.parser.impl.Operator;
 import org.drools.core.common.BetaConstraints;
 import org.drools.core.reteoo.BetaMemory;
 import org.drools.core.reteoo.NodeTypeEnums;
+import org.drools.core.reteoo.TupleMemory;
 import org.drools.core.rule.Declaration;
 import org.drools.core.rule.IndexableConstraint;
 import org.drools.core.rule.Pattern;
 import org.drools.core.spi.BetaNodeFieldConstraint;
 import org.drools.core.spi.InternalReadAccessor;
 import org.drools.core.util.AbstractHashTable.FieldIndex;
-import org.drools.core.util.AbstractHashTable.Index;
 import org.drools.core.util.LinkedList;
 import org.drools.core.util.LinkedListEntry;
 import org.drools.core.util.index.IndexUtil.ConstraintType;
+import org.drools.core.util.index.OpenAddressingTupleIndexHashTable;
 import org.drools.core.util.index.TupleIndexHashTable;
 import org.drools.core.util.index.TupleList;
 import org.drools.model.functions.Predicate1;
@@ -153,22 +154,20 @@ public abstract class BaseBetaConstraintsTest {
 
         if ( indexedPositions.length > 0 ) {
             if (((IndexableConstraint)constraints[indexedPositions[0]]).getConstraintType() == ConstraintType.EQUAL) {
-                TupleIndexHashTable tupleHashTable = (TupleIndexHashTable) betaMemory.getLeftTupleMemory();
+                TupleMemory tupleHashTable = betaMemory.getLeftTupleMemory();
                 assertTrue( tupleHashTable.isIndexed() );
-                Index index = tupleHashTable.getIndex();
 
                 for ( int i = 0; i < indexedPositions.length; i++ ) {
                     checkSameConstraintForIndex( (IndexableConstraint)constraints[indexedPositions[i]],
-                                                 index.getFieldIndex( i ) );
+                                                 getFieldIndex( tupleHashTable, i ) );
                 }
 
-                TupleIndexHashTable factHashTable = (TupleIndexHashTable) betaMemory.getRightTupleMemory();
+                TupleMemory factHashTable = betaMemory.getRightTupleMemory();
                 assertTrue( factHashTable.isIndexed() );
-                index = factHashTable.getIndex();
 
                 for ( int i = 0; i < indexedPositions.length; i++ ) {
                     checkSameConstraintForIndex( (IndexableConstraint)constraints[indexedPositions[i]],
-                                                 index.getFieldIndex( i ) );
+                                                 getFieldIndex( factHashTable, i ) );
                 }
             } else {
 
@@ -182,6 +181,15 @@ public abstract class BaseBetaConstraintsTest {
         }
     }
 
+    private FieldIndex getFieldIndex(TupleMemory memory, int i) {
+        if ( memory instanceof OpenAddressingTupleIndexHashTable ) {
+            // the specialized memories are only used when indexing a single field
+            assertEquals( 0, i );
+            return ((OpenAddressingTupleIndexHashTable) memory).getFieldIndex();
+        }
+        return ((TupleIndexHashTable) memory).getIndex().getFieldIndex( i );
+    }
+
     protected void checkSameConstraintForIndex(IndexableConstraint constraint,
                                                FieldIndex fieldIndex) {
         assertSame( constraint.getRequiredDeclarations()[0],
@@ -22,14 +22,75 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.drools.core.common.ReteEvaluator;
+import org.drools.core.phreak.LockFreePropagationList;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.SynchronizedPropagationList;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class PropagationListTest {
 
+    @Test(timeout = 60000)
+    public void testLockFreePropagationListPreservesInsertionOrder() throws Exception {
+        final int OBJECT_NR = 100000;
+        final int THREAD_NR = 8;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_NR);
+        try {
+            final Checker checker = new Checker(THREAD_NR);
+            final PropagationList propagationList = new LockFreePropagationList(null);
+            final CompletionService<Boolean> ecs = new ExecutorCompletionService<Boolean>(executor);
+
+            for (int i = 0; i < THREAD_NR; i++) {
+                ecs.submit(getTask(OBJECT_NR, checker, propagationList, i));
+            }
+
+            int completed = 0;
+            while (completed < THREAD_NR) {
+                propagationList.flush();
+                if (ecs.poll() != null) {
+                    completed++;
+                }
+            }
+            propagationList.flush();
+
+            assertThat(propagationList.isEmpty()).isTrue();
+            for (int i = 0; i < THREAD_NR; i++) {
+                assertThat(checker.counters[i]).isEqualTo(OBJECT_NR);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testLockFreePropagationListWakesUpWaiter() throws Exception {
+        final PropagationList propagationList = new LockFreePropagationList(null);
+        propagationList.setFiringUntilHalt(true);
+
+        final Checker checker = new Checker(1);
+        final Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50L);
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            propagationList.addEntry(new TestEntry(checker, 0, 0));
+        });
+        producer.start();
+
+        while (propagationList.isEmpty()) {
+            propagationList.waitOnRest();
+        }
+        propagationList.flush();
+        producer.join();
+
+        assertThat(checker.counters[0]).isEqualTo(1);
+    }
+
     @Test @Ignore
     public void test() {
         final int OBJECT_NR = 1000000;
@@ -18,6 +18,7 @@ package org.drools.mvel.integrationtests;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.drools.mvel.compiler.Cheese;
@@ -29,10 +30,13 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.kie.api.KieBase;
+import org.kie.api.KieServices;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.rule.EntryPoint;
 import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.runtime.conf.LockFreePropagationListOption;
 import org.kie.internal.utils.KieHelper;
 
 import static org.junit.Assert.assertEquals;
@@ -98,6 +102,55 @@ public class FireUntilHaltTest {
         kSession.dispose();
     }
 
+    @Test(timeout = 20000)
+    public void testConcurrentInsertsOnFireUntilHaltWithLockFreePropagationList() throws InterruptedException {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                "global java.util.List list;" +
+                "rule R when\n" +
+                "    $p : Person( age >= 18 )\n" +
+                "then\n" +
+                "    list.add($p);" +
+                "end";
+
+        final int THREAD_NR = 8;
+        final int PERSON_NR = 500;
+
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, drl);
+        KieSessionConfiguration conf = KieServices.Factory.get().newKieSessionConfiguration();
+        conf.setOption(LockFreePropagationListOption.YES);
+        KieSession kSession = kbase.newKieSession(conf, null);
+
+        final List<Person> list = Collections.synchronizedList(new ArrayList<>());
+        kSession.setGlobal("list", list);
+
+        final Thread engine = new Thread(kSession::fireUntilHalt);
+        engine.start();
+
+        final Thread[] producers = new Thread[THREAD_NR];
+        for (int i = 0; i < THREAD_NR; i++) {
+            final int threadId = i;
+            producers[i] = new Thread(() -> {
+                for (int j = 0; j < PERSON_NR; j++) {
+                    kSession.insert(new Person("p" + threadId + "_" + j, j % 2 == 0 ? 18 : 17));
+                }
+            });
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        while (list.size() < THREAD_NR * PERSON_NR / 2) {
+            Thread.sleep(10L);
+        }
+        assertEquals(THREAD_NR * PERSON_NR / 2, list.size());
+
+        kSession.halt();
+        engine.join();
+        kSession.dispose();
+    }
+
     @Test
     public void testFireAllWhenFiringUntilHalt() throws InterruptedException {
         KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration); // empty
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.drools.mvel.compiler.Cheese;
+import org.drools.mvel.compiler.Person;
+import org.drools.testcoverage.common.util.KieBaseTestConfiguration;
+import org.drools.testcoverage.common.util.KieBaseUtil;
+import org.drools.testcoverage.common.util.TestParametersUtil;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.KieBase;
+import org.kie.api.event.rule.DefaultRuleRuntimeEventListener;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.FactHandle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class InsertAllTest {
+
+    private final KieBaseTestConfiguration kieBaseTestConfiguration;
+
+    public InsertAllTest(final KieBaseTestConfiguration kieBaseTestConfiguration) {
+        this.kieBaseTestConfiguration = kieBaseTestConfiguration;
+    }
+
+    @Parameterized.Parameters(name = "KieBase type={0}")
+    public static Collection<Object[]> getParameters() {
+        return TestParametersUtil.getKieBaseCloudConfigurations(true);
+    }
+
+    private static final String DRL =
+            "package org.drools.mvel.compiler.test\n" +
+            "import " + Person.class.getCanonicalName() + "\n" +
+            "import " + Cheese.class.getCanonicalName() + "\n" +
+            "global java.util.List list\n" +
+            "rule R1 when\n" +
+            "    $p : Person( age > 30 )\n" +
+            "    $c : Cheese( type == $p.likes )\n" +
+            "then\n" +
+            "    list.add( $p.getName() + \":\" + $c.getType() );\n" +
+            "end\n" +
+            "rule R2 when\n" +
+            "    $p : Person( age <= 30 ) from entry-point young\n" +
+            "then\n" +
+            "    list.add( $p.getName() );\n" +
+            "end\n";
+
+    @Test
+    public void testInsertAllOfMixedTypes() {
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, DRL);
+        KieSession ksession = kbase.newKieSession();
+        try {
+            List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+
+            List<Object> inserted = new ArrayList<>();
+            ksession.addEventListener(new DefaultRuleRuntimeEventListener() {
+                @Override
+                public void objectInserted(ObjectInsertedEvent event) {
+                    inserted.add(event.getObject());
+                }
+            });
+
+            Person mark = new Person("Mark", "stilton", 37);
+            Person mario = new Person("Mario", "cheddar", 44);
+            Person edson = new Person("Edson", "brie", 25);
+            Cheese stilton = new Cheese("stilton", 10);
+            Cheese cheddar = new Cheese("cheddar", 12);
+            List<Object> facts = Arrays.asList(mark, stilton, mario, null, edson, cheddar, mark);
+
+            List<FactHandle> handles = ksession.insertAll(facts);
+            assertThat(handles).hasSize(7);
+            assertThat(handles.get(3)).isNull();
+            // inserting the same object twice returns the handle of the first insertion
+            assertThat(handles.get(6)).isSameAs(handles.get(0));
+            for (int i = 0; i < facts.size(); i++) {
+                if (facts.get(i) != null) {
+                    assertThat(ksession.getObject(handles.get(i))).isSameAs(facts.get(i));
+                }
+            }
+            assertThat(ksession.getFactCount()).isEqualTo(5);
+            assertThat(inserted).containsExactly(mark, stilton, mario, edson, cheddar);
+
+            assertThat(ksession.fireAllRules()).isEqualTo(2);
+            assertThat(list).containsExactlyInAnyOrder("Mark:stilton", "Mario:cheddar");
+
+            ksession.delete(handles.get(1));
+            ksession.insertAll(Arrays.asList(new Cheese("stilton", 5), new Cheese("brie", 7)));
+            assertThat(ksession.fireAllRules()).isEqualTo(1);
+            assertThat(list).containsExactlyInAnyOrder("Mark:stilton", "Mario:cheddar", "Mark:stilton");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testInsertAllIntoEntryPoint() {
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, DRL);
+        KieSession ksession = kbase.newKieSession();
+        try {
+            List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+
+            List<Person> persons = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                persons.add(new Person("P" + i, "stilton", i));
+            }
+
+            EntryPoint young = ksession.getEntryPoint("young");
+            List<FactHandle> handles = young.insertAll(persons);
+            assertThat(handles).hasSize(100).doesNotContainNull();
+            assertThat(young.getFactCount()).isEqualTo(100);
+            assertThat(ksession.getFactCount()).isZero();
+
+            assertThat(ksession.fireAllRules()).isEqualTo(31);
+            assertThat(list).hasSize(31).contains("P0", "P30").doesNotContain("P31");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    private static final String OBJECT_DRL =
+            "package org.drools.mvel.compiler.test\n" +
+            "global java.util.List list\n" +
+            "rule R when\n" +
+            "    $o : Object()\n" +
+            "then\n" +
+            "    list.add( $o );\n" +
+            "end\n";
+
+    private List<Object> fireOnObjects(KieBase kbase, List<Object> facts, boolean insertAll) {
+        KieSession ksession = kbase.newKieSession();
+        try {
+            List<Object> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            if (insertAll) {
+                ksession.insertAll(facts);
+            } else {
+                facts.forEach(ksession::insert);
+            }
+            assertThat(ksession.fireAllRules()).isEqualTo(facts.size());
+            return list;
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testInsertAllKeepsTheInsertionOrderOfNodesSharedByDifferentTypes() {
+        KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("test", kieBaseTestConfiguration, OBJECT_DRL);
+
+        List<Object> facts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            facts.add(new Person("P" + i, "stilton", i));
+            facts.add(new Cheese("C" + i, i));
+            facts.add("S" + i);
+        }
+
+        // the Object() node receives the facts of all the types, in the same order of a one by one insertion
+        assertThat(fireOnObjects(kbase, facts, true)).containsExactlyElementsOf(fireOnObjects(kbase, facts, false));
+    }
+}
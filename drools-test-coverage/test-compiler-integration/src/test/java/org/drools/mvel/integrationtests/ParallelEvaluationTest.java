@@ -32,7 +32,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.drools.core.ClockType;
 import org.drools.core.base.ClassObjectType;
+import org.drools.core.common.InternalAgenda;
+import org.drools.core.common.InternalAgendaGroup;
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.RuleBasePartitionId;
+import org.drools.core.concurrent.ParallelRuleEvaluator;
 import org.drools.kiesession.rulebase.InternalKnowledgeBase;
 import org.drools.core.impl.RuleBaseFactory;
 import org.drools.kiesession.session.StatefulKnowledgeSessionImpl;
@@ -62,6 +66,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @RunWith(Parameterized.class)
 public class ParallelEvaluationTest {
@@ -1054,6 +1059,75 @@ public class ParallelEvaluationTest {
         runTasksInParallel(tasks);
     }
 
+    @Test(timeout = 40000L)
+    public void testParallelRuleEvaluatorStatistics() {
+        StringBuilder sb = new StringBuilder( 400 );
+        sb.append( "global java.util.List list;\n" );
+        for (int i = 0; i < 5; i++) {
+            sb.append( "rule R" + i + " when\n" +
+                       "  $s : String()\n" +
+                       "then\n" +
+                       "  list.add( $s );\n" +
+                       "end\n" );
+        }
+        sb.append( "rule Fail when\n" +
+                   "  Integer()\n" +
+                   "then\n" +
+                   "  throw new IllegalStateException( \"fail\" );\n" +
+                   "end\n" );
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl( "test", kieBaseTestConfiguration, sb.toString() );
+        KieSession ksession = kbase.newKieSession();
+        try {
+            List<String> list = new ArrayList<>();
+            ksession.setGlobal( "list", list );
+
+            InternalAgenda agenda = ( (InternalWorkingMemory) ksession ).getAgenda();
+            ParallelRuleEvaluator evaluator = new ParallelRuleEvaluator( agenda );
+            int slot = RuleBasePartitionId.MAIN_PARTITION.getParallelEvaluationSlot();
+
+            ksession.insert( "a" );
+            agenda.flushPropagations();
+            InternalAgendaGroup group = agenda.getAgendaGroupsManager().getNextFocus();
+            assertEquals( 5, evaluator.evaluateAndFire( null, 0, -1, group ) );
+            assertEquals( 5, list.size() );
+
+            assertEquals( 5, evaluator.getEvaluatedItems( slot ) );
+            assertEquals( 5, evaluator.getFiredActivations( slot ) );
+            assertEquals( 0, evaluator.getStolenBatches( slot ) );
+            assertTrue( evaluator.getBusyTime( slot ) > 0 );
+            assertThat( evaluator.getUtilization( slot ) ).isGreaterThan( 0.0 ).isLessThanOrEqualTo( 1.0 );
+
+            // a failing consequence must not leave the batches of the failed evaluation behind
+            FactHandle fh = ksession.insert( 1 );
+            agenda.flushPropagations();
+            group = agenda.getAgendaGroupsManager().getNextFocus();
+            try {
+                evaluator.evaluateAndFire( null, 0, -1, group );
+                fail( "The consequence should have thrown an exception" );
+            } catch (RuntimeException e) {
+                // expected
+            }
+
+            ksession.delete( fh );
+            ksession.insert( "c" );
+            agenda.flushPropagations();
+            group = agenda.getAgendaGroupsManager().getNextFocus();
+            long evaluatedItems = evaluator.getEvaluatedItems( slot );
+            int itemsNr = group.getActivations().length;
+            assertEquals( 5, evaluator.evaluateAndFire( null, 0, -1, group ) );
+            assertEquals( evaluatedItems + itemsNr, evaluator.getEvaluatedItems( slot ) );
+
+            evaluator.resetStatistics();
+            assertEquals( 0, evaluator.getEvaluatedItems( slot ) );
+            assertEquals( 0, evaluator.getFiredActivations( slot ) );
+            assertEquals( 0, evaluator.getBusyTime( slot ) );
+            assertEquals( 0.0, evaluator.getUtilization( slot ), 0.0 );
+        } finally {
+            ksession.dispose();
+        }
+    }
+
     private FactHandle[] insertFacts(KieSession ksession, int n) {
         FactHandle[] fhs = new FactHandle[n];
         for (int i = 0; i < n; i++) {
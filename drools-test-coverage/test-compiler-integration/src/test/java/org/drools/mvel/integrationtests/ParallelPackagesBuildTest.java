@@ -0,0 +1,178 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.integrationtests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
+import org.drools.compiler.lang.descr.CompositePackageDescr;
+import org.drools.drl.parser.DrlParser;
+import org.drools.drl.parser.DroolsParserException;
+import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.drools.kiesession.rulebase.KnowledgeBaseFactory;
+import org.junit.Test;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.builder.CompositeKnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilderConfiguration;
+import org.kie.internal.builder.KnowledgeBuilderFactory;
+import org.kie.internal.builder.conf.ParallelRulesBuildThresholdOption;
+import org.kie.internal.io.ResourceFactory;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelPackagesBuildTest {
+
+    private static String drl(String pkg, String imports, String rules) {
+        return "package org.test." + pkg + ";\n" +
+               imports +
+               "global java.util.List list;\n" +
+               rules;
+    }
+
+    private static String rules(String pkg, int count, String otherPattern, String consequence) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("rule R").append(i).append(" when\n")
+              .append("    $s : String( length == ").append(i).append(" )\n")
+              .append(otherPattern != null ? "    " + otherPattern + "\n" : "")
+              .append("then\n")
+              .append("    list.add(").append(consequence.replace("NAME", "\"" + pkg + ".R" + i + "\"")).append(");\n")
+              .append("end\n");
+        }
+        return sb.toString();
+    }
+
+    private KnowledgeBuilder buildPackages(String... drls) {
+        KnowledgeBuilderConfiguration conf = KnowledgeBuilderFactory.newKnowledgeBuilderConfiguration();
+        conf.setOption(ParallelRulesBuildThresholdOption.get(0));
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder(conf);
+        CompositeKnowledgeBuilder batch = kbuilder.batch().type(ResourceType.DRL);
+        for (String drl : drls) {
+            batch.add(ResourceFactory.newByteArrayResource(drl.getBytes()));
+        }
+        batch.build();
+        return kbuilder;
+    }
+
+    private static List<List<String>> buildLevels(String... drls) {
+        List<CompositePackageDescr> packages = new ArrayList<>();
+        for (String drl : drls) {
+            try {
+                packages.add(new CompositePackageDescr(null, new DrlParser().parse(false, drl)));
+            } catch (DroolsParserException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return KnowledgeBuilderImpl.sortPackagesByDependency(packages).stream()
+                .map(level -> level.stream().map(CompositePackageDescr::getNamespace).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testRulesOfDifferentPackagesBuiltInParallel() {
+        String types = "package org.test.types;\n" +
+                       "declare Decorator\n" +
+                       "    prefix : String\n" +
+                       "end\n" +
+                       "rule Init when then insert( new Decorator( \"*\" ) ); end\n";
+        // p1 and p3 depend on the types package, while p2 can be built together with it
+        String p1 = drl("p1", "import org.test.types.Decorator;\n", rules("p1", 5, "Decorator()", "NAME"));
+        String p2 = drl("p2", "", rules("p2", 5, null, "NAME"));
+        String p3 = drl("p3", "import org.test.types.Decorator;\n", rules("p3", 5, "Decorator( $p : prefix )", "$p + NAME"));
+
+        assertThat(buildLevels(types, p1, p2, p3)).containsExactly(
+                asList("org.test.types", "org.test.p2"),
+                asList("org.test.p1", "org.test.p3"));
+
+        KnowledgeBuilder kbuilder = buildPackages(types, p1, p2, p3);
+        assertThat(kbuilder.hasErrors()).as(kbuilder.getErrors().toString()).isFalse();
+
+        InternalKnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        kbase.addPackages(kbuilder.getKnowledgePackages());
+        assertThat(kbase.getKiePackage("org.test.p1").getRules()).hasSize(5);
+        assertThat(kbase.getKiePackage("org.test.p2").getRules()).hasSize(5);
+        assertThat(kbase.getKiePackage("org.test.p3").getRules()).hasSize(5);
+
+        KieSession ksession = kbase.newKieSession();
+        try {
+            List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            ksession.insert("abc");
+            assertThat(ksession.fireAllRules()).isEqualTo(4);
+            assertThat(list).containsExactlyInAnyOrder("p1.R3", "p2.R3", "*p3.R3");
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testErrorsOfPackagesBuiltInParallel() {
+        String p1 = drl("p1", "", rules("p1", 3, null, "NAME"));
+        String p2 = drl("p2", "", rules("p2", 3, null, "undefinedVariable"));
+        String p3 = drl("p3", "", rules("p3", 3, null, "NAME"));
+
+        assertThat(buildLevels(p1, p2, p3)).containsExactly(asList("org.test.p1", "org.test.p2", "org.test.p3"));
+
+        KnowledgeBuilder kbuilder = buildPackages(p1, p2, p3);
+        assertThat(kbuilder.hasErrors()).isTrue();
+        assertThat(kbuilder.getErrors()).hasSize(3)
+                .allMatch(error -> error.getMessage().contains("undefinedVariable"));
+    }
+
+    @Test
+    public void testFullyQualifiedReferenceToAnotherPackage() {
+        String types = "package org.test.types;\n" +
+                       "declare Decorator\n" +
+                       "    prefix : String\n" +
+                       "end\n" +
+                       "function String decorate(String prefix, String name) { return prefix + name; }\n" +
+                       "rule Init when then insert( new Decorator( \"*\" ) ); end\n";
+        // no imports: the types package is only referred by fully qualified name, in the patterns and in the consequences
+        String p1 = drl("p1", "", rules("p1", 5, "$d : org.test.types.Decorator()", "((org.test.types.Decorator) $d).getPrefix() + NAME"));
+        String p2 = drl("p2", "", rules("p2", 5, "org.test.types.Decorator( $p : prefix )", "org.test.types.Decorate.decorate($p, NAME)"));
+
+        // the packages referring to the types one by fully qualified name are compiled after it, even when listed before
+        assertThat(buildLevels(types, p1, p2)).containsExactly(
+                asList("org.test.types"),
+                asList("org.test.p1", "org.test.p2"));
+        assertThat(buildLevels(p1, p2, types)).containsExactly(
+                asList("org.test.types"),
+                asList("org.test.p1", "org.test.p2"));
+
+        KnowledgeBuilder kbuilder = buildPackages(types, p1, p2);
+        assertThat(kbuilder.hasErrors()).as(kbuilder.getErrors().toString()).isFalse();
+
+        InternalKnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        kbase.addPackages(kbuilder.getKnowledgePackages());
+
+        KieSession ksession = kbase.newKieSession();
+        try {
+            List<String> list = new ArrayList<>();
+            ksession.setGlobal("list", list);
+            ksession.insert("abc");
+            assertThat(ksession.fireAllRules()).isEqualTo(3);
+            assertThat(list).containsExactlyInAnyOrder("*p1.R3", "*p2.R3");
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.drools.core.common.EventSupport;
@@ -50,6 +51,7 @@ import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieContainerSessionsPool;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.KieSessionsPoolConfiguration;
 import org.kie.api.runtime.StatelessKieSession;
 import org.kie.internal.command.CommandFactory;
 import org.kie.internal.event.rule.RuleEventListener;
@@ -435,6 +437,30 @@ public class SessionsPoolTest {
         pool.shutdown();
     }
 
+    @Test
+    public void testBoundedKieSessionsPool() {
+        KieSessionsPoolConfiguration configuration = new KieSessionsPoolConfiguration( 1 )
+                .setMaxSize( 2 )
+                .setMaxWait( 0, TimeUnit.MILLISECONDS );
+        KieContainerSessionsPool pool = getKieContainer().newKieSessionsPool( configuration );
+
+        KieSession ksession1 = pool.newKieSession();
+        KieSession ksession2 = pool.newKieSession();
+        try {
+            pool.newKieSession();
+            fail("the pool cannot hold more than 2 sessions");
+        } catch (IllegalStateException e) { }
+
+        ksession2.dispose();
+        KieSession ksession3 = pool.newKieSession();
+        assertSame( ksession2, ksession3 );
+        checkKieSession( ksession3 );
+
+        ksession1.dispose();
+        ksession3.dispose();
+        pool.shutdown();
+    }
+
     @Test
     public void testListenersReset() {
         final KieContainerSessionsPool pool = getKieContainer().newKieSessionsPool( 1 );
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.mvel.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.drools.core.base.ClassFieldAccessorCache;
+import org.drools.core.base.ClassObjectType;
+import org.drools.core.common.DefaultFactHandle;
+import org.drools.core.reteoo.LeftTupleImpl;
+import org.drools.core.reteoo.RightTuple;
+import org.drools.core.reteoo.RightTupleImpl;
+import org.drools.core.reteoo.TupleMemory;
+import org.drools.core.rule.Declaration;
+import org.drools.core.rule.Pattern;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.spi.Tuple;
+import org.drools.core.test.model.Cheese;
+import org.drools.core.util.AbstractHashTable.FieldIndex;
+import org.drools.core.util.FastIterator;
+import org.drools.core.util.index.LongTupleIndexHashTable;
+import org.drools.core.util.index.StringTupleIndexHashTable;
+import org.drools.mvel.accessors.ClassFieldAccessorStore;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OpenAddressingTupleIndexHashTableTest {
+
+    private final ClassFieldAccessorStore store = new ClassFieldAccessorStore();
+
+    @Before
+    public void setUp() throws Exception {
+        store.setClassFieldAccessorCache( new ClassFieldAccessorCache( Thread.currentThread().getContextClassLoader() ) );
+        store.setEagerWire( true );
+    }
+
+    private FieldIndex fieldIndexOf( String fieldName ) {
+        InternalReadAccessor extractor = store.getReader( Cheese.class, fieldName );
+        Pattern pattern = new Pattern( 0, new ClassObjectType( Cheese.class ) );
+        return new FieldIndex( extractor, new Declaration( fieldName + "OfCheese", extractor, pattern ) );
+    }
+
+    private static RightTuple rightTuple( int id, Cheese cheese ) {
+        return new RightTupleImpl( new DefaultFactHandle( id, cheese ), null );
+    }
+
+    private static Tuple leftTuple( Cheese cheese ) {
+        return new LeftTupleImpl( new DefaultFactHandle( 0, cheese ), null, true );
+    }
+
+    private static Set<Tuple> iterate( TupleMemory memory ) {
+        Set<Tuple> tuples = new HashSet<>();
+        FastIterator it = memory.fullFastIterator();
+        for ( Tuple tuple = (Tuple) it.next( null ); tuple != null; tuple = (Tuple) it.next( tuple ) ) {
+            assertTrue( tuples.add( tuple ) );
+        }
+        return tuples;
+    }
+
+    @Test
+    public void testLongKeysWithResizeAndRemoval() {
+        LongTupleIndexHashTable table = new LongTupleIndexHashTable( fieldIndexOf( "price" ), false );
+
+        List<RightTuple> tuples = new ArrayList<>();
+        for ( int i = 0; i < 1000; i++ ) {
+            // two tuples for each key
+            RightTuple first = rightTuple( i * 2, new Cheese( "stilton", i ) );
+            RightTuple second = rightTuple( i * 2 + 1, new Cheese( "cheddar", i ) );
+            table.add( first );
+            table.add( second );
+            tuples.add( first );
+            tuples.add( second );
+        }
+        assertEquals( 2000, table.size() );
+        assertEquals( 2000, iterate( table ).size() );
+
+        for ( int i = 0; i < 1000; i++ ) {
+            Tuple first = table.getFirst( leftTuple( new Cheese( "brie", i ) ) );
+            assertEquals( i, ( (Cheese) first.getFactHandle().getObject() ).getPrice() );
+            assertEquals( i, ( (Cheese) first.getNext().getFactHandle().getObject() ).getPrice() );
+            assertNull( first.getNext().getNext() );
+        }
+        assertNull( table.getFirst( leftTuple( new Cheese( "brie", 1000 ) ) ) );
+
+        // removing the tuples of the even keys empties their buckets and shifts back the colliding ones
+        for ( int i = 0; i < tuples.size(); i++ ) {
+            if ( ( i / 2 ) % 2 == 0 ) {
+                table.remove( tuples.get( i ) );
+            }
+        }
+        assertEquals( 1000, table.size() );
+        for ( int i = 0; i < 1000; i++ ) {
+            Tuple first = table.getFirst( leftTuple( new Cheese( "brie", i ) ) );
+            if ( i % 2 == 0 ) {
+                assertNull( first );
+            } else {
+                assertEquals( i, ( (Cheese) first.getFactHandle().getObject() ).getPrice() );
+            }
+        }
+
+        Set<Tuple> remaining = iterate( table );
+        assertEquals( 1000, remaining.size() );
+        for ( int i = 0; i < tuples.size(); i++ ) {
+            assertEquals( ( i / 2 ) % 2 != 0, remaining.contains( tuples.get( i ) ) );
+        }
+    }
+
+    @Test
+    public void testLongKeysRemoveAdd() {
+        LongTupleIndexHashTable table = new LongTupleIndexHashTable( fieldIndexOf( "price" ), false );
+
+        Cheese cheese = new Cheese( "stilton", 10 );
+        RightTuple tuple = rightTuple( 1, cheese );
+        table.add( tuple );
+        table.add( rightTuple( 2, new Cheese( "cheddar", 20 ) ) );
+
+        cheese.setPrice( 20 );
+        table.removeAdd( tuple );
+
+        assertEquals( 2, table.size() );
+        assertNull( table.getFirst( leftTuple( new Cheese( "brie", 10 ) ) ) );
+        Tuple first = table.getFirst( leftTuple( new Cheese( "brie", 20 ) ) );
+        assertSame( tuple, first.getNext() );
+        assertEquals( 2, iterate( table ).size() );
+    }
+
+    @Test
+    public void testStringKeysWithNullKey() {
+        StringTupleIndexHashTable table = new StringTupleIndexHashTable( fieldIndexOf( "type" ), false );
+
+        RightTuple stilton = rightTuple( 1, new Cheese( "stilton", 10 ) );
+        RightTuple noType = rightTuple( 2, new Cheese( null, 20 ) );
+        RightTuple cheddar = rightTuple( 3, new Cheese( "cheddar", 30 ) );
+        table.add( stilton );
+        table.add( noType );
+        table.add( cheddar );
+
+        assertEquals( 3, table.size() );
+        assertSame( stilton, table.getFirst( leftTuple( new Cheese( "stilton", 0 ) ) ) );
+        assertSame( cheddar, table.getFirst( leftTuple( new Cheese( "cheddar", 0 ) ) ) );
+        assertSame( noType, table.getFirst( leftTuple( new Cheese( null, 0 ) ) ) );
+        assertNull( table.getFirst( leftTuple( new Cheese( "brie", 0 ) ) ) );
+
+        Set<Tuple> tuples = iterate( table );
+        assertEquals( 3, tuples.size() );
+        assertTrue( tuples.contains( noType ) );
+
+        table.remove( noType );
+        assertNull( table.getFirst( leftTuple( new Cheese( null, 0 ) ) ) );
+        assertFalse( iterate( table ).contains( noType ) );
+
+        table.clear();
+        assertEquals( 0, table.size() );
+        assertTrue( iterate( table ).isEmpty() );
+    }
+
+    @Test
+    public void testEnsureCapacityBeforeBulkInsert() {
+        LongTupleIndexHashTable table = new LongTupleIndexHashTable( fieldIndexOf( "price" ), false );
+
+        for ( int i = 0; i < 10; i++ ) {
+            table.add( rightTuple( i, new Cheese( "stilton", i ) ) );
+        }
+
+        // the already stored buckets are rehashed into the pre-sized table
+        table.ensureCapacity( 1000 );
+        for ( int i = 10; i < 1010; i++ ) {
+            table.add( rightTuple( i, new Cheese( "stilton", i ) ) );
+        }
+        table.ensureCapacity( 0 );
+
+        assertEquals( 1010, table.size() );
+        assertEquals( 1010, iterate( table ).size() );
+        for ( int i = 0; i < 1010; i++ ) {
+            assertEquals( i, ( (Cheese) table.getFirst( leftTuple( new Cheese( "brie", i ) ) ).getFactHandle().getObject() ).getPrice() );
+        }
+        assertNull( table.getFirst( leftTuple( new Cheese( "brie", 1010 ) ) ) );
+    }
+}
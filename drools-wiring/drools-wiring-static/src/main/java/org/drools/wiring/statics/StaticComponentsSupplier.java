@@ -57,8 +57,11 @@ public class StaticComponentsSupplier implements ComponentsSupplier {
 
     @Override
     public Object createTimerService(String className) {
+        String timerServiceClassName = "org.drools.core.time.impl.TimingWheelTimerService".equals(className) ?
+                className :
+                "org.drools.core.time.impl.JDKTimerService";
         try {
-            return Class.forName("org.drools.core.time.impl.JDKTimerService").getConstructor().newInstance();
+            return Class.forName(timerServiceClassName).getConstructor().newInstance();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
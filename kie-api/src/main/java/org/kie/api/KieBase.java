@@ -29,6 +29,7 @@ import org.kie.api.runtime.Environment;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.KieSessionsPool;
+import org.kie.api.runtime.KieSessionsPoolConfiguration;
 import org.kie.api.runtime.StatelessKieSession;
 
 /**
@@ -174,6 +175,16 @@ public interface KieBase extends KieBaseEventManager {
      */
     KieSessionsPool newKieSessionsPool(int initialSize);
 
+    /**
+     * Creates a new {@link KieSessionsPool} storing the sessions created from this KieBase,
+     * bounded and evicting its idle sessions as defined by the given configuration.
+     * Don't forget to {@link KieSessionsPool#shutdown()} the pool when you are done.
+     *
+     * @param configuration the configuration of the pool
+     * @return created {@link KieSessionsPool}
+     */
+    KieSessionsPool newKieSessionsPool(KieSessionsPoolConfiguration configuration);
+
     /**
      * Returns a collection of the {@link KieSession}s that exist in this {@link KieBase}.
      * Be careful as sessions are not thread-safe and could be in use elsewhere.
@@ -113,6 +113,16 @@ public interface KieContainer {
      */
     KieContainerSessionsPool newKieSessionsPool(int initialSize);
 
+    /**
+     * Creates a new {@link KieContainerSessionsPool} storing the sessions created from this KieContainer,
+     * bounded and evicting its idle sessions as defined by the given configuration.
+     * Don't forget to {@link KieContainerSessionsPool#shutdown()} the pool when you are done.
+     *
+     * @param configuration the configuration of the pool
+     * @return created {@link KieContainerSessionsPool}
+     */
+    KieContainerSessionsPool newKieSessionsPool(KieSessionsPoolConfiguration configuration);
+
     /**
      * Creates the default KieSession for this KieContainer
      * @throws RuntimeException if this KieContainer doesn't have any default KieSession
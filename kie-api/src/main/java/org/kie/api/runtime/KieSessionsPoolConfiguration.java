@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.api.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The configuration of a {@link KieSessionsPool}. The sessions are eagerly created up to the minimum size and
+ * lazily created on demand up to the maximum size. When all the sessions are in use, obtaining a new one blocks
+ * up to the configured maximum wait and then fails with an {@link IllegalStateException}.
+ */
+public class KieSessionsPoolConfiguration {
+
+    private final int minSize;
+    private int maxSize = Integer.MAX_VALUE;
+    private long maxWait = -1;
+    private long idleTimeout = 0;
+    private boolean asyncReset = false;
+
+    /**
+     * @param minSize the number of sessions eagerly created and never evicted from the pool
+     */
+    public KieSessionsPoolConfiguration( int minSize ) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException( "The minimum size of a pool cannot be negative" );
+        }
+        this.minSize = minSize;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of sessions, both idle and in use, that the pool can hold. Default is unbounded.
+     */
+    public KieSessionsPoolConfiguration setMaxSize( int maxSize ) {
+        if (maxSize < minSize || maxSize <= 0) {
+            throw new IllegalArgumentException( "The maximum size of a pool must be positive and not lower than its minimum size " + minSize );
+        }
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Returns the maximum wait in milliseconds, -1 meaning indefinitely
+     */
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Sets how long to wait for a session to be released when the pool is exhausted.
+     * A negative value (the default) waits indefinitely, 0 fails immediately.
+     */
+    public KieSessionsPoolConfiguration setMaxWait( long maxWait, TimeUnit unit ) {
+        this.maxWait = maxWait < 0 ? -1 : unit.toMillis( maxWait );
+        return this;
+    }
+
+    /**
+     * Returns the idle timeout in milliseconds, 0 meaning never
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets for how long a session can stay unused in the pool before being disposed. 0 (the default) means never.
+     */
+    public KieSessionsPoolConfiguration setIdleTimeout( long idleTimeout, TimeUnit unit ) {
+        if (idleTimeout < 0) {
+            throw new IllegalArgumentException( "The idle timeout of a pool cannot be negative" );
+        }
+        this.idleTimeout = unit.toMillis( idleTimeout );
+        return this;
+    }
+
+    public boolean isAsyncReset() {
+        return asyncReset;
+    }
+
+    /**
+     * When true the released sessions are reset on a background thread before being made available again.
+     */
+    public KieSessionsPoolConfiguration setAsyncReset( boolean asyncReset ) {
+        this.asyncReset = asyncReset;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "KieSessionsPoolConfiguration{minSize=" + minSize + ", maxSize=" + maxSize + ", maxWait=" + maxWait +
+                ", idleTimeout=" + idleTimeout + ", asyncReset=" + asyncReset + "}";
+    }
+}
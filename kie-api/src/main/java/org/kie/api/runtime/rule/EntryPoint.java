@@ -16,7 +16,9 @@
 
 package org.kie.api.runtime.rule;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.kie.api.runtime.ObjectFilter;
 
@@ -61,6 +63,25 @@ public interface EntryPoint {
      */
     FactHandle insert(Object object);
 
+    /**
+     * Inserts all the given facts into this entry point. This is equivalent to inserting them one by one
+     * in the iteration order of the collection, but allows the engine to process the whole batch at once.
+     * The engine may propagate the facts of different types in a different interleaving, but every node
+     * of the network still receives its facts in the iteration order of the collection.
+     *
+     * @param objects
+     *        the facts to be inserted
+     *
+     * @return the fact handles created for the given facts, in the same order
+     */
+    default List<FactHandle> insertAll(Collection<?> objects) {
+        List<FactHandle> handles = new ArrayList<>( objects.size() );
+        for ( Object object : objects ) {
+            handles.add( insert( object ) );
+        }
+        return handles;
+    }
+
     /**
      * Retracts the fact for which the given FactHandle was assigned.
      *
@@ -16,12 +16,22 @@
 
 package org.kie.dmn.core.impl;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -54,6 +64,7 @@ import org.kie.dmn.core.ast.DecisionServiceNodeImpl;
 import org.kie.dmn.core.ast.InputDataNodeImpl;
 import org.kie.dmn.core.compiler.DMNOption;
 import org.kie.dmn.core.compiler.DMNProfile;
+import org.kie.dmn.core.compiler.ParallelEvaluationOption;
 import org.kie.dmn.core.compiler.RuntimeTypeCheckOption;
 import org.kie.dmn.core.util.Msg;
 import org.kie.dmn.core.util.MsgUtil;
@@ -64,6 +75,7 @@ import org.slf4j.LoggerFactory;
 import static org.kie.dmn.api.core.DMNDecisionResult.DecisionEvaluationStatus.EVALUATING;
 import static org.kie.dmn.api.core.DMNDecisionResult.DecisionEvaluationStatus.FAILED;
 import static org.kie.dmn.api.core.DMNDecisionResult.DecisionEvaluationStatus.SKIPPED;
+import static org.kie.dmn.api.core.DMNDecisionResult.DecisionEvaluationStatus.SUCCEEDED;
 
 public class DMNRuntimeImpl
         implements DMNRuntime {
@@ -74,6 +86,9 @@ public class DMNRuntimeImpl
 
     private boolean overrideRuntimeTypeCheck = false;
 
+    private boolean parallelEvaluation = new ParallelEvaluationOption(System.getProperty(ParallelEvaluationOption.PROPERTY_NAME)).isParallelEvaluation();
+    private Executor evaluationExecutor = ForkJoinPool.commonPool();
+
     private DMNResultImplFactory dmnResultFactory = new DMNResultImplFactory();
 
     public DMNRuntimeImpl(DMNRuntimeKB runtimeKB) {
@@ -112,13 +127,110 @@ public class DMNRuntimeImpl
         DMNRuntimeEventManagerUtils.fireBeforeEvaluateAll( eventManager, model, result );
         // the engine should evaluate all Decisions belonging to the "local" model namespace, not imported decision explicitly.
         Set<DecisionNode> decisions = model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet());
-        for( DecisionNode decision : decisions ) {
-            evaluateDecision(context, result, decision, performRuntimeTypeCheck);
+        List<DecisionNode> sortedDecisions = parallelEvaluation && decisions.size() > 1 ? sortForParallelEvaluation(model, decisions) : null;
+        if (sortedDecisions != null) {
+            evaluateAllInParallel(model, context, result, sortedDecisions, performRuntimeTypeCheck);
+        } else {
+            for( DecisionNode decision : decisions ) {
+                evaluateDecision(context, result, decision, performRuntimeTypeCheck);
+            }
         }
         DMNRuntimeEventManagerUtils.fireAfterEvaluateAll( eventManager, model, result );
         return result;
     }
 
+    /**
+     * Sorts the decisions so that each one follows all the decisions it requires, returning null if they cannot be
+     * evaluated in parallel: the nodes walking into an import scope push their scope on the shared context, and a
+     * dependency cycle is left to the sequential evaluation to be reported.
+     */
+    private List<DecisionNode> sortForParallelEvaluation(DMNModel model, Set<DecisionNode> decisions) {
+        if (decisions.size() != model.getDecisions().size() ||
+                model.getBusinessKnowledgeModels().stream().anyMatch(b -> !b.getModelNamespace().equals(model.getNamespace())) ||
+                model.getDecisionServices().stream().anyMatch(ds -> !ds.getModelNamespace().equals(model.getNamespace()))) {
+            return null;
+        }
+        Map<String, Integer> pendingDependencies = new HashMap<>();
+        Map<String, List<DecisionNode>> dependants = new HashMap<>();
+        Deque<DecisionNode> ready = new ArrayDeque<>();
+        for (DecisionNode decision : decisions) {
+            int pending = 0;
+            for (DMNNode dep : ((DecisionNodeImpl) decision).getDependencies().values()) {
+                if (dep instanceof DecisionNode) {
+                    dependants.computeIfAbsent(dep.getId(), id -> new ArrayList<>()).add(decision);
+                    pending++;
+                }
+            }
+            pendingDependencies.put(decision.getId(), pending);
+            if (pending == 0) {
+                ready.add(decision);
+            }
+        }
+        List<DecisionNode> sorted = new ArrayList<>(decisions.size());
+        while (!ready.isEmpty()) {
+            DecisionNode decision = ready.poll();
+            sorted.add(decision);
+            for (DecisionNode dependant : dependants.getOrDefault(decision.getId(), Collections.emptyList())) {
+                if (pendingDependencies.merge(dependant.getId(), -1, Integer::sum) == 0) {
+                    ready.add(dependant);
+                }
+            }
+        }
+        return sorted.size() == decisions.size() ? sorted : null;
+    }
+
+    /**
+     * Evaluates each decision on the evaluationExecutor as soon as the decisions it requires are evaluated. Since the
+     * evaluators swap the context of the DMNResultImpl they are working on, every decision is evaluated on its own
+     * DMNResultImpl, holding the input data and the results of its required decisions, and the results are merged
+     * into the returned one once all the decisions are evaluated.
+     */
+    private void evaluateAllInParallel(DMNModel model, DMNContext context, DMNResultImpl result, List<DecisionNode> sortedDecisions, boolean typeCheck) {
+        // the context of the result is updated while merging, so the evaluations start from a copy of the input data
+        DMNContext inputContext = result.getContext().clone();
+        Map<String, CompletableFuture<DMNResultImpl>> evaluations = new LinkedHashMap<>();
+        for (DecisionNode decision : sortedDecisions) {
+            List<DecisionNode> requiredDecisions = new ArrayList<>();
+            List<CompletableFuture<DMNResultImpl>> requiredEvaluations = new ArrayList<>();
+            for (DMNNode dep : ((DecisionNodeImpl) decision).getDependencies().values()) {
+                if (dep instanceof DecisionNode) {
+                    requiredDecisions.add((DecisionNode) dep);
+                    requiredEvaluations.add(evaluations.get(dep.getId()));
+                }
+            }
+            CompletableFuture<DMNResultImpl> evaluation = CompletableFuture.allOf(requiredEvaluations.toArray(new CompletableFuture[0]))
+                    .thenApplyAsync(v -> {
+                        DMNResultImpl decisionResult = createResultImpl(model, inputContext);
+                        decisionResult.addDecisionResult(new DMNDecisionResultImpl(decision.getId(), decision.getName()));
+                        for (int i = 0; i < requiredDecisions.size(); i++) {
+                            DMNDecisionResult requiredResult = requiredEvaluations.get(i).join().getDecisionResultById(requiredDecisions.get(i).getId());
+                            decisionResult.addDecisionResult(requiredResult);
+                            if (requiredResult.getEvaluationStatus() == SUCCEEDED) {
+                                decisionResult.getContext().set(requiredDecisions.get(i).getName(), requiredResult.getResult());
+                            }
+                        }
+                        evaluateDecision(context, decisionResult, decision, typeCheck);
+                        return decisionResult;
+                    }, evaluationExecutor);
+            evaluations.put(decision.getId(), evaluation);
+        }
+        for (Map.Entry<String, CompletableFuture<DMNResultImpl>> evaluation : evaluations.entrySet()) {
+            DMNResultImpl decisionResult;
+            try {
+                decisionResult = evaluation.getValue().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+            result.addDecisionResult(decisionResult.getDecisionResultById(evaluation.getKey()));
+            result.addAllUnfiltered(decisionResult.getMessages());
+            for (Map.Entry<String, Object> entry : decisionResult.getContext().getAll().entrySet()) {
+                if (!result.getContext().isDefined(entry.getKey())) {
+                    result.getContext().set(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
     @Override
     @Deprecated
     public DMNResult evaluateDecisionByName(DMNModel model, String decisionName, DMNContext context) {
@@ -769,9 +881,18 @@ public class DMNRuntimeImpl
     public final <T extends DMNOption> void setOption(T option) {
         if (option instanceof RuntimeTypeCheckOption) {
             this.overrideRuntimeTypeCheck = ((RuntimeTypeCheckOption) option).isRuntimeTypeCheck();
+        } else if (option instanceof ParallelEvaluationOption) {
+            this.parallelEvaluation = ((ParallelEvaluationOption) option).isParallelEvaluation();
         }
     }
 
+    /**
+     * Sets the executor running the decisions evaluated in parallel, by default the common ForkJoinPool
+     */
+    public void setEvaluationExecutor(Executor evaluationExecutor) {
+        this.evaluationExecutor = Objects.requireNonNull(evaluationExecutor, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "evaluationExecutor"));
+    }
+
     private void reportFailure(DMNDecisionResultImpl dr, DMNMessage message, DMNDecisionResult.DecisionEvaluationStatus status) {
         dr.getMessages().add( message );
         dr.setEvaluationStatus( status );
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNDecisionResult;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.compiler.ParallelEvaluationOption;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+import org.kie.dmn.feel.runtime.FEELFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.dmn.core.util.DynamicTypeUtils.entry;
+import static org.kie.dmn.core.util.DynamicTypeUtils.mapOf;
+
+public class DMNParallelEvaluationTest extends BaseInterpretedVsCompiledTest {
+
+    public DMNParallelEvaluationTest(final boolean useExecModelCompiler) {
+        super(useExecModelCompiler);
+    }
+
+    @Test
+    public void testParallelEvaluationMatchesSequential() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("v1_2/ch11MODIFIED.dmn", this.getClass());
+        final DMNModel dmnModel = getChapter11Model(runtime);
+
+        final DMNResult sequential = runtime.evaluateAll(dmnModel, newChapter11Context());
+        ((DMNRuntimeImpl) runtime).setOption(new ParallelEvaluationOption(true));
+        final DMNResult parallel = runtime.evaluateAll(dmnModel, newChapter11Context());
+
+        assertThat(parallel.hasErrors()).as(DMNRuntimeUtil.formatMessages(parallel.getMessages())).isFalse();
+        assertThat(parallel.getContext().get("Strategy")).isEqualTo("THROUGH");
+        assertThat(parallel.getContext().get("Routing")).isEqualTo("ACCEPT");
+        // the business knowledge models are instantiated again by every evaluation, so only their names are compared
+        assertThat(parallel.getContext().getAll()).containsOnlyKeys(sequential.getContext().getAll().keySet());
+        sequential.getContext().getAll().forEach((name, value) -> {
+            if (!(value instanceof FEELFunction)) {
+                assertThat(parallel.getContext().get(name)).as(name).isEqualTo(value);
+            }
+        });
+        assertThat(parallel.getDecisionResults()).hasSameSizeAs(sequential.getDecisionResults());
+        for (DMNDecisionResult dr : sequential.getDecisionResults()) {
+            final DMNDecisionResult parallelDr = parallel.getDecisionResultById(dr.getDecisionId());
+            assertThat(parallelDr.getEvaluationStatus()).isEqualTo(dr.getEvaluationStatus());
+            assertThat(parallelDr.getResult()).isEqualTo(dr.getResult());
+        }
+    }
+
+    @Test
+    public void testParallelEvaluationOnExecutor() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime("v1_2/ch11MODIFIED.dmn", this.getClass());
+        final DMNModel dmnModel = getChapter11Model(runtime);
+
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        runtime.addListener(new DMNRuntimeEventListener() {
+            @Override
+            public void beforeEvaluateDecision(BeforeEvaluateDecisionEvent event) {
+                events.add("before " + event.getDecision().getName());
+            }
+
+            @Override
+            public void afterEvaluateDecision(AfterEvaluateDecisionEvent event) {
+                events.add("after " + event.getDecision().getName());
+            }
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final AtomicInteger tasks = new AtomicInteger();
+            ((DMNRuntimeImpl) runtime).setOption(new ParallelEvaluationOption(true));
+            ((DMNRuntimeImpl) runtime).setEvaluationExecutor(command -> {
+                tasks.incrementAndGet();
+                executor.execute(command);
+            });
+
+            final DMNResult dmnResult = runtime.evaluateAll(dmnModel, newChapter11Context());
+            assertThat(dmnResult.hasErrors()).as(DMNRuntimeUtil.formatMessages(dmnResult.getMessages())).isFalse();
+            assertThat(dmnResult.getContext().get("Routing")).isEqualTo("ACCEPT");
+
+            // every decision of the model is evaluated exactly once, by its own task
+            final long decisions = dmnModel.getDecisions().size();
+            assertThat(tasks.get()).isEqualTo(decisions);
+            assertThat(events).hasSize((int) decisions * 2).doesNotHaveDuplicates();
+            for (DMNDecisionResult dr : dmnResult.getDecisionResults()) {
+                assertThat(events.indexOf("before " + dr.getDecisionName())).isLessThan(events.indexOf("after " + dr.getDecisionName()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DMNModel getChapter11Model(final DMNRuntime runtime) {
+        final DMNModel dmnModel = runtime.getModel("http://www.trisotech.com/definitions/_3068644b-d2c7-4b81-ab9d-64f011f81f47", "DMN Specification Chapter 11 Example");
+        assertThat(dmnModel).isNotNull();
+        assertThat(dmnModel.hasErrors()).as(DMNRuntimeUtil.formatMessages(dmnModel.getMessages())).isFalse();
+        return dmnModel;
+    }
+
+    private static DMNContext newChapter11Context() {
+        final DMNContext context = DMNFactory.newContext();
+        context.set("Applicant data", mapOf(entry("Age", new BigDecimal(51)),
+                                            entry("MaritalStatus", "M"),
+                                            entry("EmploymentStatus", "EMPLOYED"),
+                                            entry("ExistingCustomer", Boolean.FALSE),
+                                            entry("Monthly", mapOf(entry("Income", new BigDecimal(100_000)),
+                                                                   entry("Repayments", new BigDecimal(2_500)),
+                                                                   entry("Expenses", new BigDecimal(10_000))))));
+        context.set("Bureau data", mapOf(entry("Bankrupt", Boolean.FALSE),
+                                         entry("CreditScore", new BigDecimal(600))));
+        context.set("Requested product", mapOf(entry("ProductType", "STANDARD LOAN"),
+                                               entry("Rate", new BigDecimal(0.08)),
+                                               entry("Term", new BigDecimal(36)),
+                                               entry("Amount", new BigDecimal(100_000))));
+        context.set("Supporting documents", null);
+        return context;
+    }
+}
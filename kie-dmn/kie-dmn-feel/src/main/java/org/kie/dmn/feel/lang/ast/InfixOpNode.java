@@ -30,6 +30,7 @@ import java.time.chrono.ChronoPeriod;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
 import java.util.function.BinaryOperator;
+import java.util.function.LongBinaryOperator;
 
 import ch.obermuhlner.math.big.BigDecimalMath;
 import org.antlr.v4.runtime.ParserRuleContext;
@@ -228,6 +229,8 @@ public class InfixOpNode
     public static Object add(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
+        } else if ( isLongValued( left ) && isLongValued( right ) ) {
+            return longMath( left, right, ctx, Math::addExact, (l, r) -> l.add( r, MathContext.DECIMAL128 ) );
         } else if ( left instanceof String && right instanceof String ) {
             return ((String) left) + ((String) right);
         } else if (left instanceof ChronoPeriod && right instanceof ChronoPeriod) {
@@ -282,6 +285,8 @@ public class InfixOpNode
     public static Object sub(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
+        } else if ( isLongValued( left ) && isLongValued( right ) ) {
+            return longMath( left, right, ctx, Math::subtractExact, (l, r) -> l.subtract( r, MathContext.DECIMAL128 ) );
         } else if ( left instanceof Temporal && right instanceof Temporal ) {
             if( left instanceof ZonedDateTime || left instanceof OffsetDateTime ) {
                 if( right instanceof LocalDateTime ) {
@@ -327,6 +332,8 @@ public class InfixOpNode
     public static Object mult(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
+        } else if ( isLongValued( left ) && isLongValued( right ) ) {
+            return longMath( left, right, ctx, Math::multiplyExact, (l, r) -> l.multiply( r, MathContext.DECIMAL128 ) );
         } else if ( left instanceof Duration && right instanceof Number ) {
             return ((Duration)left).multipliedBy( ((Number) right).longValue() );
         } else if ( left instanceof Number && right instanceof Duration ) {
@@ -347,6 +354,8 @@ public class InfixOpNode
     public static Object div(Object left, Object right, EvaluationContext ctx) {
         if ( left == null || right == null ) {
             return null;
+        } else if ( isLongValued( left ) && isLongValued( right ) && isExactLongDivision( ((Number) left).longValue(), ((Number) right).longValue() ) ) {
+            return BigDecimal.valueOf( ((Number) left).longValue() / ((Number) right).longValue() );
         } else if ( left instanceof Duration && right instanceof Number ) {
             return ((Duration)left).dividedBy( ((Number) right).longValue() );
         } else if ( left instanceof Number && right instanceof Duration ) {
@@ -364,6 +373,32 @@ public class InfixOpNode
         }
     }
 
+    /**
+     * Returns true if the value is an integral number exactly represented by a long. The sum, difference, product and
+     * exact quotient of two such numbers are integers that fit in 34 digits, so computing them on longs gives the same
+     * BigDecimal, with scale 0, as computing them with MathContext.DECIMAL128.
+     */
+    private static boolean isLongValued(Object value) {
+        if ( value instanceof BigDecimal ) {
+            BigDecimal bd = (BigDecimal) value;
+            return bd.scale() == 0 && bd.precision() <= 18;
+        }
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isExactLongDivision(long l, long r) {
+        return r != 0 && !( l == Long.MIN_VALUE && r == -1 ) && l % r == 0;
+    }
+
+    private static Object longMath(Object left, Object right, EvaluationContext ctx, LongBinaryOperator op, BinaryOperator<BigDecimal> fallback) {
+        try {
+            return BigDecimal.valueOf( op.applyAsLong( ((Number) left).longValue(), ((Number) right).longValue() ) );
+        } catch ( ArithmeticException e ) {
+            // the result overflows a long
+            return math( left, right, ctx, fallback );
+        }
+    }
+
     public static Object math(Object left, Object right, EvaluationContext ctx, BinaryOperator<BigDecimal> op) {
         BigDecimal l = EvalHelper.getBigDecimalOrNull( left );
         BigDecimal r = EvalHelper.getBigDecimalOrNull( right );
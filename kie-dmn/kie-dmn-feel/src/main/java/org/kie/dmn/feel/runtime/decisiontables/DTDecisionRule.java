@@ -51,6 +51,7 @@ th OutputClause.
 public class DTDecisionRule implements Indexed {
     private int                      index;
     private List<UnaryTest>          inputEntry;
+    private List<String>             inputEntryText;
     private List<CompiledExpression> outputEntry;
 
     public DTDecisionRule(int index) {
@@ -69,6 +70,17 @@ index) inputExpression.
         return this.inputEntry;
     }
 
+    /**
+     * The FEEL text of the inputEntry instances, by index, used to build the index of the decision table.
+     * It can be left empty when the text is not available.
+     */
+    public List<String> getInputEntryText() {
+        if ( inputEntryText == null ) {
+            inputEntryText = new ArrayList<>();
+        }
+        return this.inputEntryText;
+    }
+
     /**
 A list of the instances of LiteralExpression that compose
 the output components of this DecisionRule. 
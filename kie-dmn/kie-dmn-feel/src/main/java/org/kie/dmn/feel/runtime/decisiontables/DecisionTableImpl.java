@@ -18,6 +18,7 @@ package org.kie.dmn.feel.runtime.decisiontables;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -58,6 +59,7 @@ public class DecisionTableImpl implements DecisionTable {
     private List<DTDecisionRule> decisionRules;
     private HitPolicy            hitPolicy;
     private boolean              hasDefaultValues;
+    private DecisionTableIndex   index;
 
     private FEEL feel;
 
@@ -75,6 +77,7 @@ public class DecisionTableImpl implements DecisionTable {
         this.decisionRules = decisionRules;
         this.hitPolicy = hitPolicy;
         this.hasDefaultValues = outputs.stream().allMatch( o -> o.getDefaultValue() != null );
+        this.index = DecisionTableIndex.build( decisionRules, inputs.size() );
         this.feel = feel;
     }
 
@@ -250,9 +253,20 @@ public class DecisionTableImpl implements DecisionTable {
      */
     private List<DTDecisionRule> findMatches(EvaluationContext ctx, Object[] params) {
         List<DTDecisionRule> matchingDecisionRules = new ArrayList<>();
-        for ( DTDecisionRule decisionRule : decisionRules ) {
-            if ( matches( ctx, params, decisionRule ) ) {
-                matchingDecisionRules.add( decisionRule );
+        BitSet candidates = index != null ? index.candidates( params ) : null;
+        if ( candidates != null ) {
+            // only the rules that could match the inputs are checked, still in the order of the table
+            for ( int i = candidates.nextSetBit( 0 ); i >= 0; i = candidates.nextSetBit( i + 1 ) ) {
+                DTDecisionRule decisionRule = decisionRules.get( i );
+                if ( matches( ctx, params, decisionRule ) ) {
+                    matchingDecisionRules.add( decisionRule );
+                }
+            }
+        } else {
+            for ( DTDecisionRule decisionRule : decisionRules ) {
+                if ( matches( ctx, params, decisionRule ) ) {
+                    matchingDecisionRules.add( decisionRule );
+                }
             }
         }
         ctx.notifyEvt( () -> {
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.kie.dmn.feel.util.EvalHelper;
+
+/**
+ * An index of the rules of a decision table, built from the text of their input entries, that restricts the rules
+ * to be checked against the actual inputs to the ones that could possibly match.
+ *
+ * The input entries made of string and number literals and of ranges with numeric literal endpoints are indexed: the literal
+ * values are looked up in a hash map and the ranges are sorted by their lower endpoint, so that they can be scanned
+ * only up to the actual input. All the other input entries, including "-", are kept as candidates for any input.
+ * The candidate rows of each input column are intersected, and the resulting rules are still checked with their
+ * unary tests, so the index never changes the set of matched rules nor their order.
+ */
+class DecisionTableIndex {
+
+    /**
+     * Decision tables with fewer rules than this are simply scanned
+     */
+    static final int MIN_INDEXED_RULES = 8;
+
+    private static final String NUMBER = "(-?(?:\\d{1,30}(?:\\.\\d{1,30})?|\\.\\d{1,30}))";
+    private static final Pattern NUMBER_PATTERN = Pattern.compile( NUMBER );
+    private static final Pattern STRING_PATTERN = Pattern.compile( "\"([^\"\\\\]*)\"" );
+    private static final Pattern COMPARISON_PATTERN = Pattern.compile( "(<=|<|>=|>)\\s*" + NUMBER );
+    private static final Pattern INTERVAL_PATTERN = Pattern.compile( "([\\[(\\]])\\s*" + NUMBER + "\\s*\\.\\.\\s*" + NUMBER + "\\s*([\\])\\[])" );
+
+    private final ColumnIndex[] columns;
+
+    private DecisionTableIndex(ColumnIndex[] columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Builds the index of the given rules, returning null if none of their input entries can be indexed
+     */
+    static DecisionTableIndex build(List<DTDecisionRule> rules, int inputCount) {
+        if ( rules.size() < MIN_INDEXED_RULES ) {
+            return null;
+        }
+        for ( DTDecisionRule rule : rules ) {
+            if ( rule.getInputEntryText().size() != inputCount || rule.getInputEntry().size() != inputCount ) {
+                return null;
+            }
+        }
+        ColumnIndex[] columns = new ColumnIndex[inputCount];
+        boolean indexed = false;
+        for ( int i = 0; i < inputCount; i++ ) {
+            ColumnIndex column = new ColumnIndex();
+            for ( int row = 0; row < rules.size(); row++ ) {
+                column.add( row, rules.get( row ).getInputEntryText().get( i ) );
+            }
+            if ( column.isIndexed() ) {
+                column.sortRanges();
+                columns[i] = column;
+                indexed = true;
+            }
+        }
+        return indexed ? new DecisionTableIndex( columns ) : null;
+    }
+
+    /**
+     * Returns the positions of the rules that could match the given actual inputs, or null if the index cannot
+     * restrict them
+     */
+    BitSet candidates(Object[] params) {
+        BitSet candidates = null;
+        for ( int i = 0; i < columns.length; i++ ) {
+            if ( columns[i] == null ) {
+                continue;
+            }
+            Object key = toKey( params[i] );
+            if ( key == null ) {
+                continue;
+            }
+            BitSet columnCandidates = columns[i].candidates( key );
+            if ( candidates == null ) {
+                candidates = columnCandidates;
+            } else {
+                candidates.and( columnCandidates );
+            }
+            if ( candidates.isEmpty() ) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Normalizes a literal or an actual input so that the values that are equal for FEEL are also equal for Java,
+     * returning null for the values that are not indexed
+     */
+    private static Object toKey(Object value) {
+        if ( value instanceof String ) {
+            return value;
+        }
+        if ( value instanceof Number ) {
+            BigDecimal number = EvalHelper.getBigDecimalOrNull( value );
+            return number != null ? number.stripTrailingZeros() : null;
+        }
+        return null;
+    }
+
+    private static BigDecimal toNumber(String text) {
+        return (BigDecimal) toKey( new BigDecimal( text ) );
+    }
+
+    private static class ColumnIndex {
+
+        // the rows whose input entry is not indexed are candidates for any input
+        private final BitSet unindexed = new BitSet();
+        private final Map<Object, BitSet> values = new HashMap<>();
+        private final List<RangeEntry> ranges = new ArrayList<>();
+
+        private void add(int row, String text) {
+            List<Object> rowValues = new ArrayList<>();
+            List<RangeEntry> rowRanges = new ArrayList<>();
+            if ( text == null || !parse( row, text.trim(), rowValues, rowRanges ) ) {
+                unindexed.set( row );
+                return;
+            }
+            for ( Object value : rowValues ) {
+                values.computeIfAbsent( value, v -> new BitSet() ).set( row );
+            }
+            ranges.addAll( rowRanges );
+        }
+
+        private static boolean parse(int row, String text, List<Object> rowValues, List<RangeEntry> rowRanges) {
+            if ( text.isEmpty() || text.equals( "-" ) ) {
+                return false;
+            }
+            for ( String part : splitTopLevel( text ) ) {
+                part = part.trim();
+                Matcher matcher;
+                if ( (matcher = STRING_PATTERN.matcher( part )).matches() ) {
+                    rowValues.add( matcher.group( 1 ) );
+                } else if ( NUMBER_PATTERN.matcher( part ).matches() ) {
+                    rowValues.add( toNumber( part ) );
+                } else if ( (matcher = COMPARISON_PATTERN.matcher( part )).matches() ) {
+                    BigDecimal bound = toNumber( matcher.group( 2 ) );
+                    switch ( matcher.group( 1 ) ) {
+                        case "<":
+                            rowRanges.add( new RangeEntry( row, null, false, bound, false ) );
+                            break;
+                        case "<=":
+                            rowRanges.add( new RangeEntry( row, null, false, bound, true ) );
+                            break;
+                        case ">":
+                            rowRanges.add( new RangeEntry( row, bound, false, null, false ) );
+                            break;
+                        default:
+                            rowRanges.add( new RangeEntry( row, bound, true, null, false ) );
+                    }
+                } else if ( (matcher = INTERVAL_PATTERN.matcher( part )).matches() ) {
+                    rowRanges.add( new RangeEntry( row,
+                                                   toNumber( matcher.group( 2 ) ),
+                                                   matcher.group( 1 ).equals( "[" ),
+                                                   toNumber( matcher.group( 3 ) ),
+                                                   matcher.group( 4 ).equals( "]" ) ) );
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Splits the text on the commas that are not enclosed in a string literal
+         */
+        private static List<String> splitTopLevel(String text) {
+            List<String> parts = new ArrayList<>();
+            boolean inString = false;
+            int start = 0;
+            for ( int i = 0; i < text.length(); i++ ) {
+                char c = text.charAt( i );
+                if ( c == '"' ) {
+                    inString = !inString;
+                } else if ( c == ',' && !inString ) {
+                    parts.add( text.substring( start, i ) );
+                    start = i + 1;
+                }
+            }
+            parts.add( text.substring( start ) );
+            return parts;
+        }
+
+        private boolean isIndexed() {
+            return !values.isEmpty() || !ranges.isEmpty();
+        }
+
+        private void sortRanges() {
+            ranges.sort( Comparator.comparing( (RangeEntry r) -> r.low, Comparator.nullsFirst( Comparator.naturalOrder() ) ) );
+        }
+
+        private BitSet candidates(Object key) {
+            BitSet candidates = (BitSet) unindexed.clone();
+            BitSet rows = values.get( key );
+            if ( rows != null ) {
+                candidates.or( rows );
+            }
+            if ( key instanceof BigDecimal ) {
+                BigDecimal number = (BigDecimal) key;
+                for ( RangeEntry range : ranges ) {
+                    if ( range.low != null && range.low.compareTo( number ) > 0 ) {
+                        // the ranges are sorted by their lower endpoint, so none of the following ones can include the input
+                        break;
+                    }
+                    if ( range.includes( number ) ) {
+                        candidates.set( range.row );
+                    }
+                }
+            }
+            return candidates;
+        }
+    }
+
+    private static class RangeEntry {
+
+        private final int row;
+        private final BigDecimal low;
+        private final boolean lowIncluded;
+        private final BigDecimal high;
+        private final boolean highIncluded;
+
+        private RangeEntry(int row, BigDecimal low, boolean lowIncluded, BigDecimal high, boolean highIncluded) {
+            this.row = row;
+            this.low = low;
+            this.lowIncluded = lowIncluded;
+            this.high = high;
+            this.highIncluded = highIncluded;
+        }
+
+        private boolean includes(BigDecimal number) {
+            if ( low != null ) {
+                int c = low.compareTo( number );
+                if ( c > 0 || (c == 0 && !lowIncluded) ) {
+                    return false;
+                }
+            }
+            if ( high != null ) {
+                int c = high.compareTo( number );
+                return c > 0 || (c == 0 && highIncluded);
+            }
+            return true;
+        }
+    }
+}
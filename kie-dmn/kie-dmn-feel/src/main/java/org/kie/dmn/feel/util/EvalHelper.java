@@ -35,7 +35,6 @@ import java.time.temporal.TemporalQueries;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
@@ -58,7 +57,15 @@ import org.slf4j.LoggerFactory;
 public class EvalHelper {
     public static final Logger LOG = LoggerFactory.getLogger( EvalHelper.class );
 
-    private static final Map<AccessorCacheKey, Method> accessorCache = new ConcurrentHashMap<>();
+    /**
+     * The maximum number of properties whose accessors are cached for each class
+     */
+    static final int MAX_CACHED_ACCESSORS_PER_CLASS = 256;
+
+    private static final PropertyAccessor UNDEFINED_ACCESSOR = new PropertyAccessor( null );
+
+    // a ClassValue doesn't prevent the classes and their ClassLoaders from being unloaded
+    private static volatile ClassValue<Map<String, PropertyAccessor>> accessorCache = newAccessorCache();
 
     public static String normalizeVariableName(String name) {
         // private static final Pattern SPACES_PATTERN = Pattern.compile( "[\\s\u00A0]+" );
@@ -159,7 +166,8 @@ public class EvalHelper {
         if ( !BigDecimal.class.isAssignableFrom( value.getClass() ) ) {
             if ( value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ||
                  value instanceof AtomicLong || value instanceof AtomicInteger ) {
-                value = new BigDecimal( ((Number) value).longValue(), MathContext.DECIMAL128 );
+                // a long has at most 19 digits, so it is never rounded by DECIMAL128
+                value = BigDecimal.valueOf( ((Number) value).longValue() );
             } else if ( value instanceof BigInteger ) {
                 value = new BigDecimal( (BigInteger) value, MathContext.DECIMAL128 );
             } else if ( value instanceof String ) {
@@ -411,10 +419,10 @@ public class EvalHelper {
                     return PropertyValueResult.notDefined();
             }
         } else {
-            Method getter = getGenericAccessor( current.getClass(), property );
+            PropertyAccessor getter = getPropertyAccessor( current.getClass(), property );
             if ( getter != null ) {
                 try {
-                    result = getter.invoke(current);
+                    result = getter.get(current);
                     if (result instanceof Character) {
                         result = result.toString();
                     } else if ( result instanceof java.util.Date ) {
@@ -454,22 +462,50 @@ public class EvalHelper {
     @GwtIncompatible
     public static Method getGenericAccessor(Class<?> clazz, String field) {
         LOG.trace( "getGenericAccessor({}, {})", clazz, field );
+        PropertyAccessor accessor = getPropertyAccessor( clazz, field );
+        return accessor != null ? accessor.getMethod() : null;
+    }
+
+    /**
+     * Returns the accessor of the FEEL annotated or else Java accessor method, or null if the property is not defined
+     * @param clazz
+     * @param field
+     * @return
+     */
+    @GwtIncompatible
+    public static PropertyAccessor getPropertyAccessor(Class<?> clazz, String field) {
+        Map<String, PropertyAccessor> accessors = accessorCache.get( clazz );
+        PropertyAccessor accessor = accessors.get( field );
+        if ( accessor == null ) {
+            Method method = Stream.of( clazz.getMethods() )
+                    .filter( m -> Optional.ofNullable( m.getAnnotation( FEELProperty.class ) )
+                            .map( ann -> ann.value().equals( field ) )
+                            .orElse( false )
+                    )
+                    .findFirst()
+                    .orElse( getAccessor( clazz, field ) );
+            accessor = method != null ? new PropertyAccessor( method ) : UNDEFINED_ACCESSOR;
+            if ( accessors.size() < MAX_CACHED_ACCESSORS_PER_CLASS ) {
+                PropertyAccessor existing = accessors.putIfAbsent( field, accessor );
+                if ( existing != null ) {
+                    accessor = existing;
+                }
+            }
+        }
+        return accessor != UNDEFINED_ACCESSOR ? accessor : null;
+    }
 
-        AccessorCacheKey accessorCacheKey =
-                new AccessorCacheKey( clazz.getClassLoader(), clazz.getCanonicalName(), field );
-
-        return accessorCache.computeIfAbsent(accessorCacheKey, key ->
-        	Stream.of( clazz.getMethods() )
-            .filter( m -> Optional.ofNullable( m.getAnnotation( FEELProperty.class ) )
-                    .map( ann -> ann.value().equals( field ) )
-                    .orElse( false )
-            )
-            .findFirst()
-            .orElse( getAccessor( clazz, field ) ));
+    private static ClassValue<Map<String, PropertyAccessor>> newAccessorCache() {
+        return new ClassValue<Map<String, PropertyAccessor>>() {
+            @Override
+            protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
     }
 
     public static void clearGenericAccessorCache() {
-        accessorCache.clear();
+        accessorCache = newAccessorCache();
     }
 
     /**
@@ -725,53 +761,4 @@ public class EvalHelper {
             return stringWithoutZeros.substring(0, stringWithoutZeros.length() - 1);
         }
     }
-
-    private static class AccessorCacheKey {
-        private final ClassLoader classLoader;
-        private final String className;
-        private final String propertyName;
-
-        public AccessorCacheKey(ClassLoader classLoader, String className, String propertyName) {
-            this.classLoader = classLoader;
-            this.className = className;
-            this.propertyName = propertyName;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-
-            AccessorCacheKey that = (AccessorCacheKey) o;
-
-            if (!Objects.equals(classLoader, that.classLoader)) {
-                return false;
-            }
-            if (!Objects.equals(className, that.className)) {
-                return false;
-            }
-            return Objects.equals(propertyName, that.propertyName);
-        }
-
-        @Override
-        public int hashCode() {
-            int result = classLoader != null ? classLoader.hashCode() : 0;
-            result = 31 * result + (className != null ? className.hashCode() : 0);
-            result = 31 * result + (propertyName != null ? propertyName.hashCode() : 0);
-            return result;
-        }
-
-        @Override
-        public String toString() {
-            return "AccessorCacheKey{" +
-                    "classLoader=" + classLoader +
-                    ", className='" + className + '\'' +
-                    ", propertyName='" + propertyName + '\'' +
-                    '}';
-        }
-    }
 }
\ No newline at end of file
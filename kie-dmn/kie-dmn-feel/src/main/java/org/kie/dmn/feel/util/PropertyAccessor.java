@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import org.kie.dmn.model.api.GwtIncompatible;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads a property of a Java bean through its accessor method. The accessor is invoked through a function generated
+ * with the LambdaMetafactory, so that it can be inlined like a direct call. When the function cannot be generated,
+ * e.g. for the classes defined by another ClassLoader, whose module cannot be accessed with full privilege, it is
+ * invoked through its MethodHandle, and only falls back to reflection when even the MethodHandle cannot be obtained,
+ * e.g. for the classes of the JDK modules that are not open.
+ */
+@GwtIncompatible
+public class PropertyAccessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger( PropertyAccessor.class );
+
+    // MethodHandles.privateLookupIn, available since Java 9
+    private static final Method PRIVATE_LOOKUP_IN = findPrivateLookupIn();
+
+    // the access modes required by the LambdaMetafactory, MethodHandles.Lookup.MODULE is available since Java 9
+    private static final int FULL_PRIVILEGE = MethodHandles.Lookup.PRIVATE | findLookupMode( "MODULE" );
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+
+    private final Method method;
+    private final Function<Object, Object> getter;
+    private final MethodHandle handle;
+
+    public PropertyAccessor(Method method) {
+        this.method = method;
+        MethodHandle methodHandle = null;
+        Function<Object, Object> function = null;
+        if ( method != null ) {
+            MethodHandles.Lookup lookup = lookupFor( method );
+            methodHandle = unreflect( lookup, method );
+            if ( methodHandle != null && ( lookup.lookupModes() & FULL_PRIVILEGE ) == FULL_PRIVILEGE ) {
+                function = generateGetter( lookup, method, methodHandle );
+            }
+        }
+        this.getter = function;
+        this.handle = function == null && methodHandle != null ? methodHandle.asType( GETTER_TYPE ) : null;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Invokes the accessor on the given bean, wrapping anything it throws in an InvocationTargetException
+     * as Method.invoke does
+     */
+    public Object get(Object bean) throws IllegalAccessException, InvocationTargetException {
+        if ( getter != null ) {
+            try {
+                return getter.apply( bean );
+            } catch ( Throwable t ) {
+                throw new InvocationTargetException( t );
+            }
+        }
+        if ( handle != null ) {
+            try {
+                return (Object) handle.invokeExact( bean );
+            } catch ( Throwable t ) {
+                throw new InvocationTargetException( t );
+            }
+        }
+        return method.invoke( bean );
+    }
+
+    boolean isGenerated() {
+        return getter != null;
+    }
+
+    boolean isReflective() {
+        return getter == null && handle == null;
+    }
+
+    private static Function<Object, Object> generateGetter(MethodHandles.Lookup lookup, Method method, MethodHandle methodHandle) {
+        try {
+            CallSite site = LambdaMetafactory.metafactory( lookup,
+                                                           "apply",
+                                                           MethodType.methodType( Function.class ),
+                                                           GETTER_TYPE,
+                                                           methodHandle,
+                                                           methodHandle.type().wrap() );
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch ( Throwable t ) {
+            LOG.debug( "Unable to generate the accessor function for {}, using its method handle: {}", method, t.getMessage() );
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method) {
+        try {
+            return lookup.unreflect( method );
+        } catch ( IllegalAccessException e ) {
+            LOG.debug( "Unable to access the accessor {}, using reflection: {}", method, e.getMessage() );
+            return null;
+        }
+    }
+
+    /**
+     * The function is defined in the lookup class, so it must see the ClassLoader of the class declaring the accessor.
+     * When there is no such lookup the public one is enough to invoke the MethodHandle of a public accessor.
+     */
+    private static MethodHandles.Lookup lookupFor(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            if ( PRIVATE_LOOKUP_IN != null ) {
+                return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke( null, declaringClass, MethodHandles.lookup() );
+            }
+            if ( Class.forName( declaringClass.getName(), false, PropertyAccessor.class.getClassLoader() ) == declaringClass ) {
+                return MethodHandles.lookup();
+            }
+        } catch ( ReflectiveOperationException | LinkageError e ) {
+            LOG.debug( "Unable to look up {} with full privilege: {}", declaringClass, e.getMessage() );
+        }
+        return MethodHandles.publicLookup();
+    }
+
+    private static Method findPrivateLookupIn() {
+        try {
+            return MethodHandles.class.getMethod( "privateLookupIn", Class.class, MethodHandles.Lookup.class );
+        } catch ( NoSuchMethodException e ) {
+            return null;
+        }
+    }
+
+    private static int findLookupMode(String name) {
+        try {
+            return MethodHandles.Lookup.class.getField( name ).getInt( null );
+        } catch ( ReflectiveOperationException e ) {
+            return 0;
+        }
+    }
+}
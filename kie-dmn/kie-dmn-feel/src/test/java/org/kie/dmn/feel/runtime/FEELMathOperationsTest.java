@@ -17,6 +17,7 @@
 package org.kie.dmn.feel.runtime;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.Collection;
 
 import org.junit.runners.Parameterized;
@@ -44,6 +45,16 @@ public class FEELMathOperationsTest extends BaseFEELTest {
                 { "(-10) / (-5)", BigDecimal.valueOf( 2 ) , null},
                 { "(10 + 20) / (-5 * 3)", BigDecimal.valueOf( -2 ) , null},
                 { "(10 + 20) / 0", null , null},
+                { "7 / 2", new BigDecimal( "3.5" ) , null},
+                { "-9 / 3", BigDecimal.valueOf( -3 ) , null},
+                { "1.0 + 2", new BigDecimal( "3.0" ) , null},
+                { "2 * 1.50", new BigDecimal( "3.00" ) , null},
+                { "999999999 * 999999999 + 999999999 * 999999999", new BigDecimal( "1999999996000000002" ) , null},
+                { "-999999999 * 999999999 - 999999999 * 999999999", new BigDecimal( "-1999999996000000002" ) , null},
+                { "999999999 * 999999999 * 999999999", new BigDecimal( "999999997000000002999999999" ) , null},
+                { "999999999 * 999999999 * 999999999 * 999999999", new BigDecimal( "999999999" ).pow( 4, MathContext.DECIMAL128 ) , null},
+                { "999999999 * 999999999 * 999999999 / 999999999", new BigDecimal( "999999998000000001" ) , null},
+                { "9999999999999999999 + 1", new BigDecimal( "10000000000000000000" ) , null},
                 { "10 ** 5", BigDecimal.valueOf( 100000 ) , null},
                 { "10 ** -5", new BigDecimal( "0.00001" ) , null},
                 { "(5+2) ** 5", BigDecimal.valueOf( 16807 ) , null},
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DecisionTableIndexTest {
+
+    @Test
+    public void testSmallTableIsNotIndexed() {
+        assertThat(DecisionTableIndex.build(rules(new String[]{"\"a\""}, new String[]{"\"b\""}), 1)).isNull();
+    }
+
+    @Test
+    public void testTableWithoutLiteralsIsNotIndexed() {
+        List<DTDecisionRule> rules = new ArrayList<>();
+        for (int i = 0; i < DecisionTableIndex.MIN_INDEXED_RULES; i++) {
+            rules.add(rule(i, "-", "x > y"));
+        }
+        assertThat(DecisionTableIndex.build(rules, 2)).isNull();
+    }
+
+    @Test
+    public void testEqualityAndRanges() {
+        DecisionTableIndex index = DecisionTableIndex.build(rules(
+                new String[]{"\"a\"", "< 10"},          // 0
+                new String[]{"\"a\"", "[10..20]"},      // 1
+                new String[]{"\"b\", \"c\"", "> 20"},   // 2
+                new String[]{"-", "5, 15"},             // 3
+                new String[]{"\"d\"", "(20..30)"},      // 4
+                new String[]{"\"a,b\"", ">= 30"},       // 5
+                new String[]{"not(\"a\")", "<= 0"},     // 6
+                new String[]{"\"e\"", "?.size() > 1"}), // 7
+                2);
+        assertThat(index).isNotNull();
+
+        assertThat(index.candidates(new Object[]{"a", new BigDecimal(5)})).isEqualTo(bits(0, 3));
+        assertThat(index.candidates(new Object[]{"a", 10})).isEqualTo(bits(1));
+        assertThat(index.candidates(new Object[]{"a", new BigDecimal("15.00")})).isEqualTo(bits(1, 3));
+        assertThat(index.candidates(new Object[]{"c", 25L})).isEqualTo(bits(2));
+        assertThat(index.candidates(new Object[]{"a,b", 30})).isEqualTo(bits(5));
+        assertThat(index.candidates(new Object[]{"z", 0})).isEqualTo(bits(6));
+        assertThat(index.candidates(new Object[]{"d", 20})).isEqualTo(bits());
+    }
+
+    @Test
+    public void testUnindexedInputsDoNotRestrictTheCandidates() {
+        DecisionTableIndex index = DecisionTableIndex.build(rules(
+                new String[]{"\"a\"", "1"},
+                new String[]{"\"b\"", "2"},
+                new String[]{"\"c\"", "3"},
+                new String[]{"\"d\"", "4"},
+                new String[]{"\"e\"", "5"},
+                new String[]{"\"f\"", "6"},
+                new String[]{"\"g\"", "7"},
+                new String[]{"\"h\"", "8"}),
+                2);
+
+        assertThat(index.candidates(new Object[]{null, null})).isNull();
+        assertThat(index.candidates(new Object[]{"b", null})).isEqualTo(bits(1));
+        assertThat(index.candidates(new Object[]{null, 7.0})).isEqualTo(bits(6));
+        assertThat(index.candidates(new Object[]{"b", 7})).isEqualTo(bits());
+        // a number never matches a string literal
+        assertThat(index.candidates(new Object[]{1, 1})).isEqualTo(bits());
+    }
+
+    private static List<DTDecisionRule> rules(String[]... entries) {
+        List<DTDecisionRule> rules = new ArrayList<>();
+        for (int i = 0; i < entries.length; i++) {
+            rules.add(rule(i, entries[i]));
+        }
+        return rules;
+    }
+
+    private static DTDecisionRule rule(int index, String... entries) {
+        DTDecisionRule rule = new DTDecisionRule(index);
+        for (String entry : entries) {
+            rule.getInputEntry().add((c, x) -> true);
+            rule.getInputEntryText().add(entry);
+        }
+        return rule;
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int i : indexes) {
+            bits.set(i);
+        }
+        return bits;
+    }
+}
@@ -16,6 +16,9 @@
 
 package org.kie.dmn.feel.util;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 
@@ -23,7 +26,11 @@ import org.junit.Test;
 import org.kie.dmn.feel.lang.FEELProperty;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.kie.dmn.feel.util.EvalHelper.getBigDecimalOrNull;
 import static org.kie.dmn.feel.util.EvalHelper.normalizeVariableName;
 
@@ -75,10 +82,109 @@ public class EvalHelperTest {
                      EvalHelper.getGenericAccessor(TestPojo.class, "feelPropertyIdentifier"));
     }
 
+    @Test
+    public void testGetDefinedValueOnJavaBean() {
+        TestBean bean = new TestBean();
+        assertEquals(new BigDecimal(47), EvalHelper.getDefinedValue(bean, "age").getValueResult().getOrElse(null));
+        assertEquals(Boolean.TRUE, EvalHelper.getDefinedValue(bean, "active").getValueResult().getOrElse(null));
+        assertEquals("x", EvalHelper.getDefinedValue(bean, "initial").getValueResult().getOrElse(null));
+        assertFalse(EvalHelper.getDefinedValue(bean, "undefined").isDefined());
+        assertFalse(EvalHelper.getDefinedValue(bean, "undefined").isDefined());
+        assertTrue(EvalHelper.getDefinedValue(bean, "broken").getValueResult().isLeft());
+        // the accessors of the JDK classes may be invoked through reflection
+        assertEquals(new BigDecimal(3), EvalHelper.getDefinedValue("abc", "length").getValueResult().getOrElse(null));
+    }
+
+    @Test
+    public void testPropertyAccessorIsCached() {
+        PropertyAccessor accessor = EvalHelper.getPropertyAccessor(TestBean.class, "age");
+        assertSame(accessor, EvalHelper.getPropertyAccessor(TestBean.class, "age"));
+        assertNull(EvalHelper.getPropertyAccessor(TestBean.class, "undefined"));
+
+        EvalHelper.clearGenericAccessorCache();
+        assertNotSame(accessor, EvalHelper.getPropertyAccessor(TestBean.class, "age"));
+        assertEquals(accessor.getMethod(), EvalHelper.getPropertyAccessor(TestBean.class, "age").getMethod());
+    }
+
+    @Test
+    public void testPropertyAccessorOfBeanDefinedByChildClassLoader() throws Exception {
+        ClassLoader childClassLoader = new ChildFirstClassLoader(ChildLoaderBean.class.getName(), getClass().getClassLoader());
+        Class<?> beanClass = childClassLoader.loadClass(ChildLoaderBean.class.getName());
+        assertNotSame(ChildLoaderBean.class, beanClass);
+        Object bean = beanClass.getConstructor().newInstance();
+
+        PropertyAccessor accessor = EvalHelper.getPropertyAccessor(beanClass, "age");
+        // the accessor is invoked without reflection even when it cannot be invoked through a generated function
+        assertFalse(accessor.isReflective());
+        assertEquals(47, accessor.get(bean));
+        assertEquals(new BigDecimal(47), EvalHelper.getDefinedValue(bean, "age").getValueResult().getOrElse(null));
+        assertTrue(EvalHelper.getDefinedValue(bean, "broken").getValueResult().isLeft());
+    }
+
+    public static class ChildLoaderBean {
+        public int getAge() {
+            return 47;
+        }
+
+        public String getBroken() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    private static class ChildFirstClassLoader extends ClassLoader {
+        private final String className;
+
+        private ChildFirstClassLoader(String className, ClassLoader parent) {
+            super(parent);
+            this.className = className;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    try (InputStream is = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                        byte[] buffer = new byte[4096];
+                        for (int read = is.read(buffer); read >= 0; read = is.read(buffer)) {
+                            bytes.write(buffer, 0, read);
+                        }
+                        loaded = defineClass(name, bytes.toByteArray(), 0, bytes.size());
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return loaded;
+            }
+        }
+    }
+
     private static class TestPojo {
         @FEELProperty("feelPropertyIdentifier")
         public String getAProperty() {
             return null;
         }
     }
+
+    private static class TestBean {
+        public int getAge() {
+            return 47;
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+
+        public char initial() {
+            return 'x';
+        }
+
+        public String getBroken() {
+            throw new IllegalStateException("broken");
+        }
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.internal.conf;
+
+import org.kie.api.conf.SingleValueKieBaseOption;
+
+/**
+ * An Enum for the alpha node adaptive indexing option. When enabled the alpha network samples at runtime
+ * the selectivity of the constraints of the alpha nodes sharing the same field and hashes or range indexes
+ * them (or removes a range index that doesn't pay off) regardless of the static thresholds.
+ *
+ * drools.alphaNodeAdaptiveIndexing = &lt;true|false&gt;
+ *
+ * DEFAULT = false
+ */
+public enum AlphaAdaptiveIndexingOption implements SingleValueKieBaseOption {
+
+    YES(true),
+    NO(false);
+
+    /**
+     * The property name for the alpha node adaptive indexing option
+     */
+    public static final String PROPERTY_NAME = "drools.alphaNodeAdaptiveIndexing";
+
+    private boolean value;
+
+    AlphaAdaptiveIndexingOption( final boolean value ) {
+        this.value = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isAlphaAdaptiveIndexing() {
+        return this.value;
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.internal.conf;
+
+import org.kie.api.conf.SingleValueKieBaseOption;
+
+/**
+ * An Enum for the from memoization option. When enabled a <code>from</code> remembers, for each tuple, the values
+ * of the declarations used by its expression and, when the tuple is updated by a modification that changes
+ * neither them nor their facts, reuses its previous results instead of evaluating the expression again. The results
+ * are then assumed to depend only on those declarations, while they are all checked again against the constraints of
+ * the <code>from</code> pattern, since they could have been modified in place.
+ *
+ * drools.fromMemoization = &lt;true|false&gt;
+ *
+ * DEFAULT = false
+ */
+public enum FromMemoizationOption implements SingleValueKieBaseOption {
+
+    YES(true),
+    NO(false);
+
+    /**
+     * The property name for the from memoization option
+     */
+    public static final String PROPERTY_NAME = "drools.fromMemoization";
+
+    private boolean value;
+
+    FromMemoizationOption( final boolean value ) {
+        this.value = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isFromMemoization() {
+        return this.value;
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.internal.conf;
+
+import org.kie.api.conf.SingleValueKieBaseOption;
+
+/**
+ * An Enum for the versioned updates option. When enabled the modifications of a kbase (like the ones of an
+ * incremental update of its KieContainer) never make a thread wait for the sessions that are firing: each session
+ * stops at its next safe point and the modifications are applied, moving the kbase to its next version,
+ * as soon as all the sessions are stopped or idle. Applying them can still briefly wait for the threads reading
+ * the kbase, like the ones creating a new session.
+ *
+ * drools.versionedUpdates = &lt;true|false&gt;
+ *
+ * DEFAULT = false
+ */
+public enum VersionedUpdatesOption implements SingleValueKieBaseOption {
+
+    YES(true),
+    NO(false);
+
+    /**
+     * The property name for the versioned updates option
+     */
+    public static final String PROPERTY_NAME = "drools.versionedUpdates";
+
+    private boolean value;
+
+    VersionedUpdatesOption( final boolean value ) {
+        this.value = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isVersionedUpdates() {
+        return this.value;
+    }
+
+}
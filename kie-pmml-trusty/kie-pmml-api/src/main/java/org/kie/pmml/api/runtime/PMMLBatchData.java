@@ -0,0 +1,139 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.pmml.api.runtime;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.kie.api.pmml.PMMLRequestData;
+
+/**
+ * Input of a batch evaluation, holding one array of values for each mining field.
+ * The i-th element of every column is an input of the i-th record of the batch.
+ * A <code>Double.NaN</code> in a <code>double[]</code> column, or a <code>null</code> in an
+ * <code>Object[]</code> column, is a missing value.
+ */
+public class PMMLBatchData {
+
+    private final String correlationId;
+    private final int size;
+    private final Function<PMMLRequestData, PMMLContext> contextFactory;
+    private final Map<String, Object> columns = new LinkedHashMap<>();
+
+    /**
+     * @param correlationId the prefix of the correlation ids of the records: the i-th record gets <code>correlationId-i</code>
+     * @param size the number of records of the batch
+     */
+    public PMMLBatchData(final String correlationId, final int size) {
+        this(correlationId, size, null);
+    }
+
+    /**
+     * @param correlationId the prefix of the correlation ids of the records: the i-th record gets <code>correlationId-i</code>
+     * @param size the number of records of the batch
+     * @param contextFactory creates the <code>PMMLContext</code> of a record. It is needed only by the runtimes that
+     * don't override {@link PMMLRuntime#evaluate(String, PMMLBatchData)}
+     */
+    public PMMLBatchData(final String correlationId, final int size, final Function<PMMLRequestData, PMMLContext> contextFactory) {
+        if (size < 0) {
+            throw new IllegalArgumentException("The size of a batch must not be negative: " + size);
+        }
+        this.correlationId = correlationId;
+        this.size = size;
+        this.contextFactory = contextFactory;
+    }
+
+    public PMMLBatchData addColumn(final String fieldName, final double[] values) {
+        return putColumn(fieldName, values, values.length);
+    }
+
+    public PMMLBatchData addColumn(final String fieldName, final int[] values) {
+        return putColumn(fieldName, values, values.length);
+    }
+
+    public PMMLBatchData addColumn(final String fieldName, final Object[] values) {
+        return putColumn(fieldName, values, values.length);
+    }
+
+    private PMMLBatchData putColumn(final String fieldName, final Object values, final int length) {
+        if (length != size) {
+            throw new IllegalArgumentException(String.format("Column %s has %d values, expected %d", fieldName, length, size));
+        }
+        columns.put(fieldName, values);
+        return this;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an <b>unmodifiable set</b> of the names of the fields with a column
+     */
+    public Set<String> getFieldNames() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /**
+     * Returns a new <code>PMMLRequestData</code> with the values of the given record, leaving out the missing ones
+     * @param modelName the name of the model to evaluate
+     * @param index the index of the record
+     * @return
+     */
+    public PMMLRequestData getRequestData(final String modelName, final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        final PMMLRequestData toReturn = new PMMLRequestData(correlationId + "-" + index, modelName);
+        for (Map.Entry<String, Object> column : columns.entrySet()) {
+            final Object values = column.getValue();
+            if (values instanceof double[]) {
+                double value = ((double[]) values)[index];
+                if (!Double.isNaN(value)) {
+                    toReturn.addRequestParam(column.getKey(), value);
+                }
+            } else if (values instanceof int[]) {
+                toReturn.addRequestParam(column.getKey(), ((int[]) values)[index]);
+            } else {
+                Object value = ((Object[]) values)[index];
+                if (value != null) {
+                    toReturn.addRequestParam(column.getKey(), value);
+                }
+            }
+        }
+        return toReturn;
+    }
+
+    /**
+     * Returns a new <code>PMMLContext</code>, created by the context factory of this batch, with the values of the given record
+     * @param modelName the name of the model to evaluate
+     * @param index the index of the record
+     * @return
+     */
+    public PMMLContext getContext(final String modelName, final int index) {
+        if (contextFactory == null) {
+            throw new IllegalStateException("No PMMLContext factory given for the batch " + correlationId);
+        }
+        return contextFactory.apply(getRequestData(modelName, index));
+    }
+}
@@ -32,6 +32,24 @@ public interface PMMLRuntime {
      */
     PMML4Result evaluate(final String modelName, final PMMLContext context);
 
+    /**
+     * Evaluate the model for each record of the given batch, as {@link #evaluate(String, PMMLContext)} does for the
+     * <code>PMMLContext</code> created for the record by the batch. The records are evaluated independently, possibly
+     * in parallel, and the <code>PMMLListener</code>s registered with this runtime are notified of each of them.
+     * This is only a loop over the records: each of them still gets its own <code>PMMLRequestData</code> and
+     * <code>PMMLContext</code>, and it is evaluated as a single one.
+     * @param modelName the name of the model to evaluate
+     * @param batchData the columns with the input variables of all the records
+     * @return the results of the evaluations, in the same order of the records
+     */
+    default PMML4Result[] evaluate(final String modelName, final PMMLBatchData batchData) {
+        final PMML4Result[] toReturn = new PMML4Result[batchData.size()];
+        for (int i = 0; i < toReturn.length; i++) {
+            toReturn[i] = evaluate(modelName, batchData.getContext(modelName, i));
+        }
+        return toReturn;
+    }
+
     /**
      * Returns a list of all models available to this runtime
      * @return the list of available models. An empty list in
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.api.runtime;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.api.pmml.PMMLRequestData;
+import org.kie.api.pmml.ParameterInfo;
+import org.kie.pmml.api.models.PMMLModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PMMLBatchDataTest {
+
+    private static final String MODEL_NAME = "MODEL_NAME";
+
+    @Test
+    public void getRequestData() {
+        PMMLBatchData batchData = new PMMLBatchData("CORRELATION_ID", 3)
+                .addColumn("income", new double[]{1000.5, Double.NaN, 3000})
+                .addColumn("age", new int[]{30, 40, 50})
+                .addColumn("gender", new Object[]{"M", "F", null});
+        assertEquals(3, batchData.size());
+        assertEquals(Arrays.asList("income", "age", "gender"), Arrays.asList(batchData.getFieldNames().toArray()));
+
+        PMMLRequestData first = batchData.getRequestData(MODEL_NAME, 0);
+        assertEquals("CORRELATION_ID-0", first.getCorrelationId());
+        assertEquals(MODEL_NAME, first.getModelName());
+        Map<String, ParameterInfo> params = first.getMappedRequestParams();
+        assertEquals(3, params.size());
+        assertEquals(1000.5, params.get("income").getValue());
+        assertEquals(30, params.get("age").getValue());
+        assertEquals("M", params.get("gender").getValue());
+
+        // NaN and null are missing values
+        assertEquals(new HashSet<>(Arrays.asList("age", "gender")),
+                     batchData.getRequestData(MODEL_NAME, 1).getMappedRequestParams().keySet());
+        assertEquals(new HashSet<>(Arrays.asList("income", "age")),
+                     batchData.getRequestData(MODEL_NAME, 2).getMappedRequestParams().keySet());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addColumnWithWrongSize() {
+        new PMMLBatchData("CORRELATION_ID", 2).addColumn("x", new double[]{1.0});
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getRequestDataOutOfBounds() {
+        new PMMLBatchData("CORRELATION_ID", 2).getRequestData(MODEL_NAME, 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getContextWithoutFactory() {
+        new PMMLBatchData("CORRELATION_ID", 2).getContext(MODEL_NAME, 0);
+    }
+
+    @Test
+    public void evaluateOneRecordAtATime() {
+        PMMLBatchData batchData = new PMMLBatchData("CORRELATION_ID", 3, PMMLBatchDataTest::getContext)
+                .addColumn("income", new double[]{1000, Double.NaN, 3000});
+        PMML4Result[] results = new SingleRecordPMMLRuntime().evaluate(MODEL_NAME, batchData);
+        assertEquals(3, results.length);
+        for (int i = 0; i < results.length; i++) {
+            assertEquals("CORRELATION_ID-" + i, results[i].getCorrelationId());
+        }
+        assertEquals(1000.0, results[0].getResultVariables().get("income"));
+        assertFalse(results[1].getResultVariables().containsKey("income"));
+        assertEquals(3000.0, results[2].getResultVariables().get("income"));
+    }
+
+    private static PMMLContext getContext(final PMMLRequestData requestData) {
+        return (PMMLContext) Proxy.newProxyInstance(PMMLContext.class.getClassLoader(), new Class<?>[]{PMMLContext.class},
+                                                    (proxy, method, args) -> {
+                                                        if (method.getName().equals("getRequestData")) {
+                                                            return requestData;
+                                                        }
+                                                        throw new UnsupportedOperationException(method.getName());
+                                                    });
+    }
+
+    /**
+     * A runtime relying on the default batch evaluation, that returns the parameters of the request as result
+     */
+    private static class SingleRecordPMMLRuntime implements PMMLRuntime {
+
+        @Override
+        public PMML4Result evaluate(final String modelName, final PMMLContext context) {
+            PMML4Result toReturn = new PMML4Result(context.getRequestData().getCorrelationId());
+            context.getRequestData().getRequestParams()
+                    .forEach(parameterInfo -> toReturn.addResultVariable(parameterInfo.getName(), parameterInfo.getValue()));
+            return toReturn;
+        }
+
+        @Override
+        public List<PMMLModel> getPMMLModels() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Optional<PMMLModel> getPMMLModel(final String modelName) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void addPMMLListener(final PMMLListener toAdd) {
+        }
+
+        @Override
+        public void removePMMLListener(final PMMLListener toRemove) {
+        }
+
+        @Override
+        public Set<PMMLListener> getPMMLListeners() {
+            return Collections.emptySet();
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.kie.api.io.ResourceType;
 import org.kie.api.pmml.PMML4Result;
 import org.kie.api.runtime.KieSession;
 import org.kie.pmml.api.exceptions.KiePMMLException;
+import org.kie.pmml.api.runtime.PMMLBatchData;
 import org.kie.pmml.commons.model.KiePMMLModel;
 import org.kie.pmml.api.runtime.PMMLContext;
 import org.kie.pmml.evaluator.api.executor.PMMLRuntimeInternal;
@@ -67,4 +68,8 @@ public abstract class AbstractRegressionBenchmark {
     protected PMML4Result evaluate() {
         return pmmlRuntime.evaluate(model.getName(), pmmlContext);
     }
+
+    protected PMML4Result[] evaluate(PMMLBatchData batchData) {
+        return pmmlRuntime.evaluate(model.getName(), batchData);
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.pmml.benchmarks.regression;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.pmml.PMML4Result;
+import org.kie.api.pmml.PMMLRequestData;
+import org.kie.pmml.api.runtime.PMMLBatchData;
+import org.kie.pmml.evaluator.core.PMMLContextImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the evaluation of a batch of records through the batch API with the evaluation of the same records one by one
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5, time = 30)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 5)
+public class RegressionBatchBenchmark extends AbstractRegressionBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegressionBatchBenchmark.class);
+
+    private static final String[] CAR_LOCATIONS = {"carpark", "street"};
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private double[] ages;
+    private double[] salaries;
+    private Object[] carLocations;
+    private PMMLBatchData batchData;
+
+    @Setup
+    public void setupModel() throws Exception {
+        logger.debug("setup model...");
+        modelName = "Sample for linear regression";
+        fileName = "LinearRegressionSample.pmml";
+        super.setupModel();
+        logger.debug("setup batchData...");
+        Random random = new Random(0);
+        ages = new double[size];
+        salaries = new double[size];
+        carLocations = new Object[size];
+        for (int i = 0; i < size; i++) {
+            ages[i] = 18 + random.nextInt(60);
+            salaries[i] = 1000 + random.nextDouble() * 5000;
+            carLocations[i] = CAR_LOCATIONS[random.nextInt(CAR_LOCATIONS.length)];
+        }
+        batchData = new PMMLBatchData("123", size)
+                .addColumn("age", ages)
+                .addColumn("salary", salaries)
+                .addColumn("car_location", carLocations);
+    }
+
+    @Benchmark
+    public PMML4Result[] evaluateBatch() {
+        return evaluate(batchData);
+    }
+
+    @Benchmark
+    public void evaluateOneByOne(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            PMMLRequestData pmmlRequestData = new PMMLRequestData("123", modelName);
+            pmmlRequestData.addRequestParam("age", ages[i]);
+            pmmlRequestData.addRequestParam("salary", salaries[i]);
+            pmmlRequestData.addRequestParam("car_location", carLocations[i]);
+            pmmlContext = new PMMLContextImpl(pmmlRequestData);
+            blackhole.consume(evaluate());
+        }
+    }
+}
@@ -21,6 +21,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Supplier;
 
 import org.kie.api.KieBase;
@@ -31,11 +33,13 @@ import org.kie.pmml.api.enums.PMML_STEP;
 import org.kie.pmml.api.exceptions.KiePMMLException;
 import org.kie.pmml.api.models.PMMLModel;
 import org.kie.pmml.api.models.PMMLStep;
+import org.kie.pmml.api.runtime.PMMLBatchData;
 import org.kie.pmml.api.runtime.PMMLContext;
 import org.kie.pmml.api.runtime.PMMLListener;
 import org.kie.pmml.commons.model.KiePMMLModel;
 import org.kie.pmml.commons.model.ProcessingDTO;
 import org.kie.pmml.evaluator.api.executor.PMMLRuntimeInternal;
+import org.kie.pmml.evaluator.core.PMMLContextImpl;
 import org.kie.pmml.evaluator.core.executor.PMMLModelEvaluator;
 import org.kie.pmml.evaluator.core.executor.PMMLModelEvaluatorFinderImpl;
 import org.kie.pmml.evaluator.core.implementations.PMMLRuntimeStep;
@@ -55,6 +59,11 @@ public class PMMLRuntimeInternalImpl implements PMMLRuntimeInternal {
 
     private static final Logger logger = LoggerFactory.getLogger(PMMLRuntimeInternalImpl.class);
 
+    /**
+     * The number of records below which a batch is evaluated on the calling thread instead of being split further
+     */
+    static final int BATCH_THRESHOLD = 256;
+
     private final KieBase knowledgeBase;
     private final PMMLModelEvaluatorFinderImpl pmmlModelExecutorFinder;
     private final Set<PMMLListener> pmmlListeners = new HashSet<>();
@@ -99,6 +108,29 @@ public class PMMLRuntimeInternalImpl implements PMMLRuntimeInternal {
         return evaluate(toEvaluate, context);
     }
 
+    /**
+     * Evaluates the records of the batch in parallel, on the common fork/join pool, resolving the model and its
+     * <code>PMMLModelEvaluator</code> only once. This is a parallel loop: each record still gets its own
+     * <code>PMMLRequestData</code> and <code>PMMLContextImpl</code>, and goes through the same steps of a single evaluation.
+     */
+    @Override
+    public PMML4Result[] evaluate(final String modelName, final PMMLBatchData batchData) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("evaluate {} batch of {} records", modelName, batchData.size());
+        }
+        KiePMMLModel toEvaluate = getKiePMMLModel(modelName).orElseThrow(() -> new KiePMMLException("Failed to retrieve model with name " + modelName));
+        // the model and its executor are resolved once for all the records
+        PMMLModelEvaluator executor = getPMMLModelEvaluator(toEvaluate);
+        PMML4Result[] toReturn = new PMML4Result[batchData.size()];
+        BatchEvaluation batchEvaluation = new BatchEvaluation(toEvaluate, executor, batchData, toReturn, 0, toReturn.length);
+        if (toReturn.length <= BATCH_THRESHOLD) {
+            batchEvaluation.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(batchEvaluation);
+        }
+        return toReturn;
+    }
+
     @Override
     public void addPMMLListener(PMMLListener toAdd) {
         pmmlListeners.add(toAdd);
@@ -114,18 +146,19 @@ public class PMMLRuntimeInternalImpl implements PMMLRuntimeInternal {
         return Collections.unmodifiableSet(pmmlListeners);
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     protected PMML4Result evaluate(final KiePMMLModel model, final PMMLContext context) {
         if (logger.isDebugEnabled()) {
             logger.debug("evaluate {} {}", model, context);
         }
+        return evaluate(model, getPMMLModelEvaluator(model), context);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    PMML4Result evaluate(final KiePMMLModel model, final PMMLModelEvaluator executor, final PMMLContext context) {
         pmmlListeners.forEach(context::addPMMLListener);
         addStep(() -> getStep(START, model, context.getRequestData()), context);
         final ProcessingDTO processingDTO = preProcess(model, context);
         addStep(() -> getStep(PRE_EVALUATION, model, context.getRequestData()), context);
-        PMMLModelEvaluator executor = getFromPMMLModelType(model.getPmmlMODEL())
-                .orElseThrow(() -> new KiePMMLException(String.format("PMMLModelEvaluator not found for model %s",
-                                                                      model.getPmmlMODEL())));
         PMML4Result toReturn = executor.evaluate(knowledgeBase, model, context);
         addStep(() -> getStep(POST_EVALUATION, model, context.getRequestData()), context);
         postProcess(toReturn, model, context, processingDTO);
@@ -153,6 +186,12 @@ public class PMMLRuntimeInternalImpl implements PMMLRuntimeInternal {
         return toReturn;
     }
 
+    private PMMLModelEvaluator getPMMLModelEvaluator(final KiePMMLModel model) {
+        return getFromPMMLModelType(model.getPmmlMODEL())
+                .orElseThrow(() -> new KiePMMLException(String.format("PMMLModelEvaluator not found for model %s",
+                                                                      model.getPmmlMODEL())));
+    }
+
     /**
      * Returns an <code>Optional&lt;PMMLModelExecutor&gt;</code> to allow
      * incremental development of different model-specific executors
@@ -166,4 +205,42 @@ public class PMMLRuntimeInternalImpl implements PMMLRuntimeInternal {
                 .filter(implementation -> pmmlMODEL.equals(implementation.getPMMLModelType()))
                 .findFirst();
     }
+
+    /**
+     * Evaluates a range of the records of a batch, splitting it in halves until it is small enough
+     * to be evaluated sequentially.
+     */
+    private class BatchEvaluation extends RecursiveAction {
+
+        private final KiePMMLModel model;
+        private final PMMLModelEvaluator executor;
+        private final PMMLBatchData batchData;
+        private final PMML4Result[] results;
+        private final int from;
+        private final int to;
+
+        private BatchEvaluation(final KiePMMLModel model, final PMMLModelEvaluator executor, final PMMLBatchData batchData,
+                                final PMML4Result[] results, final int from, final int to) {
+            this.model = model;
+            this.executor = executor;
+            this.batchData = batchData;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    PMMLContext context = new PMMLContextImpl(batchData.getRequestData(model.getName(), i));
+                    results[i] = evaluate(model, executor, context);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchEvaluation(model, executor, batchData, results, from, middle),
+                          new BatchEvaluation(model, executor, batchData, results, middle, to));
+            }
+        }
+    }
 }
@@ -15,12 +15,16 @@
  */
 package org.kie.pmml.models.mining.evaluator;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -32,6 +36,8 @@ import org.drools.kiesession.rulebase.KnowledgeBaseFactory;
 import org.kie.api.KieBase;
 import org.kie.api.definition.KiePackage;
 import org.kie.api.pmml.PMML4Result;
+import org.kie.api.pmml.PMMLRequestData;
+import org.kie.api.pmml.ParameterInfo;
 import org.kie.api.runtime.KieRuntimeFactory;
 import org.kie.pmml.api.enums.MINING_FUNCTION;
 import org.kie.pmml.api.enums.PMML_MODEL;
@@ -47,6 +53,7 @@ import org.kie.pmml.commons.model.predicates.KiePMMLPredicate;
 import org.kie.pmml.commons.model.tuples.KiePMMLNameValue;
 import org.kie.pmml.commons.model.tuples.KiePMMLValueWeight;
 import org.kie.pmml.evaluator.api.exceptions.KiePMMLModelException;
+import org.kie.pmml.evaluator.core.PMMLContextImpl;
 import org.kie.pmml.evaluator.core.executor.PMMLModelEvaluator;
 import org.kie.pmml.models.mining.model.KiePMMLMiningModel;
 import org.kie.pmml.models.mining.model.enums.MULTIPLE_MODEL_METHOD;
@@ -58,6 +65,8 @@ import static org.kie.pmml.api.enums.ResultCode.FAIL;
 import static org.kie.pmml.api.enums.ResultCode.OK;
 import static org.kie.pmml.evaluator.core.utils.Converter.getUnwrappedParametersMap;
 import static org.kie.pmml.evaluator.core.utils.PMMLListenerUtils.stepExecuted;
+import static org.kie.pmml.models.mining.model.enums.MULTIPLE_MODEL_METHOD.MODEL_CHAIN;
+import static org.kie.pmml.models.mining.model.enums.MULTIPLE_MODEL_METHOD.SELECT_FIRST;
 
 /**
  * Default <code>PMMLModelExecutor</code> for <b>Mining</b>
@@ -67,7 +76,20 @@ public class PMMLMiningModelEvaluator implements PMMLModelEvaluator<KiePMMLMinin
     private static final Logger logger = LoggerFactory.getLogger(PMMLMiningModelEvaluator.class.getName());
     private static final String EXPECTED_A_KIE_PMMLMINING_MODEL_RECEIVED = "Expected a KiePMMLMiningModel, received %s";
     private static final String TARGET_FIELD_REQUIRED_RETRIEVED = "TargetField required, retrieved %s";
-    private static final Map<String, InternalKnowledgeBase> MAPPED_KIEBASES = new HashMap<>();
+    // segments may be evaluated concurrently, by different requests or by the same one
+    private static final Map<String, InternalKnowledgeBase> MAPPED_KIEBASES = new ConcurrentHashMap<>();
+
+    /**
+     * The number of threads used to evaluate the segments of a single request. With the default of 1 the segments
+     * are evaluated one after the other on the caller thread.
+     */
+    public static final String SEGMENTS_PARALLELISM_PROPERTY = "org.kie.pmml.mining.segments.parallelism";
+
+    /**
+     * One pool for each parallelism used so far. A pool is never shut down, since other threads could be evaluating
+     * their segments in it when the parallelism changes, and its idle worker threads are terminated anyway.
+     */
+    private static final Map<Integer, ForkJoinPool> SEGMENTS_POOLS = new ConcurrentHashMap<>();
 
     @Override
     public PMML_MODEL getPMMLModelType() {
@@ -292,6 +314,12 @@ public class PMMLMiningModelEvaluator implements PMMLModelEvaluator<KiePMMLMinin
         final MULTIPLE_MODEL_METHOD multipleModelMethod = toEvaluate.getSegmentation().getMultipleModelMethod();
         final List<KiePMMLSegment> segments = toEvaluate.getSegmentation().getSegments();
         final LinkedHashMap<String, KiePMMLNameValueProbabilityMapTuple> inputData = new LinkedHashMap<>();
+        final int parallelism = getSegmentsParallelism();
+        if (parallelism > 1 && segments.size() > 1 && isParallelizable(multipleModelMethod)) {
+            evaluateSegmentsInParallel(segments, pmmlContext, knowledgeBase, toEvaluate.getName(),
+                                       multipleModelMethod, inputData, parallelism);
+            return getPMML4Result(toEvaluate, inputData, pmmlContext);
+        }
         for (KiePMMLSegment segment : segments) {
             Optional<PMML4Result> segmentResult = evaluateSegment(segment, pmmlContext,
                                                                   knowledgeBase,
@@ -301,10 +329,113 @@ public class PMMLMiningModelEvaluator implements PMMLModelEvaluator<KiePMMLMinin
                                                                                       multipleModelMethod,
                                                                                       segment,
                                                                                       inputData));
+            if (segmentResult.isPresent() && SELECT_FIRST.equals(multipleModelMethod)) {
+                // only the first matching segment contributes to the result
+                break;
+            }
         }
         return getPMML4Result(toEvaluate, inputData, pmmlContext);
     }
 
+    /**
+     * The segments of a <code>modelChain</code> consume the results of the previous ones, and a
+     * <code>selectFirst</code> stops at the first matching segment, so they are always evaluated in sequence
+     * @param multipleModelMethod
+     * @return
+     */
+    static boolean isParallelizable(final MULTIPLE_MODEL_METHOD multipleModelMethod) {
+        return !MODEL_CHAIN.equals(multipleModelMethod) && !SELECT_FIRST.equals(multipleModelMethod);
+    }
+
+    static int getSegmentsParallelism() {
+        return Integer.getInteger(SEGMENTS_PARALLELISM_PROPERTY, 1);
+    }
+
+    static ForkJoinPool getSegmentsPool(final int parallelism) {
+        return SEGMENTS_POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+
+    /**
+     * Evaluate each segment against its own copy of the request, then merge the results into the given
+     * <code>PMMLContext</code> in the order of the segments, as a sequential evaluation would do.
+     * Nested mining models run their segments in the same pool.
+     */
+    private void evaluateSegmentsInParallel(final List<KiePMMLSegment> segments,
+                                            final PMMLContext pmmlContext,
+                                            final KieBase knowledgeBase,
+                                            final String containerModelName,
+                                            final MULTIPLE_MODEL_METHOD multipleModelMethod,
+                                            final LinkedHashMap<String, KiePMMLNameValueProbabilityMapTuple> toPopulate,
+                                            final int parallelism) {
+        final List<SegmentEvaluation> evaluations = new ArrayList<>(segments.size());
+        for (KiePMMLSegment segment : segments) {
+            evaluations.add(new SegmentEvaluation(segment, getSegmentContext(pmmlContext), knowledgeBase,
+                                                  containerModelName));
+        }
+        final ForkJoinPool pool = getSegmentsPool(parallelism);
+        if (ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.invokeAll(evaluations);
+        } else {
+            pool.invoke(new RecursiveTask<Void>() {
+                @Override
+                protected Void compute() {
+                    invokeAll(evaluations);
+                    return null;
+                }
+            });
+        }
+        for (SegmentEvaluation evaluation : evaluations) {
+            Optional<PMML4Result> segmentResult = evaluation.join();
+            if (segmentResult.isPresent()) {
+                mergeSegmentContext(evaluation.segmentContext, pmmlContext);
+                populateInputDataWithSegmentResult(segmentResult.get(), pmmlContext, multipleModelMethod,
+                                                   evaluation.segment, toPopulate);
+            }
+        }
+    }
+
+    /**
+     * Returns a new <code>PMMLContext</code> with a copy of the request of the given one, so that
+     * the pre-processing of a segment does not modify the input of the others
+     * @param pmmlContext
+     * @return
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    PMMLContext getSegmentContext(final PMMLContext pmmlContext) {
+        final PMMLRequestData requestData = pmmlContext.getRequestData();
+        final PMMLRequestData segmentRequestData = new PMMLRequestData(requestData.getCorrelationId(),
+                                                                       requestData.getModelName());
+        for (ParameterInfo parameterInfo : requestData.getRequestParams()) {
+            segmentRequestData.addRequestParam(new ParameterInfo(parameterInfo.getCorrelationId(),
+                                                                 parameterInfo.getName(),
+                                                                 parameterInfo.getType(),
+                                                                 parameterInfo.getValue()));
+        }
+        return new PMMLContextImpl(segmentRequestData, pmmlContext.getPMMLListeners());
+    }
+
+    /**
+     * Copy into the given <code>PMMLContext</code> the values a segment would have set on it when
+     * evaluated in sequence
+     * @param segmentContext
+     * @param pmmlContext
+     */
+    void mergeSegmentContext(final PMMLContext segmentContext, final PMMLContext pmmlContext) {
+        pmmlContext.getOutputFieldsMap().putAll(segmentContext.getOutputFieldsMap());
+        if (segmentContext.getProbabilityResultMap() != null) {
+            pmmlContext.setProbabilityResultMap(segmentContext.getProbabilityResultMap());
+        }
+        if (segmentContext.getPredictedDisplayValue() != null) {
+            pmmlContext.setPredictedDisplayValue(segmentContext.getPredictedDisplayValue());
+        }
+        if (segmentContext.getEntityId() != null) {
+            pmmlContext.setEntityId(segmentContext.getEntityId());
+        }
+        if (segmentContext.getAffinity() != null) {
+            pmmlContext.setAffinity(segmentContext.getAffinity());
+        }
+    }
+
     /**
      * Evaluate the model contained in the <code>KiePMMLSegment</code>, indirectly invoking
      * the model-specific evaluator (through <code>PMMLRuntime</code> container)
@@ -333,6 +464,27 @@ public class PMMLMiningModelEvaluator implements PMMLModelEvaluator<KiePMMLMinin
         return toReturn;
     }
 
+    private class SegmentEvaluation extends RecursiveTask<Optional<PMML4Result>> {
+
+        private final KiePMMLSegment segment;
+        private final PMMLContext segmentContext;
+        private final KieBase knowledgeBase;
+        private final String containerModelName;
+
+        private SegmentEvaluation(final KiePMMLSegment segment, final PMMLContext segmentContext,
+                                  final KieBase knowledgeBase, final String containerModelName) {
+            this.segment = segment;
+            this.segmentContext = segmentContext;
+            this.knowledgeBase = knowledgeBase;
+            this.containerModelName = containerModelName;
+        }
+
+        @Override
+        protected Optional<PMML4Result> compute() {
+            return evaluateSegment(segment, segmentContext, knowledgeBase, containerModelName);
+        }
+    }
+
     static class PMML4ResultProbabilityMapTuple {
 
         private final PMML4Result pmml4Result;
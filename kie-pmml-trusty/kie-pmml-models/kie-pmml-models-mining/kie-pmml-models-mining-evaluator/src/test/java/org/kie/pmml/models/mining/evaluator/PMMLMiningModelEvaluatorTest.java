@@ -30,6 +30,8 @@ import org.junit.Test;
 import org.kie.api.KieBase;
 import org.kie.api.KieServices;
 import org.kie.api.pmml.PMML4Result;
+import org.kie.api.pmml.PMMLRequestData;
+import org.kie.api.pmml.ParameterInfo;
 import org.kie.api.runtime.KieContainer;
 import org.kie.pmml.api.enums.MINING_FUNCTION;
 import org.kie.pmml.api.enums.PMML_MODEL;
@@ -47,6 +49,7 @@ import org.kie.pmml.commons.testingutility.KiePMMLTestingModel;
 import org.kie.pmml.commons.testingutility.PMMLContextTest;
 import org.kie.pmml.evaluator.api.exceptions.KiePMMLModelException;
 import org.kie.pmml.evaluator.api.executor.PMMLRuntimeInternal;
+import org.kie.pmml.evaluator.core.PMMLContextImpl;
 import org.kie.pmml.models.mining.model.KiePMMLMiningModel;
 import org.kie.pmml.models.mining.model.enums.MULTIPLE_MODEL_METHOD;
 import org.kie.pmml.models.mining.model.segmentation.KiePMMLSegment;
@@ -56,6 +59,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -173,6 +177,53 @@ public class PMMLMiningModelEvaluatorTest {
         assertNotEquals(firstPMMLRuntimeInternal.getKnowledgeBase(), thirdPMMLRuntimeInternal.getKnowledgeBase());
     }
 
+    @Test
+    public void isParallelizable() {
+        Arrays.stream(MULTIPLE_MODEL_METHOD.values()).forEach(multipleModelMethod -> {
+            boolean expected = !MODEL_CHAIN.equals(multipleModelMethod) && !SELECT_FIRST.equals(multipleModelMethod);
+            assertEquals(expected, PMMLMiningModelEvaluator.isParallelizable(multipleModelMethod));
+        });
+    }
+
+    @Test
+    public void getSegmentContext() {
+        final PMMLRequestData requestData = new PMMLRequestData("CORRELATION_ID", "MODEL_NAME");
+        requestData.addRequestParam("PARAM", 12);
+        final PMMLListener listener = step -> {};
+        final PMMLContext pmmlContext = new PMMLContextImpl(requestData, Collections.singleton(listener));
+        final PMMLContext retrieved = evaluator.getSegmentContext(pmmlContext);
+        assertNotSame(pmmlContext, retrieved);
+        assertEquals("CORRELATION_ID", retrieved.getRequestData().getCorrelationId());
+        assertEquals("MODEL_NAME", retrieved.getRequestData().getModelName());
+        assertEquals(Collections.singleton(listener), retrieved.getPMMLListeners());
+        ParameterInfo retrievedParam = retrieved.getRequestData().getMappedRequestParams().get("PARAM");
+        assertEquals(12, retrievedParam.getValue());
+        // the pre-processing of a segment must not modify the original request
+        retrievedParam.setValue(12.0);
+        retrieved.getRequestData().addRequestParam("OTHER", "VALUE");
+        assertEquals(12, requestData.getMappedRequestParams().get("PARAM").getValue());
+        assertFalse(requestData.getMappedRequestParams().containsKey("OTHER"));
+    }
+
+    @Test
+    public void mergeSegmentContext() {
+        final PMMLContext pmmlContext = new PMMLContextImpl(new PMMLRequestData("CORRELATION_ID", "MODEL_NAME"));
+        pmmlContext.setEntityId("ENTITY");
+        final PMMLContext segmentContext = evaluator.getSegmentContext(pmmlContext);
+        final LinkedHashMap<String, Double> probabilityResultMap = new LinkedHashMap<>();
+        probabilityResultMap.put("A", 0.3);
+        probabilityResultMap.put("B", 0.7);
+        segmentContext.setProbabilityResultMap(probabilityResultMap);
+        segmentContext.setAffinity(0.5);
+        segmentContext.getOutputFieldsMap().put("OUTPUT", "OUTPUT_VALUE");
+        evaluator.mergeSegmentContext(segmentContext, pmmlContext);
+        assertEquals(probabilityResultMap, pmmlContext.getProbabilityResultMap());
+        assertEquals(0.5, pmmlContext.getAffinity());
+        assertEquals("ENTITY", pmmlContext.getEntityId());
+        assertNull(pmmlContext.getPredictedDisplayValue());
+        assertEquals("OUTPUT_VALUE", pmmlContext.getOutputFieldsMap().get("OUTPUT"));
+    }
+
     @Test
     public void getKiePMMLNameRawObject() {
         final Object rawObject = "OBJ";
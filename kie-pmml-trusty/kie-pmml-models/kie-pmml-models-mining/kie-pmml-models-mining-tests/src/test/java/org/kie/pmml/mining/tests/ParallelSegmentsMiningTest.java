@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.mining.tests;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.pmml.api.runtime.PMMLRuntime;
+import org.kie.pmml.models.mining.evaluator.PMMLMiningModelEvaluator;
+import org.kie.pmml.models.tests.AbstractPMMLTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the segments evaluated in parallel give the same results as the sequential evaluation
+ */
+@RunWith(Parameterized.class)
+public class ParallelSegmentsMiningTest extends AbstractPMMLTest {
+
+    private final String fileName;
+    private final String modelName;
+    private final String targetField;
+    private final Map<String, Object> inputData;
+
+    public ParallelSegmentsMiningTest(String fileName, String modelName, String targetField, Map<String, Object> inputData) {
+        this.fileName = fileName;
+        this.modelName = modelName;
+        this.targetField = targetField;
+        this.inputData = inputData;
+    }
+
+    @Parameterized.Parameters(name = "{1}: {3}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(new Object[][]{
+                {"segmentationMeanMining.pmml", "SegmentationMeanMining", "result", input("x", -5.0, "y", -25.0)},
+                {"segmentationMeanMining.pmml", "SegmentationMeanMining", "result", input("x", 2.0, "y", 5.0)},
+                {"RandomForestClassifier.pmml", "RandomForestClassifier", "Approved",
+                        input("Age", 28.17, "Debt", 0.585, "YearsEmployed", 0.04, "Income", 1004.0)},
+                {"RandomForestClassifier.pmml", "RandomForestClassifier", "Approved",
+                        input("Age", 40.83, "Debt", 3.5, "YearsEmployed", 0.5, "Income", 0.0)}
+        });
+    }
+
+    private static Map<String, Object> input(Object... keyValues) {
+        Map<String, Object> toReturn = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            toReturn.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return toReturn;
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(PMMLMiningModelEvaluator.SEGMENTS_PARALLELISM_PROPERTY);
+    }
+
+    @Test
+    public void testParallelSegments() {
+        PMMLRuntime pmmlRuntime = getPMMLRuntime(fileName);
+        PMML4Result sequential = evaluate(pmmlRuntime, inputData, modelName);
+
+        System.setProperty(PMMLMiningModelEvaluator.SEGMENTS_PARALLELISM_PROPERTY, "4");
+        PMML4Result parallel = evaluate(pmmlRuntime, inputData, modelName);
+
+        assertThat(parallel.getResultCode()).isEqualTo(sequential.getResultCode());
+        assertThat(parallel.getResultVariables().get(targetField)).isNotNull()
+                .isEqualTo(sequential.getResultVariables().get(targetField));
+        assertThat(parallel.getResultVariables()).isEqualTo(sequential.getResultVariables());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.regression.tests;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.pmml.api.runtime.PMMLBatchData;
+import org.kie.pmml.api.runtime.PMMLRuntime;
+import org.kie.pmml.models.tests.AbstractPMMLTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NumericVariablesLinearRegressionBatchTest extends AbstractPMMLTest {
+
+    private static final String FILE_NAME = "NumericVariablesLinearRegression.pmml";
+    private static final String MODEL_NAME = "NumericVariablesLinearRegression";
+    private static final String TARGET_FIELD = "result";
+    private static final int SIZE = 2000;
+    private static PMMLRuntime pmmlRuntime;
+
+    @BeforeClass
+    public static void setupClass() {
+        pmmlRuntime = getPMMLRuntime(FILE_NAME);
+    }
+
+    private static double regressionFunction(double x, double y) {
+        return 2 * x + y + 5;
+    }
+
+    @Test
+    public void testNumericVariableLinearRegressionBatch() {
+        final double[] x = new double[SIZE];
+        final double[] y = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            x[i] = i * 0.5 - 300;
+            y[i] = 1000 - i;
+        }
+        final PMMLBatchData batchData = new PMMLBatchData("CORRELATION_ID", SIZE)
+                .addColumn("x", x)
+                .addColumn("y", y);
+
+        final PMML4Result[] results = pmmlRuntime.evaluate(MODEL_NAME, batchData);
+
+        assertThat(results).hasSize(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            assertThat(results[i]).isNotNull();
+            assertThat((Double) results[i].getResultVariables().get(TARGET_FIELD))
+                    .isEqualTo(regressionFunction(x[i], y[i]));
+        }
+    }
+}